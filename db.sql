@@ -7,7 +7,8 @@ CREATE TABLE customers (
     email VARCHAR(255) UNIQUE NOT NULL,
     address TEXT,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    total_orders INT DEFAULT 0
+    total_orders INT DEFAULT 0,
+    updated_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6)
 );
 
 CREATE TABLE orders (
@@ -16,9 +17,60 @@ CREATE TABLE orders (
     product VARCHAR(255) NOT NULL,
     quantity INT NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6),
+    INDEX idx_orders_created_at (created_at),
+    -- One index per sort offered on a customer's orders (see OrderSort). ID is
+    -- included so ties are ordered by the index too.
+    INDEX idx_orders_customer_created (customer_id, created_at, id),
+    INDEX idx_orders_customer_quantity_product (customer_id, quantity DESC, product, id),
+    INDEX idx_orders_customer_product (customer_id, product, id),
     FOREIGN KEY (customer_id) REFERENCES customers(id) ON DELETE CASCADE
 );
 
+-- Orders older than order-service.archive.hot-months, moved here a whole month
+-- at a time. InnoDB cannot partition a table with foreign keys, so the hot and
+-- cold months are kept in separate tables instead of partitions of one.
+CREATE TABLE orders_archive (
+    id BIGINT PRIMARY KEY,
+    customer_id BIGINT NOT NULL,
+    product VARCHAR(255) NOT NULL,
+    quantity INT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP(6) NULL,
+    INDEX idx_orders_archive_created_at (created_at),
+    -- A customer's order listings read both tables, so the same sort indexes.
+    INDEX idx_orders_archive_customer_created (customer_id, created_at, id),
+    INDEX idx_orders_archive_customer_quantity_product (customer_id, quantity DESC, product, id),
+    INDEX idx_orders_archive_customer_product (customer_id, product, id),
+    FOREIGN KEY (customer_id) REFERENCES customers(id) ON DELETE CASCADE
+) ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8;
+
+CREATE TABLE customer_sketches (
+    bucket_date DATE PRIMARY KEY,
+    registers BLOB NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE order_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_type VARCHAR(16) NOT NULL,
+    order_id BIGINT NOT NULL,
+    payload TEXT,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE import_jobs (
+    id VARCHAR(36) PRIMARY KEY,
+    target VARCHAR(16) NOT NULL,
+    format VARCHAR(8) NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    records_processed BIGINT NOT NULL,
+    rows_imported BIGINT NOT NULL,
+    rows_rejected BIGINT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);
+
 INSERT INTO customers (id, name, email, address, created_at, total_orders) VALUES
 (1, 'John Doe', 'johndoe@email.com', 'TUS Athlone', '2025-02-10 10:00:00', 3),
 (2, 'Ethan Carter', 'ethan.carter@email.com', 'Waterford, Ireland', '2025-02-20 10:00:00', 3),
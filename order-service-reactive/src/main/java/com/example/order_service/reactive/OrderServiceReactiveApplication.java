@@ -0,0 +1,22 @@
+package com.example.order_service.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.data.r2dbc.config.EnableR2dbcAuditing;
+
+/**
+ * The /api/orders and /api/customers contract of the servlet application on
+ * WebFlux and R2DBC, for read traffic with many requests in flight at once.
+ * It shares the servlet application's schema (db.sql) but none of its
+ * in-memory state: caches, indexes, bulkheads and event publishing stay on
+ * the servlet side.
+ */
+@SpringBootApplication
+@EnableR2dbcAuditing
+public class OrderServiceReactiveApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(OrderServiceReactiveApplication.class, args);
+	}
+
+}
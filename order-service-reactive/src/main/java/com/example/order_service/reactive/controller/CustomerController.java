@@ -0,0 +1,86 @@
+package com.example.order_service.reactive.controller;
+
+import com.example.order_service.reactive.exception.BadRequestException;
+import com.example.order_service.reactive.exception.ConflictException;
+import com.example.order_service.reactive.exception.ResourceNotFoundException;
+import com.example.order_service.reactive.model.Customer;
+import com.example.order_service.reactive.model.CustomerDTO;
+import com.example.order_service.reactive.service.CustomerService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Controller for handling customer-related operations.
+ */
+@RestController
+@RequestMapping("/api/customers")
+public class CustomerController {
+
+    @Autowired
+    private CustomerService customerService;
+
+    /**
+     * Creates a new customer.
+     *
+     * @param customer The customer object to be created.
+     * @return The created customer as a DTO.
+     * @throws BadRequestException if the name is missing.
+     * @throws ConflictException   if the email is already registered.
+     */
+    @PostMapping
+    public Mono<CustomerDTO> createCustomer(@RequestBody Customer customer) {
+        return customerService.createCustomer(customer).map(CustomerDTO::of);
+    }
+
+    /**
+     * Streams all customers, as a JSON array or, for Accept:
+     * application/x-ndjson, one customer per line. HATEOAS links are not
+     * offered, so links=false is accepted and makes no difference.
+     *
+     * @return All customers as plain DTOs.
+     */
+    @GetMapping(produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public Flux<CustomerDTO> getAllCustomers() {
+        return customerService.getAllCustomers().map(CustomerDTO::of);
+    }
+
+    /**
+     * Retrieves the customer registered with an email.
+     *
+     * @param email The email of the customer.
+     * @return The customer details as a DTO.
+     * @throws ResourceNotFoundException if no customer has the email.
+     */
+    @GetMapping(params = "email")
+    public Mono<CustomerDTO> getCustomerByEmail(@RequestParam String email) {
+        return customerService.getCustomerByEmail(email).map(CustomerDTO::of);
+    }
+
+    /**
+     * Retrieves a specific customer by ID.
+     *
+     * @param id The ID of the customer.
+     * @return The customer details as a DTO.
+     * @throws ResourceNotFoundException if the customer is not found.
+     */
+    @GetMapping("/{id}")
+    public Mono<CustomerDTO> getCustomerById(@PathVariable Long id) {
+        return customerService.getCustomerById(id).map(CustomerDTO::of);
+    }
+
+    /**
+     * Deletes a customer and all associated orders.
+     *
+     * @param id The ID of the customer to delete.
+     * @return A response message confirming the deletion.
+     * @throws ResourceNotFoundException if the customer does not exist.
+     */
+    @DeleteMapping("/{id}")
+    public Mono<String> deleteCustomer(@PathVariable Long id) {
+        return customerService.deleteCustomer(id).thenReturn("Cascading delete successful");
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.order_service.reactive.controller;
+
+import com.example.order_service.reactive.exception.BadRequestException;
+import com.example.order_service.reactive.exception.ResourceNotFoundException;
+import com.example.order_service.reactive.model.Order;
+import com.example.order_service.reactive.model.OrderDTO;
+import com.example.order_service.reactive.model.OrderPageDTO;
+import com.example.order_service.reactive.service.OrderService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Controller for handling order-related operations.
+ */
+@RestController
+@RequestMapping("/api/orders")
+public class OrderController {
+
+    @Autowired
+    private OrderService orderService;
+
+    /**
+     * Creates a new order.
+     *
+     * @param order The order object to be created.
+     * @return The created order as a DTO.
+     * @throws BadRequestException       if the order is invalid.
+     * @throws ResourceNotFoundException if the customer does not exist.
+     */
+    @PostMapping
+    public Mono<OrderDTO> createOrder(@RequestBody Order order) {
+        return orderService.createOrder(order).map(OrderDTO::of);
+    }
+
+    /**
+     * Retrieves a page of orders for a specific customer, in the shape of the
+     * servlet application's lean page. HATEOAS links are not offered, so
+     * links=false is accepted and makes no difference.
+     *
+     * @param customerId The ID of the customer.
+     * @return A page of orders for the specified customer as plain DTOs.
+     * @throws ResourceNotFoundException if the customer does not exist.
+     */
+    @GetMapping("/customer/{customerId}")
+    public Mono<OrderPageDTO> getAllOrders(
+            @PathVariable Long customerId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return orderService.getAllOrders(customerId, page, size);
+    }
+
+    /**
+     * Retrieves a specific order by ID.
+     *
+     * @param id The ID of the order.
+     * @return The order details as a DTO.
+     * @throws ResourceNotFoundException if the order is not found.
+     */
+    @GetMapping("/{id}")
+    public Mono<OrderDTO> getOrder(@PathVariable Long id) {
+        return orderService.getOrder(id).map(OrderDTO::of);
+    }
+
+    /**
+     * Updates an existing order.
+     *
+     * @param order The order object containing updated details.
+     * @return The updated order as a DTO.
+     * @throws BadRequestException       if the order has no ID.
+     * @throws ResourceNotFoundException if the order does not exist.
+     */
+    @PutMapping
+    public Mono<OrderDTO> updateOrder(@RequestBody Order order) {
+        return orderService.updateOrder(order).map(OrderDTO::of);
+    }
+
+    /**
+     * Deletes an order by its ID.
+     *
+     * @param id The ID of the order to be deleted.
+     * @return A response message confirming deletion.
+     * @throws ResourceNotFoundException if the order does not exist.
+     */
+    @DeleteMapping("/{id}")
+    public Mono<String> deleteOrder(@PathVariable Long id) {
+        return orderService.deleteOrder(id).thenReturn("Order deleted successfully");
+    }
+
+    /**
+     * Streams the orders within a specific date range, as a JSON array or, for
+     * Accept: application/x-ndjson, one order per line. Either way rows are
+     * fetched only as fast as the client reads them.
+     *
+     * @param startDate The start date-time of the range.
+     * @param endDate   The end date-time of the range.
+     * @return The orders within the specified date range.
+     */
+    @GetMapping(value = "/bydate", produces = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE })
+    public Flux<Order> getOrdersByDateRange(
+            @RequestParam LocalDateTime startDate,
+            @RequestParam LocalDateTime endDate) {
+        return orderService.getOrdersByDateRange(startDate, endDate);
+    }
+
+    /**
+     * Streams all orders sorted by creation date, as a JSON array or, for
+     * Accept: application/x-ndjson, one order per line. Either way rows are
+     * fetched only as fast as the client reads them.
+     *
+     * @param sortDirection The sorting direction (asc/desc).
+     * @return The sorted orders.
+     */
+    @GetMapping(value = "/sorted", produces = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE })
+    public Flux<Order> getOrdersSorted(@RequestParam String sortDirection) {
+        return orderService.getOrdersSorted(sortDirection);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.order_service.reactive.exception;
+
+public class BadRequestException extends StacklessException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.order_service.reactive.exception;
+
+public class ConflictException extends StacklessException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.order_service.reactive.exception;
+
+public class ResourceNotFoundException extends StacklessException {
+
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+}
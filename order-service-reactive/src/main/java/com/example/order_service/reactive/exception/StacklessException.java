@@ -0,0 +1,13 @@
+package com.example.order_service.reactive.exception;
+
+/**
+ * Base of the exceptions {@link GlobalExceptionHandler} turns into a status.
+ * The handler only reports the message, so these skip the stack trace:
+ * filling it in is the most expensive part of throwing for a probed ID.
+ */
+public abstract class StacklessException extends RuntimeException {
+
+    protected StacklessException(String message) {
+        super(message, null, false, false);
+    }
+}
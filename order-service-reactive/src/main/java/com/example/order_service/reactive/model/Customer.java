@@ -0,0 +1,106 @@
+package com.example.order_service.reactive.model;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+@Table("customers")
+public class Customer {
+    @Id
+    private Long id;
+    private String name;
+    private String email;
+    private String address;
+    @CreatedDate
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    @Column("created_at")
+    private LocalDateTime createdAt;
+    @Column("total_orders")
+    private Integer totalOrders;
+    @LastModifiedDate
+    @JsonIgnore
+    @Column("updated_at")
+    private LocalDateTime updatedAt;
+
+    public Customer() {
+    }
+
+    public Customer(Long id, String name, String email, String address, LocalDateTime createdAt,
+            Integer totalOrders) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.address = address;
+        this.createdAt = createdAt;
+        this.totalOrders = totalOrders;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public void setAddress(String address) {
+        this.address = address;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Integer getTotalOrders() {
+        return totalOrders != null ? totalOrders : 0;
+    }
+
+    public void setTotalOrders(Integer totalOrders) {
+        this.totalOrders = totalOrders;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "Customer [id=" + id + ", name=" + name + ", email=" + email + "]";
+    }
+
+}
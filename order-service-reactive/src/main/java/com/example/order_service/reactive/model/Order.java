@@ -0,0 +1,96 @@
+package com.example.order_service.reactive.model;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+@Table("orders")
+public class Order {
+    @Id
+    private Long id;
+    @Column("customer_id")
+    private Long customerId;
+    private String product;
+    private Integer quantity;
+    @CreatedDate
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    @Column("created_at")
+    private LocalDateTime createdAt = LocalDateTime.now();
+    @LastModifiedDate
+    @JsonIgnore
+    @Column("updated_at")
+    private LocalDateTime updatedAt;
+
+    public Order() {
+    }
+
+    public Order(Long id, Long customerId, String product, Integer quantity, LocalDateTime createdAt) {
+        this.id = id;
+        this.customerId = customerId;
+        this.product = product;
+        this.quantity = quantity;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public String getProduct() {
+        return product;
+    }
+
+    public void setProduct(String product) {
+        this.product = product;
+    }
+
+    public Integer getQuantity() {
+        return quantity != null ? quantity : 0;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "Order [id=" + id + ", customerId=" + customerId + ", product=" + product + ", quantity=" + quantity
+                + ", createdAt=" + createdAt + "]";
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.example.order_service.reactive.model;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * One page of a customer's orders, in the same JSON shape as the servlet
+ * application's lean page (links=false): the orders under
+ * {@code _embedded.orderDTOList}, left out when the page is empty, and the
+ * page metadata under {@code page}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({ "_embedded", "page" })
+public class OrderPageDTO {
+    @JsonProperty("_embedded")
+    private Embedded embedded;
+    private Metadata page;
+
+    public OrderPageDTO() {
+    }
+
+    public OrderPageDTO(List<OrderDTO> orders, int size, int number, long totalElements) {
+        this.embedded = orders.isEmpty() ? null : new Embedded(orders);
+        this.page = new Metadata(size, totalElements, size == 0 ? 1 : (totalElements + size - 1) / size, number);
+    }
+
+    public Embedded getEmbedded() {
+        return embedded;
+    }
+
+    public Metadata getPage() {
+        return page;
+    }
+
+    public record Embedded(List<OrderDTO> orderDTOList) {
+    }
+
+    public record Metadata(long size, long totalElements, long totalPages, long number) {
+    }
+}
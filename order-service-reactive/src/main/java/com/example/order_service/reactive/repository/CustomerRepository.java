@@ -0,0 +1,21 @@
+package com.example.order_service.reactive.repository;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+
+import com.example.order_service.reactive.model.Customer;
+
+import reactor.core.publisher.Mono;
+
+public interface CustomerRepository extends ReactiveCrudRepository<Customer, Long> {
+
+    Mono<Customer> findByEmail(String email);
+
+    Mono<Boolean> existsByEmail(String email);
+
+    @Modifying
+    @Query("DELETE FROM customers WHERE id = :id")
+    Mono<Integer> deleteByIdReturningCount(Long id);
+
+}
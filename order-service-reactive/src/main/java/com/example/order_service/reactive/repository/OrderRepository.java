@@ -0,0 +1,37 @@
+package com.example.order_service.reactive.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+
+import com.example.order_service.reactive.model.Order;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface OrderRepository extends ReactiveCrudRepository<Order, Long> {
+
+    Flux<Order> findByCustomerId(Long customerId, Pageable pageable);
+
+    Mono<Long> countByCustomerId(Long customerId);
+
+    @Modifying
+    @Query("DELETE FROM orders WHERE customer_id = :customerId")
+    Mono<Integer> deleteByCustomerId(Long customerId);
+
+    @Modifying
+    @Query("DELETE FROM orders WHERE id = :id")
+    Mono<Integer> deleteByIdReturningCount(Long id);
+
+    Flux<Order> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
+
+    @Query("SELECT * FROM orders ORDER BY created_at ASC")
+    Flux<Order> findAllByCreatedAtAsc();
+
+    @Query("SELECT * FROM orders ORDER BY created_at DESC")
+    Flux<Order> findAllByCreatedAtDesc();
+
+}
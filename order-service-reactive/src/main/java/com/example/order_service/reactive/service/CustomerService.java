@@ -0,0 +1,103 @@
+package com.example.order_service.reactive.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.order_service.reactive.exception.BadRequestException;
+import com.example.order_service.reactive.exception.ConflictException;
+import com.example.order_service.reactive.exception.ResourceNotFoundException;
+import com.example.order_service.reactive.model.Customer;
+import com.example.order_service.reactive.repository.CustomerRepository;
+import com.example.order_service.reactive.repository.OrderRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+public class CustomerService {
+
+    @Autowired
+    CustomerRepository customerRepository;
+    @Autowired
+    OrderRepository orderRepository;
+
+    /**
+     * Creates a new customer.
+     *
+     * @param customer The customer object to be created.
+     * @return The created customer.
+     * @throws BadRequestException if the name is missing.
+     * @throws ConflictException   if the email is already registered.
+     */
+    public Mono<Customer> createCustomer(Customer customer) {
+        if (customer.getName() == null || customer.getName().isEmpty()) {
+            return Mono.error(new BadRequestException("Customer name cannot be null or empty."));
+        }
+        String email = customer.getEmail();
+        Mono<Boolean> taken = email == null ? Mono.just(false) : customerRepository.existsByEmail(email);
+        return taken
+                .flatMap(exists -> exists ? Mono.<Customer>error(emailTaken(email))
+                        : customerRepository.save(customer))
+                // Another signup with the same email won the race to the
+                // unique constraint.
+                .onErrorMap(DataIntegrityViolationException.class, ex -> emailTaken(email));
+    }
+
+    private static ConflictException emailTaken(String email) {
+        return new ConflictException("Email " + email + " is already registered");
+    }
+
+    /**
+     * Retrieves a customer by ID.
+     *
+     * @param customerId The ID of the customer to retrieve.
+     * @return The found customer.
+     * @throws ResourceNotFoundException if the customer is not found.
+     */
+    public Mono<Customer> getCustomerById(Long customerId) {
+        return customerRepository.findById(customerId)
+                .switchIfEmpty(Mono.error(
+                        () -> new ResourceNotFoundException("Customer with ID " + customerId + " not found.")));
+    }
+
+    /**
+     * Retrieves a customer by email.
+     *
+     * @param email The email of the customer to retrieve.
+     * @return The found customer.
+     * @throws ResourceNotFoundException if no customer has the email.
+     */
+    public Mono<Customer> getCustomerByEmail(String email) {
+        return customerRepository.findByEmail(email)
+                .switchIfEmpty(Mono.error(
+                        () -> new ResourceNotFoundException("Customer with email " + email + " not found.")));
+    }
+
+    /**
+     * Streams all customers.
+     *
+     * @return All customers, read as fast as the client takes them.
+     */
+    public Flux<Customer> getAllCustomers() {
+        return customerRepository.findAll();
+    }
+
+    /**
+     * Deletes a customer and all associated orders.
+     *
+     * @param customerId The ID of the customer to be deleted.
+     * @throws ResourceNotFoundException if the customer does not exist.
+     */
+    @Transactional
+    public Mono<Void> deleteCustomer(Long customerId) {
+        return customerRepository.existsById(customerId)
+                .flatMap(exists -> exists
+                        ? orderRepository.deleteByCustomerId(customerId) // Delete orders first
+                                .then(customerRepository.deleteByIdReturningCount(customerId))
+                                .then()
+                        : Mono.error(new ResourceNotFoundException(
+                                "Cannot delete. Customer with ID " + customerId + " not found.")));
+    }
+}
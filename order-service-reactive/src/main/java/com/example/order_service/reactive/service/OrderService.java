@@ -0,0 +1,148 @@
+package com.example.order_service.reactive.service;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.order_service.reactive.exception.BadRequestException;
+import com.example.order_service.reactive.exception.ResourceNotFoundException;
+import com.example.order_service.reactive.model.Order;
+import com.example.order_service.reactive.model.OrderDTO;
+import com.example.order_service.reactive.model.OrderPageDTO;
+import com.example.order_service.reactive.repository.CustomerRepository;
+import com.example.order_service.reactive.repository.OrderRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+public class OrderService {
+
+    @Autowired
+    OrderRepository orderRepository;
+    @Autowired
+    CustomerRepository customerRepository;
+
+    /**
+     * Creates a new order.
+     *
+     * @param order The order object to be created.
+     * @return The created order.
+     * @throws BadRequestException       if the order object is invalid.
+     * @throws ResourceNotFoundException if the customer does not exist.
+     */
+    @Transactional
+    public Mono<Order> createOrder(Order order) {
+        if (order.getProduct() == null || order.getProduct().isEmpty()) {
+            return Mono.error(new BadRequestException("Product cannot be null or empty"));
+        }
+        if (order.getQuantity() <= 0) {
+            return Mono.error(new BadRequestException("Quantity must be greater than 0"));
+        }
+        return customerRepository.existsById(order.getCustomerId())
+                .flatMap(exists -> exists ? orderRepository.save(order)
+                        : Mono.error(new ResourceNotFoundException("Customer not found")));
+    }
+
+    /**
+     * Retrieves a page of a customer's orders. The page and the count behind
+     * its metadata are queried concurrently.
+     *
+     * @param customerId The ID of the customer.
+     * @param page       The page number, from 0.
+     * @param size       The page size.
+     * @return The page of orders.
+     * @throws ResourceNotFoundException if the customer does not exist.
+     */
+    public Mono<OrderPageDTO> getAllOrders(Long customerId, int page, int size) {
+        if (page < 0 || size < 1) {
+            return Mono.error(new BadRequestException("Page must not be negative and size must be at least 1"));
+        }
+        return customerRepository.existsById(customerId)
+                .flatMap(exists -> exists
+                        ? Mono.zip(orderRepository.findByCustomerId(customerId, PageRequest.of(page, size))
+                                .map(OrderDTO::of)
+                                .collectList(), orderRepository.countByCustomerId(customerId))
+                        : Mono.error(new ResourceNotFoundException(
+                                "Cannot get all orders. Customer with ID " + customerId + " not found.")))
+                .map(pageAndCount -> new OrderPageDTO(pageAndCount.getT1(), size, page, pageAndCount.getT2()));
+    }
+
+    /**
+     * Retrieves a specific order by its ID.
+     *
+     * @param id The ID of the order.
+     * @return The order with the specified ID.
+     * @throws ResourceNotFoundException if the order is not found.
+     */
+    public Mono<Order> getOrder(Long id) {
+        return orderRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Order not found with id: " + id)));
+    }
+
+    /**
+     * Updates an existing order.
+     *
+     * @param order The order object containing updated details.
+     * @return The updated order.
+     * @throws ResourceNotFoundException if the order does not exist.
+     * @throws BadRequestException       if the order has no ID.
+     */
+    @Transactional
+    public Mono<Order> updateOrder(Order order) {
+        if (order.getId() == null) {
+            return Mono.error(new BadRequestException("Invalid order: order and ID must not be null"));
+        }
+        return orderRepository.findById(order.getId())
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(
+                        "Cannot update: Order not found with id: " + order.getId())))
+                .flatMap(existingOrder -> {
+                    existingOrder.setCustomerId(order.getCustomerId());
+                    existingOrder.setProduct(order.getProduct());
+                    existingOrder.setQuantity(order.getQuantity());
+                    return orderRepository.save(existingOrder);
+                });
+    }
+
+    /**
+     * Deletes an order by its ID.
+     *
+     * @param id The ID of the order to be deleted.
+     * @throws ResourceNotFoundException if the order does not exist.
+     */
+    @Transactional
+    public Mono<Void> deleteOrder(Long id) {
+        return orderRepository.deleteByIdReturningCount(id)
+                .flatMap(deleted -> deleted == 0
+                        ? Mono.error(new ResourceNotFoundException("Cannot delete: Order not found with id: " + id))
+                        : Mono.<Void>empty());
+    }
+
+    /**
+     * Streams the orders created within a date range. Rows are read from the
+     * database only as fast as the client takes them.
+     *
+     * @param startDate The start date of the range.
+     * @param endDate   The end date of the range.
+     * @return The orders created within the range.
+     */
+    public Flux<Order> getOrdersByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return orderRepository.findByCreatedAtBetween(startDate, endDate);
+    }
+
+    /**
+     * Streams all orders sorted by creation date. Rows are read from the
+     * database only as fast as the client takes them.
+     *
+     * @param sortDirection The sorting direction, either "asc" for ascending or
+     *                      "desc" for descending.
+     * @return The orders sorted by their creation date.
+     */
+    public Flux<Order> getOrdersSorted(String sortDirection) {
+        return "asc".equalsIgnoreCase(sortDirection) ? orderRepository.findAllByCreatedAtAsc()
+                : orderRepository.findAllByCreatedAtDesc();
+    }
+}
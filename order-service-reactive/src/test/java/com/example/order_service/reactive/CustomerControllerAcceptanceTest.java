@@ -0,0 +1,116 @@
+package com.example.order_service.reactive;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.example.order_service.reactive.model.Customer;
+import com.example.order_service.reactive.model.Order;
+import com.example.order_service.reactive.repository.CustomerRepository;
+import com.example.order_service.reactive.repository.OrderRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureWebTestClient
+public class CustomerControllerAcceptanceTest {
+
+        @Autowired
+        private WebTestClient webTestClient;
+
+        @Autowired
+        private OrderRepository orderRepository;
+
+        @Autowired
+        private CustomerRepository customerRepository;
+
+        @BeforeEach
+        void setUp() {
+                orderRepository.deleteAll().block(); // Clear orders before each test
+                customerRepository.deleteAll().block(); // Clear customers before each test
+        }
+
+        @Test
+        void createCustomer_ShouldReturnCreatedCustomerThenConflictForSameEmail() {
+                // Given
+                Map<String, Object> customerRequest = new HashMap<>();
+                customerRequest.put("name", "John Doe");
+                customerRequest.put("email", "john.doe." + System.nanoTime() + "@example.com");
+
+                // When & Then
+                webTestClient.post().uri("/api/customers")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .bodyValue(customerRequest)
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectBody()
+                                .jsonPath("$.id").exists()
+                                .jsonPath("$.name").isEqualTo("John Doe");
+                webTestClient.post().uri("/api/customers")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .bodyValue(customerRequest)
+                                .exchange()
+                                .expectStatus().isEqualTo(409)
+                                .expectBody()
+                                .jsonPath("$.message")
+                                .isEqualTo("Email " + customerRequest.get("email") + " is already registered");
+        }
+
+        @Test
+        void getCustomers_ShouldFindByIdEmailAndListAll() {
+                // Given
+                String email = "jane.doe." + System.nanoTime() + "@example.com";
+                Customer customer = customerRepository
+                                .save(new Customer(null, "Jane Doe", email, "1 Test Road", LocalDateTime.now(), 0))
+                                .block();
+
+                // When & Then
+                webTestClient.get().uri("/api/customers/{id}", customer.getId())
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectBody()
+                                .jsonPath("$.email").isEqualTo(email);
+                webTestClient.get().uri(uri -> uri.path("/api/customers").queryParam("email", email).build())
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectBody()
+                                .jsonPath("$.name").isEqualTo("Jane Doe");
+                webTestClient.get().uri("/api/customers")
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectBody()
+                                .jsonPath("$.length()").isEqualTo(1);
+                webTestClient.get().uri("/api/customers/{id}", customer.getId() + 1000)
+                                .exchange()
+                                .expectStatus().isNotFound();
+        }
+
+        @Test
+        void deleteCustomer_ShouldDeleteCustomerAndOrders() {
+                // Given
+                Customer customer = customerRepository.save(new Customer(null, "Jane Doe",
+                                "jane.doe." + System.nanoTime() + "@example.com", null, LocalDateTime.now(), 0))
+                                .block();
+                orderRepository.save(new Order(null, customer.getId(), "Lamp", 1, LocalDateTime.now())).block();
+
+                // When & Then
+                webTestClient.delete().uri("/api/customers/{id}", customer.getId())
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectBody(String.class).isEqualTo("Cascading delete successful");
+                webTestClient.get().uri("/api/customers/{id}", customer.getId())
+                                .exchange()
+                                .expectStatus().isNotFound();
+                webTestClient.delete().uri("/api/customers/{id}", customer.getId())
+                                .exchange()
+                                .expectStatus().isNotFound();
+        }
+}
@@ -0,0 +1,214 @@
+package com.example.order_service.reactive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.example.order_service.reactive.model.Customer;
+import com.example.order_service.reactive.model.Order;
+import com.example.order_service.reactive.repository.CustomerRepository;
+import com.example.order_service.reactive.repository.OrderRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureWebTestClient
+public class OrderControllerAcceptanceTest {
+
+        @Autowired
+        private WebTestClient webTestClient;
+
+        @Autowired
+        private OrderRepository orderRepository;
+
+        @Autowired
+        private CustomerRepository customerRepository;
+
+        @Autowired
+        private DatabaseClient databaseClient;
+
+        private Customer customer;
+
+        @BeforeEach
+        void setUp() {
+                orderRepository.deleteAll().block(); // Clear orders before each test
+                customerRepository.deleteAll().block(); // Clear customers before each test
+                customer = customerRepository.save(new Customer(null, "Alice",
+                                "alice." + System.nanoTime() + "@example.com", "123 Test Lane", LocalDateTime.now(), 0))
+                                .block();
+        }
+
+        @Test
+        void createOrder_ShouldReturnCreatedOrder() {
+                // Given
+                Map<String, Object> orderRequest = new HashMap<>();
+                orderRequest.put("customerId", customer.getId());
+                orderRequest.put("product", "Laptop");
+                orderRequest.put("quantity", 2);
+
+                // When & Then
+                webTestClient.post().uri("/api/orders")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .bodyValue(orderRequest)
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectBody()
+                                .jsonPath("$.id").exists()
+                                .jsonPath("$.quantity").isEqualTo(2);
+        }
+
+        @Test
+        void createOrder_ForUnknownCustomer_ShouldReturnNotFound() {
+                // Given
+                Map<String, Object> orderRequest = new HashMap<>();
+                orderRequest.put("customerId", customer.getId() + 1000);
+                orderRequest.put("product", "Laptop");
+                orderRequest.put("quantity", 2);
+
+                // When & Then
+                webTestClient.post().uri("/api/orders")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .bodyValue(orderRequest)
+                                .exchange()
+                                .expectStatus().isNotFound()
+                                .expectBody()
+                                .jsonPath("$.message").isEqualTo("Customer not found");
+        }
+
+        @Test
+        void getAllOrders_ShouldReturnPageInTheLeanShape() {
+                // Given
+                for (int i = 0; i < 3; i++) {
+                        orderRepository.save(new Order(null, customer.getId(), "Product " + i, i + 1,
+                                        LocalDateTime.now())).block();
+                }
+
+                // When & Then
+                webTestClient.get().uri("/api/orders/customer/{customerId}?size=2&links=false", customer.getId())
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectBody()
+                                .jsonPath("$._embedded.orderDTOList.length()").isEqualTo(2)
+                                .jsonPath("$.page.size").isEqualTo(2)
+                                .jsonPath("$.page.totalElements").isEqualTo(3)
+                                .jsonPath("$.page.totalPages").isEqualTo(2)
+                                .jsonPath("$.page.number").isEqualTo(0);
+                webTestClient.get().uri("/api/orders/customer/{customerId}", customer.getId() + 1000)
+                                .exchange()
+                                .expectStatus().isNotFound();
+        }
+
+        @Test
+        void updateAndDeleteOrder_ShouldChangeThenRemoveIt() {
+                // Given
+                Order order = orderRepository.save(new Order(null, customer.getId(), "Lamp", 1, LocalDateTime.now()))
+                                .block();
+                Map<String, Object> update = new HashMap<>();
+                update.put("id", order.getId());
+                update.put("customerId", customer.getId());
+                update.put("product", "Lamp");
+                update.put("quantity", 4);
+
+                // When & Then
+                webTestClient.put().uri("/api/orders")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .bodyValue(update)
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectBody()
+                                .jsonPath("$.quantity").isEqualTo(4);
+                webTestClient.delete().uri("/api/orders/{id}", order.getId())
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectBody(String.class).isEqualTo("Order deleted successfully");
+                webTestClient.get().uri("/api/orders/{id}", order.getId())
+                                .exchange()
+                                .expectStatus().isNotFound();
+        }
+
+        @Test
+        void getOrdersByDateRange_ShouldReturnOrdersWithinRange() {
+                // Given
+                LocalDateTime now = LocalDateTime.now().withNano(0);
+                saveOrderCreatedAt("Old", now.minusDays(10));
+                saveOrderCreatedAt("Recent", now.minusDays(1));
+
+                // When & Then
+                webTestClient.get().uri(uri -> uri.path("/api/orders/bydate")
+                                .queryParam("startDate", now.minusDays(2))
+                                .queryParam("endDate", now)
+                                .build())
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectBody()
+                                .jsonPath("$.length()").isEqualTo(1)
+                                .jsonPath("$[0].product").isEqualTo("Recent");
+        }
+
+        @Test
+        void getOrdersSorted_AsNdjson_ShouldStreamOnlyWhatIsRequested() {
+                // Given
+                LocalDateTime now = LocalDateTime.now().withNano(0);
+                for (int i = 0; i < 50; i++) {
+                        saveOrderCreatedAt("Product " + i, now.minusMinutes(i));
+                }
+
+                // When
+                Flux<Order> orders = webTestClient.get().uri("/api/orders/sorted?sortDirection=asc")
+                                .accept(MediaType.APPLICATION_NDJSON)
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                                .returnResult(Order.class)
+                                .getResponseBody();
+
+                // Then
+                List<Order> firstTwo = orders.take(2).collectList().block();
+                assertEquals("Product 49", firstTwo.get(0).getProduct());
+                assertEquals("Product 48", firstTwo.get(1).getProduct());
+        }
+
+        @Test
+        void getOrdersSorted_ShouldReadRowsOnDemand() {
+                // Given
+                LocalDateTime now = LocalDateTime.now().withNano(0);
+                for (int i = 0; i < 5; i++) {
+                        saveOrderCreatedAt("Product " + i, now.minusMinutes(i));
+                }
+
+                // When & Then
+                StepVerifier.create(orderRepository.findAllByCreatedAtDesc(), 1)
+                                .assertNext(order -> assertEquals("Product 0", order.getProduct()))
+                                .expectNoEvent(Duration.ofMillis(100))
+                                .thenRequest(1)
+                                .assertNext(order -> assertEquals("Product 1", order.getProduct()))
+                                .thenCancel()
+                                .verify();
+        }
+
+        // Auditing stamps created_at on insert, so backdate the row afterwards.
+        private void saveOrderCreatedAt(String product, LocalDateTime createdAt) {
+                Order order = orderRepository.save(new Order(null, customer.getId(), product, 1, createdAt)).block();
+                databaseClient.sql("UPDATE orders SET created_at = :createdAt WHERE id = :id")
+                                .bind("createdAt", createdAt)
+                                .bind("id", order.getId())
+                                .then()
+                                .block();
+        }
+}
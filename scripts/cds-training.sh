@@ -0,0 +1,76 @@
+#!/bin/sh
+# Training run for the fast-startup image.
+#
+# Starts the application with the same flags the container uses, drives every
+# controller once against an in-memory database, then stops it so the JVM
+# writes a class data sharing archive of every class that was loaded. The
+# archive is only valid for the JDK and class path it was created with, so
+# run this in the image that will use it.
+#
+# The image trains against a throwaway MySQL database named by TRAINING_DB_URL
+# (with TRAINING_DB_USER and TRAINING_DB_PASSWORD); shipped jars carry no
+# in-memory database. Without TRAINING_DB_URL the in-memory training profile
+# is used, which needs a jar built with -Pin-memory-db.
+set -eu
+
+APP_JAR=${APP_JAR:-/app/order-service-0.0.1-SNAPSHOT.jar}
+ARCHIVE=${ARCHIVE:-/app/application.jsa}
+PORT=${PORT:-8080}
+API=http://localhost:$PORT/api
+
+if [ -n "${TRAINING_DB_URL:-}" ]; then
+    set -- -Dspring.datasource.url="$TRAINING_DB_URL" -Dspring.datasource.username="${TRAINING_DB_USER:-root}" \
+        -Dspring.datasource.password="${TRAINING_DB_PASSWORD:-}"
+else
+    set -- -Dspring.profiles.active=training
+fi
+
+rm -f "$ARCHIVE"
+java -XX:ArchiveClassesAtExit="$ARCHIVE" -Dspring.aot.enabled=true "$@" \
+    -Dserver.port="$PORT" -jar "$APP_JAR" &
+PID=$!
+
+i=0
+until curl -fs -o /dev/null "$API/customers"; do
+    i=$((i + 1))
+    if [ "$i" -ge 300 ] || ! kill -0 "$PID" 2>/dev/null; then
+        echo "Application did not start" >&2
+        exit 1
+    fi
+    sleep 0.2
+done
+
+call() {
+    curl -s -o /dev/null "$@"
+}
+
+customer=$(curl -fs -X POST "$API/customers" -H 'Content-Type: application/json' \
+    -d '{"name":"Training Customer","email":"training@example.com"}')
+customer_id=$(echo "$customer" | sed -n 's/.*"id":\([0-9]*\).*/\1/p')
+order=$(curl -fs -X POST "$API/orders" -H 'Content-Type: application/json' -H 'Idempotency-Key: training-1' \
+    -d "{\"customerId\":$customer_id,\"product\":\"Widget\",\"quantity\":3}")
+order_id=$(echo "$order" | sed -n 's/.*"id":\([0-9]*\).*/\1/p')
+
+call -X POST "$API/orders" -H 'Content-Type: application/json' -H 'Idempotency-Key: training-1' \
+    -d "{\"customerId\":$customer_id,\"product\":\"Widget\",\"quantity\":3}"
+call "$API/orders/$order_id"
+call -H 'If-None-Match: W/"0"' "$API/orders/$order_id"
+call -X PUT "$API/orders/$order_id" -H 'Content-Type: application/json' \
+    -d "{\"customerId\":$customer_id,\"product\":\"Gadget\",\"quantity\":4}"
+call "$API/orders/customer/$customer_id"
+call --compressed "$API/orders/customer/$customer_id?links=false"
+call -H 'Accept: application/cbor' "$API/orders/customer/$customer_id?links=false"
+call "$API/orders/bydate?startDate=2020-01-01T00:00:00&endDate=2030-01-01T00:00:00"
+call "$API/orders/sorted?sortDirection=desc"
+call "$API/orders/999999999"
+call -X POST "$API/orders" -H 'Content-Type: application/json' -d '{"customerId":999999999}'
+call "$API/customers/$customer_id"
+call "$API/customers?links=false"
+call "$API/analytics/active-customers?startDate=2020-01-01&endDate=2030-01-01"
+call -X DELETE "$API/orders/$order_id"
+call -X DELETE "$API/customers/$customer_id"
+
+# The archive is written while the JVM exits.
+kill -TERM "$PID"
+wait "$PID" || true
+test -s "$ARCHIVE"
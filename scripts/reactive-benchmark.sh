@@ -0,0 +1,95 @@
+#!/bin/sh
+# Compares the servlet build with the WebFlux/R2DBC build in
+# order-service-reactive under the same concurrent read load.
+#
+#   mvn -Pin-memory-db package -DskipTests
+#   mvn -f order-service-reactive/pom.xml package -DskipTests
+#   scripts/reactive-benchmark.sh [connections ...]
+#
+# Needs wrk. Each build runs against its own in-memory database (the servlet
+# training profile, the reactive benchmark profile) seeded with the same
+# customers and orders through the API. For every connection count, wrk reads
+# a customer's order page (lean form) and the /bydate stream, and the script
+# prints requests/s, median and 99th percentile latency, and the number of
+# non-2xx answers. The servlet build sheds load with 503 once its bulkheads
+# and concurrency limit are full; pass SERVLET_ARGS to raise them.
+set -eu
+
+CONNECTIONS=${*:-"16 64 256"}
+DURATION=${DURATION:-20s}
+THREADS=${THREADS:-4}
+CUSTOMERS=${CUSTOMERS:-20}
+ORDERS_PER_CUSTOMER=${ORDERS_PER_CUSTOMER:-50}
+SERVLET_PORT=${SERVLET_PORT:-18080}
+REACTIVE_PORT=${REACTIVE_PORT:-18081}
+SERVLET_ARGS=${SERVLET_ARGS:-}
+SERVLET_JAR=target/order-service-0.0.1-SNAPSHOT.jar
+REACTIVE_JAR=order-service-reactive/target/order-service-reactive-0.0.1-SNAPSHOT.jar
+
+command -v wrk >/dev/null || { echo "wrk is not installed" >&2; exit 1; }
+for jar in "$SERVLET_JAR" "$REACTIVE_JAR"; do
+    [ -f "$jar" ] || { echo "$jar is missing; build it first" >&2; exit 1; }
+done
+
+PIDS=""
+trap 'for pid in $PIDS; do kill -TERM "$pid" 2>/dev/null || true; done' EXIT
+
+wait_for() {
+    until curl -fs -o /dev/null "http://localhost:$1/api/customers?links=false"; do
+        sleep 0.2
+    done
+}
+
+# Creates the same customers and orders on the build listening on the port.
+seed() {
+    c=1
+    while [ "$c" -le "$CUSTOMERS" ]; do
+        curl -fs -o /dev/null -H 'Content-Type: application/json' \
+            -d "{\"name\":\"Customer $c\",\"email\":\"customer$c@example.com\"}" \
+            "http://localhost:$1/api/customers"
+        o=1
+        while [ "$o" -le "$ORDERS_PER_CUSTOMER" ]; do
+            curl -fs -o /dev/null -H 'Content-Type: application/json' \
+                -d "{\"customerId\":$c,\"product\":\"Product $o\",\"quantity\":$o}" \
+                "http://localhost:$1/api/orders"
+            o=$((o + 1))
+        done
+        c=$((c + 1))
+    done
+}
+
+# Prints one result line for a wrk run against the URL.
+measure() {
+    wrk -t"$THREADS" -c"$2" -d"$DURATION" --latency "$1" | awk -v label="$3" -v c="$2" '
+        /Requests\/sec/ { rps = $2 }
+        /^ +50%/ { p50 = $2 }
+        /^ +99%/ { p99 = $2 }
+        /Non-2xx/ { errors = $NF }
+        END { printf "%-28s c=%-4s %10s req/s  p50 %-9s p99 %-9s non-2xx %s\n", label, c, rps, p50, p99, errors + 0 }'
+}
+
+java -Dspring.profiles.active=training -Dserver.port="$SERVLET_PORT" $SERVLET_ARGS \
+    -jar "$SERVLET_JAR" >/dev/null 2>&1 &
+PIDS="$PIDS $!"
+java -Dspring.profiles.active=benchmark -Dserver.port="$REACTIVE_PORT" \
+    -jar "$REACTIVE_JAR" >/dev/null 2>&1 &
+PIDS="$PIDS $!"
+wait_for "$SERVLET_PORT"
+wait_for "$REACTIVE_PORT"
+seed "$SERVLET_PORT"
+seed "$REACTIVE_PORT"
+
+FROM=$(date -d '-1 day' +%Y-%m-%dT%H:%M:%S)
+TO=$(date -d '+1 day' +%Y-%m-%dT%H:%M:%S)
+PAGE="/api/orders/customer/1?size=20&links=false"
+RANGE="/api/orders/bydate?startDate=$FROM&endDate=$TO"
+
+for c in $CONNECTIONS; do
+    # Warm up the JIT on both before measuring.
+    wrk -t"$THREADS" -c"$c" -d5s "http://localhost:$SERVLET_PORT$PAGE" >/dev/null
+    wrk -t"$THREADS" -c"$c" -d5s "http://localhost:$REACTIVE_PORT$PAGE" >/dev/null
+    measure "http://localhost:$SERVLET_PORT$PAGE" "$c" "servlet  order page"
+    measure "http://localhost:$REACTIVE_PORT$PAGE" "$c" "reactive order page"
+    measure "http://localhost:$SERVLET_PORT$RANGE" "$c" "servlet  bydate"
+    measure "http://localhost:$REACTIVE_PORT$RANGE" "$c" "reactive bydate"
+done
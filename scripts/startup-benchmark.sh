@@ -0,0 +1,61 @@
+#!/bin/sh
+# Measures time-to-first-successful-request for the plain fat jar and for the
+# fast-startup layout (extracted jar, Spring AOT, AppCDS archive).
+#
+#   mvn -Pfast-startup,in-memory-db package -DskipTests
+#   scripts/startup-benchmark.sh [runs]
+#
+# Both variants use the in-memory training profile so the database is not part
+# of the measurement. Prints the median of each over the given number of runs.
+set -eu
+
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+JAR=target/order-service-0.0.1-SNAPSHOT.jar
+WORK=target/fast-startup
+
+now_ms() {
+    date +%s%3N
+}
+
+# Starts the JVM with the given arguments and prints the milliseconds until
+# GET /api/customers first succeeds.
+time_to_first_request() {
+    start=$(now_ms)
+    java -Dspring.profiles.active=training -Dserver.port="$PORT" "$@" >/dev/null 2>&1 &
+    pid=$!
+    until curl -fs -o /dev/null "http://localhost:$PORT/api/customers"; do
+        sleep 0.01
+    done
+    end=$(now_ms)
+    kill -TERM "$pid"
+    wait "$pid" || true
+    echo $((end - start))
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : (v[NR / 2] + v[NR / 2 + 1]) / 2 }'
+}
+
+if ! unzip -l "$JAR" | grep -q '__ApplicationContextInitializer'; then
+    echo "$JAR has no AOT classes; build it with -Pfast-startup,in-memory-db" >&2
+    exit 1
+fi
+
+rm -rf "$WORK"
+java -Djarmode=tools -jar "$JAR" extract --destination "$WORK"
+APP_JAR="$WORK/$(basename "$JAR")" ARCHIVE="$WORK/application.jsa" PORT="$PORT" \
+    scripts/cds-training.sh >/dev/null 2>&1
+
+baseline=""
+fast=""
+i=0
+while [ "$i" -lt "$RUNS" ]; do
+    baseline="$baseline $(time_to_first_request -jar "$JAR")"
+    fast="$fast $(time_to_first_request -XX:SharedArchiveFile="$WORK/application.jsa" \
+        -Dspring.aot.enabled=true -jar "$WORK/$(basename "$JAR")")"
+    i=$((i + 1))
+done
+
+echo "baseline (java -jar):   $(echo $baseline | tr ' ' '\n' | median) ms  [$baseline ]"
+echo "fast-startup (AOT+CDS): $(echo $fast | tr ' ' '\n' | median) ms  [$fast ]"
@@ -1,27 +1,28 @@
 package com.example.order_service;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.ComponentScan;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
 @SpringBootApplication
 @EnableJpaAuditing
-@ComponentScan(basePackages = { "com.example.order_service", "com.example.hateoas" }) // Ensure correct package
-public class OrderServiceApplication implements CommandLineRunner {
+public class OrderServiceApplication {
 
-	@Value("${spring.datasource.url}")
-	private String jdbcUrl;
+	// Enough for every bean, repository and auto-configuration step of one startup.
+	static final int STARTUP_STEP_CAPACITY = 4096;
 
 	public static void main(String[] args) {
-		SpringApplication.run(OrderServiceApplication.class, args);
+		application().run(args);
 	}
 
-	@Override
-	public void run(String... args) {
-		System.out.println("JDBC URL: " + jdbcUrl);
+	/**
+	 * Records startup steps so they can be read from /actuator/startup.
+	 */
+	static SpringApplication application() {
+		SpringApplication application = new SpringApplication(OrderServiceApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+		return application;
 	}
 
 }
@@ -0,0 +1,242 @@
+package com.example.order_service.analytics;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * A compressed set of non-negative IDs laid out like a Roaring bitmap.
+ *
+ * IDs are grouped by their high bits into containers of 65536 values. A
+ * container holding few IDs stores their low 16 bits as a sorted char array
+ * (2 bytes per ID); once it holds more than 4096 it switches to a fixed 8 KB
+ * bitset, which is then the smaller of the two. Dense runs of IDs, as
+ * auto-increment keys produce, therefore cost about one bit each, and sparse
+ * ones two bytes.
+ *
+ * Not thread-safe; callers guard it with their own lock.
+ */
+public final class IdBitmap {
+
+    private static final int ARRAY_LIMIT = 4096;
+
+    private long[] keys = new long[0];
+    private Container[] containers = new Container[0];
+    private int size;
+    private long cardinality;
+
+    /**
+     * @return Whether the ID was not already present.
+     */
+    public boolean add(long id) {
+        long key = id >>> 16;
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index < 0) {
+            index = -index - 1;
+            insertContainer(index, key);
+        }
+        Container container = containers[index];
+        if (!container.add((char) id)) {
+            return false;
+        }
+        if (container instanceof ArrayContainer array && array.cardinality() > ARRAY_LIMIT) {
+            containers[index] = array.toBitmap();
+        }
+        cardinality++;
+        return true;
+    }
+
+    /**
+     * @return Whether the ID was present.
+     */
+    public boolean remove(long id) {
+        int index = Arrays.binarySearch(keys, 0, size, id >>> 16);
+        if (index < 0) {
+            return false;
+        }
+        Container container = containers[index];
+        if (!container.remove((char) id)) {
+            return false;
+        }
+        cardinality--;
+        if (container.cardinality() == 0) {
+            removeContainer(index);
+        } else if (container instanceof BitmapContainer bitmap && bitmap.cardinality() < ARRAY_LIMIT / 2) {
+            containers[index] = bitmap.toArray();
+        }
+        return true;
+    }
+
+    public boolean contains(long id) {
+        int index = Arrays.binarySearch(keys, 0, size, id >>> 16);
+        return index >= 0 && containers[index].contains((char) id);
+    }
+
+    public long cardinality() {
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    /**
+     * Adds every ID of another bitmap to this one.
+     */
+    public void addAll(IdBitmap other) {
+        other.forEachDescending(this::add);
+    }
+
+    /**
+     * Calls the consumer with every ID, largest first.
+     */
+    public void forEachDescending(LongConsumer consumer) {
+        for (int i = size - 1; i >= 0; i--) {
+            containers[i].forEachDescending(keys[i] << 16, consumer);
+        }
+    }
+
+    private void insertContainer(int index, long key) {
+        if (size == keys.length) {
+            int capacity = Math.max(4, size * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = new ArrayContainer();
+        size++;
+    }
+
+    private void removeContainer(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+        containers[--size] = null;
+    }
+
+    private abstract static class Container {
+        abstract boolean add(char value);
+
+        abstract boolean remove(char value);
+
+        abstract boolean contains(char value);
+
+        abstract int cardinality();
+
+        abstract void forEachDescending(long base, LongConsumer consumer);
+    }
+
+    private static final class ArrayContainer extends Container {
+        private char[] values = new char[4];
+        private int count;
+
+        @Override
+        boolean add(char value) {
+            int index = Arrays.binarySearch(values, 0, count, value);
+            if (index >= 0) {
+                return false;
+            }
+            index = -index - 1;
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            System.arraycopy(values, index, values, index + 1, count - index);
+            values[index] = value;
+            count++;
+            return true;
+        }
+
+        @Override
+        boolean remove(char value) {
+            int index = Arrays.binarySearch(values, 0, count, value);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(values, index + 1, values, index, count - index - 1);
+            count--;
+            return true;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, count, value) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return count;
+        }
+
+        @Override
+        void forEachDescending(long base, LongConsumer consumer) {
+            for (int i = count - 1; i >= 0; i--) {
+                consumer.accept(base | values[i]);
+            }
+        }
+
+        BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < count; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        private final long[] words = new long[1024];
+        private int count;
+
+        @Override
+        boolean add(char value) {
+            long bit = 1L << value;
+            int word = value >>> 6;
+            if ((words[word] & bit) != 0) {
+                return false;
+            }
+            words[word] |= bit;
+            count++;
+            return true;
+        }
+
+        @Override
+        boolean remove(char value) {
+            long bit = 1L << value;
+            int word = value >>> 6;
+            if ((words[word] & bit) == 0) {
+                return false;
+            }
+            words[word] &= ~bit;
+            count--;
+            return true;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return count;
+        }
+
+        @Override
+        void forEachDescending(long base, LongConsumer consumer) {
+            for (int word = words.length - 1; word >= 0; word--) {
+                long bits = words[word];
+                while (bits != 0) {
+                    int bit = 63 - Long.numberOfLeadingZeros(bits);
+                    consumer.accept(base | ((long) word << 6) | bit);
+                    bits &= ~(1L << bit);
+                }
+            }
+        }
+
+        ArrayContainer toArray() {
+            ArrayContainer array = new ArrayContainer();
+            forEachDescending(0, value -> array.add((char) value));
+            return array;
+        }
+    }
+}
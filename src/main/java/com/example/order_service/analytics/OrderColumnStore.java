@@ -0,0 +1,343 @@
+package com.example.order_service.analytics;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.order_service.event.OrderChangedEvent;
+import com.example.order_service.model.Order;
+import com.example.order_service.model.OrderAggregateDTO;
+import com.example.order_service.service.OrderArchive;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-process columnar copy of the orders table for analytical scans.
+ *
+ * Every column is a primitive array indexed by row, and products are
+ * dictionary-encoded to int codes, so a scan is a tight loop over a handful of
+ * arrays that the JIT can unroll and vectorise. Large scans are split across
+ * the common fork/join pool. Deleted rows are tombstoned and compacted away
+ * once they make up a quarter of the store.
+ *
+ * Enabled with {@code order-service.columnar.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "order-service.columnar.enabled", havingValue = "true")
+public class OrderColumnStore {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderColumnStore.class);
+
+    static final int SCAN_CHUNK = 1 << 15;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    OrderArchive orderArchive;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] customerIds = new long[INITIAL_CAPACITY];
+    private long[] createdAt = new long[INITIAL_CAPACITY];
+    private int[] quantities = new int[INITIAL_CAPACITY];
+    private int[] productCodes = new int[INITIAL_CAPACITY];
+    private boolean[] live = new boolean[INITIAL_CAPACITY];
+    private int size;
+    private int tombstones;
+
+    private final Map<Long, Integer> rowById = new HashMap<>();
+    private final List<String> products = new ArrayList<>();
+    private final Map<String, Integer> productCodeByName = new HashMap<>();
+
+    /**
+     * Loads every order from the database, including archived ones when the
+     * archive is enabled. Columns are read directly from the result set, so no
+     * Order entities are created.
+     */
+    @PostConstruct
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            clear();
+            String sql = "SELECT id, customer_id, product, quantity, created_at FROM orders";
+            if (orderArchive.isEnabled()) {
+                sql += " UNION ALL SELECT id, customer_id, product, quantity, created_at FROM orders_archive";
+            }
+            jdbcTemplate.query(sql, rs -> {
+                LocalDateTime created = rs.getTimestamp(5) != null ? rs.getTimestamp(5).toLocalDateTime() : null;
+                append(rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getInt(4), created);
+            });
+            log.info("Loaded {} orders into the columnar snapshot", size);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        if (event.getType() == OrderChangedEvent.Type.DELETED) {
+            remove(event.getOrderId());
+        } else {
+            upsert(event.getOrder());
+        }
+    }
+
+    public void upsert(Order order) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowById.get(order.getId());
+            if (row == null) {
+                append(order.getId(), order.getCustomerId(), order.getProduct(), order.getQuantity(),
+                        order.getCreatedAt());
+            } else {
+                write(row, order.getId(), order.getCustomerId(), order.getProduct(), order.getQuantity(),
+                        order.getCreatedAt());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long orderId) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowById.remove(orderId);
+            if (row == null) {
+                return;
+            }
+            live[row] = false;
+            tombstones++;
+            if (tombstones > size / 4) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Counts and aggregates the quantities of every order matching the filter.
+     */
+    public OrderAggregateDTO aggregate(OrderScanFilter filter) {
+        lock.readLock().lock();
+        try {
+            int productCode = -1;
+            if (filter.getProduct() != null) {
+                Integer code = productCodeByName.get(filter.getProduct());
+                if (code == null) {
+                    return new OrderAggregateDTO(0, 0, null, null, size - tombstones);
+                }
+                productCode = code;
+            }
+            ScanTask task = new ScanTask(this, 0, size,
+                    filter.getMinQuantity() != null ? filter.getMinQuantity() : Integer.MIN_VALUE,
+                    filter.getMaxQuantity() != null ? filter.getMaxQuantity() : Integer.MAX_VALUE,
+                    filter.getStartDate() != null ? toEpochMilli(filter.getStartDate()) : Long.MIN_VALUE,
+                    filter.getEndDate() != null ? toEpochMilli(filter.getEndDate()) : Long.MAX_VALUE,
+                    productCode, filter.getCustomerId() != null ? filter.getCustomerId() : -1L);
+            ScanResult result = size > SCAN_CHUNK ? ForkJoinPool.commonPool().invoke(task) : task.compute();
+            return new OrderAggregateDTO(result.count, result.totalQuantity,
+                    result.count == 0 ? null : result.minQuantity,
+                    result.count == 0 ? null : result.maxQuantity,
+                    size - tombstones);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size - tombstones;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void append(long id, Long customerId, String product, Integer quantity, LocalDateTime created) {
+        if (size == ids.length) {
+            grow();
+        }
+        int row = size++;
+        rowById.put(id, row);
+        write(row, id, customerId, product, quantity, created);
+    }
+
+    private void write(int row, long id, Long customerId, String product, Integer quantity,
+            LocalDateTime created) {
+        ids[row] = id;
+        customerIds[row] = customerId != null ? customerId : -1L;
+        createdAt[row] = created != null ? toEpochMilli(created) : Long.MIN_VALUE;
+        quantities[row] = quantity != null ? quantity : 0;
+        productCodes[row] = encode(product);
+        live[row] = true;
+    }
+
+    private int encode(String product) {
+        if (product == null) {
+            return -2;
+        }
+        return productCodeByName.computeIfAbsent(product, name -> {
+            products.add(name);
+            return products.size() - 1;
+        });
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        customerIds = Arrays.copyOf(customerIds, capacity);
+        createdAt = Arrays.copyOf(createdAt, capacity);
+        quantities = Arrays.copyOf(quantities, capacity);
+        productCodes = Arrays.copyOf(productCodes, capacity);
+        live = Arrays.copyOf(live, capacity);
+    }
+
+    private void compact() {
+        int target = 0;
+        for (int row = 0; row < size; row++) {
+            if (!live[row]) {
+                continue;
+            }
+            if (target != row) {
+                ids[target] = ids[row];
+                customerIds[target] = customerIds[row];
+                createdAt[target] = createdAt[row];
+                quantities[target] = quantities[row];
+                productCodes[target] = productCodes[row];
+                live[target] = true;
+                rowById.put(ids[target], target);
+            }
+            target++;
+        }
+        Arrays.fill(live, target, size, false);
+        size = target;
+        tombstones = 0;
+    }
+
+    private void clear() {
+        size = 0;
+        tombstones = 0;
+        rowById.clear();
+        products.clear();
+        productCodeByName.clear();
+        Arrays.fill(live, false);
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static final class ScanResult {
+        long count;
+        long totalQuantity;
+        int minQuantity = Integer.MAX_VALUE;
+        int maxQuantity = Integer.MIN_VALUE;
+
+        ScanResult combine(ScanResult other) {
+            count += other.count;
+            totalQuantity += other.totalQuantity;
+            minQuantity = Math.min(minQuantity, other.minQuantity);
+            maxQuantity = Math.max(maxQuantity, other.maxQuantity);
+            return this;
+        }
+    }
+
+    /**
+     * Scans a range of rows, splitting it in half until it fits in one chunk.
+     * The caller holds the read lock for the whole scan.
+     */
+    private static final class ScanTask extends RecursiveTask<ScanResult> {
+        private final OrderColumnStore store;
+        private final int from;
+        private final int to;
+        private final int minQuantity;
+        private final int maxQuantity;
+        private final long startMillis;
+        private final long endMillis;
+        private final int productCode;
+        private final long customerId;
+
+        ScanTask(OrderColumnStore store, int from, int to, int minQuantity, int maxQuantity, long startMillis,
+                long endMillis, int productCode, long customerId) {
+            this.store = store;
+            this.from = from;
+            this.to = to;
+            this.minQuantity = minQuantity;
+            this.maxQuantity = maxQuantity;
+            this.startMillis = startMillis;
+            this.endMillis = endMillis;
+            this.productCode = productCode;
+            this.customerId = customerId;
+        }
+
+        @Override
+        protected ScanResult compute() {
+            if (to - from > SCAN_CHUNK) {
+                int middle = (from + to) >>> 1;
+                ScanTask left = split(from, middle);
+                ScanTask right = split(middle, to);
+                left.fork();
+                return right.compute().combine(left.join());
+            }
+            return scan();
+        }
+
+        private ScanTask split(int splitFrom, int splitTo) {
+            return new ScanTask(store, splitFrom, splitTo, minQuantity, maxQuantity, startMillis, endMillis,
+                    productCode, customerId);
+        }
+
+        private ScanResult scan() {
+            final long[] customerIds = store.customerIds;
+            final long[] createdAt = store.createdAt;
+            final int[] quantities = store.quantities;
+            final int[] productCodes = store.productCodes;
+            final boolean[] live = store.live;
+            final boolean anyProduct = productCode < 0;
+            final boolean anyCustomer = customerId < 0;
+
+            long count = 0;
+            long total = 0;
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            // Non-short-circuit operators keep the loop body free of branches.
+            for (int i = from; i < to; i++) {
+                int quantity = quantities[i];
+                long created = createdAt[i];
+                boolean match = live[i]
+                        & quantity >= minQuantity & quantity <= maxQuantity
+                        & created >= startMillis & created <= endMillis
+                        & (anyProduct | productCodes[i] == productCode)
+                        & (anyCustomer | customerIds[i] == customerId);
+                count += match ? 1 : 0;
+                total += match ? quantity : 0;
+                min = Math.min(min, match ? quantity : Integer.MAX_VALUE);
+                max = Math.max(max, match ? quantity : Integer.MIN_VALUE);
+            }
+            ScanResult result = new ScanResult();
+            result.count = count;
+            result.totalQuantity = total;
+            result.minQuantity = min;
+            result.maxQuantity = max;
+            return result;
+        }
+    }
+}
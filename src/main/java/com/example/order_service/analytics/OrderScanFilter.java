@@ -0,0 +1,77 @@
+package com.example.order_service.analytics;
+
+import java.time.LocalDateTime;
+
+/**
+ * Predicates applied by a scan of the {@link OrderColumnStore}. Null fields
+ * match every order.
+ */
+public class OrderScanFilter {
+    private Integer minQuantity;
+    private Integer maxQuantity;
+    private String product;
+    private Long customerId;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+
+    public OrderScanFilter() {
+    }
+
+    public OrderScanFilter(Integer minQuantity, Integer maxQuantity, String product, Long customerId,
+            LocalDateTime startDate, LocalDateTime endDate) {
+        this.minQuantity = minQuantity;
+        this.maxQuantity = maxQuantity;
+        this.product = product;
+        this.customerId = customerId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    public Integer getMinQuantity() {
+        return minQuantity;
+    }
+
+    public void setMinQuantity(Integer minQuantity) {
+        this.minQuantity = minQuantity;
+    }
+
+    public Integer getMaxQuantity() {
+        return maxQuantity;
+    }
+
+    public void setMaxQuantity(Integer maxQuantity) {
+        this.maxQuantity = maxQuantity;
+    }
+
+    public String getProduct() {
+        return product;
+    }
+
+    public void setProduct(String product) {
+        this.product = product;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public LocalDateTime getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDateTime startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDateTime getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDateTime endDate) {
+        this.endDate = endDate;
+    }
+}
@@ -0,0 +1,276 @@
+package com.example.order_service.analytics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.order_service.event.OrderChangedEvent;
+import com.example.order_service.model.Order;
+import com.example.order_service.service.OrderArchive;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-process inverted index from product-name terms to order IDs.
+ *
+ * Product names are split into lower-cased runs of letters and digits, and
+ * each term maps to an {@link IdBitmap} of the orders containing it. A word
+ * joined by punctuation, such as USB-C, is also indexed as one term
+ * ({@code usbc}), and a query word like that looks only for the joined term,
+ * so "USB-C" does not match "USB Cable". Terms are kept sorted, so the last
+ * word of a query also matches as a prefix, which is what a search-as-you-type
+ * box sends, unless the query ends after it. Orders can be narrowed to one customer
+ * through a per-customer bitmap. The product of every indexed order is kept
+ * so an update or delete can take its old terms out again.
+ *
+ * Enabled with {@code order-service.search.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "order-service.search.enabled", havingValue = "true")
+public class OrderSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderSearchIndex.class);
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    OrderArchive orderArchive;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final NavigableMap<String, IdBitmap> postings = new TreeMap<>();
+    private final Map<Long, IdBitmap> ordersByCustomer = new HashMap<>();
+    private final Map<Long, Indexed> indexed = new HashMap<>();
+
+    /**
+     * The number of orders matching a query and the IDs of the newest of them.
+     */
+    public record Hits(long total, List<Long> orderIds) {
+    }
+
+    private record Indexed(long customerId, String product) {
+    }
+
+    /**
+     * Indexes every order from the database, including archived ones when the
+     * archive is enabled, since reads fall back to it.
+     */
+    @PostConstruct
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            ordersByCustomer.clear();
+            indexed.clear();
+            String sql = "SELECT id, customer_id, product FROM orders";
+            if (orderArchive.isEnabled()) {
+                sql += " UNION ALL SELECT id, customer_id, product FROM orders_archive";
+            }
+            jdbcTemplate.query(sql, rs -> {
+                add(rs.getLong(1), rs.getLong(2), rs.getString(3));
+            });
+            log.info("Indexed {} orders under {} product terms", indexed.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        if (event.getType() == OrderChangedEvent.Type.DELETED) {
+            remove(event.getOrderId());
+        } else {
+            upsert(event.getOrder());
+        }
+    }
+
+    public void upsert(Order order) {
+        lock.writeLock().lock();
+        try {
+            Indexed previous = indexed.get(order.getId());
+            if (previous != null && previous.customerId() == order.getCustomerId()
+                    && previous.product().equals(order.getProduct())) {
+                return;
+            }
+            removeIndexed(order.getId());
+            add(order.getId(), order.getCustomerId(), order.getProduct());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long orderId) {
+        lock.writeLock().lock();
+        try {
+            removeIndexed(orderId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the orders whose product contains every term of the query, the
+     * last term matching as a prefix unless the query ends in a space or
+     * punctuation.
+     *
+     * @param query      The words to look for.
+     * @param customerId The customer whose orders to search, or null for all.
+     * @param limit      The most order IDs to return.
+     * @return The match count and up to {@code limit} IDs, newest first.
+     */
+    public Hits search(String query, Long customerId, int limit) {
+        List<String> terms = new ArrayList<>(queryTerms(query));
+        if (terms.isEmpty()) {
+            return new Hits(0, List.of());
+        }
+        lock.readLock().lock();
+        try {
+            List<IdBitmap> required = new ArrayList<>();
+            if (customerId != null) {
+                required.add(ordersByCustomer.get(customerId));
+            }
+            String last = terms.remove(terms.size() - 1);
+            for (String term : terms) {
+                required.add(postings.get(term));
+            }
+            boolean complete = !Character.isLetterOrDigit(query.codePointBefore(query.length()));
+            required.add(complete ? postings.get(last) : prefixMatches(last));
+            if (required.contains(null)) {
+                return new Hits(0, List.of());
+            }
+            // Walk the smallest bitmap and probe the others.
+            required.sort(Comparator.comparingLong(IdBitmap::cardinality));
+            IdBitmap smallest = required.get(0);
+            List<IdBitmap> others = required.subList(1, required.size());
+            List<Long> orderIds = new ArrayList<>(Math.min(limit, 64));
+            long[] total = new long[1];
+            smallest.forEachDescending(id -> {
+                for (IdBitmap other : others) {
+                    if (!other.contains(id)) {
+                        return;
+                    }
+                }
+                if (total[0]++ < limit) {
+                    orderIds.add(id);
+                }
+            });
+            return new Hits(total[0], orderIds);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return The number of orders indexed.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return indexed.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The terms a product is indexed under: every run of letters and digits,
+     * plus the runs of each punctuated word joined together.
+     */
+    static Set<String> tokenize(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("\\s+")) {
+            List<String> parts = parts(word);
+            terms.addAll(parts);
+            if (parts.size() > 1) {
+                terms.add(String.join("", parts));
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * The terms a query looks for: one per word, punctuated words joined.
+     */
+    static Set<String> queryTerms(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (query == null) {
+            return terms;
+        }
+        for (String word : query.toLowerCase(Locale.ROOT).split("\\s+")) {
+            List<String> parts = parts(word);
+            if (!parts.isEmpty()) {
+                terms.add(String.join("", parts));
+            }
+        }
+        return terms;
+    }
+
+    private static List<String> parts(String word) {
+        List<String> parts = new ArrayList<>();
+        for (String part : word.split("[^\\p{L}\\p{N}]+")) {
+            if (!part.isEmpty()) {
+                parts.add(part);
+            }
+        }
+        return parts;
+    }
+
+    private IdBitmap prefixMatches(String prefix) {
+        NavigableMap<String, IdBitmap> matches = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        if (matches.isEmpty()) {
+            return null;
+        }
+        if (matches.size() == 1) {
+            return matches.firstEntry().getValue();
+        }
+        IdBitmap union = new IdBitmap();
+        matches.values().forEach(union::addAll);
+        return union;
+    }
+
+    private void add(long orderId, long customerId, String product) {
+        indexed.put(orderId, new Indexed(customerId, product != null ? product : ""));
+        ordersByCustomer.computeIfAbsent(customerId, id -> new IdBitmap()).add(orderId);
+        for (String term : tokenize(product)) {
+            postings.computeIfAbsent(term, t -> new IdBitmap()).add(orderId);
+        }
+    }
+
+    private void removeIndexed(long orderId) {
+        Indexed previous = indexed.remove(orderId);
+        if (previous == null) {
+            return;
+        }
+        removePosting(ordersByCustomer, previous.customerId(), orderId);
+        for (String term : tokenize(previous.product())) {
+            removePosting(postings, term, orderId);
+        }
+    }
+
+    private static <K> void removePosting(Map<K, IdBitmap> map, K key, long orderId) {
+        IdBitmap bitmap = map.get(key);
+        if (bitmap != null && bitmap.remove(orderId) && bitmap.isEmpty()) {
+            map.remove(key);
+        }
+    }
+}
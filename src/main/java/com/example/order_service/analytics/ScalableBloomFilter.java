@@ -0,0 +1,163 @@
+package com.example.order_service.analytics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A Bloom filter that grows with the number of keys added to it.
+ *
+ * Keys go into the newest of a series of plain Bloom filters. Once a stage
+ * holds as many keys as it was sized for, a new stage twice as large is added
+ * with half the false-positive rate of the one before, so the rates form a
+ * geometric series and the filter as a whole stays under the configured rate
+ * however many stages it grows (Almeida et al., "Scalable Bloom Filters").
+ * A lookup that finds nothing in any stage means the key was never added.
+ *
+ * Keys cannot be removed. Not thread-safe; callers guard it with their own
+ * lock.
+ */
+public final class ScalableBloomFilter {
+
+    private static final int GROWTH = 2;
+    private static final double TIGHTENING = 0.5;
+
+    private final List<Stage> stages = new ArrayList<>();
+    private long size;
+
+    /**
+     * @param initialCapacity   The keys the first stage is sized for.
+     * @param falsePositiveRate The highest rate of false positives over all
+     *                          stages, between 0 and 1.
+     */
+    public ScalableBloomFilter(long initialCapacity, double falsePositiveRate) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("Initial capacity must be at least 1");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1");
+        }
+        // The first stage gets (1 - r) of the budget so the series sums to it.
+        stages.add(new Stage(initialCapacity, falsePositiveRate * (1 - TIGHTENING)));
+    }
+
+    /**
+     * @return Whether the key was not already (probably) present.
+     */
+    public boolean add(String key) {
+        long hash1 = hash(key);
+        long hash2 = mix64(hash1) | 1;
+        if (contains(hash1, hash2)) {
+            return false;
+        }
+        Stage stage = stages.get(stages.size() - 1);
+        if (stage.count >= stage.capacity) {
+            stage = new Stage(stage.capacity * GROWTH, stage.falsePositiveRate * TIGHTENING);
+            stages.add(stage);
+        }
+        stage.add(hash1, hash2);
+        size++;
+        return true;
+    }
+
+    /**
+     * @return False if the key was definitely never added, true if it
+     *         probably was.
+     */
+    public boolean mightContain(String key) {
+        long hash1 = hash(key);
+        return contains(hash1, mix64(hash1) | 1);
+    }
+
+    /**
+     * @return The number of distinct keys added, give or take false positives.
+     */
+    public long size() {
+        return size;
+    }
+
+    public int stageCount() {
+        return stages.size();
+    }
+
+    /**
+     * @return The memory taken by the bit arrays, in bytes.
+     */
+    public long sizeInBytes() {
+        long bytes = 0;
+        for (Stage stage : stages) {
+            bytes += stage.bits.length * (long) Long.BYTES;
+        }
+        return bytes;
+    }
+
+    private boolean contains(long hash1, long hash2) {
+        for (int i = stages.size() - 1; i >= 0; i--) {
+            if (stages.get(i).contains(hash1, hash2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-16 code units, finished with a full
+     * avalanche so both halves of the hash are usable.
+     */
+    private static long hash(String key) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return mix64(hash);
+    }
+
+    private static long mix64(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class Stage {
+        private final long capacity;
+        private final double falsePositiveRate;
+        private final long[] bits;
+        private final long bitCount;
+        private final int hashes;
+        private long count;
+
+        Stage(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            // The optimal sizes: m = -n ln p / (ln 2)^2 bits and k = m/n ln 2 hashes.
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bits = new long[(int) Math.max(1, (optimalBits + 63) / 64)];
+            this.bitCount = bits.length * 64L;
+            this.hashes = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+        }
+
+        void add(long hash1, long hash2) {
+            // Kirsch-Mitzenmacher: the k indexes are h1 + i * h2.
+            long combined = hash1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Long.remainderUnsigned(combined, bitCount);
+                bits[(int) (bit >>> 6)] |= 1L << bit;
+                combined += hash2;
+            }
+            count++;
+        }
+
+        boolean contains(long hash1, long hash2) {
+            long combined = hash1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Long.remainderUnsigned(combined, bitCount);
+                if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                    return false;
+                }
+                combined += hash2;
+            }
+            return true;
+        }
+    }
+}
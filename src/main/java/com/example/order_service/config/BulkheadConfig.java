@@ -0,0 +1,88 @@
+package com.example.order_service.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.example.order_service.datasource.BulkheadRoutingDataSource;
+import com.example.order_service.web.BulkheadProperties;
+import com.example.order_service.web.Bulkheads;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sets up the bulkheads for heavy endpoints and, when enabled, a separate
+ * connection pool for each of them.
+ */
+@Configuration
+@EnableConfigurationProperties(BulkheadProperties.class)
+public class BulkheadConfig {
+
+    @Bean
+    public Bulkheads bulkheads(BulkheadProperties bulkheadProperties, MeterRegistry meterRegistry) {
+        return new Bulkheads(bulkheadProperties, meterRegistry);
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "order-service.bulkheads.separate-connection-pools", havingValue = "true")
+    static class ConnectionPools {
+
+        @Bean
+        public BulkheadRoutingDataSource bulkheadRoutingDataSource(DataSourceProperties dataSourceProperties,
+                BulkheadProperties bulkheadProperties, MeterRegistry meterRegistry, Environment environment) {
+            if (environment.getProperty("order-service.datasource.routing.enabled", Boolean.class, false)
+                    || environment.getProperty("order-service.datasource.sharding.enabled", Boolean.class, false)) {
+                throw new IllegalStateException(
+                        "Separate bulkhead connection pools cannot be combined with replica routing or sharding");
+            }
+            HikariDataSource interactive = pool(dataSourceProperties, BulkheadRoutingDataSource.INTERACTIVE,
+                    bulkheadProperties.getInteractiveConnections(), meterRegistry);
+            Map<Object, Object> targets = new HashMap<>();
+            targets.put(BulkheadRoutingDataSource.INTERACTIVE, interactive);
+            targets.put(Bulkheads.READ, pool(dataSourceProperties, Bulkheads.READ,
+                    bulkheadProperties.getRead().getConnections(), meterRegistry));
+            targets.put(Bulkheads.BULK_READ, pool(dataSourceProperties, Bulkheads.BULK_READ,
+                    bulkheadProperties.getBulkRead().getConnections(), meterRegistry));
+            targets.put(Bulkheads.ADMIN_DELETE, pool(dataSourceProperties, Bulkheads.ADMIN_DELETE,
+                    bulkheadProperties.getAdminDelete().getConnections(), meterRegistry));
+            targets.put(Bulkheads.EXPORT, pool(dataSourceProperties, Bulkheads.EXPORT,
+                    bulkheadProperties.getExport().getConnections(), meterRegistry));
+            targets.put(Bulkheads.IMPORT, pool(dataSourceProperties, Bulkheads.IMPORT,
+                    bulkheadProperties.getImport().getConnections(), meterRegistry));
+
+            BulkheadRoutingDataSource routingDataSource = new BulkheadRoutingDataSource();
+            routingDataSource.setTargetDataSources(targets);
+            routingDataSource.setDefaultTargetDataSource(interactive);
+            return routingDataSource;
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(BulkheadRoutingDataSource bulkheadRoutingDataSource) {
+            return new LazyConnectionDataSourceProxy(bulkheadRoutingDataSource);
+        }
+
+        private static HikariDataSource pool(DataSourceProperties dataSourceProperties, String name, int size,
+                MeterRegistry meterRegistry) {
+            HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .build();
+            pool.setPoolName(name);
+            pool.setMaximumPoolSize(size);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            return pool;
+        }
+    }
+}
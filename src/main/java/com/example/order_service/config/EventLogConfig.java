@@ -0,0 +1,27 @@
+package com.example.order_service.config;
+
+import java.nio.file.Path;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.order_service.event.EventLogProperties;
+import com.example.order_service.event.OrderEventLog;
+
+/**
+ * Writes order changes to an outbox and relays them into a local append-only
+ * log that consumers tail through /api/orders/changes.
+ */
+@Configuration
+@EnableConfigurationProperties(EventLogProperties.class)
+@ConditionalOnProperty(name = "order-service.event-log.enabled", havingValue = "true")
+public class EventLogConfig {
+
+    @Bean(destroyMethod = "close")
+    public OrderEventLog orderEventLog(EventLogProperties properties) {
+        return new OrderEventLog(Path.of(properties.getDirectory()),
+                (int) properties.getSegmentSize().toBytes());
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.order_service.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.order_service.service.OrderArchiveProperties;
+
+/**
+ * Keeps recent orders in the orders table and moves older months into the
+ * archive table, which reads fall back to when they reach back that far.
+ */
+@Configuration
+@EnableConfigurationProperties(OrderArchiveProperties.class)
+public class OrderArchiveConfig {
+
+}
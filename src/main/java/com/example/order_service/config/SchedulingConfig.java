@@ -0,0 +1,13 @@
+package com.example.order_service.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the background jobs that flush and maintain derived order data.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+}
@@ -0,0 +1,88 @@
+package com.example.order_service.config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.order_service.datasource.ConsistentHashRing;
+import com.example.order_service.datasource.DataSourceSettings;
+import com.example.order_service.datasource.OrderShardingPostProcessor;
+import com.example.order_service.datasource.ShardRoutingDataSource;
+import com.example.order_service.datasource.ShardingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Spreads the orders table across several databases by a consistent hash of
+ * the customer ID. Customers and every other table stay on the regular
+ * datasource.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+@ConditionalOnProperty(name = "order-service.datasource.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(DataSourceProperties dataSourceProperties,
+            ShardingProperties shardingProperties, Environment environment) {
+        if (environment.getProperty("order-service.datasource.routing.enabled", Boolean.class, false)) {
+            throw new IllegalStateException("Sharding cannot be combined with read-replica routing");
+        }
+        HikariDataSource directory = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        directory.setPoolName(ShardRoutingDataSource.DIRECTORY);
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ShardRoutingDataSource.DIRECTORY, directory);
+        List<DataSourceSettings> shards = shardingProperties.getShards();
+        for (int i = 0; i < shards.size(); i++) {
+            String name = shardName(shards.get(i), i);
+            targets.put(name, shards.get(i).buildDataSource(name));
+        }
+
+        ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource();
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(directory);
+        return routingDataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    @Bean
+    public ConsistentHashRing shardRing(ShardingProperties shardingProperties) {
+        List<String> names = new ArrayList<>();
+        List<DataSourceSettings> shards = shardingProperties.getShards();
+        for (int i = 0; i < shards.size(); i++) {
+            names.add(shardName(shards.get(i), i));
+        }
+        return new ConsistentHashRing(names, shardingProperties.getVirtualNodes());
+    }
+
+    @Bean
+    public static OrderShardingPostProcessor orderShardingPostProcessor(ObjectProvider<ConsistentHashRing> shardRing,
+            ObjectProvider<PlatformTransactionManager> transactionManager) {
+        return new OrderShardingPostProcessor(shardRing, transactionManager);
+    }
+
+    private static String shardName(DataSourceSettings settings, int index) {
+        return settings.getName() != null ? settings.getName() : "shard-" + index;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.order_service.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.order_service.controller.CustomerController;
+import com.example.order_service.controller.OrderController;
+import com.example.order_service.service.CustomerService;
+import com.example.order_service.service.IdempotencyService;
+import com.example.order_service.service.OrderService;
+
+/**
+ * Keeps the order and customer request path eager when
+ * {@code spring.main.lazy-initialization} is on, so the first checkout after
+ * startup does not pay for Hibernate or repository bootstrap. Analytics,
+ * snapshots and other beans off that path are created on first use.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter requestPathLazyInitializationExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(OrderController.class, CustomerController.class,
+                OrderService.class, CustomerService.class, IdempotencyService.class);
+    }
+}
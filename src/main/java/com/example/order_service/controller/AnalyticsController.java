@@ -0,0 +1,36 @@
+package com.example.order_service.controller;
+
+import com.example.order_service.exception.BadRequestException;
+import com.example.order_service.model.ActiveCustomersDTO;
+import com.example.order_service.service.ActiveCustomerService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * Controller for approximate analytics over orders.
+ */
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    @Autowired
+    private ActiveCustomerService activeCustomerService;
+
+    /**
+     * Estimates how many distinct customers placed orders in a date range.
+     *
+     * @param startDate The first day of the range, inclusive.
+     * @param endDate   The last day of the range, inclusive.
+     * @return The estimated number of distinct customers.
+     * @throws BadRequestException if the end date is before the start date.
+     */
+    @GetMapping("/active-customers")
+    public ResponseEntity<ActiveCustomersDTO> getActiveCustomers(
+            @RequestParam LocalDate startDate,
+            @RequestParam LocalDate endDate) {
+        return ResponseEntity.ok(activeCustomerService.estimateActiveCustomers(startDate, endDate));
+    }
+}
@@ -1,17 +1,30 @@
 package com.example.order_service.controller;
 
+import com.example.order_service.exception.BadRequestException;
+import com.example.order_service.exception.ConflictException;
 import com.example.order_service.exception.ResourceNotFoundException;
 import com.example.order_service.hateoas.CustomerModelAssembler;
 import com.example.order_service.model.Customer;
 import com.example.order_service.model.CustomerDTO;
+import com.example.order_service.model.CustomerOrdersDTO;
+import com.example.order_service.model.MultiGetDTO;
+import com.example.order_service.model.OrderDTO;
 import com.example.order_service.service.CustomerService;
+import com.example.order_service.service.OrderService;
+import com.example.order_service.web.Bulkheads;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.PagedModel;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -24,9 +37,15 @@ public class CustomerController {
     @Autowired
     private CustomerService customerService;
 
+    @Autowired
+    private OrderService orderService;
+
     @Autowired
     private CustomerModelAssembler customerModelAssembler;
 
+    @Autowired
+    private Bulkheads bulkheads;
+
     /**
      * Dummy endpoint for testing purposes.
      *
@@ -42,6 +61,7 @@ public class CustomerController {
      *
      * @param customer The customer object to be created.
      * @return The created customer as a DTO.
+     * @throws ConflictException if the email is already registered.
      */
     @PostMapping
     public ResponseEntity<CustomerDTO> createCustomer(@Validated @RequestBody Customer customer) {
@@ -51,35 +71,114 @@ public class CustomerController {
     }
 
     /**
-     * Retrieves all customers.
+     * Retrieves all customers. Runs in the bulk-read bulkhead.
      *
      * @return A list of all customers as DTOs, each with HATEOAS links.
      */
     @GetMapping
-    public ResponseEntity<List<EntityModel<CustomerDTO>>> getAllCustomers() {
-        List<Customer> customers = customerService.getAllCustomers();
-        List<EntityModel<CustomerDTO>> customerDTOs = customers.stream()
-                .map(customerModelAssembler::toModel)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(customerDTOs);
+    public WebAsyncTask<ResponseEntity<List<EntityModel<CustomerDTO>>>> getAllCustomers() {
+        return bulkheads.getBulkRead().run(() -> {
+            List<Customer> customers = customerService.getAllCustomers();
+            List<EntityModel<CustomerDTO>> customerDTOs = customers.stream()
+                    .map(customerModelAssembler::toModel)
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(customerDTOs);
+        });
     }
 
     /**
-     * Retrieves a specific customer by ID.
+     * Retrieves all customers without HATEOAS links. Runs in the bulk-read
+     * bulkhead.
      *
-     * @param id The ID of the customer.
+     * @return A list of all customers as plain DTOs.
+     */
+    @GetMapping(params = "links=false")
+    public WebAsyncTask<ResponseEntity<List<CustomerDTO>>> getAllCustomersWithoutLinks() {
+        return bulkheads.getBulkRead().run(() -> {
+            List<CustomerDTO> customerDTOs = customerService.getAllCustomers().stream()
+                    .map(customer -> new CustomerDTO(customer.getId(), customer.getName(), customer.getEmail(),
+                            customer.getTotalOrders()))
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(customerDTOs);
+        });
+    }
+
+    /**
+     * Retrieves several customers in one call. IDs can be sent comma-separated
+     * or as repeated parameters. IDs with no customer are listed under
+     * notFound instead of failing the whole request.
+     *
+     * @param ids The IDs of the customers, at most 1000.
+     * @return The customers found as DTOs with HATEOAS links, and the IDs that
+     *         were not found.
+     * @throws BadRequestException if no IDs or too many IDs are given.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<MultiGetDTO<EntityModel<CustomerDTO>>> getCustomersByIds(@RequestParam List<Long> ids) {
+        Map<Long, Customer> customers = customerService.getCustomersByIds(ids);
+        return ResponseEntity.ok(
+                MultiGetDTO.of(ids, customers.keySet(), customerModelAssembler.toModels(customers.values())));
+    }
+
+    /**
+     * Retrieves the customer registered with an email. Most unknown emails are
+     * answered from an in-memory filter without touching the database.
+     *
+     * @param email The email of the customer.
      * @return The customer details with HATEOAS links.
+     * @throws ResourceNotFoundException if no customer has the email.
+     */
+    @GetMapping(params = "email")
+    public ResponseEntity<EntityModel<CustomerDTO>> getCustomerByEmail(@RequestParam String email) {
+        return ResponseEntity.ok(customerModelAssembler.toModel(customerService.getCustomerByEmail(email)));
+    }
+
+    /**
+     * Retrieves a specific customer by ID. The response carries an ETag, and a
+     * matching If-None-Match is answered with 304 without loading the
+     * customer.
+     *
+     * @param id      The ID of the customer.
+     * @param request The current request, used for conditional handling.
+     * @return The customer details with HATEOAS links, or null once a 304 has
+     *         been written.
      * @throws ResourceNotFoundException if the customer is
      *                                   not found.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<EntityModel<CustomerDTO>> getCustomerById(@PathVariable Long id) {
+    public ResponseEntity<EntityModel<CustomerDTO>> getCustomerById(@PathVariable Long id, WebRequest request) {
+        if (request.checkNotModified(ETags.weak(customerService.getCustomerVersion(id)))) {
+            return null;
+        }
         Customer customer = customerService.getCustomerById(id);
         return ResponseEntity.ok(customerModelAssembler.toModel(customer));
     }
 
     /**
-     * Deletes a customer and all associated orders.
+     * Retrieves a customer together with a page of their orders. The customer
+     * and the page are loaded in parallel in the read bulkhead, so the call
+     * takes about as long as the slower of the two.
+     *
+     * @param id The ID of the customer.
+     * @return The customer and the page of their orders as plain DTOs.
+     * @throws ResourceNotFoundException if the customer is
+     *                                   not found.
+     */
+    @GetMapping("/{id}/orders")
+    public CompletableFuture<ResponseEntity<CustomerOrdersDTO>> getCustomerWithOrders(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        CompletableFuture<Customer> customer = bulkheads.getRead().supply(() -> customerService.getCustomerById(id));
+        CompletableFuture<PagedModel<OrderDTO>> orders = bulkheads.getRead().supply(
+                () -> OrderController.toLeanPage(orderService.getAllOrders(id, PageRequest.of(page, size))));
+        return customer.thenCombine(orders, (found, firstPage) -> ResponseEntity.ok(new CustomerOrdersDTO(
+                new CustomerDTO(found.getId(), found.getName(), found.getEmail(), found.getTotalOrders()), firstPage)));
+    }
+
+    /**
+     * Deletes a customer and all associated orders. Runs in the admin-delete
+     * bulkhead.
      *
      * @param id The ID of the customer to delete.
      * @return A response message confirming the deletion.
@@ -87,8 +186,10 @@ public class CustomerController {
      *                                   not exist.
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<String> deleteCustomer(@PathVariable Long id) {
-        customerService.deleteCustomer(id);
-        return ResponseEntity.ok("Cascading delete successful");
+    public WebAsyncTask<ResponseEntity<String>> deleteCustomer(@PathVariable Long id) {
+        return bulkheads.getAdminDelete().run(() -> {
+            customerService.deleteCustomer(id);
+            return ResponseEntity.ok("Cascading delete successful");
+        });
     }
 }
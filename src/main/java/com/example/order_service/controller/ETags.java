@@ -0,0 +1,19 @@
+package com.example.order_service.controller;
+
+/**
+ * Formats entity versions as ETags for conditional GETs.
+ *
+ * The tags are weak because Tomcat only gzips responses without a strong
+ * ETag: a compressed body is not byte-identical to the uncompressed one. The
+ * versions themselves are exact, so If-None-Match still only matches when
+ * nothing changed.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String weak(String version) {
+        return "W/\"" + version + "\"";
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.order_service.controller;
+
+import com.example.order_service.exception.BadRequestException;
+import com.example.order_service.exception.ResourceNotFoundException;
+import com.example.order_service.model.ImportJob;
+import com.example.order_service.model.ImportReportDTO;
+import com.example.order_service.service.BulkImportService;
+import com.example.order_service.web.Bulkheads;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+/**
+ * Controller for bulk imports of customers and orders from files.
+ */
+@RestController
+@RequestMapping("/api/imports")
+public class ImportController {
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private Bulkheads bulkheads;
+
+    /**
+     * Imports customers or orders from the request body, which is read as it
+     * arrives. Rows that fail validation are skipped and reported; the rest
+     * are committed chunk by chunk. If the import fails part way, sending the
+     * same file again with the job ID resumes it after the last committed
+     * chunk. Clients pick the job ID themselves so they know it even when the
+     * first run fails. Runs in the import bulkhead.
+     *
+     * @param target  What the file holds, customers or orders.
+     * @param format  The file format, csv or ndjson.
+     * @param job     The import's ID: an earlier import of the same file is
+     *                resumed, an unknown ID starts a new one. Without it, a
+     *                new import gets a generated ID.
+     * @param request The request whose body is the file.
+     * @return The job ID, the number of rows imported and rejected, and the
+     *         rejected rows with the reason for each.
+     * @throws BadRequestException if the target or format is not supported,
+     *                             the job ID is malformed, or the CSV header
+     *                             lacks a required column.
+     */
+    @PostMapping("/{target}")
+    public WebAsyncTask<ResponseEntity<ImportReportDTO>> importFile(
+            @PathVariable String target,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) String job,
+            HttpServletRequest request) {
+        BulkImportService.Target importTarget = BulkImportService.Target.parse(target);
+        BulkImportService.Format importFormat = BulkImportService.Format.parse(format);
+        return bulkheads.getImport().run(() -> ResponseEntity.ok(
+                bulkImportService.importFile(importTarget, importFormat, job, request.getInputStream())));
+    }
+
+    /**
+     * Retrieves the checkpoint of an import.
+     *
+     * @param jobId The ID of the import.
+     * @return How far the import got and whether it has finished.
+     * @throws ResourceNotFoundException if the job does not exist.
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportJob> getImportJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(bulkImportService.getJob(jobId));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.order_service.controller;
+
+import com.example.order_service.event.EventLogProperties;
+import com.example.order_service.event.OrderEventLog;
+import com.example.order_service.exception.BadRequestException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Controller for tailing the log of order changes.
+ */
+@RestController
+@RequestMapping("/api/orders")
+@ConditionalOnProperty(name = "order-service.event-log.enabled", havingValue = "true")
+public class OrderChangesController {
+
+    static final String NEXT_OFFSET_HEADER = "Next-Offset";
+    static final String NDJSON = "application/x-ndjson";
+
+    @Autowired
+    private OrderEventLog orderEventLog;
+
+    @Autowired
+    private EventLogProperties properties;
+
+    /**
+     * Returns the order changes logged after an offset, one JSON event per
+     * line. The events are copied straight from the mapped log segment to the
+     * response, so a poll costs only the events that are new since the last
+     * one. The Next-Offset header is the offset to ask for next; an empty body
+     * means nothing has changed yet.
+     *
+     * @param since    The offset to read from: 0, or the Next-Offset of the
+     *                 previous poll.
+     * @param response The response the events are written to.
+     * @throws BadRequestException if the offset is not the start of an event.
+     */
+    @GetMapping("/changes")
+    public void getChanges(@RequestParam(defaultValue = "0") long since, HttpServletResponse response)
+            throws IOException {
+        OrderEventLog.Slice slice = orderEventLog.read(since, (int) properties.getMaxReadSize().toBytes());
+        response.setContentType(NDJSON);
+        response.setHeader(NEXT_OFFSET_HEADER, String.valueOf(slice.getNextOffset()));
+        ByteBuffer records = slice.getRecords();
+        response.setContentLength(records.remaining());
+        WritableByteChannel body = Channels.newChannel(response.getOutputStream());
+        while (records.hasRemaining()) {
+            body.write(records);
+        }
+    }
+}
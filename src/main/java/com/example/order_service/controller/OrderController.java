@@ -3,9 +3,15 @@ package com.example.order_service.controller;
 import com.example.order_service.exception.BadRequestException;
 import com.example.order_service.exception.ResourceNotFoundException;
 import com.example.order_service.hateoas.OrderModelAssembler;
+import com.example.order_service.model.MultiGetDTO;
 import com.example.order_service.model.Order;
 import com.example.order_service.model.OrderDTO;
+import com.example.order_service.model.OrderWindowDTO;
+import com.example.order_service.service.IdempotencyService;
+import com.example.order_service.service.OrderExportService;
 import com.example.order_service.service.OrderService;
+import com.example.order_service.web.Bulkheads;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -17,9 +23,18 @@ import org.springframework.hateoas.PagedModel;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Controller for handling order-related operations.
@@ -28,63 +43,183 @@ import java.util.List;
 @RequestMapping("/api/orders")
 public class OrderController {
 
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     @Autowired
     private OrderModelAssembler orderModelAssembler;
 
     @Autowired
     private PagedResourcesAssembler<Order> pagedResourcesAssembler;
 
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private Bulkheads bulkheads;
+
     /**
-     * Creates a new order.
+     * Creates a new order. When an Idempotency-Key header is sent, retries with
+     * the same key and body replay the first response instead of creating
+     * another order.
      *
-     * @param order The order object to be created.
+     * @param order          The order object to be created.
+     * @param idempotencyKey Optional key identifying this request across
+     *                       retries.
      * @return The created order as a DTO.
+     * @throws BadRequestException if the key was already used for a different
+     *                             order.
      */
     @PostMapping
-    public ResponseEntity<OrderDTO> createOrder(@Validated @RequestBody Order order) {
-        Order savedOrder = orderService.createOrder(order);
-        return ResponseEntity.ok(new OrderDTO(savedOrder.getId(), savedOrder.getCreatedAt(), savedOrder.getQuantity()));
+    public ResponseEntity<OrderDTO> createOrder(@Validated @RequestBody Order order,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(toDTO(orderService.createOrder(order)));
+        }
+        IdempotencyService.Outcome<OrderDTO> outcome = idempotencyService.execute(idempotencyKey,
+                Arrays.asList(order.getCustomerId(), order.getProduct(), order.getQuantity()),
+                () -> toDTO(orderService.createOrder(order)));
+        return ResponseEntity.ok()
+                .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(outcome.isReplayed()))
+                .body(outcome.getValue());
     }
 
     /**
-     * Retrieves a Page of orders for a specific customer.
+     * Retrieves a Page of orders for a specific customer. The response carries
+     * an ETag covering all of the customer's orders, and a matching
+     * If-None-Match is answered with 304 before any order is loaded. The page
+     * itself is loaded in the read bulkhead.
      *
      * @param customerId The ID of the customer.
+     * @param request    The current request, used for conditional handling.
      * @return A page of orders for the specified customer as DTOs with HATEOAS
-     *         links.
+     *         links, or null once a 304 has been written.
      */
     @GetMapping("/customer/{customerId}")
-    public ResponseEntity<PagedModel<EntityModel<OrderDTO>>> getAllOrders(
+    public CompletableFuture<ResponseEntity<PagedModel<EntityModel<OrderDTO>>>> getAllOrders(
             @PathVariable Long customerId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
 
+        String version = orderService.getOrdersVersion(customerId) + "-" + page + "-" + size;
+        if (request.checkNotModified(ETags.weak(version))) {
+            return null;
+        }
         Pageable pageable = PageRequest.of(page, size);
-        Page<Order> orders = orderService.getAllOrders(customerId, pageable);
+        return bulkheads.getRead().supply(() -> {
+            Page<Order> orders = orderService.getAllOrders(customerId, pageable);
+
+            PagedModel<EntityModel<OrderDTO>> pagedModel = pagedResourcesAssembler
+                    .toModel(orders, orderModelAssembler);
+
+            return ResponseEntity.ok(pagedModel);
+        });
+    }
 
-        PagedModel<EntityModel<OrderDTO>> pagedModel = pagedResourcesAssembler
-                .toModel(orders, orderModelAssembler);
+    /**
+     * Retrieves a page of orders for a specific customer without HATEOAS links.
+     * The links make up most of the bytes of the full page, so clients that
+     * build URLs themselves can ask for this lean form with links=false. The
+     * page is loaded in the read bulkhead.
+     *
+     * @param customerId The ID of the customer.
+     * @param request    The current request, used for conditional handling.
+     * @return A page of orders for the specified customer as plain DTOs, or
+     *         null once a 304 has been written.
+     */
+    @GetMapping(value = "/customer/{customerId}", params = { "links=false", "!sort" })
+    public CompletableFuture<ResponseEntity<PagedModel<OrderDTO>>> getAllOrdersWithoutLinks(
+            @PathVariable Long customerId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+
+        String version = orderService.getOrdersVersion(customerId) + "-" + page + "-" + size + "-lean";
+        if (request.checkNotModified(ETags.weak(version))) {
+            return null;
+        }
+        return bulkheads.getRead().supply(() -> {
+            Page<Order> orders = orderService.getAllOrders(customerId, PageRequest.of(page, size));
+            return ResponseEntity.ok(toLeanPage(orders));
+        });
+    }
+
+    /**
+     * Retrieves a customer's orders in a chosen sort, a page at a time. Only
+     * sorts an index can deliver are accepted, and each page continues from
+     * the cursor returned with the one before, so deep pages cost no more than
+     * the first. The page is loaded in the read bulkhead.
+     *
+     * @param customerId The ID of the customer.
+     * @param sort       The sort keys, such as {@code quantity,desc;product,asc}.
+     * @param after      The next cursor from the previous page.
+     * @param size       The most orders to return.
+     * @param request    The current request, used for conditional handling.
+     * @return The orders and the cursor for the next page, or null once a 304
+     *         has been written.
+     * @throws BadRequestException if the sort is not supported.
+     */
+    @GetMapping(value = "/customer/{customerId}", params = "sort")
+    public CompletableFuture<ResponseEntity<OrderWindowDTO>> getAllOrdersSorted(
+            @PathVariable Long customerId,
+            @RequestParam String sort,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
 
-        return ResponseEntity.ok(pagedModel);
+        // The sort and cursor are free text, so they enter the tag as a digest.
+        String query = UUID.nameUUIDFromBytes((sort + "\n" + after).getBytes(StandardCharsets.UTF_8)).toString();
+        String version = orderService.getOrdersVersion(customerId) + "-" + query + "-" + size;
+        if (request.checkNotModified(ETags.weak(version))) {
+            return null;
+        }
+        return bulkheads.getRead().supply(
+                () -> ResponseEntity.ok(orderService.getAllOrders(customerId, sort, after, size)));
     }
 
     /**
-     * Retrieves a specific order by ID.
+     * Retrieves a specific order by ID. The response carries an ETag, and a
+     * matching If-None-Match is answered with 304 without loading the order.
      *
-     * @param id The ID of the order.
-     * @return The order details with HATEOAS links.
+     * @param id      The ID of the order.
+     * @param request The current request, used for conditional handling.
+     * @return The order details with HATEOAS links, or null once a 304 has been
+     *         written.
      * @throws ResourceNotFoundException if the order is not
      *                                                         found.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<EntityModel<OrderDTO>> getOrder(@PathVariable Long id) {
+    public ResponseEntity<EntityModel<OrderDTO>> getOrder(@PathVariable Long id, WebRequest request) {
+        if (request.checkNotModified(ETags.weak(orderService.getOrderVersion(id)))) {
+            return null;
+        }
         Order order = orderService.getOrder(id);
         return ResponseEntity.ok(orderModelAssembler.toModel(order));
     }
 
+    /**
+     * Retrieves several orders in one call. IDs can be sent comma-separated or
+     * as repeated parameters. IDs with no order are listed under notFound
+     * instead of failing the whole request.
+     *
+     * @param ids The IDs of the orders, at most 1000.
+     * @return The orders found as DTOs with HATEOAS links, and the IDs that
+     *         were not found.
+     * @throws BadRequestException if no IDs or too many IDs are given.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<MultiGetDTO<EntityModel<OrderDTO>>> getOrdersByIds(@RequestParam List<Long> ids) {
+        Map<Long, Order> orders = orderService.getOrdersByIds(ids);
+        return ResponseEntity.ok(MultiGetDTO.of(ids, orders.keySet(), orderModelAssembler.toModels(orders.values())));
+    }
+
     /**
      * Updates an existing order.
      *
@@ -117,27 +252,84 @@ public class OrderController {
     }
 
     /**
-     * Retrieves orders within a specific date range.
+     * Retrieves orders within a specific date range. Runs in the bulk-read
+     * bulkhead.
      *
      * @param startDate The start date-time of the range.
      * @param endDate   The end date-time of the range.
      * @return A list of orders within the specified date range.
      */
     @GetMapping("/bydate")
-    public ResponseEntity<List<Order>> getOrdersByDateRange(
+    public WebAsyncTask<ResponseEntity<List<Order>>> getOrdersByDateRange(
             @RequestParam LocalDateTime startDate,
             @RequestParam LocalDateTime endDate) {
-        return ResponseEntity.ok(orderService.getOrdersByDateRange(startDate, endDate));
+        return bulkheads.getBulkRead().run(
+                () -> ResponseEntity.ok(orderService.getOrdersByDateRange(startDate, endDate)));
     }
 
     /**
-     * Retrieves a list of orders sorted by creation date.
+     * Retrieves a list of orders sorted by creation date. Runs in the
+     * bulk-read bulkhead.
      *
      * @param sortDirection The sorting direction (asc/desc).
      * @return A sorted list of orders.
      */
     @GetMapping("/sorted")
-    public ResponseEntity<List<Order>> getOrdersSorted(@RequestParam String sortDirection) {
-        return ResponseEntity.ok(orderService.getOrdersSorted(sortDirection));
+    public WebAsyncTask<ResponseEntity<List<Order>>> getOrdersSorted(@RequestParam String sortDirection) {
+        return bulkheads.getBulkRead().run(() -> ResponseEntity.ok(orderService.getOrdersSorted(sortDirection)));
+    }
+
+    /**
+     * Streams all orders, or those created in a range, as a CSV or NDJSON
+     * file. Rows go from a database cursor straight into the response, so
+     * memory stays flat however many orders there are. Runs in the export
+     * bulkhead.
+     *
+     * @param format   The file format, csv or ndjson.
+     * @param from     The earliest creation time to include.
+     * @param to       The creation time to stop before.
+     * @param gzip     Whether to gzip the file.
+     * @param response The response the file is written to.
+     * @return A task that writes the file and completes without a value.
+     * @throws BadRequestException if the format is not supported, orders are
+     *                             sharded or the range is empty.
+     */
+    @GetMapping("/export")
+    public WebAsyncTask<Void> exportOrders(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) LocalDateTime from,
+            @RequestParam(required = false) LocalDateTime to,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) {
+        OrderExportService.Format exportFormat = OrderExportService.Format.parse(format);
+        orderExportService.checkExport(from, to);
+        return bulkheads.getExport().run(() -> {
+            String fileName = "orders." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+            response.setContentType(gzip ? "application/gzip" : exportFormat.getContentType() + ";charset=UTF-8");
+            response.setHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"");
+            OutputStream out = response.getOutputStream();
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+                orderExportService.exportOrders(exportFormat, from, to, compressed);
+                compressed.finish();
+            } else {
+                orderExportService.exportOrders(exportFormat, from, to, out);
+            }
+            out.flush();
+            return null;
+        });
+    }
+
+    /**
+     * Builds a page of plain DTOs, without the links of the full page.
+     */
+    static PagedModel<OrderDTO> toLeanPage(Page<Order> orders) {
+        PagedModel.PageMetadata metadata = new PagedModel.PageMetadata(orders.getSize(), orders.getNumber(),
+                orders.getTotalElements(), orders.getTotalPages());
+        return PagedModel.of(orders.map(OrderController::toDTO).getContent(), metadata);
+    }
+
+    private static OrderDTO toDTO(Order order) {
+        return new OrderDTO(order.getId(), order.getCreatedAt(), order.getQuantity());
     }
 }
@@ -0,0 +1,62 @@
+package com.example.order_service.controller;
+
+import com.example.order_service.analytics.OrderSearchIndex;
+import com.example.order_service.exception.BadRequestException;
+import com.example.order_service.model.Order;
+import com.example.order_service.model.OrderSearchDTO;
+import com.example.order_service.service.OrderService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller for product-name search answered from the in-memory inverted
+ * index; only the matching orders themselves are read from the database.
+ */
+@RestController
+@RequestMapping("/api/orders/search")
+@ConditionalOnProperty(name = "order-service.search.enabled", havingValue = "true")
+public class OrderSearchController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    @Autowired
+    private OrderSearchIndex orderSearchIndex;
+
+    @Autowired
+    private OrderService orderService;
+
+    /**
+     * Searches order products. Every word must appear in the product, and the
+     * last word also matches as a prefix unless a space follows it. A word
+     * such as USB-C matches only as a whole.
+     *
+     * @param q          The words to search for.
+     * @param customerId The customer whose orders to search.
+     * @param limit      The most orders to return.
+     * @return The total match count and the newest matching orders.
+     */
+    @GetMapping
+    public ResponseEntity<OrderSearchDTO> searchOrders(@RequestParam String q,
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(defaultValue = "50") int limit) {
+        if (q.isBlank()) {
+            throw new BadRequestException("Search query must not be blank");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        OrderSearchIndex.Hits hits = orderSearchIndex.search(q, customerId, limit);
+        List<Order> orders = List.of();
+        if (!hits.orderIds().isEmpty()) {
+            // Orders deleted since they were indexed are simply left out.
+            Map<Long, Order> found = orderService.getOrdersByIds(hits.orderIds());
+            orders = List.copyOf(found.values());
+        }
+        return ResponseEntity.ok(new OrderSearchDTO(q, hits.total(), orders));
+    }
+}
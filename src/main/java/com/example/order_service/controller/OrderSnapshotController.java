@@ -0,0 +1,48 @@
+package com.example.order_service.controller;
+
+import com.example.order_service.analytics.OrderColumnStore;
+import com.example.order_service.analytics.OrderScanFilter;
+import com.example.order_service.model.OrderAggregateDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Controller for analytical queries answered from the in-memory columnar
+ * order snapshot instead of the database.
+ */
+@RestController
+@RequestMapping("/api/analytics/orders")
+@ConditionalOnProperty(name = "order-service.columnar.enabled", havingValue = "true")
+public class OrderSnapshotController {
+
+    @Autowired
+    private OrderColumnStore orderColumnStore;
+
+    /**
+     * Aggregates the orders matching every supplied filter.
+     *
+     * @param minQuantity The smallest quantity to include.
+     * @param maxQuantity The largest quantity to include.
+     * @param product     The exact product name to match.
+     * @param customerId  The customer whose orders to include.
+     * @param startDate   The earliest creation time to include.
+     * @param endDate     The latest creation time to include.
+     * @return The count and quantity statistics of the matching orders.
+     */
+    @GetMapping
+    public ResponseEntity<OrderAggregateDTO> aggregateOrders(
+            @RequestParam(required = false) Integer minQuantity,
+            @RequestParam(required = false) Integer maxQuantity,
+            @RequestParam(required = false) String product,
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) LocalDateTime startDate,
+            @RequestParam(required = false) LocalDateTime endDate) {
+        OrderScanFilter filter = new OrderScanFilter(minQuantity, maxQuantity, product, customerId, startDate,
+                endDate);
+        return ResponseEntity.ok(orderColumnStore.aggregate(filter));
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.order_service.datasource;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Holds the bulkhead the current thread is working for, so its connections
+ * come from that bulkhead's pool. Without a bulkhead, connections come from the
+ * interactive pool.
+ */
+public final class BulkheadContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private BulkheadContext() {
+    }
+
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T callIn(String bulkhead, Callable<T> action) throws Exception {
+        String previous = CURRENT.get();
+        CURRENT.set(bulkhead);
+        try {
+            return action.call();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.order_service.datasource;
+
+/**
+ * Gives each bulkhead named by the {@link BulkheadContext} its own connection
+ * pool, so a slow report cannot hold the connections checkout needs. Threads
+ * outside any bulkhead use the interactive pool.
+ */
+public class BulkheadRoutingDataSource extends PooledRoutingDataSource {
+
+    public static final String INTERACTIVE = "interactive";
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String bulkhead = BulkheadContext.current();
+        return bulkhead != null ? bulkhead : INTERACTIVE;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.order_service.datasource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for sending read-only transactions to read replicas. The primary is
+ * always the regular {@code spring.datasource} connection.
+ */
+@ConfigurationProperties(prefix = "order-service.datasource.routing")
+public class DataSourceRoutingProperties {
+
+    private boolean enabled;
+    private List<DataSourceSettings> replicas = new ArrayList<>();
+    /**
+     * Replicas lagging further behind the primary than this stop receiving
+     * reads until they catch up.
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+    /**
+     * Query returning the replica lag in seconds as a single number. When unset
+     * the lag is read from MySQL's SHOW REPLICA STATUS.
+     */
+    private String lagQuery;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<DataSourceSettings> getReplicas() {
+        return replicas;
+    }
+
+    public void setReplicas(List<DataSourceSettings> replicas) {
+        this.replicas = replicas;
+    }
+
+    public Duration getMaxLag() {
+        return maxLag;
+    }
+
+    public void setMaxLag(Duration maxLag) {
+        this.maxLag = maxLag;
+    }
+
+    public String getLagQuery() {
+        return lagQuery;
+    }
+
+    public void setLagQuery(String lagQuery) {
+        this.lagQuery = lagQuery;
+    }
+}
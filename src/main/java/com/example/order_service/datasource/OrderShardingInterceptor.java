@@ -0,0 +1,201 @@
+package com.example.order_service.datasource;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.order_service.model.Order;
+import com.example.order_service.repository.OrderRepository;
+
+/**
+ * Routes OrderRepository calls to the shard that owns the customer, or fans
+ * them out to every shard in parallel when the call is not keyed by customer.
+ *
+ * Each shard call runs in its own transaction with the shard set in the
+ * {@link ShardContext}, so it gets a connection to that shard even when the
+ * caller already has a transaction open on the directory database. Order IDs
+ * must be unique across shards (give each shard a disjoint AUTO_INCREMENT
+ * range) for lookups by ID to be unambiguous.
+ */
+public class OrderShardingInterceptor implements MethodInterceptor {
+
+    private static final Set<String> CUSTOMER_KEYED = Set.of("findByCustomerId", "findIdsByCustomerId",
+            "deleteByCustomerIdAndIdIn", "findChangeStampByCustomerId");
+    private static final Set<String> FAN_OUT = Set.of("findById", "existsById", "deleteById", "findAllById",
+            "count", "findAll", "deleteAll", "findByCreatedAtBetween", "findAllByCreatedAtAsc",
+            "findAllByCreatedAtDesc", "findLastModifiedById", "deleteByIdReturningCount");
+
+    private static final Comparator<Order> BY_CREATED_AT = Comparator.comparing(Order::getCreatedAt,
+            Comparator.nullsFirst(Comparator.naturalOrder()));
+    private static final Comparator<Order> BY_ID = Comparator.comparing(Order::getId,
+            Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final OrderRepository target;
+    private final ConsistentHashRing ring;
+    private final TransactionTemplate shardTransaction;
+    private final ExecutorService fanOutExecutor;
+
+    public OrderShardingInterceptor(OrderRepository target, ConsistentHashRing ring,
+            PlatformTransactionManager transactionManager, ExecutorService fanOutExecutor) {
+        this.target = target;
+        this.ring = ring;
+        this.shardTransaction = new TransactionTemplate(transactionManager);
+        this.shardTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.fanOutExecutor = fanOutExecutor;
+    }
+
+    public String shardFor(Long customerId) {
+        if (customerId == null) {
+            throw new IllegalArgumentException("Orders must have a customer ID to be sharded");
+        }
+        return ring.nodeFor(customerId);
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        Object[] args = invocation.getArguments();
+        String name = method.getName();
+
+        if (method.getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        if ((name.equals("save") || name.equals("delete")) && args.length == 1 && args[0] instanceof Order order) {
+            return callOn(shardFor(order.getCustomerId()), method, args);
+        }
+        if (name.equals("saveAll") && args.length == 1) {
+            return saveAll((Iterable<?>) args[0]);
+        }
+        if (CUSTOMER_KEYED.contains(name)) {
+            return callOn(shardFor((Long) args[0]), method, args);
+        }
+        if (FAN_OUT.contains(name) && !(isUnkeyedBulkCall(name) && args.length > 0)) {
+            return merge(method, fanOut(method, args));
+        }
+        throw new UnsupportedOperationException(
+                "OrderRepository." + name + " is not supported while orders are sharded");
+    }
+
+    private static boolean isUnkeyedBulkCall(String name) {
+        return name.equals("findAll") || name.equals("deleteAll") || name.equals("count");
+    }
+
+    private List<Order> saveAll(Iterable<?> orders) throws Throwable {
+        Map<String, List<Order>> byShard = new LinkedHashMap<>();
+        for (Object order : orders) {
+            byShard.computeIfAbsent(shardFor(((Order) order).getCustomerId()), shard -> new ArrayList<>())
+                    .add((Order) order);
+        }
+        Method saveAll = OrderRepository.class.getMethod("saveAll", Iterable.class);
+        List<Order> saved = new ArrayList<>();
+        for (Map.Entry<String, List<Order>> entry : byShard.entrySet()) {
+            for (Object order : (Iterable<?>) callOn(entry.getKey(), saveAll, new Object[] { entry.getValue() })) {
+                saved.add((Order) order);
+            }
+        }
+        return saved;
+    }
+
+    private Object callOn(String shard, Method method, Object[] args) throws Throwable {
+        try {
+            return ShardContext.callOn(shard, () -> shardTransaction.execute(status -> invokeTarget(method, args)));
+        } catch (ShardCallException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private List<Object> fanOut(Method method, Object[] args) throws Throwable {
+        List<Future<Object>> futures = new ArrayList<>();
+        for (String shard : ring.getNodes()) {
+            futures.add(fanOutExecutor.submit(() -> {
+                try {
+                    return callOn(shard, method, args);
+                } catch (Exception | Error ex) {
+                    throw ex;
+                } catch (Throwable ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }));
+        }
+        List<Object> results = new ArrayList<>(futures.size());
+        for (Future<Object> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException ex) {
+                throw ex.getCause();
+            }
+        }
+        return results;
+    }
+
+    private static Object merge(Method method, List<Object> results) {
+        Class<?> returnType = method.getReturnType();
+        if (returnType == void.class) {
+            return null;
+        }
+        if (returnType == boolean.class) {
+            return results.stream().anyMatch(Boolean.TRUE::equals);
+        }
+        if (returnType == long.class) {
+            return results.stream().mapToLong(result -> (Long) result).sum();
+        }
+        if (returnType == int.class) {
+            return results.stream().mapToInt(result -> (Integer) result).sum();
+        }
+        if (returnType == Optional.class) {
+            return results.stream().map(result -> (Optional<?>) result).filter(Optional::isPresent)
+                    .findFirst().orElse(Optional.empty());
+        }
+        List<Order> merged = new ArrayList<>();
+        for (Object result : results) {
+            for (Object order : (Iterable<?>) result) {
+                merged.add((Order) order);
+            }
+        }
+        // Each shard returns an already sorted run; TimSort merges the runs in
+        // O(n log shards) rather than re-sorting from scratch.
+        String name = method.getName();
+        if (name.equals("findAllByCreatedAtDesc")) {
+            merged.sort(BY_CREATED_AT.reversed());
+        } else if (name.equals("findAllByCreatedAtAsc") || name.equals("findByCreatedAtBetween")) {
+            merged.sort(BY_CREATED_AT);
+        } else {
+            merged.sort(BY_ID);
+        }
+        return merged;
+    }
+
+    private Object invokeTarget(Method method, Object[] args) {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new ShardCallException(ex.getCause());
+        } catch (IllegalAccessException ex) {
+            throw new ShardCallException(ex);
+        }
+    }
+
+    private static class ShardCallException extends RuntimeException {
+        ShardCallException(Throwable cause) {
+            super(cause);
+        }
+    }
+}
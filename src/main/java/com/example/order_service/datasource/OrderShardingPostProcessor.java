@@ -0,0 +1,55 @@
+package com.example.order_service.datasource;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.order_service.repository.OrderRepository;
+
+/**
+ * Wraps the OrderRepository bean in an {@link OrderShardingInterceptor}.
+ */
+public class OrderShardingPostProcessor implements BeanPostProcessor, DisposableBean {
+
+    private final ObjectProvider<ConsistentHashRing> ring;
+    private final ObjectProvider<PlatformTransactionManager> transactionManager;
+    private ExecutorService fanOutExecutor;
+
+    public OrderShardingPostProcessor(ObjectProvider<ConsistentHashRing> ring,
+            ObjectProvider<PlatformTransactionManager> transactionManager) {
+        this.ring = ring;
+        this.transactionManager = transactionManager;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof OrderRepository repository)) {
+            return bean;
+        }
+        ConsistentHashRing shardRing = ring.getObject();
+        AtomicInteger threads = new AtomicInteger();
+        fanOutExecutor = Executors.newFixedThreadPool(shardRing.getNodes().size() * 2, runnable -> {
+            Thread thread = new Thread(runnable, "shard-fan-out-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ProxyFactory proxyFactory = new ProxyFactory(repository);
+        proxyFactory.setInterfaces(OrderRepository.class);
+        proxyFactory.addAdvice(new OrderShardingInterceptor(repository, shardRing, transactionManager.getObject(),
+                fanOutExecutor));
+        return proxyFactory.getProxy();
+    }
+
+    @Override
+    public void destroy() {
+        if (fanOutExecutor != null) {
+            fanOutExecutor.shutdown();
+        }
+    }
+}
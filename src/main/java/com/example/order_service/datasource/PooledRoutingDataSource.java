@@ -0,0 +1,22 @@
+package com.example.order_service.datasource;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Routing datasource that owns its target connection pools and closes them
+ * when the application context shuts down.
+ */
+public abstract class PooledRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    @Override
+    public void destroy() throws Exception {
+        for (DataSource target : getResolvedDataSources().values()) {
+            if (target instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
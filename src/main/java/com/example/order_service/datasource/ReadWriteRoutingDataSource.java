@@ -0,0 +1,64 @@
+package com.example.order_service.datasource;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections for read-only transactions to a healthy replica, picked
+ * round-robin, and everything else to the primary. When no replica is healthy
+ * reads fall back to the primary.
+ *
+ * Must be wrapped in a LazyConnectionDataSourceProxy so that the connection is
+ * fetched after the transaction has been marked read-only.
+ */
+public class ReadWriteRoutingDataSource extends PooledRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final List<String> replicaKeys;
+    private final Set<String> healthyReplicas = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(List<String> replicaKeys) {
+        this.replicaKeys = List.copyOf(replicaKeys);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        return nextHealthyReplica();
+    }
+
+    String nextHealthyReplica() {
+        int replicas = replicaKeys.size();
+        for (int attempt = 0; attempt < replicas; attempt++) {
+            String key = replicaKeys.get(Math.floorMod(nextReplica.getAndIncrement(), replicas));
+            if (healthyReplicas.contains(key)) {
+                return key;
+            }
+        }
+        return PRIMARY;
+    }
+
+    public void setReplicaHealthy(String key, boolean healthy) {
+        if (healthy) {
+            healthyReplicas.add(key);
+        } else {
+            healthyReplicas.remove(key);
+        }
+    }
+
+    public boolean isReplicaHealthy(String key) {
+        return healthyReplicas.contains(key);
+    }
+
+    public List<String> getReplicaKeys() {
+        return replicaKeys;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.order_service.datasource;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Periodically measures how far each replica is behind the primary and takes
+ * replicas out of the read rotation while they lag by more than the configured
+ * maximum or cannot be reached.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final ReadWriteRoutingDataSource routingDataSource;
+    private final DataSourceRoutingProperties properties;
+
+    public ReplicaLagMonitor(ReadWriteRoutingDataSource routingDataSource, DataSourceRoutingProperties properties) {
+        this.routingDataSource = routingDataSource;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${order-service.datasource.routing.lag-check-interval:PT5S}")
+    public void checkReplicas() {
+        long maxLagSeconds = properties.getMaxLag().toSeconds();
+        for (String key : routingDataSource.getReplicaKeys()) {
+            DataSource dataSource = routingDataSource.getResolvedDataSources().get(key);
+            Long lag = measureLagSeconds(key, dataSource);
+            boolean healthy = lag != null && lag <= maxLagSeconds;
+            if (healthy != routingDataSource.isReplicaHealthy(key)) {
+                log.info("Replica {} is now {} (lag {}s, max {}s)", key, healthy ? "serving reads" : "bypassed",
+                        lag, maxLagSeconds);
+            }
+            routingDataSource.setReplicaHealthy(key, healthy);
+        }
+    }
+
+    private Long measureLagSeconds(String key, DataSource dataSource) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        try {
+            if (properties.getLagQuery() != null) {
+                return jdbcTemplate.queryForObject(properties.getLagQuery(), Long.class);
+            }
+            return jdbcTemplate.query("SHOW REPLICA STATUS", ReplicaLagMonitor::readReplicaStatus);
+        } catch (DataAccessException ex) {
+            log.warn("Could not measure lag of replica {}: {}", key, ex.getMessage());
+            return null;
+        }
+    }
+
+    private static Long readReplicaStatus(ResultSet rs) throws SQLException {
+        if (!rs.next()) {
+            // Not replicating, e.g. a read-only clone; nothing to lag behind.
+            return 0L;
+        }
+        long lag = rs.getLong("Seconds_Behind_Source");
+        // NULL means the replication threads are stopped.
+        return rs.wasNull() ? null : lag;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.order_service.datasource;
+
+/**
+ * Sends connections to the shard named by the {@link ShardContext}, or to the
+ * directory database when no shard is set.
+ *
+ * Must be wrapped in a LazyConnectionDataSourceProxy so that a transaction
+ * started before the shard is known still gets a connection to the right
+ * database.
+ */
+public class ShardRoutingDataSource extends PooledRoutingDataSource {
+
+    public static final String DIRECTORY = "directory";
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String shard = ShardContext.current();
+        return shard != null ? shard : DIRECTORY;
+    }
+}
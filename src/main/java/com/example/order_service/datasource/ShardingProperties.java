@@ -0,0 +1,47 @@
+package com.example.order_service.datasource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for spreading orders across several databases by customer ID.
+ * Customers and every other table stay on the regular {@code spring.datasource}
+ * connection, which acts as the shard directory.
+ */
+@ConfigurationProperties(prefix = "order-service.datasource.sharding")
+public class ShardingProperties {
+
+    private boolean enabled;
+    private List<DataSourceSettings> shards = new ArrayList<>();
+    /**
+     * Points each shard occupies on the hash ring. More points give a more even
+     * spread of customers.
+     */
+    private int virtualNodes = 128;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<DataSourceSettings> getShards() {
+        return shards;
+    }
+
+    public void setShards(List<DataSourceSettings> shards) {
+        this.shards = shards;
+    }
+
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+
+    public void setVirtualNodes(int virtualNodes) {
+        this.virtualNodes = virtualNodes;
+    }
+}
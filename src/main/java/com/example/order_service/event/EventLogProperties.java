@@ -0,0 +1,80 @@
+package com.example.order_service.event;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings for the order outbox and the local log it is relayed into.
+ */
+@ConfigurationProperties(prefix = "order-service.event-log")
+public class EventLogProperties {
+
+    private boolean enabled;
+    /**
+     * Directory holding the log segment files.
+     */
+    private String directory = "data/order-events";
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+    /**
+     * Pause between relay runs that move outbox rows into the log.
+     */
+    private Duration relayInterval = Duration.ofSeconds(1);
+    /**
+     * Most outbox rows moved per relay transaction.
+     */
+    private int relayBatchSize = 500;
+    /**
+     * Most bytes of events returned by one read of the changes feed.
+     */
+    private DataSize maxReadSize = DataSize.ofMegabytes(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public DataSize getSegmentSize() {
+        return segmentSize;
+    }
+
+    public void setSegmentSize(DataSize segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    public Duration getRelayInterval() {
+        return relayInterval;
+    }
+
+    public void setRelayInterval(Duration relayInterval) {
+        this.relayInterval = relayInterval;
+    }
+
+    public int getRelayBatchSize() {
+        return relayBatchSize;
+    }
+
+    public void setRelayBatchSize(int relayBatchSize) {
+        this.relayBatchSize = relayBatchSize;
+    }
+
+    public DataSize getMaxReadSize() {
+        return maxReadSize;
+    }
+
+    public void setMaxReadSize(DataSize maxReadSize) {
+        this.maxReadSize = maxReadSize;
+    }
+}
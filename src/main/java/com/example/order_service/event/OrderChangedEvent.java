@@ -0,0 +1,58 @@
+package com.example.order_service.event;
+
+import com.example.order_service.model.Order;
+
+/**
+ * Published by the OrderService after an order has been created, updated or
+ * deleted. Listeners that keep derived state (sketches, indexes, caches) in
+ * step with the orders table subscribe to this event.
+ */
+public class OrderChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+    private final Long orderId;
+    private final Order order;
+
+    public OrderChangedEvent(Type type, Long orderId, Order order) {
+        this.type = type;
+        this.orderId = orderId;
+        this.order = order;
+    }
+
+    public static OrderChangedEvent created(Order order) {
+        return new OrderChangedEvent(Type.CREATED, order.getId(), order);
+    }
+
+    public static OrderChangedEvent updated(Order order) {
+        return new OrderChangedEvent(Type.UPDATED, order.getId(), order);
+    }
+
+    public static OrderChangedEvent deleted(Long orderId) {
+        return new OrderChangedEvent(Type.DELETED, orderId, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    /**
+     * The order as it was saved. Null for {@link Type#DELETED} events, which only
+     * carry the order ID.
+     */
+    public Order getOrder() {
+        return order;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderChangedEvent [type=" + type + ", orderId=" + orderId + "]";
+    }
+}
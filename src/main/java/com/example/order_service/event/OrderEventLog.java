@@ -0,0 +1,272 @@
+package com.example.order_service.event;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+import com.example.order_service.exception.BadRequestException;
+
+/**
+ * Append-only log of order change events kept in memory-mapped segment files.
+ *
+ * Every record is one line of JSON. A record's offset is its byte position in
+ * the log as a whole, and each segment is named after the offset of its first
+ * byte, so finding the record at an offset is a floor lookup over the
+ * segments. The records after an offset are one contiguous slice of a mapped
+ * segment that can be written to a consumer as-is, without reading or parsing
+ * the events.
+ *
+ * There is a single writer. The written length of a segment is published only
+ * after the record's bytes are in place, so readers never see part of a
+ * record. Segment files are created at their full size; on restart the
+ * written length is found again by skipping the zero-filled tail, and any
+ * trailing partial record is discarded.
+ */
+public class OrderEventLog implements AutoCloseable {
+
+    private static final byte NEWLINE = '\n';
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final ConcurrentNavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+
+    public OrderEventLog(Path directory, int segmentBytes) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.filter(path -> path.getFileName().toString().endsWith(SUFFIX)).toList()) {
+                    String name = file.getFileName().toString();
+                    long base = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+                    segments.put(base, Segment.open(file, base));
+                }
+            }
+            if (segments.isEmpty()) {
+                roll(0);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not open the order event log in " + directory, ex);
+        }
+    }
+
+    /**
+     * Appends one record.
+     *
+     * @param record The JSON of the event. It must not contain a line break.
+     * @return The offset of the record.
+     */
+    public synchronized long append(byte[] record) {
+        if (record.length + 1 > segmentBytes) {
+            throw new IllegalArgumentException("Event of " + record.length + " bytes does not fit in a segment");
+        }
+        Segment segment = segments.lastEntry().getValue();
+        if (segment.length + record.length + 1 > segment.capacity()) {
+            segment.force();
+            segment = roll(segment.base + segment.length);
+        }
+        long offset = segment.base + segment.length;
+        segment.buffer.put(segment.length, record);
+        segment.buffer.put(segment.length + record.length, NEWLINE);
+        segment.length += record.length + 1;
+        return offset;
+    }
+
+    /**
+     * Writes the appended records through to disk.
+     */
+    public synchronized void force() {
+        segments.lastEntry().getValue().force();
+    }
+
+    /**
+     * @return The offset the next record will be written at.
+     */
+    public long getEndOffset() {
+        Segment last = segments.lastEntry().getValue();
+        return last.base + last.length;
+    }
+
+    /**
+     * @return The last record in the log, or null when the log is empty.
+     */
+    public byte[] lastRecord() {
+        List<byte[]> last = lastRecords(1);
+        return last.isEmpty() ? null : last.get(0);
+    }
+
+    /**
+     * @param count The most records to return.
+     * @return The last records in the log, oldest first.
+     */
+    public List<byte[]> lastRecords(int count) {
+        Deque<byte[]> records = new ArrayDeque<>();
+        for (Segment segment : segments.descendingMap().values()) {
+            int end = segment.length - 1;
+            while (end >= 0 && records.size() < count) {
+                int start = end;
+                while (start > 0 && segment.buffer.get(start - 1) != NEWLINE) {
+                    start--;
+                }
+                byte[] record = new byte[end - start];
+                segment.buffer.get(start, record);
+                records.addFirst(record);
+                end = start - 1;
+            }
+            if (records.size() == count) {
+                break;
+            }
+        }
+        return new ArrayList<>(records);
+    }
+
+    /**
+     * Reads the complete records that follow an offset, up to a size limit. A
+     * record larger than the limit is returned on its own.
+     *
+     * @param since    The offset of the first record to read, as returned by
+     *                 an earlier read or append.
+     * @param maxBytes The most bytes to return.
+     * @return A read-only view of the records and the offset to read from
+     *         next.
+     * @throws BadRequestException if the offset is not the start of a record.
+     */
+    public Slice read(long since, int maxBytes) {
+        Map.Entry<Long, Segment> entry = segments.floorEntry(since);
+        if (entry == null || since > getEndOffset()) {
+            throw new BadRequestException("Offset " + since + " is outside the order event log");
+        }
+        Segment segment = entry.getValue();
+        int from = (int) (since - segment.base);
+        int length = segment.length;
+        if (from > length || (from > 0 && segment.buffer.get(from - 1) != NEWLINE)) {
+            throw new BadRequestException("Offset " + since + " is not the start of an event");
+        }
+        int to = length;
+        if (to - from > maxBytes) {
+            to = from + maxBytes;
+            while (to > from && segment.buffer.get(to - 1) != NEWLINE) {
+                to--;
+            }
+            if (to == from) {
+                to = from + maxBytes;
+                while (segment.buffer.get(to - 1) != NEWLINE) {
+                    to++;
+                }
+            }
+        }
+        return new Slice(segment.buffer.slice(from, to - from).asReadOnlyBuffer(), segment.base + to);
+    }
+
+    @Override
+    public synchronized void close() {
+        for (Segment segment : segments.values()) {
+            segment.close();
+        }
+    }
+
+    private Segment roll(long base) {
+        try {
+            Segment segment = Segment.create(directory.resolve(String.format("%020d", base) + SUFFIX), base,
+                    segmentBytes);
+            segments.put(base, segment);
+            return segment;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not create an order event log segment at offset " + base, ex);
+        }
+    }
+
+    /**
+     * Records read from the log, and where the next read should start.
+     */
+    public static final class Slice {
+        private final ByteBuffer records;
+        private final long nextOffset;
+
+        Slice(ByteBuffer records, long nextOffset) {
+            this.records = records;
+            this.nextOffset = nextOffset;
+        }
+
+        public ByteBuffer getRecords() {
+            return records;
+        }
+
+        public long getNextOffset() {
+            return nextOffset;
+        }
+    }
+
+    private static final class Segment {
+        final long base;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        volatile int length;
+
+        private Segment(long base, FileChannel channel, int capacity) throws IOException {
+            this.base = base;
+            this.channel = channel;
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        }
+
+        static Segment create(Path file, long base, int capacity) throws IOException {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            return new Segment(base, channel, capacity);
+        }
+
+        static Segment open(Path file, long base) throws IOException {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            Segment segment = new Segment(base, channel, (int) channel.size());
+            segment.recover();
+            return segment;
+        }
+
+        int capacity() {
+            return buffer.capacity();
+        }
+
+        void force() {
+            buffer.force();
+        }
+
+        void close() {
+            force();
+            try {
+                channel.close();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        private void recover() {
+            int end = capacity();
+            while (end > 0 && buffer.get(end - 1) == 0) {
+                end--;
+            }
+            // A record cut short by a crash has no line break yet; drop it.
+            int complete = end;
+            while (complete > 0 && buffer.get(complete - 1) != NEWLINE) {
+                complete--;
+            }
+            for (int i = complete; i < end; i++) {
+                buffer.put(i, (byte) 0);
+            }
+            length = complete;
+        }
+    }
+}
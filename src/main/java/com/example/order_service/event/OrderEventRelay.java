@@ -0,0 +1,124 @@
+package com.example.order_service.event;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.order_service.model.OrderOutboxEvent;
+import com.example.order_service.repository.OrderOutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.RawValue;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Moves committed outbox rows into the {@link OrderEventLog}.
+ *
+ * IDs are handed out when a row is inserted, not when its transaction
+ * commits, so a row with a lower ID can become visible after a higher one
+ * has been relayed. The relay therefore keeps no high-water mark: every run
+ * reads whatever rows are left in the outbox, appends them, forces them to
+ * disk and then deletes exactly the rows it appended, batch by batch. A row
+ * that commits late is still in the outbox on the next run and is appended
+ * then, after the events that overtook it.
+ *
+ * Every record carries the ID of its outbox row. A relay that stops between
+ * appending a batch and deleting it leaves at most that one batch behind;
+ * on restart the IDs of the last batch-size records in the log are skipped,
+ * so each event is logged exactly once. The log is local to this instance,
+ * so the relay should be enabled on one instance only.
+ */
+@Component
+@ConditionalOnProperty(name = "order-service.event-log.enabled", havingValue = "true")
+public class OrderEventRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderEventRelay.class);
+
+    @Autowired
+    OrderOutboxRepository orderOutboxRepository;
+    @Autowired
+    OrderEventLog orderEventLog;
+    @Autowired
+    EventLogProperties properties;
+    @Autowired
+    ObjectMapper objectMapper;
+
+    // Outbox rows appended before a restart that may not have been deleted yet.
+    private final Set<Long> relayedBeforeRestart = new HashSet<>();
+
+    @PostConstruct
+    public void recover() {
+        try {
+            for (byte[] record : orderEventLog.lastRecords(properties.getRelayBatchSize())) {
+                relayedBeforeRestart.add(objectMapper.readTree(record).get("eventId").asLong());
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read the last order events", ex);
+        }
+        log.info("Order event log ends at offset {} with {} recent outbox events", orderEventLog.getEndOffset(),
+                relayedBeforeRestart.size());
+    }
+
+    /**
+     * Appends the outbox rows committed since the last run to the log and
+     * deletes them from the outbox.
+     *
+     * @return The number of events appended.
+     */
+    @Scheduled(fixedDelayString = "${order-service.event-log.relay-interval:PT1S}")
+    public synchronized int relay() {
+        int relayed = 0;
+        List<OrderOutboxEvent> batch;
+        do {
+            batch = orderOutboxRepository.findAllByOrderByIdAsc(PageRequest.of(0, properties.getRelayBatchSize()));
+            List<Long> ids = new ArrayList<>(batch.size());
+            for (OrderOutboxEvent event : batch) {
+                if (!relayedBeforeRestart.contains(event.getId())) {
+                    orderEventLog.append(toRecord(event));
+                    relayed++;
+                }
+                ids.add(event.getId());
+            }
+            if (!ids.isEmpty()) {
+                orderEventLog.force();
+                // Commits on its own, so a failure later on never re-relays this batch.
+                orderOutboxRepository.deleteAllByIdInBatch(ids);
+            }
+        } while (batch.size() == properties.getRelayBatchSize());
+        // Everything left behind before the restart has now been deleted.
+        relayedBeforeRestart.clear();
+        return relayed;
+    }
+
+    private byte[] toRecord(OrderOutboxEvent event) {
+        ObjectNode record = objectMapper.createObjectNode();
+        record.put("eventId", event.getId());
+        record.put("type", event.getEventType());
+        record.put("orderId", event.getOrderId());
+        record.put("occurredAt", event.getCreatedAt().toString());
+        if (event.getPayload() != null) {
+            record.putRawValue("order", new RawValue(event.getPayload()));
+        } else {
+            record.putNull("order");
+        }
+        try {
+            // Records are delimited by line breaks, so they are never pretty-printed.
+            return objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT).writeValueAsBytes(record);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not serialize outbox event " + event.getId(), ex);
+        }
+    }
+}
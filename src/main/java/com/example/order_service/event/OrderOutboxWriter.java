@@ -0,0 +1,47 @@
+package com.example.order_service.event;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.example.order_service.model.OrderOutboxEvent;
+import com.example.order_service.repository.OrderOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Records every order change in the outbox table. The listener runs while the
+ * event is published, so the outbox row is written in the same transaction as
+ * the change itself and is rolled back with it.
+ *
+ * While orders are sharded the change commits on its shard and the outbox row
+ * on the directory database, so the two are no longer atomic.
+ */
+@Component
+@ConditionalOnProperty(name = "order-service.event-log.enabled", havingValue = "true")
+public class OrderOutboxWriter {
+
+    @Autowired
+    OrderOutboxRepository orderOutboxRepository;
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @EventListener
+    public void onOrderChanged(OrderChangedEvent event) {
+        String payload = null;
+        if (event.getOrder() != null) {
+            try {
+                payload = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT)
+                        .writeValueAsString(event.getOrder());
+            } catch (JsonProcessingException ex) {
+                throw new IllegalStateException("Could not serialize order " + event.getOrderId(), ex);
+            }
+        }
+        orderOutboxRepository.save(new OrderOutboxEvent(event.getType().name(), event.getOrderId(), payload,
+                LocalDateTime.now()));
+    }
+}
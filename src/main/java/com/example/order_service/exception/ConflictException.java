@@ -0,0 +1,11 @@
+package com.example.order_service.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ConflictException extends StacklessException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.order_service.exception;
+
+/**
+ * Base of the exceptions {@link GlobalExceptionHandler} turns into a status.
+ * The handler only reports the message, so these skip the stack trace:
+ * filling it in is the most expensive part of throwing, and they are thrown
+ * on hot paths such as probed IDs and requests shed under overload.
+ */
+public abstract class StacklessException extends RuntimeException {
+
+    protected StacklessException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -2,11 +2,15 @@ package com.example.order_service.hateoas;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.example.order_service.controller.CustomerController;
 import com.example.order_service.controller.OrderController;
 import com.example.order_service.model.Customer;
 import com.example.order_service.model.CustomerDTO;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
 import org.springframework.stereotype.Component;
@@ -24,15 +28,39 @@ public class CustomerModelAssembler implements RepresentationModelAssembler<Cust
 
                 return EntityModel.of(dto,
                                 linkTo(WebMvcLinkBuilder.methodOn(CustomerController.class)
-                                                .getCustomerById(customer.getId()))
+                                                .getCustomerById(customer.getId(), null))
                                                 .withSelfRel(),
-                                linkTo(WebMvcLinkBuilder.methodOn(OrderController.class).getAllOrders(customer.getId(),
-                                                0, 10))
-                                                .withRel("customer-orders"),
+                                // getAllOrders returns a CompletableFuture, which methodOn cannot proxy.
+                                Link.of(linkTo(OrderController.class).slash("customer").slash(customer.getId())
+                                                .toUriComponentsBuilder().queryParam("page", 0).queryParam("size", 10)
+                                                .toUriString(), "customer-orders"),
                                 linkTo(WebMvcLinkBuilder.methodOn(CustomerController.class).createCustomer(customer))
                                                 .withRel("update-customer"),
                                 linkTo(WebMvcLinkBuilder.methodOn(CustomerController.class)
                                                 .deleteCustomer(customer.getId()))
                                                 .withRel("delete-customer"));
         }
+
+        /**
+         * Builds the same models as {@link #toModel(Customer)} for a batch of
+         * customers. The controller base links are resolved once for the whole
+         * batch instead of through a method proxy per link.
+         */
+        public List<EntityModel<CustomerDTO>> toModels(Iterable<Customer> customers) {
+                String customersHref = linkTo(CustomerController.class).toUri().toString();
+                String ordersHref = linkTo(OrderController.class).toUri().toString();
+                List<EntityModel<CustomerDTO>> models = new ArrayList<>();
+                for (Customer customer : customers) {
+                        String self = customersHref + "/" + customer.getId();
+                        models.add(EntityModel.of(
+                                        new CustomerDTO(customer.getId(), customer.getName(), customer.getEmail(),
+                                                        customer.getTotalOrders()),
+                                        Link.of(self),
+                                        Link.of(ordersHref + "/customer/" + customer.getId() + "?page=0&size=10",
+                                                        "customer-orders"),
+                                        Link.of(customersHref, "update-customer"),
+                                        Link.of(self, "delete-customer")));
+                }
+                return models;
+        }
 }
@@ -2,11 +2,15 @@ package com.example.order_service.hateoas;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.example.order_service.controller.CustomerController;
 import com.example.order_service.controller.OrderController;
 import com.example.order_service.model.Order;
 import com.example.order_service.model.OrderDTO;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
@@ -18,8 +22,27 @@ public class OrderModelAssembler implements RepresentationModelAssembler<Order,
         OrderDTO dto = new OrderDTO(order.getId(), order.getCreatedAt(), order.getQuantity());
 
         return EntityModel.of(dto,
-                linkTo(methodOn(OrderController.class).getOrder(order.getId())).withSelfRel(),
-                linkTo(methodOn(CustomerController.class).getCustomerById(order.getCustomerId())).withRel("customer"),
+                linkTo(methodOn(OrderController.class).getOrder(order.getId(), null)).withSelfRel(),
+                linkTo(methodOn(CustomerController.class).getCustomerById(order.getCustomerId(), null))
+                        .withRel("customer"),
                 linkTo(methodOn(OrderController.class).updateOrder(order)).withRel("update-order"));
     }
+
+    /**
+     * Builds the same models as {@link #toModel(Order)} for a batch of orders.
+     * The controller base links are resolved once for the whole batch instead
+     * of through a method proxy per link.
+     */
+    public List<EntityModel<OrderDTO>> toModels(Iterable<Order> orders) {
+        String ordersHref = linkTo(OrderController.class).toUri().toString();
+        String customersHref = linkTo(CustomerController.class).toUri().toString();
+        List<EntityModel<OrderDTO>> models = new ArrayList<>();
+        for (Order order : orders) {
+            models.add(EntityModel.of(new OrderDTO(order.getId(), order.getCreatedAt(), order.getQuantity()),
+                    Link.of(ordersHref + "/" + order.getId()),
+                    Link.of(customersHref + "/" + order.getCustomerId(), "customer"),
+                    Link.of(ordersHref, "update-order")));
+        }
+        return models;
+    }
 }
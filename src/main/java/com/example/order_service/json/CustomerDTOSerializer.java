@@ -0,0 +1,41 @@
+package com.example.order_service.json;
+
+import java.io.IOException;
+
+import com.example.order_service.model.CustomerDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+
+public class CustomerDTOSerializer extends DirectBeanSerializer<CustomerDTO> {
+
+    private final SerializableString id = name("id");
+    private final SerializableString name = name("name");
+    private final SerializableString email = name("email");
+    private final SerializableString totalOrders = name("totalOrders");
+
+    public CustomerDTOSerializer() {
+        this(NameTransformer.NOP, false);
+    }
+
+    private CustomerDTOSerializer(NameTransformer names, boolean unwrapping) {
+        super(CustomerDTO.class, names, unwrapping);
+    }
+
+    @Override
+    protected void writeFields(CustomerDTO customer, JsonGenerator generator) throws IOException {
+        generator.writeFieldName(id);
+        writeNumberOrNull(generator, customer.getId());
+        generator.writeFieldName(name);
+        generator.writeString(customer.getName());
+        generator.writeFieldName(email);
+        generator.writeString(customer.getEmail());
+        generator.writeFieldName(totalOrders);
+        writeNumberOrNull(generator, customer.getTotalOrders());
+    }
+
+    @Override
+    protected DirectBeanSerializer<CustomerDTO> unwrapping(NameTransformer names) {
+        return new CustomerDTOSerializer(names, true);
+    }
+}
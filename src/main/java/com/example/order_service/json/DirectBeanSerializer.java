@@ -0,0 +1,84 @@
+package com.example.order_service.json;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+
+/**
+ * Base for serializers that write a bean's fields straight to the generator
+ * instead of going through Jackson's reflective BeanSerializer. Field names are
+ * pre-encoded once per serializer.
+ *
+ * Spring HATEOAS wraps DTOs in EntityModel, which unwraps its content into the
+ * surrounding object, so every subclass can also produce an unwrapping copy of
+ * itself that writes the fields without the enclosing braces.
+ */
+public abstract class DirectBeanSerializer<T> extends StdSerializer<T> {
+
+    private final NameTransformer names;
+    private final boolean unwrapping;
+
+    protected DirectBeanSerializer(Class<T> type, NameTransformer names, boolean unwrapping) {
+        super(type);
+        this.names = names;
+        this.unwrapping = unwrapping;
+    }
+
+    /**
+     * Writes the bean's fields, without the enclosing object.
+     */
+    protected abstract void writeFields(T value, JsonGenerator generator) throws IOException;
+
+    /**
+     * Creates a copy of this serializer that writes field names through the
+     * given transformer and omits the enclosing object.
+     */
+    protected abstract DirectBeanSerializer<T> unwrapping(NameTransformer names);
+
+    protected final SerializableString name(String name) {
+        return new SerializedString(names.transform(name));
+    }
+
+    @Override
+    public final void serialize(T value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        if (unwrapping) {
+            writeFields(value, generator);
+            return;
+        }
+        generator.writeStartObject(value);
+        writeFields(value, generator);
+        generator.writeEndObject();
+    }
+
+    @Override
+    public boolean isUnwrappingSerializer() {
+        return unwrapping;
+    }
+
+    @Override
+    public JsonSerializer<T> unwrappingSerializer(NameTransformer transformer) {
+        return unwrapping(NameTransformer.chainedTransformer(transformer, names));
+    }
+
+    protected static void writeNumberOrNull(JsonGenerator generator, Long value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+
+    protected static void writeNumberOrNull(JsonGenerator generator, Integer value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+}
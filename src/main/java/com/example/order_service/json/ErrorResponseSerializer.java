@@ -0,0 +1,41 @@
+package com.example.order_service.json;
+
+import java.io.IOException;
+
+import com.example.order_service.model.ErrorResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+
+public class ErrorResponseSerializer extends DirectBeanSerializer<ErrorResponse> {
+
+    private final SerializableString timestamp = name("timestamp");
+    private final SerializableString status = name("status");
+    private final SerializableString error = name("error");
+    private final SerializableString message = name("message");
+
+    public ErrorResponseSerializer() {
+        this(NameTransformer.NOP, false);
+    }
+
+    private ErrorResponseSerializer(NameTransformer names, boolean unwrapping) {
+        super(ErrorResponse.class, names, unwrapping);
+    }
+
+    @Override
+    protected void writeFields(ErrorResponse response, JsonGenerator generator) throws IOException {
+        generator.writeFieldName(timestamp);
+        LocalDateTimeWriter.write(generator, response.getTimestamp());
+        generator.writeFieldName(status);
+        generator.writeNumber(response.getStatus());
+        generator.writeFieldName(error);
+        generator.writeString(response.getError());
+        generator.writeFieldName(message);
+        generator.writeString(response.getMessage());
+    }
+
+    @Override
+    protected DirectBeanSerializer<ErrorResponse> unwrapping(NameTransformer names) {
+        return new ErrorResponseSerializer(names, true);
+    }
+}
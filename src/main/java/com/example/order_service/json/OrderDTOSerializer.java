@@ -0,0 +1,38 @@
+package com.example.order_service.json;
+
+import java.io.IOException;
+
+import com.example.order_service.model.OrderDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+
+public class OrderDTOSerializer extends DirectBeanSerializer<OrderDTO> {
+
+    private final SerializableString id = name("id");
+    private final SerializableString createdAt = name("createdAt");
+    private final SerializableString quantity = name("quantity");
+
+    public OrderDTOSerializer() {
+        this(NameTransformer.NOP, false);
+    }
+
+    private OrderDTOSerializer(NameTransformer names, boolean unwrapping) {
+        super(OrderDTO.class, names, unwrapping);
+    }
+
+    @Override
+    protected void writeFields(OrderDTO order, JsonGenerator generator) throws IOException {
+        generator.writeFieldName(id);
+        writeNumberOrNull(generator, order.getId());
+        generator.writeFieldName(createdAt);
+        LocalDateTimeWriter.write(generator, order.getCreatedAt());
+        generator.writeFieldName(quantity);
+        writeNumberOrNull(generator, order.getQuantity());
+    }
+
+    @Override
+    protected DirectBeanSerializer<OrderDTO> unwrapping(NameTransformer names) {
+        return new OrderDTOSerializer(names, true);
+    }
+}
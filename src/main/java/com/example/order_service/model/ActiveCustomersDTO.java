@@ -0,0 +1,58 @@
+package com.example.order_service.model;
+
+import java.time.LocalDate;
+
+public class ActiveCustomersDTO {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private long estimatedCustomers;
+    private int buckets;
+
+    public ActiveCustomersDTO() {
+    }
+
+    public ActiveCustomersDTO(LocalDate startDate, LocalDate endDate, long estimatedCustomers, int buckets) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.estimatedCustomers = estimatedCustomers;
+        this.buckets = buckets;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public long getEstimatedCustomers() {
+        return estimatedCustomers;
+    }
+
+    public void setEstimatedCustomers(long estimatedCustomers) {
+        this.estimatedCustomers = estimatedCustomers;
+    }
+
+    public int getBuckets() {
+        return buckets;
+    }
+
+    public void setBuckets(int buckets) {
+        this.buckets = buckets;
+    }
+
+    @Override
+    public String toString() {
+        return "ActiveCustomersDTO [startDate=" + startDate + ", endDate=" + endDate + ", estimatedCustomers="
+                + estimatedCustomers + "]";
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.order_service.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * An order that has been moved out of the orders table into the cold archive.
+ * Rows keep the ID and timestamps they had in the orders table and are only
+ * ever read or deleted here.
+ */
+@Entity
+@Table(name = "orders_archive")
+public class ArchivedOrder {
+    @Id
+    private Long id;
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+    private String product;
+    private Integer quantity;
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public ArchivedOrder() {
+    }
+
+    /**
+     * @return The archived row as an order, detached from any persistence
+     *         context.
+     */
+    public Order toOrder() {
+        Order order = new Order(id, customerId, product, quantity, createdAt);
+        order.setUpdatedAt(updatedAt);
+        return order;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public String getProduct() {
+        return product;
+    }
+
+    public void setProduct(String product) {
+        this.product = product;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ArchivedOrder [id=" + id + ", customerId=" + customerId + ", createdAt=" + createdAt + "]";
+    }
+}
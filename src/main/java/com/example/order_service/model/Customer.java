@@ -4,9 +4,11 @@ import java.time.LocalDateTime;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -32,6 +34,10 @@ public class Customer {
     private LocalDateTime createdAt;
     @Column(name = "total_orders")
     private Integer totalOrders;
+    @LastModifiedDate
+    @JsonIgnore
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
 
     public Customer() {
     }
@@ -94,6 +100,14 @@ public class Customer {
         this.totalOrders = totalOrders;
     }
 
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     @Override
     public String toString() {
         return "Customer [toString()=" + super.toString() + "]";
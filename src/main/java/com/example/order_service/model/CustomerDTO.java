@@ -1,5 +1,9 @@
 package com.example.order_service.model;
 
+import com.example.order_service.json.CustomerDTOSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+@JsonSerialize(using = CustomerDTOSerializer.class)
 public class CustomerDTO {
     private Long id;
     private String name;
@@ -0,0 +1,40 @@
+package com.example.order_service.model;
+
+import org.springframework.hateoas.PagedModel;
+
+/**
+ * A customer together with one page of their orders, loaded in one call.
+ */
+public class CustomerOrdersDTO {
+    private CustomerDTO customer;
+    private PagedModel<OrderDTO> orders;
+
+    public CustomerOrdersDTO() {
+    }
+
+    public CustomerOrdersDTO(CustomerDTO customer, PagedModel<OrderDTO> orders) {
+        this.customer = customer;
+        this.orders = orders;
+    }
+
+    public CustomerDTO getCustomer() {
+        return customer;
+    }
+
+    public void setCustomer(CustomerDTO customer) {
+        this.customer = customer;
+    }
+
+    public PagedModel<OrderDTO> getOrders() {
+        return orders;
+    }
+
+    public void setOrders(PagedModel<OrderDTO> orders) {
+        this.orders = orders;
+    }
+
+    @Override
+    public String toString() {
+        return "CustomerOrdersDTO [customer=" + customer + ", orders=" + orders + "]";
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.order_service.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "customer_sketches")
+public class CustomerSketch {
+    @Id
+    @Column(name = "bucket_date")
+    private LocalDate bucketDate;
+    @Lob
+    @Column(name = "registers", nullable = false)
+    private byte[] registers;
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public CustomerSketch() {
+    }
+
+    public CustomerSketch(LocalDate bucketDate, byte[] registers, LocalDateTime updatedAt) {
+        this.bucketDate = bucketDate;
+        this.registers = registers;
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDate getBucketDate() {
+        return bucketDate;
+    }
+
+    public void setBucketDate(LocalDate bucketDate) {
+        this.bucketDate = bucketDate;
+    }
+
+    public byte[] getRegisters() {
+        return registers;
+    }
+
+    public void setRegisters(byte[] registers) {
+        this.registers = registers;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "CustomerSketch [bucketDate=" + bucketDate + "]";
+    }
+}
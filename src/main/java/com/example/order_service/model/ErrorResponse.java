@@ -4,6 +4,10 @@ import java.time.LocalDateTime;
 
 import org.springframework.http.HttpStatus;
 
+import com.example.order_service.json.ErrorResponseSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+@JsonSerialize(using = ErrorResponseSerializer.class)
 public class ErrorResponse {
     private LocalDateTime timestamp;
     private int status;
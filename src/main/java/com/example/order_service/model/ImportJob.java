@@ -0,0 +1,135 @@
+package com.example.order_service.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * The checkpoint of a bulk import. It is advanced in the same transaction as
+ * each chunk of rows, so after a failure the import can be resumed from the
+ * first record that was not committed.
+ */
+@Entity
+@Table(name = "import_jobs")
+public class ImportJob {
+
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+
+    @Id
+    @Column(length = 36)
+    private String id;
+    @Column(nullable = false, length = 16)
+    private String target;
+    @Column(nullable = false, length = 8)
+    private String format;
+    @Column(nullable = false, length = 16)
+    private String status;
+    @Column(name = "records_processed", nullable = false)
+    private long recordsProcessed;
+    @Column(name = "rows_imported", nullable = false)
+    private long rowsImported;
+    @Column(name = "rows_rejected", nullable = false)
+    private long rowsRejected;
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public ImportJob() {
+    }
+
+    public ImportJob(String id, String target, String format, LocalDateTime createdAt) {
+        this.id = id;
+        this.target = target;
+        this.format = format;
+        this.status = RUNNING;
+        this.createdAt = createdAt;
+        this.updatedAt = createdAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    public void setTarget(String target) {
+        this.target = target;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    /**
+     * The number of records of the file, imported or rejected, that are
+     * committed. A resumed import skips this many records.
+     */
+    public long getRecordsProcessed() {
+        return recordsProcessed;
+    }
+
+    public void setRecordsProcessed(long recordsProcessed) {
+        this.recordsProcessed = recordsProcessed;
+    }
+
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    public void setRowsImported(long rowsImported) {
+        this.rowsImported = rowsImported;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public void setRowsRejected(long rowsRejected) {
+        this.rowsRejected = rowsRejected;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportJob [id=" + id + ", target=" + target + ", status=" + status + ", recordsProcessed="
+                + recordsProcessed + "]";
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.order_service.model;
+
+import java.util.List;
+
+/**
+ * The outcome of one run of a bulk import. The counts cover only this run;
+ * the job's checkpoint holds the totals across resumed runs.
+ */
+public class ImportReportDTO {
+    private String jobId;
+    private String status;
+    private long recordsSkipped;
+    private long rowsImported;
+    private long rowsRejected;
+    private List<RowError> errors;
+    private boolean errorsTruncated;
+
+    public ImportReportDTO() {
+    }
+
+    public ImportReportDTO(String jobId, String status, long recordsSkipped, long rowsImported, long rowsRejected,
+            List<RowError> errors, boolean errorsTruncated) {
+        this.jobId = jobId;
+        this.status = status;
+        this.recordsSkipped = recordsSkipped;
+        this.rowsImported = rowsImported;
+        this.rowsRejected = rowsRejected;
+        this.errors = errors;
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    /**
+     * Records at the start of the file that an earlier run already committed.
+     */
+    public long getRecordsSkipped() {
+        return recordsSkipped;
+    }
+
+    public void setRecordsSkipped(long recordsSkipped) {
+        this.recordsSkipped = recordsSkipped;
+    }
+
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    public void setRowsImported(long rowsImported) {
+        this.rowsImported = rowsImported;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public void setRowsRejected(long rowsRejected) {
+        this.rowsRejected = rowsRejected;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+
+    /**
+     * Whether more rows were rejected than are listed in errors.
+     */
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public void setErrorsTruncated(boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    /**
+     * A rejected row. Records are numbered from 1, not counting the CSV header
+     * or blank lines, so a record number holds across resumed runs.
+     */
+    public static class RowError {
+        private long record;
+        private String message;
+
+        public RowError() {
+        }
+
+        public RowError(long record, String message) {
+            this.record = record;
+            this.message = message;
+        }
+
+        public long getRecord() {
+            return record;
+        }
+
+        public void setRecord(long record) {
+            this.record = record;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+
+        @Override
+        public String toString() {
+            return "RowError [record=" + record + ", message=" + message + "]";
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ImportReportDTO [jobId=" + jobId + ", status=" + status + ", rowsImported=" + rowsImported
+                + ", rowsRejected=" + rowsRejected + "]";
+    }
+}
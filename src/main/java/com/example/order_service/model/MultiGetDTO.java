@@ -0,0 +1,53 @@
+package com.example.order_service.model;
+
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.hateoas.RepresentationModel;
+
+/**
+ * The result of a multi-get. It is a representation model so the response is
+ * rendered as HAL and the found entities keep their {@code _links}.
+ */
+public class MultiGetDTO<T> extends RepresentationModel<MultiGetDTO<T>> {
+    private List<T> found;
+    private List<Long> notFound;
+
+    public MultiGetDTO() {
+    }
+
+    public MultiGetDTO(List<T> found, List<Long> notFound) {
+        this.found = found;
+        this.notFound = notFound;
+    }
+
+    /**
+     * Pairs the models of the entities found with the requested IDs that
+     * matched nothing, each listed once.
+     */
+    public static <T> MultiGetDTO<T> of(List<Long> requestedIds, Set<Long> foundIds, List<T> found) {
+        List<Long> notFound = requestedIds.stream().distinct().filter(id -> !foundIds.contains(id)).toList();
+        return new MultiGetDTO<>(found, notFound);
+    }
+
+    public List<T> getFound() {
+        return found;
+    }
+
+    public void setFound(List<T> found) {
+        this.found = found;
+    }
+
+    public List<Long> getNotFound() {
+        return notFound;
+    }
+
+    public void setNotFound(List<Long> notFound) {
+        this.notFound = notFound;
+    }
+
+    @Override
+    public String toString() {
+        return "MultiGetDTO [found=" + found + ", notFound=" + notFound + "]";
+    }
+}
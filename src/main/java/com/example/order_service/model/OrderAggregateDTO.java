@@ -0,0 +1,70 @@
+package com.example.order_service.model;
+
+public class OrderAggregateDTO {
+    private long matchingOrders;
+    private long totalQuantity;
+    private Integer minQuantity;
+    private Integer maxQuantity;
+    private long scannedOrders;
+
+    public OrderAggregateDTO() {
+    }
+
+    public OrderAggregateDTO(long matchingOrders, long totalQuantity, Integer minQuantity, Integer maxQuantity,
+            long scannedOrders) {
+        this.matchingOrders = matchingOrders;
+        this.totalQuantity = totalQuantity;
+        this.minQuantity = minQuantity;
+        this.maxQuantity = maxQuantity;
+        this.scannedOrders = scannedOrders;
+    }
+
+    public long getMatchingOrders() {
+        return matchingOrders;
+    }
+
+    public void setMatchingOrders(long matchingOrders) {
+        this.matchingOrders = matchingOrders;
+    }
+
+    public long getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    public void setTotalQuantity(long totalQuantity) {
+        this.totalQuantity = totalQuantity;
+    }
+
+    public Integer getMinQuantity() {
+        return minQuantity;
+    }
+
+    public void setMinQuantity(Integer minQuantity) {
+        this.minQuantity = minQuantity;
+    }
+
+    public Integer getMaxQuantity() {
+        return maxQuantity;
+    }
+
+    public void setMaxQuantity(Integer maxQuantity) {
+        this.maxQuantity = maxQuantity;
+    }
+
+    public long getScannedOrders() {
+        return scannedOrders;
+    }
+
+    public void setScannedOrders(long scannedOrders) {
+        this.scannedOrders = scannedOrders;
+    }
+
+    public Double getAverageQuantity() {
+        return matchingOrders == 0 ? null : (double) totalQuantity / matchingOrders;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderAggregateDTO [matchingOrders=" + matchingOrders + ", totalQuantity=" + totalQuantity + "]";
+    }
+}
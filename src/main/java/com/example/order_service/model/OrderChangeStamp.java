@@ -0,0 +1,48 @@
+package com.example.order_service.model;
+
+import java.time.LocalDateTime;
+
+public class OrderChangeStamp {
+    private long orderCount;
+    private Long maxOrderId;
+    private LocalDateTime lastModified;
+
+    public OrderChangeStamp() {
+    }
+
+    public OrderChangeStamp(long orderCount, Long maxOrderId, LocalDateTime lastModified) {
+        this.orderCount = orderCount;
+        this.maxOrderId = maxOrderId;
+        this.lastModified = lastModified;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public void setOrderCount(long orderCount) {
+        this.orderCount = orderCount;
+    }
+
+    public Long getMaxOrderId() {
+        return maxOrderId;
+    }
+
+    public void setMaxOrderId(Long maxOrderId) {
+        this.maxOrderId = maxOrderId;
+    }
+
+    public LocalDateTime getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(LocalDateTime lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderChangeStamp [orderCount=" + orderCount + ", maxOrderId=" + maxOrderId + ", lastModified="
+                + lastModified + "]";
+    }
+}
@@ -2,6 +2,10 @@ package com.example.order_service.model;
 
 import java.time.LocalDateTime;
 
+import com.example.order_service.json.OrderDTOSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+@JsonSerialize(using = OrderDTOSerializer.class)
 public class OrderDTO {
     private Long id;
     private LocalDateTime createdAt;
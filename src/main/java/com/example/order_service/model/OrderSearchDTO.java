@@ -0,0 +1,51 @@
+package com.example.order_service.model;
+
+import java.util.List;
+
+/**
+ * A page of product search results: how many orders matched in total and the
+ * newest of them.
+ */
+public class OrderSearchDTO {
+    private String query;
+    private long total;
+    private List<Order> orders;
+
+    public OrderSearchDTO() {
+    }
+
+    public OrderSearchDTO(String query, long total, List<Order> orders) {
+        this.query = query;
+        this.total = total;
+        this.orders = orders;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public List<Order> getOrders() {
+        return orders;
+    }
+
+    public void setOrders(List<Order> orders) {
+        this.orders = orders;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderSearchDTO [query=" + query + ", total=" + total + ", orders=" + orders + "]";
+    }
+}
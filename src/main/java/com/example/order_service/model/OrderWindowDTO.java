@@ -0,0 +1,51 @@
+package com.example.order_service.model;
+
+import java.util.List;
+
+/**
+ * One page of a customer's orders in a chosen sort. {@code next} is the
+ * cursor for the following page, or null on the last one.
+ */
+public class OrderWindowDTO {
+    private String sort;
+    private List<OrderDTO> orders;
+    private String next;
+
+    public OrderWindowDTO() {
+    }
+
+    public OrderWindowDTO(String sort, List<OrderDTO> orders, String next) {
+        this.sort = sort;
+        this.orders = orders;
+        this.next = next;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+
+    public List<OrderDTO> getOrders() {
+        return orders;
+    }
+
+    public void setOrders(List<OrderDTO> orders) {
+        this.orders = orders;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public void setNext(String next) {
+        this.next = next;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderWindowDTO [sort=" + sort + ", orders=" + orders + ", next=" + next + "]";
+    }
+}
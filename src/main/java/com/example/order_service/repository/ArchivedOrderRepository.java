@@ -0,0 +1,56 @@
+package com.example.order_service.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.order_service.model.ArchivedOrder;
+
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+
+    List<ArchivedOrder> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
+
+    @Query("SELECT o FROM ArchivedOrder o ORDER BY o.createdAt ASC")
+    List<ArchivedOrder> findAllByCreatedAtAsc();
+
+    @Query("SELECT o FROM ArchivedOrder o ORDER BY o.createdAt DESC")
+    List<ArchivedOrder> findAllByCreatedAtDesc();
+
+    @Query("SELECT COALESCE(o.updatedAt, o.createdAt) FROM ArchivedOrder o WHERE o.id = :id")
+    Optional<LocalDateTime> findLastModifiedById(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM ArchivedOrder o WHERE o.id = :id")
+    int deleteByIdReturningCount(@Param("id") Long id);
+
+    long countByCustomerId(Long customerId);
+
+    List<ArchivedOrder> findByCustomerIdOrderByIdAsc(Long customerId);
+
+    @Query(value = "SELECT * FROM orders_archive WHERE customer_id = :customerId ORDER BY id LIMIT :limit OFFSET :offset",
+            nativeQuery = true)
+    List<ArchivedOrder> findByCustomerId(@Param("customerId") Long customerId, @Param("offset") long offset,
+            @Param("limit") int limit);
+
+    @Query("SELECT o.id FROM ArchivedOrder o WHERE o.customerId = :customerId")
+    List<Long> findIdsByCustomerId(@Param("customerId") Long customerId);
+
+    @Modifying
+    @Query("DELETE FROM ArchivedOrder o WHERE o.customerId = :customerId AND o.id IN :ids")
+    int deleteByCustomerIdAndIdIn(@Param("customerId") Long customerId, @Param("ids") List<Long> ids);
+
+    /**
+     * Copies orders into the archive as they are, keeping their IDs.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO orders_archive (id, customer_id, product, quantity, created_at, updated_at) "
+            + "SELECT id, customer_id, product, quantity, created_at, updated_at FROM orders WHERE id IN (:ids)",
+            nativeQuery = true)
+    int copyFromOrders(@Param("ids") List<Long> ids);
+
+}
@@ -1,10 +1,13 @@
 package com.example.order_service.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.example.order_service.model.Customer;
 
@@ -17,6 +20,10 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
     void deleteById(Long customerId);
 
+    @Modifying
+    @Query("DELETE FROM Customer c WHERE c.id = :id")
+    int deleteByIdReturningCount(@Param("id") Long id);
+
     @Query("SELECT c FROM Customer c ORDER BY c.createdAt ASC")
     List<Customer> findAllByCreatedAtAsc();
 
@@ -25,4 +32,13 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
     Optional<Customer> findById(Long customerId);
 
+    Optional<Customer> findByEmail(String email);
+
+    boolean existsByEmail(String email);
+
+    boolean existsByEmailAndIdNot(String email, Long id);
+
+    @Query("SELECT COALESCE(c.updatedAt, c.createdAt) FROM Customer c WHERE c.id = :id")
+    Optional<LocalDateTime> findLastModifiedById(@Param("id") Long id);
+
 }
@@ -0,0 +1,21 @@
+package com.example.order_service.repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.order_service.model.CustomerSketch;
+
+import jakarta.persistence.LockModeType;
+
+public interface CustomerSketchRepository extends JpaRepository<CustomerSketch, LocalDate> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CustomerSketch s WHERE s.bucketDate = :bucketDate")
+    Optional<CustomerSketch> findByIdForUpdate(@Param("bucketDate") LocalDate bucketDate);
+
+}
@@ -0,0 +1,9 @@
+package com.example.order_service.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.example.order_service.model.ImportJob;
+
+public interface ImportJobRepository extends JpaRepository<ImportJob, String> {
+
+}
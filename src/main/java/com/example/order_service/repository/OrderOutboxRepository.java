@@ -0,0 +1,14 @@
+package com.example.order_service.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.example.order_service.model.OrderOutboxEvent;
+
+public interface OrderOutboxRepository extends JpaRepository<OrderOutboxEvent, Long> {
+
+    List<OrderOutboxEvent> findAllByOrderByIdAsc(Pageable pageable);
+
+}
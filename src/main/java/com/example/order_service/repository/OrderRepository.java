@@ -4,12 +4,19 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.example.order_service.model.Order;
+import com.example.order_service.model.OrderChangeStamp;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
@@ -17,11 +24,22 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
     Page<Order> findByCustomerId(Long customerId, Pageable pageable);
 
+    Window<Order> findByCustomerId(Long customerId, ScrollPosition position, Sort sort, Limit limit);
+
     Optional<Order> findById(Long id);
 
     void deleteById(Long id);
 
-    void deleteByCustomerId(Long id);
+    @Query("SELECT o.id FROM Order o WHERE o.customerId = :customerId")
+    List<Long> findIdsByCustomerId(@Param("customerId") Long customerId);
+
+    @Modifying
+    @Query("DELETE FROM Order o WHERE o.customerId = :customerId AND o.id IN :ids")
+    int deleteByCustomerIdAndIdIn(@Param("customerId") Long customerId, @Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Order o WHERE o.id = :id")
+    int deleteByIdReturningCount(@Param("id") Long id);
 
     List<Order> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
 
@@ -31,4 +49,18 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT o FROM Order o ORDER BY o.createdAt DESC")
     List<Order> findAllByCreatedAtDesc();
 
+    @Query("SELECT o.id FROM Order o WHERE o.createdAt < :cutoff ORDER BY o.id")
+    List<Long> findIdsCreatedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Order o WHERE o.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+
+    @Query("SELECT COALESCE(o.updatedAt, o.createdAt) FROM Order o WHERE o.id = :id")
+    Optional<LocalDateTime> findLastModifiedById(@Param("id") Long id);
+
+    @Query("SELECT new com.example.order_service.model.OrderChangeStamp(COUNT(o), MAX(o.id), "
+            + "MAX(COALESCE(o.updatedAt, o.createdAt))) FROM Order o WHERE o.customerId = :customerId")
+    OrderChangeStamp findChangeStampByCustomerId(@Param("customerId") Long customerId);
+
 }
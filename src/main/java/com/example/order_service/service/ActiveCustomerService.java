@@ -0,0 +1,194 @@
+package com.example.order_service.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.order_service.analytics.HyperLogLog;
+import com.example.order_service.event.OrderChangedEvent;
+import com.example.order_service.exception.BadRequestException;
+import com.example.order_service.model.ActiveCustomersDTO;
+import com.example.order_service.model.CustomerSketch;
+import com.example.order_service.model.Order;
+import com.example.order_service.repository.CustomerSketchRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Keeps one HyperLogLog sketch of ordering customers per day so that the number
+ * of distinct customers in any date range can be estimated without a
+ * COUNT(DISTINCT) over the orders table.
+ *
+ * Every instance keeps its own sketches and flushes them to the same rows.
+ * A flush locks the stored row, takes the larger of each stored and local
+ * register and writes the result back, so no instance overwrites customers
+ * another one has recorded, and each picks up the others' registers.
+ */
+@Service
+public class ActiveCustomerService {
+
+    private static final Logger log = LoggerFactory.getLogger(ActiveCustomerService.class);
+
+    @Autowired
+    CustomerSketchRepository customerSketchRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    OrderArchive orderArchive;
+
+    private final Map<LocalDate, HyperLogLog> sketches = new ConcurrentHashMap<>();
+    private final Set<LocalDate> dirtyBuckets = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Loads the persisted sketches so estimates survive a restart. When nothing
+     * has been persisted yet the sketches are rebuilt from the orders table.
+     */
+    @PostConstruct
+    public void load() {
+        sketches.clear();
+        dirtyBuckets.clear();
+        for (CustomerSketch sketch : customerSketchRepository.findAll()) {
+            sketches.put(sketch.getBucketDate(), HyperLogLog.fromBytes(sketch.getRegisters()));
+        }
+        if (sketches.isEmpty()) {
+            rebuild();
+        }
+        log.info("Loaded {} active-customer sketches", sketches.size());
+    }
+
+    /**
+     * Rebuilds every sketch with a single pass over the orders table, and the
+     * archive when it is enabled, and persists the result. Rows are read as
+     * plain columns so no Order entities are created.
+     */
+    public void rebuild() {
+        sketches.clear();
+        dirtyBuckets.clear();
+        String sql = "SELECT customer_id, created_at FROM orders WHERE created_at IS NOT NULL";
+        if (orderArchive.isEnabled()) {
+            sql += " UNION ALL SELECT customer_id, created_at FROM orders_archive";
+        }
+        jdbcTemplate.query(sql, rs -> {
+            LocalDate bucket = rs.getTimestamp(2).toLocalDateTime().toLocalDate();
+            sketches.computeIfAbsent(bucket, key -> new HyperLogLog()).add(rs.getLong(1));
+            dirtyBuckets.add(bucket);
+        });
+        flush();
+    }
+
+    /**
+     * Records the customer of a newly created order in the sketch for the day
+     * the order was created.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        if (event.getType() == OrderChangedEvent.Type.CREATED) {
+            recordOrder(event.getOrder());
+        }
+    }
+
+    public void recordOrder(Order order) {
+        if (order.getCustomerId() == null) {
+            return;
+        }
+        LocalDateTime createdAt = order.getCreatedAt() != null ? order.getCreatedAt() : LocalDateTime.now();
+        LocalDate bucket = createdAt.toLocalDate();
+        sketches.computeIfAbsent(bucket, key -> new HyperLogLog()).add(order.getCustomerId());
+        dirtyBuckets.add(bucket);
+    }
+
+    /**
+     * Estimates the number of distinct customers who ordered between two dates.
+     *
+     * @param startDate The first day of the range, inclusive.
+     * @param endDate   The last day of the range, inclusive.
+     * @return The estimate along with the number of day buckets that were merged.
+     * @throws BadRequestException if the range is empty.
+     */
+    public ActiveCustomersDTO estimateActiveCustomers(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new BadRequestException("End date must not be before start date");
+        }
+        HyperLogLog union = new HyperLogLog();
+        int merged = 0;
+        for (Map.Entry<LocalDate, HyperLogLog> entry : sketches.entrySet()) {
+            LocalDate bucket = entry.getKey();
+            if (!bucket.isBefore(startDate) && !bucket.isAfter(endDate)) {
+                union.merge(entry.getValue());
+                merged++;
+            }
+        }
+        return new ActiveCustomersDTO(startDate, endDate, union.estimate(), merged);
+    }
+
+    /**
+     * Merges every sketch that changed since the last flush into its stored
+     * row.
+     */
+    @Scheduled(fixedDelayString = "${order-service.analytics.sketch-flush-interval:PT1M}")
+    public void flush() {
+        if (dirtyBuckets.isEmpty()) {
+            return;
+        }
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int flushed = 0;
+        for (LocalDate bucket : List.copyOf(dirtyBuckets)) {
+            // Clear the flag before copying so an add racing with the flush marks it again.
+            dirtyBuckets.remove(bucket);
+            HyperLogLog sketch = sketches.get(bucket);
+            if (sketch == null) {
+                continue; // Dropped by a load or rebuild running at the same time
+            }
+            try {
+                try {
+                    transaction.executeWithoutResult(status -> mergeIntoStored(bucket, sketch));
+                } catch (DataIntegrityViolationException ex) {
+                    // Another instance inserted the row first; merge into it instead.
+                    transaction.executeWithoutResult(status -> mergeIntoStored(bucket, sketch));
+                }
+            } catch (RuntimeException ex) {
+                dirtyBuckets.add(bucket);
+                throw ex;
+            }
+            flushed++;
+        }
+        log.debug("Flushed {} active-customer sketches", flushed);
+    }
+
+    private void mergeIntoStored(LocalDate bucket, HyperLogLog sketch) {
+        Optional<CustomerSketch> stored = customerSketchRepository.findByIdForUpdate(bucket);
+        stored.ifPresent(row -> sketch.merge(HyperLogLog.fromBytes(row.getRegisters())));
+        CustomerSketch row = stored.orElseGet(CustomerSketch::new);
+        row.setBucketDate(bucket);
+        row.setRegisters(sketch.toBytes());
+        row.setUpdatedAt(LocalDateTime.now());
+        customerSketchRepository.saveAndFlush(row);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.warn("Could not flush active-customer sketches on shutdown", ex);
+        }
+    }
+}
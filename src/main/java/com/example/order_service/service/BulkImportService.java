@@ -0,0 +1,600 @@
+package com.example.order_service.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.order_service.event.OrderChangedEvent;
+import com.example.order_service.exception.BadRequestException;
+import com.example.order_service.exception.ResourceNotFoundException;
+import com.example.order_service.model.ImportJob;
+import com.example.order_service.model.ImportReportDTO;
+import com.example.order_service.model.ImportReportDTO.RowError;
+import com.example.order_service.model.Order;
+import com.example.order_service.repository.ImportJobRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Loads customers or orders from a CSV or NDJSON file.
+ *
+ * One thread reads the file and cuts it into chunks of records; a pool of
+ * parser threads turns each chunk into rows and checks the fields. The
+ * chunks are then written in file order, each in its own transaction: the
+ * rows are checked against the database (unique email, existing customer),
+ * inserted with multi-row INSERT statements, and the job's checkpoint is
+ * advanced. A failed import can therefore be resumed by sending the same file
+ * again with the job ID, and rows are neither lost nor imported twice. The
+ * client may choose the job ID up front, so it can resume even when the
+ * first run failed before answering.
+ *
+ * Rows that fail a check are left out and reported by record number; they do
+ * not stop the import. Only a handful of chunks are parsed ahead of the
+ * writer, so memory does not grow with the size of the file.
+ *
+ * Imported orders do not go through {@link OrderService}, but every chunk
+ * publishes a created event for each order it inserted, as
+ * {@link OrderService#createOrder} does. The outbox records them in the
+ * chunk's transaction, and the column store, search index, active-customer
+ * sketches and range cache pick them up once the chunk commits. Imported
+ * customers are added to the email filter; the customer's order count is not
+ * updated.
+ */
+@Service
+public class BulkImportService implements DisposableBean {
+
+    private static final int ROWS_PER_INSERT = 500;
+    private static final int KEYS_PER_QUERY = 500;
+    private static final Pattern JOB_ID = Pattern.compile("[A-Za-z0-9_-]{1,36}");
+
+    private static final Logger log = LoggerFactory.getLogger(BulkImportService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ImportJobRepository importJobRepository;
+    private final CustomerEmailFilter customerEmailFilter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolTaskExecutor parsers = new ThreadPoolTaskExecutor();
+    private final int chunkSize;
+    private final int maxChunksAhead;
+    private final int maxErrors;
+    private final boolean ordersSharded;
+
+    /**
+     * What an import loads. The first columns of each target are required.
+     * An order's creation time, as written by the order export, is optional
+     * and defaults to the time of the import.
+     */
+    public enum Target {
+        CUSTOMERS(new String[] { "name", "email", "address" }, new String[] { "name", "email", "address" }, 2),
+        ORDERS(new String[] { "customer_id", "product", "quantity", "created_at" },
+                new String[] { "customerId", "product", "quantity", "createdAt" }, 3);
+
+        private final String[] csvColumns;
+        private final String[] jsonFields;
+        private final int required;
+
+        Target(String[] csvColumns, String[] jsonFields, int required) {
+            this.csvColumns = csvColumns;
+            this.jsonFields = jsonFields;
+            this.required = required;
+        }
+
+        /**
+         * @throws BadRequestException if the target is not supported.
+         */
+        public static Target parse(String target) {
+            try {
+                return valueOf(target.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new BadRequestException("Unsupported import target: " + target + ". Use customers or orders.");
+            }
+        }
+    }
+
+    public enum Format {
+        CSV, NDJSON;
+
+        /**
+         * @throws BadRequestException if the format is not supported.
+         */
+        public static Format parse(String format) {
+            try {
+                return valueOf(format.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new BadRequestException("Unsupported import format: " + format + ". Use csv or ndjson.");
+            }
+        }
+    }
+
+    @Autowired
+    public BulkImportService(DataSource dataSource, PlatformTransactionManager transactionManager,
+            ImportJobRepository importJobRepository, CustomerEmailFilter customerEmailFilter,
+            ApplicationEventPublisher eventPublisher, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${order-service.import.chunk-size:1000}") int chunkSize,
+            @Value("${order-service.import.parser-threads:0}") int parserThreads,
+            @Value("${order-service.import.max-errors:1000}") int maxErrors,
+            @Value("${order-service.datasource.sharding.enabled:false}") boolean ordersSharded) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.importJobRepository = importJobRepository;
+        this.customerEmailFilter = customerEmailFilter;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+        this.ordersSharded = ordersSharded;
+        int threads = parserThreads > 0 ? parserThreads : Runtime.getRuntime().availableProcessors();
+        this.maxChunksAhead = threads * 2;
+        parsers.setThreadNamePrefix("import-parser-");
+        parsers.setCorePoolSize(threads);
+        parsers.setMaxPoolSize(threads);
+        parsers.initialize();
+    }
+
+    /**
+     * Imports a file, or resumes an import that did not finish.
+     *
+     * @param target The kind of rows in the file.
+     * @param format The file format. CSV files start with a header naming
+     *               their columns; columns that are not imported are ignored.
+     * @param jobId  The job to resume, or to start under this ID if it does
+     *               not exist; null to start one under a generated ID.
+     * @param in     The file. It is read to the end and closed.
+     * @return What this run imported and the rows it rejected.
+     * @throws BadRequestException if the CSV header lacks a required column,
+     *                             the job ID is malformed or the job is for
+     *                             another kind of file.
+     */
+    public ImportReportDTO importFile(Target target, Format format, String jobId, InputStream in) {
+        if (target == Target.ORDERS && ordersSharded) {
+            throw new BadRequestException("Orders cannot be imported while they are sharded");
+        }
+        long start = System.nanoTime();
+        Report report = new Report(maxErrors);
+        Deque<Future<Chunk>> parsing = new ArrayDeque<>();
+        ImportJob job;
+        try (ImportRecordReader reader = new ImportRecordReader(new InputStreamReader(in, StandardCharsets.UTF_8),
+                format == Format.CSV)) {
+            int[] columns = format == Format.CSV ? columns(target, reader.next()) : null;
+            job = jobId == null ? start(UUID.randomUUID().toString(), target, format)
+                    : resume(jobId, target, format);
+            if (ImportJob.COMPLETED.equals(job.getStatus())) {
+                return report.toDTO(job);
+            }
+            report.recordsSkipped = reader.skip(job.getRecordsProcessed());
+            long number = job.getRecordsProcessed() + 1;
+            List<String> records = new ArrayList<>(chunkSize);
+            String record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+                if (records.size() == chunkSize) {
+                    parsing.add(submit(target, columns, number, records));
+                    number += records.size();
+                    records = new ArrayList<>(chunkSize);
+                    if (parsing.size() >= maxChunksAhead) {
+                        write(job, target, await(parsing.poll()), report);
+                    }
+                }
+            }
+            if (!records.isEmpty()) {
+                parsing.add(submit(target, columns, number, records));
+            }
+            while (!parsing.isEmpty()) {
+                write(job, target, await(parsing.poll()), report);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read the import file", ex);
+        } finally {
+            parsing.forEach(chunk -> chunk.cancel(true));
+        }
+        job.setStatus(ImportJob.COMPLETED);
+        job.setUpdatedAt(LocalDateTime.now());
+        importJobRepository.save(job);
+        record(target, report, System.nanoTime() - start);
+        return report.toDTO(job);
+    }
+
+    /**
+     * @return The checkpoint of an import.
+     * @throws ResourceNotFoundException if the job does not exist.
+     */
+    public ImportJob getJob(String jobId) {
+        return importJobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Import job " + jobId + " not found."));
+    }
+
+    @Override
+    public void destroy() {
+        parsers.shutdown();
+    }
+
+    private ImportJob start(String jobId, Target target, Format format) {
+        return importJobRepository.save(new ImportJob(jobId, name(target), name(format), LocalDateTime.now()));
+    }
+
+    private ImportJob resume(String jobId, Target target, Format format) {
+        if (!JOB_ID.matcher(jobId).matches()) {
+            throw new BadRequestException("Import job IDs are 1 to 36 letters, digits, '-' or '_'");
+        }
+        ImportJob job = importJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return start(jobId, target, format);
+        }
+        if (!job.getTarget().equals(name(target)) || !job.getFormat().equals(name(format))) {
+            throw new BadRequestException("Import job " + jobId + " loads " + job.getFormat() + " "
+                    + job.getTarget() + ", not " + name(format) + " " + name(target));
+        }
+        return job;
+    }
+
+    /**
+     * Maps the target's columns to their positions in the CSV header.
+     */
+    private static int[] columns(Target target, String header) {
+        if (header == null) {
+            throw new BadRequestException("The file is empty");
+        }
+        List<String> names = ImportRecordReader.splitCsv(header).stream()
+                .map(name -> name.trim().toLowerCase(Locale.ROOT))
+                .toList();
+        int[] columns = new int[target.csvColumns.length];
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = names.indexOf(target.csvColumns[i]);
+            if (columns[i] < 0 && i < target.required) {
+                missing.add(target.csvColumns[i]);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new BadRequestException("The CSV header is missing the column(s) " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    private Future<Chunk> submit(Target target, int[] columns, long firstRecord, List<String> records) {
+        return parsers.submit(() -> parse(target, columns, firstRecord, records));
+    }
+
+    private Chunk parse(Target target, int[] columns, long firstRecord, List<String> records) {
+        List<Row> rows = new ArrayList<>(records.size());
+        List<RowError> errors = new ArrayList<>();
+        long number = firstRecord;
+        for (String record : records) {
+            try {
+                String[] fields = columns != null ? csvFields(target, columns, record) : jsonFields(target, record);
+                rows.add(target == Target.CUSTOMERS ? customer(number, fields) : order(number, fields));
+            } catch (IllegalArgumentException ex) {
+                errors.add(new RowError(number, ex.getMessage()));
+            }
+            number++;
+        }
+        return new Chunk(records.size(), rows, errors);
+    }
+
+    private static String[] csvFields(Target target, int[] columns, String record) {
+        List<String> values = ImportRecordReader.splitCsv(record);
+        String[] fields = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i] >= values.size()) {
+                throw new IllegalArgumentException("Missing the " + target.csvColumns[i] + " column");
+            }
+            if (columns[i] >= 0 && !values.get(columns[i]).isEmpty()) {
+                fields[i] = values.get(columns[i]);
+            }
+        }
+        return fields;
+    }
+
+    private String[] jsonFields(Target target, String record) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(record);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Malformed JSON: " + ex.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        String[] fields = new String[target.jsonFields.length];
+        for (int i = 0; i < fields.length; i++) {
+            JsonNode value = node.get(target.jsonFields[i]);
+            if (value != null && !value.isNull() && !value.asText().isEmpty()) {
+                fields[i] = value.asText();
+            }
+        }
+        return fields;
+    }
+
+    private static Row customer(long number, String[] fields) {
+        String name = text(fields[0], "Name", 100);
+        String email = text(fields[1], "Email", 255);
+        return new Row(number, email.toLowerCase(Locale.ROOT), new Object[] { name, email, fields[2] }, null);
+    }
+
+    private static Row order(long number, String[] fields) {
+        Long customerId = number(fields[0], "Customer ID");
+        String product = text(fields[1], "Product", 255);
+        Long quantity = number(fields[2], "Quantity");
+        if (quantity <= 0 || quantity > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Quantity must be greater than 0");
+        }
+        return new Row(number, customerId, new Object[] { customerId, product, quantity.intValue() },
+                createdAt(fields[3]));
+    }
+
+    private static LocalDateTime createdAt(String value) {
+        if (value == null) {
+            return null;
+        }
+        LocalDateTime createdAt;
+        try {
+            createdAt = LocalDateTime.parse(value.trim());
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Created at " + value + " is not a date-time such as 2025-03-01T10:00:00");
+        }
+        if (createdAt.isAfter(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Created at " + value + " is in the future");
+        }
+        return createdAt;
+    }
+
+    private static String text(String value, String field, int maxLength) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        if (value.length() > maxLength) {
+            throw new IllegalArgumentException(field + " is longer than " + maxLength + " characters");
+        }
+        return value;
+    }
+
+    private static Long number(String value, String field) {
+        if (value == null) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(field + " " + value + " is not a number");
+        }
+    }
+
+    /**
+     * Checks a parsed chunk against the database, inserts what passes and
+     * moves the checkpoint past the chunk, all in one transaction. The created
+     * events of the chunk's orders reach the after-commit listeners only if it
+     * commits.
+     */
+    private void write(ImportJob job, Target target, Chunk chunk, Report report) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<RowError> errors = new ArrayList<>(chunk.errors());
+            List<Row> rows = target == Target.CUSTOMERS ? newCustomers(chunk.rows(), errors)
+                    : ordersOfExistingCustomers(chunk.rows(), errors);
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = insert(target, rows, now);
+            if (target == Target.CUSTOMERS) {
+                rows.forEach(row -> customerEmailFilter.add((String) row.values()[1]));
+            } else {
+                publishCreated(rows, ids, now);
+            }
+            job.setRecordsProcessed(job.getRecordsProcessed() + chunk.records());
+            job.setRowsImported(job.getRowsImported() + rows.size());
+            job.setRowsRejected(job.getRowsRejected() + errors.size());
+            job.setUpdatedAt(LocalDateTime.now());
+            importJobRepository.save(job);
+            errors.sort(Comparator.comparingLong(RowError::getRecord));
+            report.add(rows.size(), errors);
+        });
+    }
+
+    private List<Row> newCustomers(List<Row> rows, List<RowError> errors) {
+        Set<Object> taken = existing("SELECT email FROM customers WHERE email IN (:keys)",
+                rows.stream().map(row -> row.values()[1]).toList(), String.class);
+        Set<Object> registered = new HashSet<>();
+        taken.forEach(email -> registered.add(((String) email).toLowerCase(Locale.ROOT)));
+        Set<Object> seen = new HashSet<>();
+        List<Row> accepted = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            if (registered.contains(row.key())) {
+                errors.add(new RowError(row.number(), "Email " + row.values()[1] + " is already registered"));
+            } else if (!seen.add(row.key())) {
+                errors.add(new RowError(row.number(), "Email " + row.values()[1] + " is repeated in the file"));
+            } else {
+                accepted.add(row);
+            }
+        }
+        return accepted;
+    }
+
+    private List<Row> ordersOfExistingCustomers(List<Row> rows, List<RowError> errors) {
+        Set<Object> customers = existing("SELECT id FROM customers WHERE id IN (:keys)",
+                rows.stream().map(Row::key).toList(), Long.class);
+        List<Row> accepted = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            if (customers.contains(row.key())) {
+                accepted.add(row);
+            } else {
+                errors.add(new RowError(row.number(), "Customer " + row.key() + " not found"));
+            }
+        }
+        return accepted;
+    }
+
+    private <T> Set<Object> existing(String sql, Collection<?> keys, Class<T> type) {
+        List<Object> unique = new ArrayList<>(new LinkedHashSet<>(keys));
+        Set<Object> found = new HashSet<>();
+        for (int from = 0; from < unique.size(); from += KEYS_PER_QUERY) {
+            List<Object> batch = unique.subList(from, Math.min(from + KEYS_PER_QUERY, unique.size()));
+            found.addAll(namedJdbcTemplate.queryForList(sql, Map.of("keys", batch), type));
+        }
+        return found;
+    }
+
+    /**
+     * Inserts rows with as few statements as possible: every statement but the
+     * last carries {@link #ROWS_PER_INSERT} rows. Rows without a creation time
+     * are created now.
+     *
+     * @return The generated IDs of the rows, in row order.
+     */
+    private List<Long> insert(Target target, List<Row> rows, LocalDateTime importedAt) {
+        Timestamp now = Timestamp.valueOf(importedAt);
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (int from = 0; from < rows.size(); from += ROWS_PER_INSERT) {
+            List<Row> batch = rows.subList(from, Math.min(from + ROWS_PER_INSERT, rows.size()));
+            StringBuilder sql = new StringBuilder(target == Target.CUSTOMERS
+                    ? "INSERT INTO customers (name, email, address, created_at, total_orders, updated_at) VALUES "
+                    : "INSERT INTO orders (customer_id, product, quantity, created_at, updated_at) VALUES ");
+            String values = target == Target.CUSTOMERS ? "(?, ?, ?, ?, 0, ?)" : "(?, ?, ?, ?, ?)";
+            List<Object> args = new ArrayList<>(batch.size() * 5);
+            for (int i = 0; i < batch.size(); i++) {
+                sql.append(i == 0 ? "" : ", ").append(values);
+                Row row = batch.get(i);
+                for (Object value : row.values()) {
+                    args.add(value);
+                }
+                args.add(row.createdAt() != null ? Timestamp.valueOf(row.createdAt()) : now);
+                args.add(now);
+            }
+            GeneratedKeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.update(con -> {
+                PreparedStatement statement = con.prepareStatement(sql.toString(), new String[] { "id" });
+                new ArgumentPreparedStatementSetter(args.toArray()).setValues(statement);
+                return statement;
+            }, keys);
+            keys.getKeyList().forEach(key -> ids.add(((Number) key.values().iterator().next()).longValue()));
+        }
+        if (ids.size() != rows.size()) {
+            throw new IllegalStateException("Expected " + rows.size() + " generated IDs, got " + ids.size());
+        }
+        return ids;
+    }
+
+    private void publishCreated(List<Row> rows, List<Long> ids, LocalDateTime importedAt) {
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            Object[] values = row.values();
+            Order order = new Order(ids.get(i), (Long) values[0], (String) values[1], (Integer) values[2],
+                    row.createdAt() != null ? row.createdAt() : importedAt);
+            order.setUpdatedAt(importedAt);
+            eventPublisher.publishEvent(OrderChangedEvent.created(order));
+        }
+    }
+
+    private static Chunk await(Future<Chunk> chunk) {
+        try {
+            return chunk.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while parsing an import", ex);
+        }
+    }
+
+    private void record(Target target, Report report, long nanos) {
+        String tag = name(target);
+        Counter.builder("imports.rows").tag("target", tag).tag("outcome", "imported").register(meterRegistry)
+                .increment(report.rowsImported);
+        Counter.builder("imports.rows").tag("target", tag).tag("outcome", "rejected").register(meterRegistry)
+                .increment(report.rowsRejected);
+        Timer.builder("imports").tag("target", tag).register(meterRegistry).record(nanos, TimeUnit.NANOSECONDS);
+        long rows = report.rowsImported + report.rowsRejected;
+        log.info("Imported {} {} and rejected {} in {} ms ({} rows/s)", report.rowsImported, tag,
+                report.rowsRejected, nanos / 1_000_000, nanos == 0 ? rows : rows * 1_000_000_000L / nanos);
+    }
+
+    private static String name(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A parsed row. The key is what the database check looks up: the
+     * lower-cased email of a customer, or the customer ID of an order.
+     */
+    private record Row(long number, Object key, Object[] values, LocalDateTime createdAt) {
+    }
+
+    private record Chunk(int records, List<Row> rows, List<RowError> errors) {
+    }
+
+    private static final class Report {
+        final int maxErrors;
+        final List<RowError> errors = new ArrayList<>();
+        long recordsSkipped;
+        long rowsImported;
+        long rowsRejected;
+
+        Report(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        void add(int imported, List<RowError> rejected) {
+            rowsImported += imported;
+            rowsRejected += rejected.size();
+            for (RowError error : rejected) {
+                if (errors.size() < maxErrors) {
+                    errors.add(error);
+                }
+            }
+        }
+
+        ImportReportDTO toDTO(ImportJob job) {
+            return new ImportReportDTO(job.getId(), job.getStatus(), recordsSkipped, rowsImported, rowsRejected,
+                    errors, rowsRejected > errors.size());
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.order_service.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.order_service.analytics.ScalableBloomFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Remembers every registered customer email in a scalable Bloom filter, so
+ * an email that was never registered is recognised without a query.
+ *
+ * Emails are lower-cased first, since MySQL compares them case-insensitively.
+ * Customers created here are added straight away; customers inserted any
+ * other way (another instance, a bulk import, plain SQL) are picked up by a
+ * periodic refresh. IDs are handed out at insert but become visible at
+ * commit, so a customer with a lower ID can appear after a higher one has
+ * been read; the refresh therefore re-reads a window of IDs below the
+ * highest seen so far, and adding an email twice is harmless. A customer that
+ * commits later than that window still gets in with the next rebuild, which
+ * happens at least once per rebuild interval, so a missed email never stays
+ * missed. A Bloom filter cannot forget a key, so deleted customers stay in it
+ * as false positives; once they make up a tenth of the filter, or it has
+ * grown past a few stages, the refresh rebuilds it from the table early.
+ * Emails added while a rebuild reads the table are replayed into the new
+ * filter.
+ *
+ * The filter is a hint only: a positive still goes to the database, and the
+ * unique constraint on customers.email remains the final check. A negative
+ * may miss a customer inserted elsewhere since the last refresh, so lookups
+ * only trust it while that refresh is recent (see {@link #isCurrent}).
+ */
+@Component
+public class CustomerEmailFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerEmailFilter.class);
+
+    private static final int MAX_STAGES = 4;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long initialCapacity;
+    private final double falsePositiveRate;
+    private final long refreshOverlap;
+    private final long rebuildIntervalNanos;
+    private final long trustNegativesNanos;
+    private final Counter negatives;
+    private final Counter positives;
+    private final Counter falsePositives;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private ScalableBloomFilter filter;
+    private long removed;
+    private long lastCustomerId;
+    private long loadedAt;
+    private volatile long refreshedAt;
+    private List<String> addedDuringRebuild;
+
+    @Autowired
+    public CustomerEmailFilter(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+            @Value("${order-service.email-filter.initial-capacity:100000}") long initialCapacity,
+            @Value("${order-service.email-filter.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${order-service.email-filter.refresh-overlap:1000}") long refreshOverlap,
+            @Value("${order-service.email-filter.rebuild-interval:PT1H}") Duration rebuildInterval,
+            @Value("${order-service.email-filter.trust-negatives-for:PT2S}") Duration trustNegativesFor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.initialCapacity = initialCapacity;
+        this.falsePositiveRate = falsePositiveRate;
+        this.refreshOverlap = refreshOverlap;
+        this.rebuildIntervalNanos = rebuildInterval.toNanos();
+        this.trustNegativesNanos = trustNegativesFor.toNanos();
+        this.negatives = meterRegistry.counter("customers.email_filter", "result", "negative");
+        this.positives = meterRegistry.counter("customers.email_filter", "result", "positive");
+        this.falsePositives = meterRegistry.counter("customers.email_filter", "result", "false_positive");
+        this.filter = new ScalableBloomFilter(initialCapacity, falsePositiveRate);
+    }
+
+    /**
+     * Loads every registered email. The first stage is sized for twice the
+     * current customers so growth does not add stages straight away.
+     */
+    @PostConstruct
+    public void load() {
+        long started = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            addedDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Long customers = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customers", Long.class);
+        ScalableBloomFilter loaded = new ScalableBloomFilter(Math.max(initialCapacity, customers * 2),
+                falsePositiveRate);
+        long[] maxId = new long[1];
+        jdbcTemplate.query("SELECT id, email FROM customers", rs -> {
+            maxId[0] = Math.max(maxId[0], rs.getLong(1));
+            loaded.add(normalise(rs.getString(2)));
+        });
+        lock.writeLock().lock();
+        try {
+            addedDuringRebuild.forEach(loaded::add);
+            addedDuringRebuild = null;
+            filter = loaded;
+            removed = 0;
+            lastCustomerId = maxId[0];
+            loadedAt = started;
+            refreshedAt = started;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Loaded {} customer emails into a {} KB Bloom filter", loaded.size(), loaded.sizeInBytes() / 1024);
+    }
+
+    /**
+     * @return False if no customer has the email, true if one probably does.
+     */
+    public boolean mightExist(String email) {
+        boolean mightExist;
+        lock.readLock().lock();
+        try {
+            mightExist = filter.mightContain(normalise(email));
+        } finally {
+            lock.readLock().unlock();
+        }
+        (mightExist ? positives : negatives).increment();
+        return mightExist;
+    }
+
+    /**
+     * @return True if the filter read the table at most
+     *         {@code trust-negatives-for} ago, so a negative misses at most
+     *         the customers inserted elsewhere since then.
+     */
+    public boolean isCurrent() {
+        return System.nanoTime() - refreshedAt <= trustNegativesNanos;
+    }
+
+    /**
+     * Records that a positive from {@link #mightExist} matched no customer.
+     */
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    public void add(String email) {
+        String key = normalise(email);
+        lock.writeLock().lock();
+        try {
+            filter.add(key);
+            if (addedDuringRebuild != null) {
+                addedDuringRebuild.add(key);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Records that a customer was deleted. Its email stays in the filter until
+     * the next rebuild.
+     */
+    public void recordRemoval() {
+        lock.writeLock().lock();
+        try {
+            removed++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the customers inserted since the last refresh, or rebuilds the
+     * filter when deletes or growth have made it stale or the rebuild
+     * interval has passed.
+     */
+    @Scheduled(fixedDelayString = "${order-service.email-filter.refresh-interval:PT10S}")
+    public void refresh() {
+        boolean stale;
+        long after;
+        lock.readLock().lock();
+        try {
+            stale = removed * 10 > filter.size() || filter.stageCount() > MAX_STAGES
+                    || System.nanoTime() - loadedAt > rebuildIntervalNanos;
+            after = Math.max(0, lastCustomerId - refreshOverlap);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (stale) {
+            load();
+            return;
+        }
+        long started = System.nanoTime();
+        jdbcTemplate.query("SELECT id, email FROM customers WHERE id > ? ORDER BY id", rs -> {
+            String email = normalise(rs.getString(2));
+            long id = rs.getLong(1);
+            lock.writeLock().lock();
+            try {
+                filter.add(email);
+                lastCustomerId = Math.max(lastCustomerId, id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }, after);
+        refreshedAt = started;
+    }
+
+    private static String normalise(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
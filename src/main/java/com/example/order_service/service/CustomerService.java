@@ -1,15 +1,19 @@
 package com.example.order_service.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.order_service.exception.BadRequestException;
+import com.example.order_service.exception.ConflictException;
 import com.example.order_service.exception.ResourceNotFoundException;
 import com.example.order_service.model.Customer;
 import com.example.order_service.repository.CustomerRepository;
-import com.example.order_service.repository.OrderRepository;
 
 @Service
 public class CustomerService {
@@ -17,31 +21,120 @@ public class CustomerService {
     @Autowired
     CustomerRepository customerRepository;
     @Autowired
-    OrderRepository orderRepository;
+    SingleFlight singleFlight;
+    @Autowired
+    CustomerEmailFilter customerEmailFilter;
+    @Autowired
+    OrderService orderService;
 
     /**
-     * Creates a new customer.
+     * Creates a new customer, or updates the customer with the given ID. The
+     * email is only looked up when the email filter says it may already be
+     * registered.
      *
-     * @param customer The customer object to be created.
-     * @return The created customer.
+     * @param customer The customer object to be created or updated.
+     * @return The saved customer.
+     * @throws ConflictException if another customer has the email.
      */
     public Customer createCustomer(Customer customer) {
         if (customer == null || customer.getName() == null || customer.getName().isEmpty()) {
             throw new BadRequestException("Customer name cannot be null or empty.");
         }
-        return customerRepository.save(customer);
+        String email = customer.getEmail();
+        if (email != null && customerEmailFilter.mightExist(email)) {
+            if (emailTakenByAnother(customer)) {
+                throw emailTaken(email);
+            }
+            customerEmailFilter.recordFalsePositive();
+        }
+        Customer saved;
+        try {
+            saved = customerRepository.save(customer);
+        } catch (DataIntegrityViolationException ex) {
+            // Another signup with the same email won the race to the unique
+            // constraint.
+            if (email != null && emailTakenByAnother(customer)) {
+                throw emailTaken(email);
+            }
+            throw ex;
+        }
+        customerEmailFilter.add(saved.getEmail());
+        return saved;
+    }
+
+    // An update that keeps its email finds its own row.
+    private boolean emailTakenByAnother(Customer customer) {
+        return customer.getId() == null ? customerRepository.existsByEmail(customer.getEmail())
+                : customerRepository.existsByEmailAndIdNot(customer.getEmail(), customer.getId());
+    }
+
+    private static ConflictException emailTaken(String email) {
+        return new ConflictException("Email " + email + " is already registered");
     }
 
     /**
-     * Retrieves a customer by ID.
+     * Retrieves a customer by ID. Concurrent lookups of the same customer share
+     * one query, so the returned customer must not be modified.
      *
      * @param customerId The ID of the customer to retrieve.
      * @return The found customer.
      * @throws ResourceNotFoundException if the customer is not found.
      */
     public Customer getCustomerById(Long customerId) {
-        return customerRepository.findById(customerId)
+        // Not transactional: callers waiting on a shared read should not hold a
+        // connection. The repository call runs in its own read-only transaction.
+        return singleFlight.execute("customer-by-id", customerId, () -> customerRepository.findById(customerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer with ID " + customerId + " not found.")));
+    }
+
+    /**
+     * Retrieves a customer by email. Emails the filter has never seen are
+     * answered without a query while the filter is current; otherwise the
+     * negative is confirmed against the database.
+     *
+     * @param email The email of the customer to retrieve.
+     * @return The found customer.
+     * @throws ResourceNotFoundException if no customer has the email.
+     */
+    @Transactional(readOnly = true)
+    public Customer getCustomerByEmail(String email) {
+        boolean mightExist = customerEmailFilter.mightExist(email);
+        if (!mightExist && customerEmailFilter.isCurrent()) {
+            throw new ResourceNotFoundException("Customer with email " + email + " not found.");
+        }
+        return customerRepository.findByEmail(email).orElseThrow(() -> {
+            if (mightExist) {
+                customerEmailFilter.recordFalsePositive();
+            }
+            return new ResourceNotFoundException("Customer with email " + email + " not found.");
+        });
+    }
+
+    /**
+     * Retrieves several customers by ID using chunked IN-list queries.
+     *
+     * @param customerIds The IDs of the customers to retrieve.
+     * @return The customers that exist, keyed by ID in the order requested.
+     * @throws BadRequestException if no IDs or too many IDs are given.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Customer> getCustomersByIds(List<Long> customerIds) {
+        return MultiGet.load(customerIds, customerRepository::findAllById, Customer::getId);
+    }
+
+    /**
+     * Returns a version tag for a customer that changes whenever the customer
+     * is updated, without loading the customer.
+     *
+     * @param customerId The ID of the customer.
+     * @return The current version tag of the customer.
+     * @throws ResourceNotFoundException if the customer is not found.
+     */
+    @Transactional(readOnly = true)
+    public String getCustomerVersion(Long customerId) {
+        LocalDateTime lastModified = customerRepository.findLastModifiedById(customerId)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer with ID " + customerId + " not found."));
+        return Versions.of(customerId, lastModified);
     }
 
     /**
@@ -49,6 +142,7 @@ public class CustomerService {
      *
      * @return A list of all customers.
      */
+    @Transactional(readOnly = true)
     public List<Customer> getAllCustomers() {
         return customerRepository.findAll();
     }
@@ -59,13 +153,15 @@ public class CustomerService {
      * @param customerId The ID of the customer to be deleted.
      * @throws ResourceNotFoundException if the customer does not exist.
      */
+    @Transactional
     public void deleteCustomer(Long customerId) {
-        customerRepository.findById(customerId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Cannot delete. Customer with ID " + customerId + " not found."));
+        if (!customerRepository.existsById(customerId)) {
+            throw new ResourceNotFoundException("Cannot delete. Customer with ID " + customerId + " not found.");
+        }
 
-        orderRepository.deleteByCustomerId(customerId); // Delete orders first
-        customerRepository.deleteById(customerId); // Delete customer
+        orderService.deleteAllOrders(customerId); // Delete orders first
+        customerRepository.deleteByIdReturningCount(customerId); // Delete customer
+        customerEmailFilter.recordRemoval();
     }
 
     /**
@@ -76,6 +172,7 @@ public class CustomerService {
      * @return A list of customers sorted by their creation date in the specified
      *         order.
      */
+    @Transactional(readOnly = true)
     public List<Customer> getCustomersSorted(String sortDirection) {
         return "asc".equalsIgnoreCase(sortDirection)
                 ? customerRepository.findAllByCreatedAtAsc()
@@ -0,0 +1,174 @@
+package com.example.order_service.service;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.order_service.exception.BadRequestException;
+import com.example.order_service.exception.ConflictException;
+
+/**
+ * Remembers the response of every request made with an idempotency key so a
+ * retried request is answered without running it again.
+ *
+ * The store is bounded: entries expire after a fixed TTL, and the oldest entry
+ * is evicted once the store is full. Because every entry lives for the same
+ * TTL, insertion order is also expiry order, so both checks only look at the
+ * head of the map. Entries still running are never evicted, so requests
+ * waiting on them keep coalescing; the store can exceed its size by the
+ * requests in flight. A request that arrives while another with the same key
+ * is still running waits for that result instead of running in parallel, up
+ * to a time limit.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final long waitTimeoutNanos;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    @Autowired
+    public IdempotencyService(@Value("${order-service.idempotency.ttl:PT24H}") Duration ttl,
+            @Value("${order-service.idempotency.max-entries:10000}") int maxEntries,
+            @Value("${order-service.idempotency.wait-timeout:PT10S}") Duration waitTimeout) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.waitTimeoutNanos = waitTimeout.toNanos();
+    }
+
+    /**
+     * Runs the action once per key and replays its result for every later call
+     * with the same key until the entry expires. Failed actions are not
+     * remembered, so the client can retry them.
+     *
+     * @param key         The client-supplied idempotency key.
+     * @param fingerprint A value identifying the request body. Reusing a key
+     *                    with a different body is rejected.
+     * @param action      The work to run the first time the key is seen.
+     * @return The result, flagged as replayed when the action did not run.
+     * @throws BadRequestException if the key is invalid or was used for a
+     *                             different request.
+     * @throws ConflictException   if a request with the same key is still
+     *                             running after the wait timeout.
+     */
+    public <T> Outcome<T> execute(String key, Object fingerprint, Supplier<T> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        Entry entry;
+        boolean owner = false;
+        synchronized (entries) {
+            evict(System.nanoTime(), maxEntries - 1);
+            entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry(fingerprint, System.nanoTime() + ttlNanos);
+                entries.put(key, entry);
+                owner = true;
+            }
+        }
+        if (!Objects.equals(entry.fingerprint, fingerprint)) {
+            throw new BadRequestException("Idempotency-Key " + key + " was already used for a different request");
+        }
+        if (owner) {
+            try {
+                entry.result.complete(action.get());
+            } catch (Throwable ex) {
+                // Errors too, or the entry would stay running and block its key.
+                forget(key, entry);
+                entry.result.completeExceptionally(ex);
+                throw ex;
+            }
+            return new Outcome<>(cast(entry.result.join()), false);
+        }
+        try {
+            return new Outcome<>(cast(entry.result.get(waitTimeoutNanos, TimeUnit.NANOSECONDS)), true);
+        } catch (TimeoutException ex) {
+            throw new ConflictException("A request with Idempotency-Key " + key + " is still in progress");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Interrupted while waiting for Idempotency-Key " + key);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw (RuntimeException) ex.getCause();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            evict(System.nanoTime(), maxEntries);
+            return entries.size();
+        }
+    }
+
+    private void evict(long now, int capacity) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry oldest = iterator.next();
+            if (oldest.expiresAt - now > 0 && entries.size() <= capacity) {
+                return;
+            }
+            // Running entries are skipped, so waiting callers keep coalescing.
+            if (oldest.result.isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private void forget(String key, Entry entry) {
+        synchronized (entries) {
+            entries.remove(key, entry);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(Object value) {
+        return (T) value;
+    }
+
+    private static final class Entry {
+        final Object fingerprint;
+        final long expiresAt;
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        Entry(Object fingerprint, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * The result of an idempotent call.
+     */
+    public static final class Outcome<T> {
+        private final T value;
+        private final boolean replayed;
+
+        public Outcome(T value, boolean replayed) {
+            this.value = value;
+            this.replayed = replayed;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public boolean isReplayed() {
+            return replayed;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.order_service.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits an import file into records without parsing them. For NDJSON a
+ * record is a line; for CSV a quoted field may span lines, so a record runs on
+ * until its quotes balance. Counting quotes is all the reading thread does,
+ * which leaves the field parsing to run in parallel. Blank lines between
+ * records are skipped.
+ */
+final class ImportRecordReader implements Closeable {
+
+    private static final int READ_BUFFER = 64 * 1024;
+
+    private final BufferedReader reader;
+    private final boolean csv;
+
+    ImportRecordReader(Reader reader, boolean csv) {
+        this.reader = new BufferedReader(reader, READ_BUFFER);
+        this.csv = csv;
+    }
+
+    /**
+     * @return The next record, or null at the end of the file.
+     */
+    String next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+        int quotes = csv ? quotes(line) : 0;
+        if (quotes % 2 == 0) {
+            return line;
+        }
+        StringBuilder record = new StringBuilder(line);
+        while (quotes % 2 != 0 && (line = reader.readLine()) != null) {
+            record.append('\n').append(line);
+            quotes += quotes(line);
+        }
+        return record.toString();
+    }
+
+    /**
+     * Skips records that an earlier run already imported.
+     *
+     * @return The number of records skipped, fewer than asked for only at the
+     *         end of the file.
+     */
+    long skip(long records) throws IOException {
+        long skipped = 0;
+        while (skipped < records && next() != null) {
+            skipped++;
+        }
+        return skipped;
+    }
+
+    /**
+     * Splits a CSV record into fields, removing quotes and undoubling escaped
+     * quotes.
+     *
+     * @throws IllegalArgumentException if a quoted field is not closed.
+     */
+    static List<String> splitCsv(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static int quotes(String line) {
+        int count = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.order_service.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.example.order_service.exception.BadRequestException;
+
+/**
+ * Loads entities for a list of IDs with as few queries as possible. The IDs
+ * are split into fixed-size IN-lists so each query stays well under the
+ * database's parameter limits and reuses the same cached plan.
+ */
+final class MultiGet {
+
+    static final int MAX_IDS = 1000;
+    static final int CHUNK_SIZE = 100;
+
+    private MultiGet() {
+    }
+
+    /**
+     * @return The entities that were found, keyed by ID in the order the IDs
+     *         were requested. Duplicate IDs are loaded once; IDs with no entity
+     *         are left out.
+     */
+    static <T> Map<Long, T> load(List<Long> ids, Function<List<Long>, List<T>> finder, Function<T, Long> idOf) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestException("At least one ID is required");
+        }
+        // Not ids.contains(null): immutable lists throw instead of answering.
+        List<Long> unique = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (unique.contains(null)) {
+            throw new BadRequestException("IDs must not be null");
+        }
+        if (unique.size() > MAX_IDS) {
+            throw new BadRequestException("At most " + MAX_IDS + " IDs can be requested at once");
+        }
+        Map<Long, T> loaded = new HashMap<>();
+        for (int from = 0; from < unique.size(); from += CHUNK_SIZE) {
+            for (T entity : finder.apply(unique.subList(from, Math.min(from + CHUNK_SIZE, unique.size())))) {
+                loaded.put(idOf.apply(entity), entity);
+            }
+        }
+        Map<Long, T> found = new LinkedHashMap<>();
+        for (Long id : unique) {
+            T entity = loaded.get(id);
+            if (entity != null) {
+                found.put(id, entity);
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.order_service.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.order_service.model.ArchivedOrder;
+import com.example.order_service.model.Order;
+import com.example.order_service.repository.ArchivedOrderRepository;
+
+/**
+ * Reads and deletes of orders in the cold tier.
+ *
+ * Orders are archived a whole month at a time once the month falls out of the
+ * hot window, so every archived order was created before {@link #getCutoff()}.
+ * Reads for a date range that starts on or after the cutoff therefore never
+ * touch the archive, which keeps the common case of recent orders on the
+ * small hot table. A customer's order listings span both tables, since they
+ * are not bounded by date. When archiving is disabled the archive is never
+ * read.
+ */
+@Component
+public class OrderArchive {
+
+    private static final String COLUMNS = "id, customer_id, product, quantity, created_at, updated_at";
+
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final OrderArchiveProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public OrderArchive(ArchivedOrderRepository archivedOrderRepository, OrderArchiveProperties properties,
+            JdbcTemplate jdbcTemplate,
+            @Value("${order-service.datasource.sharding.enabled:false}") boolean ordersSharded) {
+        if (properties.isEnabled() && ordersSharded) {
+            throw new IllegalStateException("Order archiving cannot be combined with sharding");
+        }
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * @return The start of the oldest month kept in the orders table. Orders
+     *         created before it belong in the archive.
+     */
+    public LocalDateTime getCutoff() {
+        return LocalDate.now().withDayOfMonth(1).minusMonths(properties.getHotMonths()).atStartOfDay();
+    }
+
+    public Optional<Order> findById(Long id) {
+        return isEnabled() ? archivedOrderRepository.findById(id).map(ArchivedOrder::toOrder) : Optional.empty();
+    }
+
+    public List<Order> findAllById(Collection<Long> ids) {
+        return isEnabled() && !ids.isEmpty() ? toOrders(archivedOrderRepository.findAllById(ids)) : List.of();
+    }
+
+    public Optional<LocalDateTime> findLastModifiedById(Long id) {
+        return isEnabled() ? archivedOrderRepository.findLastModifiedById(id) : Optional.empty();
+    }
+
+    /**
+     * @return The archived orders created in the range, without querying the
+     *         archive when the range starts inside the hot window.
+     */
+    public List<Order> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        if (!isEnabled() || !startDate.isBefore(getCutoff())) {
+            return List.of();
+        }
+        return toOrders(archivedOrderRepository.findByCreatedAtBetween(startDate, endDate));
+    }
+
+    public List<Order> findAllSorted(boolean ascending) {
+        if (!isEnabled()) {
+            return List.of();
+        }
+        return toOrders(ascending ? archivedOrderRepository.findAllByCreatedAtAsc()
+                : archivedOrderRepository.findAllByCreatedAtDesc());
+    }
+
+    public long countByCustomerId(Long customerId) {
+        return isEnabled() ? archivedOrderRepository.countByCustomerId(customerId) : 0;
+    }
+
+    /**
+     * @return A customer's archived orders by ID, skipping the first offset.
+     */
+    public List<Order> findByCustomerId(Long customerId, long offset, int limit) {
+        if (!isEnabled() || limit <= 0) {
+            return List.of();
+        }
+        return toOrders(archivedOrderRepository.findByCustomerId(customerId, offset, limit));
+    }
+
+    public List<Order> findByCustomerId(Long customerId) {
+        return isEnabled() ? toOrders(archivedOrderRepository.findByCustomerIdOrderByIdAsc(customerId)) : List.of();
+    }
+
+    /**
+     * Reads a customer's orders from the orders table and the archive
+     * together, in one of the indexed sorts and after a keyset position.
+     * Each table is read through its own index on the sort, and the database
+     * merges the two, so the order matches its collation and a cursor from
+     * either table continues correctly in both.
+     *
+     * @return Up to limit orders.
+     */
+    List<Order> findCustomerWindow(Long customerId, OrderSort sort, ScrollPosition after, int limit) {
+        List<Object> args = new ArrayList<>();
+        String tier = "SELECT * FROM (SELECT " + COLUMNS + " FROM %s WHERE customer_id = ?%s ORDER BY "
+                + sort.toSql() + " LIMIT ?) %s";
+        String hot = tier.formatted("orders", condition(customerId, sort, after, limit, args), "h");
+        String archived = tier.formatted("orders_archive", condition(customerId, sort, after, limit, args), "a");
+        args.add(limit);
+        return jdbcTemplate.query("SELECT * FROM (" + hot + " UNION ALL " + archived + ") o ORDER BY "
+                + sort.toSql() + " LIMIT ?", (rs, row) -> {
+                    Order order = new Order(rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getInt(4),
+                            toLocalDateTime(rs.getTimestamp(5)));
+                    order.setUpdatedAt(toLocalDateTime(rs.getTimestamp(6)));
+                    return order;
+                }, args.toArray());
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private static String condition(Long customerId, OrderSort sort, ScrollPosition after, int limit,
+            List<Object> args) {
+        args.add(customerId);
+        String condition = sort.toSqlAfter(after, args);
+        args.add(limit);
+        return condition != null ? " AND " + condition : "";
+    }
+
+    /**
+     * @return Whether an archived order was deleted.
+     */
+    public boolean deleteById(Long id) {
+        return isEnabled() && archivedOrderRepository.deleteByIdReturningCount(id) > 0;
+    }
+
+    public List<Long> findIdsByCustomerId(Long customerId) {
+        return isEnabled() ? archivedOrderRepository.findIdsByCustomerId(customerId) : List.of();
+    }
+
+    public int deleteByCustomerIdAndIdIn(Long customerId, List<Long> ids) {
+        return isEnabled() && !ids.isEmpty() ? archivedOrderRepository.deleteByCustomerIdAndIdIn(customerId, ids) : 0;
+    }
+
+    private static List<Order> toOrders(List<ArchivedOrder> archived) {
+        return archived.stream().map(ArchivedOrder::toOrder).toList();
+    }
+}
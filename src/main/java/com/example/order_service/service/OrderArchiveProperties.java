@@ -0,0 +1,72 @@
+package com.example.order_service.service;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for moving old orders out of the orders table into the archive.
+ */
+@ConfigurationProperties(prefix = "order-service.archive")
+public class OrderArchiveProperties {
+
+    private boolean enabled;
+    /**
+     * Whole calendar months kept in the orders table besides the current one.
+     * Orders created before the first of the oldest hot month are archived.
+     */
+    private int hotMonths = 3;
+    /**
+     * Pause between archiver runs.
+     */
+    private Duration interval = Duration.ofHours(1);
+    /**
+     * Most orders moved per archiver transaction.
+     */
+    private int chunkSize = 1000;
+    /**
+     * Pause between chunks, so archiving never holds locks or saturates the
+     * database for long.
+     */
+    private Duration pause = Duration.ofMillis(200);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getHotMonths() {
+        return hotMonths;
+    }
+
+    public void setHotMonths(int hotMonths) {
+        this.hotMonths = hotMonths;
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public Duration getPause() {
+        return pause;
+    }
+
+    public void setPause(Duration pause) {
+        this.pause = pause;
+    }
+}
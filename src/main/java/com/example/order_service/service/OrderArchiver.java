@@ -0,0 +1,100 @@
+package com.example.order_service.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.order_service.repository.ArchivedOrderRepository;
+import com.example.order_service.repository.OrderRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Moves orders created before the hot window from the orders table into the
+ * archive.
+ *
+ * Orders are moved in small chunks, oldest ID first, each chunk copied and
+ * deleted in one transaction so an order is never in both tables or neither.
+ * The archiver pauses between chunks so a large backlog is worked off slowly
+ * instead of competing with request traffic for locks and I/O.
+ */
+@Component
+@ConditionalOnProperty(name = "order-service.archive.enabled", havingValue = "true")
+public class OrderArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderArchiver.class);
+
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final OrderArchive orderArchive;
+    private final OrderArchiveProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter archived;
+
+    @Autowired
+    public OrderArchiver(OrderRepository orderRepository, ArchivedOrderRepository archivedOrderRepository,
+            OrderArchive orderArchive, OrderArchiveProperties properties,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.orderRepository = orderRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.orderArchive = orderArchive;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archived = Counter.builder("orders.archived")
+                .description("Orders moved from the orders table into the archive")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Archives every order created before the cutoff.
+     *
+     * @return The number of orders archived.
+     */
+    @Scheduled(fixedDelayString = "${order-service.archive.interval:PT1H}")
+    public synchronized long archive() {
+        LocalDateTime cutoff = orderArchive.getCutoff();
+        long start = System.nanoTime();
+        long moved = 0;
+        int chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> moveChunk(cutoff));
+            moved += chunk;
+            archived.increment(chunk);
+        } while (chunk == properties.getChunkSize() && pause());
+        if (moved > 0) {
+            log.info("Archived {} orders created before {} in {} ms", moved, cutoff,
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+        return moved;
+    }
+
+    private int moveChunk(LocalDateTime cutoff) {
+        List<Long> ids = orderRepository.findIdsCreatedBefore(cutoff, PageRequest.of(0, properties.getChunkSize()));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        archivedOrderRepository.copyFromOrders(ids);
+        orderRepository.deleteByIdIn(ids);
+        return ids.size();
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.getPause().toMillis());
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
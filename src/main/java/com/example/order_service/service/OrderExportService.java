@@ -0,0 +1,287 @@
+package com.example.order_service.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.order_service.exception.BadRequestException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Streams the orders table, and the archive when it is enabled, to a file
+ * format row by row.
+ *
+ * Rows are read through a JDBC cursor with a fixed fetch size and written
+ * straight to the encoder, so no Order entities are created and memory use
+ * does not grow with the number of rows. On MySQL the fetch size only opens a
+ * server-side cursor when the URL sets useCursorFetch=true.
+ */
+@Service
+public class OrderExportService {
+
+    private static final int WRITE_BUFFER = 64 * 1024;
+
+    private static final Logger log = LoggerFactory.getLogger(OrderExportService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderArchive orderArchive;
+    private final MeterRegistry meterRegistry;
+    private final boolean ordersSharded;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public enum Format {
+        CSV("text/csv", "csv"), NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * @throws BadRequestException if the format is not supported.
+         */
+        public static Format parse(String format) {
+            try {
+                return valueOf(format.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new BadRequestException("Unsupported export format: " + format + ". Use csv or ndjson.");
+            }
+        }
+    }
+
+    @Autowired
+    public OrderExportService(DataSource dataSource, OrderArchive orderArchive,
+            @Value("${order-service.export.fetch-size:1000}") int fetchSize, MeterRegistry meterRegistry,
+            @Value("${order-service.datasource.sharding.enabled:false}") boolean ordersSharded) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.orderArchive = orderArchive;
+        this.meterRegistry = meterRegistry;
+        this.ordersSharded = ordersSharded;
+    }
+
+    /**
+     * Checks an export before any of it is written. The export reads the
+     * default datasource, which holds no orders while they are sharded.
+     *
+     * @throws BadRequestException if orders are sharded or the range is empty.
+     */
+    public void checkExport(LocalDateTime from, LocalDateTime to) {
+        if (ordersSharded) {
+            throw new BadRequestException("Orders cannot be exported while they are sharded");
+        }
+        if (from != null && to != null && !to.isAfter(from)) {
+            throw new BadRequestException("Export range must end after it starts");
+        }
+    }
+
+    /**
+     * Writes every order created in a range to a stream: archived orders
+     * first when the range reaches back before the archive cutoff, then the
+     * orders table, each ordered by ID. Both are read in one read-only
+     * transaction, so an order archived meanwhile is neither skipped nor
+     * written twice where the database isolates reads by snapshot. The
+     * stream is flushed but not closed. The rows written and the time taken
+     * are recorded as orders.export.rows and orders.export, so throughput in
+     * rows per second is their ratio.
+     *
+     * @param format The file format to write.
+     * @param from   The earliest creation time to include, or null.
+     * @param to     The creation time to stop before, or null.
+     * @param out    The stream to write to.
+     * @return The number of orders written.
+     * @throws BadRequestException if orders are sharded or the range is empty.
+     */
+    @Transactional(readOnly = true)
+    public long exportOrders(Format format, LocalDateTime from, LocalDateTime to, OutputStream out) {
+        checkExport(from, to);
+        List<Object> args = new ArrayList<>();
+        String range = "";
+        if (from != null) {
+            range += (args.isEmpty() ? " WHERE" : " AND") + " created_at >= ?";
+            args.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            range += (args.isEmpty() ? " WHERE" : " AND") + " created_at < ?";
+            args.add(Timestamp.valueOf(to));
+        }
+        List<String> tables = new ArrayList<>();
+        if (orderArchive.isEnabled() && (from == null || from.isBefore(orderArchive.getCutoff()))) {
+            tables.add("orders_archive");
+        }
+        tables.add("orders");
+        long start = System.nanoTime();
+        try {
+            RowEncoder encoder = format == Format.CSV ? new CsvEncoder(out) : new NdjsonEncoder(jsonFactory, out);
+            long[] rows = new long[1];
+            for (String table : tables) {
+                jdbcTemplate.query("SELECT id, customer_id, product, quantity, created_at, updated_at FROM " + table
+                        + range + " ORDER BY id", rs -> {
+                            try {
+                                encoder.write(rs);
+                                rows[0]++;
+                            } catch (IOException ex) {
+                                throw new UncheckedIOException(ex);
+                            }
+                        }, args.toArray());
+            }
+            encoder.finish();
+            record(format, rows[0], System.nanoTime() - start);
+            return rows[0];
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void record(Format format, long rows, long nanos) {
+        String tag = format.getExtension();
+        Counter.builder("orders.export.rows").tag("format", tag).register(meterRegistry).increment(rows);
+        Timer.builder("orders.export").tag("format", tag).register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        log.info("Exported {} orders as {} in {} ms ({} rows/s)", rows, tag, nanos / 1_000_000,
+                nanos == 0 ? rows : rows * 1_000_000_000L / nanos);
+    }
+
+    private static String timestamp(ResultSet rs, int column) throws SQLException {
+        Timestamp value = rs.getTimestamp(column);
+        return value != null ? value.toLocalDateTime().toString() : null;
+    }
+
+    private interface RowEncoder {
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * RFC 4180 CSV with a header row. Only the product can contain
+     * separators, so it is the only column that may need quoting.
+     */
+    private static final class CsvEncoder implements RowEncoder {
+        private final Writer writer;
+
+        CsvEncoder(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER);
+            writer.write("id,customer_id,product,quantity,created_at,updated_at\r\n");
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            writer.write(Long.toString(rs.getLong(1)));
+            writer.write(',');
+            writer.write(Long.toString(rs.getLong(2)));
+            writer.write(',');
+            writeQuoted(rs.getString(3));
+            writer.write(',');
+            writer.write(Integer.toString(rs.getInt(4)));
+            writer.write(',');
+            writeNullable(timestamp(rs, 5));
+            writer.write(',');
+            writeNullable(timestamp(rs, 6));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        private void writeNullable(String value) throws IOException {
+            if (value != null) {
+                writer.write(value);
+            }
+        }
+
+        private void writeQuoted(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    /**
+     * One JSON object per line, written with the streaming generator.
+     */
+    private static final class NdjsonEncoder implements RowEncoder {
+        private final JsonGenerator generator;
+        private boolean empty = true;
+
+        NdjsonEncoder(JsonFactory jsonFactory, OutputStream out) throws IOException {
+            this.generator = jsonFactory.createGenerator(out);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", rs.getLong(1));
+            generator.writeNumberField("customerId", rs.getLong(2));
+            generator.writeStringField("product", rs.getString(3));
+            generator.writeNumberField("quantity", rs.getInt(4));
+            generator.writeStringField("createdAt", timestamp(rs, 5));
+            generator.writeStringField("updatedAt", timestamp(rs, 6));
+            generator.writeEndObject();
+            empty = false;
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (!empty) {
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        }
+    }
+}
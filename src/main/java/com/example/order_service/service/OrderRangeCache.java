@@ -0,0 +1,221 @@
+package com.example.order_service.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.order_service.event.OrderChangedEvent;
+import com.example.order_service.model.Order;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Caches the orders of closed past days for date-range reads.
+ *
+ * A range is cut into whole days. Each closed day, one that ended at least
+ * {@code closed-after} ago, is served from its cached bucket and trimmed to
+ * the range; missing days are loaded with one query per run of consecutive
+ * days. The still-open days at the end of the range are always queried live.
+ * Buckets expire after {@code ttl}, and the least recently used ones are
+ * dropped beyond {@code max-days}.
+ *
+ * Changes made through the OrderService invalidate the bucket of the
+ * affected day. Deletes only carry the order ID, so the day is found through
+ * a reverse index of the cached orders. A load that overlaps an invalidation
+ * of a closed day is returned but not cached, since it may predate the change.
+ * Changes made any other way (another instance, plain SQL) are seen once the
+ * bucket expires.
+ *
+ * Cached orders are shared between callers and must not be modified.
+ * Enabled with {@code order-service.range-cache.enabled=true}.
+ */
+@Component
+public class OrderRangeCache {
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final Duration closedAfter;
+    private final int maxDays;
+    private final Counter hits;
+    private final Counter misses;
+
+    // Access-ordered, so the first entry is the least recently used.
+    private final LinkedHashMap<LocalDate, Bucket> buckets = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Long, LocalDate> dayByOrderId = new HashMap<>();
+    private long generation;
+
+    @Autowired
+    public OrderRangeCache(@Value("${order-service.range-cache.enabled:false}") boolean enabled,
+            @Value("${order-service.range-cache.ttl:PT24H}") Duration ttl,
+            @Value("${order-service.range-cache.closed-after:PT1H}") Duration closedAfter,
+            @Value("${order-service.range-cache.max-days:400}") int maxDays,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.ttlNanos = ttl.toNanos();
+        this.closedAfter = closedAfter;
+        this.maxDays = maxDays;
+        this.hits = meterRegistry.counter("orders.range_cache", "result", "hit");
+        this.misses = meterRegistry.counter("orders.range_cache", "result", "miss");
+    }
+
+    private record Bucket(List<Order> orders, long expiresAt) {
+    }
+
+    /**
+     * Returns the orders created within a range, inclusive at both ends.
+     *
+     * @param loader Loads the orders created within a range from the
+     *               database, inclusive at both ends.
+     */
+    public List<Order> getOrders(LocalDateTime start, LocalDateTime end,
+            BiFunction<LocalDateTime, LocalDateTime, List<Order>> loader) {
+        LocalDate firstOpenDay = LocalDateTime.now().minus(closedAfter).toLocalDate();
+        LocalDate firstDay = start.toLocalDate();
+        LocalDate lastClosedDay = end.toLocalDate().isBefore(firstOpenDay) ? end.toLocalDate()
+                : firstOpenDay.minusDays(1);
+        if (!enabled || end.isBefore(start) || lastClosedDay.isBefore(firstDay)
+                || firstDay.plusDays(maxDays).isBefore(lastClosedDay)) {
+            return loader.apply(start, end);
+        }
+
+        List<Order> orders = new ArrayList<>();
+        Map<LocalDate, List<Order>> closedDays = closedDays(firstDay, lastClosedDay, loader);
+        for (LocalDate day = firstDay; !day.isAfter(lastClosedDay); day = day.plusDays(1)) {
+            for (Order order : closedDays.get(day)) {
+                if (!order.getCreatedAt().isBefore(start) && !order.getCreatedAt().isAfter(end)) {
+                    orders.add(order);
+                }
+            }
+        }
+        LocalDateTime openFrom = lastClosedDay.plusDays(1).atStartOfDay();
+        if (!end.isBefore(openFrom)) {
+            orders.addAll(loader.apply(start.isAfter(openFrom) ? start : openFrom, end));
+        }
+        return orders;
+    }
+
+    private Map<LocalDate, List<Order>> closedDays(LocalDate firstDay, LocalDate lastDay,
+            BiFunction<LocalDateTime, LocalDateTime, List<Order>> loader) {
+        Map<LocalDate, List<Order>> days = new HashMap<>();
+        List<LocalDate> missing = new ArrayList<>();
+        long loadGeneration;
+        synchronized (this) {
+            long now = System.nanoTime();
+            for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+                Bucket bucket = buckets.get(day);
+                if (bucket != null && now - bucket.expiresAt() < 0) {
+                    days.put(day, bucket.orders());
+                    hits.increment();
+                } else {
+                    missing.add(day);
+                    misses.increment();
+                }
+            }
+            loadGeneration = generation;
+        }
+        if (missing.isEmpty()) {
+            return days;
+        }
+
+        Map<LocalDate, List<Order>> loaded = new HashMap<>();
+        missing.forEach(day -> loaded.put(day, new ArrayList<>()));
+        int from = 0;
+        while (from < missing.size()) {
+            int to = from;
+            while (to + 1 < missing.size() && missing.get(to + 1).equals(missing.get(to).plusDays(1))) {
+                to++;
+            }
+            LocalDateTime runEnd = missing.get(to).plusDays(1).atStartOfDay().minusNanos(1);
+            for (Order order : loader.apply(missing.get(from).atStartOfDay(), runEnd)) {
+                List<Order> day = loaded.get(order.getCreatedAt().toLocalDate());
+                if (day != null) {
+                    day.add(order);
+                }
+            }
+            from = to + 1;
+        }
+        days.putAll(loaded);
+
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                long expiresAt = System.nanoTime() + ttlNanos;
+                loaded.forEach((day, orders) -> {
+                    evict(day);
+                    buckets.put(day, new Bucket(orders, expiresAt));
+                    orders.forEach(order -> dayByOrderId.put(order.getId(), day));
+                });
+                Iterator<Bucket> eldest = buckets.values().iterator();
+                while (buckets.size() > maxDays) {
+                    eldest.next().orders().forEach(order -> dayByOrderId.remove(order.getId()));
+                    eldest.remove();
+                }
+            }
+        }
+        return days;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        LocalDate firstOpenDay = LocalDateTime.now().minus(closedAfter).toLocalDate();
+        synchronized (this) {
+            LocalDate day = event.getType() == OrderChangedEvent.Type.DELETED ? dayByOrderId.get(event.getOrderId())
+                    : event.getOrder().getCreatedAt().toLocalDate();
+            // Unknown for a delete of an uncached order, which a load in
+            // flight may still have read.
+            if (day == null || day.isBefore(firstOpenDay)) {
+                generation++;
+            }
+            if (day != null) {
+                evict(day);
+            }
+        }
+    }
+
+    /**
+     * Drops every bucket, for bulk changes that publish no events. Called
+     * inside a transaction, it drops them again once the transaction ends, so
+     * a load that read the rows before the commit is not kept either.
+     */
+    public void invalidateAll() {
+        clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    clear();
+                }
+            });
+        }
+    }
+
+    private synchronized void clear() {
+        buckets.clear();
+        dayByOrderId.clear();
+        generation++;
+    }
+
+    private void evict(LocalDate day) {
+        Bucket bucket = buckets.remove(day);
+        if (bucket != null) {
+            bucket.orders().forEach(order -> dayByOrderId.remove(order.getId()));
+        }
+    }
+}
@@ -1,16 +1,33 @@
 package com.example.order_service.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.order_service.event.OrderChangedEvent;
 import com.example.order_service.exception.BadRequestException;
 import com.example.order_service.exception.ResourceNotFoundException;
 import com.example.order_service.model.Order;
+import com.example.order_service.model.OrderChangeStamp;
+import com.example.order_service.model.OrderDTO;
+import com.example.order_service.model.OrderWindowDTO;
 import com.example.order_service.repository.CustomerRepository;
 import com.example.order_service.repository.OrderRepository;
 
@@ -26,6 +43,16 @@ public class OrderService {
     OrderRepository orderRepository;
     @Autowired
     CustomerRepository customerRepository;
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+    @Autowired
+    SingleFlight singleFlight;
+    @Autowired
+    OrderArchive orderArchive;
+    @Autowired
+    OrderRangeCache orderRangeCache;
+    @Value("${order-service.datasource.sharding.enabled:false}")
+    boolean ordersSharded;
 
     /**
      * Creates a new order.
@@ -34,6 +61,7 @@ public class OrderService {
      * @return The created order.
      * @throws BadRequestException if the order object is null or invalid.
      */
+    @Transactional
     public Order createOrder(Order order) {
         if (order == null) {
             throw new BadRequestException("Order cannot be null");
@@ -46,35 +74,161 @@ public class OrderService {
         }
 
         // Validate customer existence
-        customerRepository.findById(order.getCustomerId())
-                .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
+        if (!customerRepository.existsById(order.getCustomerId())) {
+            throw new ResourceNotFoundException("Customer not found");
+        }
 
-        return orderRepository.save(order);
+        Order savedOrder = orderRepository.save(order);
+        eventPublisher.publishEvent(OrderChangedEvent.created(savedOrder));
+        return savedOrder;
     }
 
     /**
-     * Retrieves all orders for a specific customer.
+     * Retrieves all orders for a specific customer. Concurrent requests for the
+     * same page share one query, so the returned page must not be modified.
+     * Archived orders follow the customer's orders in the orders table, by ID,
+     * and are only read for pages that reach past the hot ones.
      *
      * @param id The ID of the customer.
      * @return A list of all orders for the specified customer.
      */
     public Page<Order> getAllOrders(Long customerId, Pageable pageable) {
-        customerRepository.findById(customerId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Cannot get all orders. Customer with ID " + customerId + " not found."));
-        return orderRepository.findByCustomerId(customerId, pageable);
+        // Not transactional: callers waiting on a shared read should not hold a
+        // connection. Each repository call runs in its own read-only transaction.
+        return singleFlight.execute("orders-by-customer", Arrays.asList(customerId, pageable), () -> {
+            if (!customerRepository.existsById(customerId)) {
+                throw new ResourceNotFoundException(
+                        "Cannot get all orders. Customer with ID " + customerId + " not found.");
+            }
+            Page<Order> hot = orderRepository.findByCustomerId(customerId, pageable);
+            return orderArchive.isEnabled() ? withArchived(customerId, pageable, hot) : hot;
+        });
+    }
+
+    private Page<Order> withArchived(Long customerId, Pageable pageable, Page<Order> hot) {
+        List<Order> orders = new ArrayList<>(hot.getContent());
+        if (pageable == null || pageable.isUnpaged()) {
+            orders.addAll(orderArchive.findByCustomerId(customerId));
+            return new PageImpl<>(orders);
+        }
+        long archivedOffset = Math.max(0, pageable.getOffset() - hot.getTotalElements());
+        orders.addAll(orderArchive.findByCustomerId(customerId, archivedOffset,
+                pageable.getPageSize() - hot.getNumberOfElements()));
+        return new PageImpl<>(orders, pageable, hot.getTotalElements() + orderArchive.countByCustomerId(customerId));
     }
 
     /**
-     * Retrieves a specific order by its ID.
+     * Retrieves a page of a customer's orders in one of the indexed sort
+     * orders, continuing after the order a cursor points at. Archived orders
+     * are merged in by the same sort.
+     *
+     * @param customerId The ID of the customer.
+     * @param sort       The sort, such as {@code quantity,desc;product,asc}.
+     * @param after      The cursor from the previous page, or null.
+     * @param size       The most orders to return.
+     * @return The orders and the cursor for the next page.
+     * @throws BadRequestException if the sort is not supported or the cursor
+     *                             does not belong to it.
+     */
+    public OrderWindowDTO getAllOrders(Long customerId, String sort, String after, int size) {
+        if (size < 1 || size > MultiGet.MAX_IDS) {
+            throw new BadRequestException("Size must be between 1 and " + MultiGet.MAX_IDS);
+        }
+        OrderSort orderSort = OrderSort.parse(sort);
+        if (!customerRepository.existsById(customerId)) {
+            throw new ResourceNotFoundException(
+                    "Cannot get all orders. Customer with ID " + customerId + " not found.");
+        }
+        List<Order> orders;
+        boolean hasNext;
+        if (orderArchive.isEnabled()) {
+            orders = orderArchive.findCustomerWindow(customerId, orderSort, orderSort.positionAfter(after), size + 1);
+            hasNext = orders.size() > size;
+            orders = hasNext ? orders.subList(0, size) : orders;
+        } else {
+            Window<Order> window = orderRepository.findByCustomerId(customerId, orderSort.positionAfter(after),
+                    orderSort.toSort(), Limit.of(size));
+            orders = window.getContent();
+            hasNext = window.hasNext();
+        }
+        String next = hasNext ? orderSort.cursorAfter(orders.get(orders.size() - 1)) : null;
+        return new OrderWindowDTO(orderSort.getSpec(), orders.stream()
+                .map(order -> new OrderDTO(order.getId(), order.getCreatedAt(), order.getQuantity()))
+                .toList(), next);
+    }
+
+    /**
+     * Retrieves a specific order by its ID, from the archive if it is no
+     * longer in the orders table.
      *
      * @param id The ID of the order.
      * @return The order with the specified ID.
      * @throws ResourceNotFoundException if the order is not found.
      */
+    @Transactional(readOnly = true)
     public Order getOrder(Long id) {
         return orderRepository.findById(id)
+                .or(() -> orderArchive.findById(id))
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
+    }
+
+    /**
+     * Retrieves several orders by ID using chunked IN-list queries.
+     *
+     * @param ids The IDs of the orders to retrieve.
+     * @return The orders that exist, keyed by ID in the order requested.
+     * @throws BadRequestException if no IDs or too many IDs are given.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Order> getOrdersByIds(List<Long> ids) {
+        return MultiGet.load(ids, this::findAllById, Order::getId);
+    }
+
+    private List<Order> findAllById(List<Long> ids) {
+        List<Order> orders = orderRepository.findAllById(ids);
+        if (orders.size() == ids.size()) {
+            return orders;
+        }
+        Set<Long> found = orders.stream().map(Order::getId).collect(Collectors.toSet());
+        List<Order> withArchived = new ArrayList<>(orders);
+        withArchived.addAll(orderArchive.findAllById(ids.stream().filter(id -> !found.contains(id)).toList()));
+        return withArchived;
+    }
+
+    /**
+     * Returns a version tag for an order that changes whenever the order is
+     * updated. Only the modification timestamp is read, so callers can answer
+     * conditional requests without loading the order.
+     *
+     * @param id The ID of the order.
+     * @return The current version tag of the order.
+     * @throws ResourceNotFoundException if the order is not found.
+     */
+    @Transactional(readOnly = true)
+    public String getOrderVersion(Long id) {
+        LocalDateTime lastModified = orderRepository.findLastModifiedById(id)
+                .or(() -> orderArchive.findLastModifiedById(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
+        return Versions.of(id, lastModified);
+    }
+
+    /**
+     * Returns a version tag covering a customer and all of their orders. The
+     * tag changes when an order is created, updated or deleted, and is built
+     * from a single aggregate query rather than by loading the orders.
+     *
+     * @param customerId The ID of the customer.
+     * @return The current version tag of the customer's orders.
+     * @throws ResourceNotFoundException if the customer is not found.
+     */
+    @Transactional(readOnly = true)
+    public String getOrdersVersion(Long customerId) {
+        LocalDateTime customerModified = customerRepository.findLastModifiedById(customerId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Cannot get all orders. Customer with ID " + customerId + " not found."));
+        OrderChangeStamp stamp = orderRepository.findChangeStampByCustomerId(customerId);
+        return Versions.of(customerId, customerModified, stamp.getOrderCount(), stamp.getMaxOrderId(),
+                stamp.getLastModified());
     }
 
     /**
@@ -83,64 +237,123 @@ public class OrderService {
      * @param order The order object containing updated details.
      * @return The updated order.
      * @throws ResourceNotFoundException if the order does not exist.
-     * @throws BadRequestException       if the order object is null or invalid.
+     * @throws BadRequestException       if the order object is null or invalid,
+     *                                   the order is archived, or it would
+     *                                   move to another customer while orders
+     *                                   are sharded.
      */
+    @Transactional
     public Order updateOrder(Order order) {
         if (order == null || order.getId() == null) {
             throw new BadRequestException("Invalid order: order and ID must not be null");
         }
 
-        orderRepository.findById(order.getId())
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Cannot update: Order not found with id: " + order.getId()));
+        // Merging the detached request body would select the row anyway, so
+        // load it once and copy the updatable fields onto the managed entity.
+        Order existingOrder = orderRepository.findById(order.getId())
+                .orElseThrow(() -> orderArchive.findById(order.getId()).isPresent()
+                        ? new BadRequestException("Cannot update: Order " + order.getId() + " is archived")
+                        : new ResourceNotFoundException("Cannot update: Order not found with id: " + order.getId()));
+        // The order lives on its customer's shard, and saving it under
+        // another customer would write a second copy on that customer's shard.
+        if (ordersSharded && !Objects.equals(existingOrder.getCustomerId(), order.getCustomerId())) {
+            throw new BadRequestException(
+                    "Cannot update: Order " + order.getId() + " cannot move to another customer");
+        }
+        existingOrder.setCustomerId(order.getCustomerId());
+        existingOrder.setProduct(order.getProduct());
+        existingOrder.setQuantity(order.getQuantity());
 
-        return orderRepository.save(order);
+        Order updatedOrder = orderRepository.save(existingOrder);
+        eventPublisher.publishEvent(OrderChangedEvent.updated(updatedOrder));
+        return updatedOrder;
     }
 
     /**
-     * Deletes an order by its ID.
+     * Deletes an order by its ID, whether it is in the orders table or the
+     * archive.
      *
      * @param id The ID of the order to be deleted.
      * @throws ResourceNotFoundException if the order does not exist.
      */
+    @Transactional
     public void deleteOrder(Long id) {
-        orderRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Cannot delete: Order not found with id: " + id));
-
-        orderRepository.deleteById(id);
+        if (orderRepository.deleteByIdReturningCount(id) == 0 && !orderArchive.deleteById(id)) {
+            throw new ResourceNotFoundException("Cannot delete: Order not found with id: " + id);
+        }
+        eventPublisher.publishEvent(OrderChangedEvent.deleted(id));
     }
 
     /**
-     * Deletes all orders associated with a given customer.
+     * Deletes all orders associated with a given customer. The orders are
+     * deleted by the IDs read first, so a deletion event is published for
+     * exactly the orders that went.
      *
      * @param customerId The ID of the customer whose orders should be deleted.
      */
+    @Transactional
     public void deleteAllOrders(Long customerId) {
-        orderRepository.deleteByCustomerId(customerId); // Delete orders first
+        List<Long> ids = orderRepository.findIdsByCustomerId(customerId);
+        List<Long> archivedIds = orderArchive.findIdsByCustomerId(customerId);
+        if (!ids.isEmpty()) {
+            orderRepository.deleteByCustomerIdAndIdIn(customerId, ids);
+        }
+        orderArchive.deleteByCustomerIdAndIdIn(customerId, archivedIds);
+        ids.forEach(id -> eventPublisher.publishEvent(OrderChangedEvent.deleted(id)));
+        archivedIds.forEach(id -> eventPublisher.publishEvent(OrderChangedEvent.deleted(id)));
     }
 
     /**
-     * Retrieves a list of orders within a specified date range.
+     * Retrieves a list of orders within a specified date range. Days that
+     * have closed are served from the range cache when it is enabled, and the
+     * archive is only queried when the range starts before the hot window.
+     * The returned orders may be shared and must not be modified.
      *
      * @param startDate The start date of the range.
      * @param endDate   The end date of the range.
      * @return A list of orders created within the specified date range.
      */
+    @Transactional(readOnly = true)
     public List<Order> getOrdersByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return orderRepository.findByCreatedAtBetween(startDate, endDate);
+        return orderRangeCache.getOrders(startDate, endDate, this::findByCreatedAtBetween);
+    }
+
+    private List<Order> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        List<Order> archived = orderArchive.findByCreatedAtBetween(startDate, endDate);
+        List<Order> recent = orderRepository.findByCreatedAtBetween(startDate, endDate);
+        if (archived.isEmpty()) {
+            return recent;
+        }
+        List<Order> orders = new ArrayList<>(archived);
+        orders.addAll(recent);
+        return orders;
     }
 
     /**
-     * Retrieves a list of orders sorted by creation date.
+     * Retrieves a list of orders sorted by creation date, archived orders
+     * included.
      *
      * @param sortDirection The sorting direction, either "asc" for ascending or
      *                      "desc" for descending.
      * @return A list of orders sorted by their creation date in the specified
      *         order.
      */
+    @Transactional(readOnly = true)
     public List<Order> getOrdersSorted(String sortDirection) {
-        return "asc".equalsIgnoreCase(sortDirection)
-                ? orderRepository.findAllByCreatedAtAsc()
+        boolean ascending = "asc".equalsIgnoreCase(sortDirection);
+        List<Order> recent = ascending ? orderRepository.findAllByCreatedAtAsc()
                 : orderRepository.findAllByCreatedAtDesc();
+        List<Order> archived = orderArchive.findAllSorted(ascending);
+        if (archived.isEmpty()) {
+            return recent;
+        }
+        // Both lists are already sorted, and sorting two sorted runs is a
+        // linear merge. The archiver may lag behind the cutoff, so the runs
+        // can overlap and cannot simply be appended.
+        Comparator<Order> byCreatedAt = Comparator.comparing(Order::getCreatedAt);
+        List<Order> orders = new ArrayList<>(archived);
+        orders.addAll(recent);
+        orders.sort(ascending ? byCreatedAt : byCreatedAt.reversed());
+        return orders;
     }
 }
@@ -0,0 +1,252 @@
+package com.example.order_service.service;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Function;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import com.example.order_service.exception.BadRequestException;
+import com.example.order_service.model.Order;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A sort order for a customer's orders that an index can deliver.
+ *
+ * Only sorts that read an index on (customer_id, ...) in one direction are
+ * allowed, so a page never needs a filesort over the customer's whole
+ * history. A requested sort must be a leading part of one of the indexed
+ * orders below, or of its exact reverse; the index's remaining columns and
+ * finally the ID are appended as tie-breakers, which makes every position in
+ * the order unique and lets pages continue from a keyset cursor.
+ */
+final class OrderSort {
+
+    private static final ObjectMapper CURSOR_MAPPER = new ObjectMapper();
+
+    private enum Field {
+        CREATED_AT("createdAt", "created_at", Order::getCreatedAt, LocalDateTime::parse),
+        QUANTITY("quantity", "quantity", Order::getQuantity, Integer::valueOf),
+        PRODUCT("product", "product", Order::getProduct, value -> value),
+        ID("id", "id", Order::getId, Long::valueOf);
+
+        private final String property;
+        private final String column;
+        private final Function<Order, Object> getter;
+        private final Function<String, Object> parser;
+
+        Field(String property, String column, Function<Order, Object> getter, Function<String, Object> parser) {
+            this.property = property;
+            this.column = column;
+            this.getter = getter;
+            this.parser = parser;
+        }
+
+        static Field of(String property) {
+            for (Field field : values()) {
+                if (field.property.equals(property)) {
+                    return field;
+                }
+            }
+            return null;
+        }
+    }
+
+    private record Key(Field field, boolean descending) {
+        Key reversed() {
+            return new Key(field, !descending);
+        }
+
+        @Override
+        public String toString() {
+            return field.property + "," + (descending ? "desc" : "asc");
+        }
+    }
+
+    /**
+     * The key order of each index on orders that starts with customer_id, ID
+     * last. Keep in step with db.sql.
+     */
+    private static final List<List<Key>> INDEXED = List.of(
+            List.of(new Key(Field.CREATED_AT, false), new Key(Field.ID, false)),
+            List.of(new Key(Field.QUANTITY, true), new Key(Field.PRODUCT, false), new Key(Field.ID, false)),
+            List.of(new Key(Field.PRODUCT, false), new Key(Field.ID, false)));
+
+    private final List<Key> keys;
+
+    private OrderSort(List<Key> keys) {
+        this.keys = keys;
+    }
+
+    /**
+     * Parses a sort such as {@code quantity,desc;product,asc}. The direction
+     * defaults to ascending.
+     *
+     * @throws BadRequestException if the sort is malformed or no index
+     *                             delivers it.
+     */
+    static OrderSort parse(String spec) {
+        List<Key> requested = new ArrayList<>();
+        for (String part : spec.split(";")) {
+            String[] tokens = part.trim().split("\\s*,\\s*");
+            Field field = Field.of(tokens[0]);
+            if (field == null || tokens.length > 2) {
+                throw new BadRequestException("Cannot sort orders by '" + part.trim() + "'");
+            }
+            boolean descending = false;
+            if (tokens.length == 2) {
+                if (!tokens[1].equalsIgnoreCase("asc") && !tokens[1].equalsIgnoreCase("desc")) {
+                    throw new BadRequestException("Sort direction must be asc or desc, not '" + tokens[1] + "'");
+                }
+                descending = tokens[1].equalsIgnoreCase("desc");
+            }
+            requested.add(new Key(field, descending));
+        }
+        for (List<Key> index : INDEXED) {
+            if (startsWith(index, requested)) {
+                return new OrderSort(index);
+            }
+            List<Key> reversed = index.stream().map(Key::reversed).toList();
+            if (startsWith(reversed, requested)) {
+                return new OrderSort(reversed);
+            }
+        }
+        throw new BadRequestException("Orders cannot be sorted by " + spec + ". Supported sorts: " + supported());
+    }
+
+    private static boolean startsWith(List<Key> index, List<Key> requested) {
+        return requested.size() <= index.size() && index.subList(0, requested.size()).equals(requested);
+    }
+
+    private static String supported() {
+        StringJoiner supported = new StringJoiner(" | ");
+        for (List<Key> index : INDEXED) {
+            List<Key> columns = index.subList(0, index.size() - 1);
+            supported.add(join(columns));
+            supported.add(join(columns.stream().map(Key::reversed).toList()));
+        }
+        return supported.toString();
+    }
+
+    private static String join(List<Key> keys) {
+        StringJoiner joined = new StringJoiner(";");
+        keys.forEach(key -> joined.add(key.toString()));
+        return joined.toString();
+    }
+
+    /**
+     * @return The full sort, tie-breakers included.
+     */
+    Sort toSort() {
+        List<Sort.Order> orders = keys.stream()
+                .map(key -> key.descending() ? Sort.Order.desc(key.field().property)
+                        : Sort.Order.asc(key.field().property))
+                .toList();
+        return Sort.by(orders);
+    }
+
+    /**
+     * @return The full sort as an SQL ORDER BY list over the orders columns.
+     */
+    String toSql() {
+        StringJoiner columns = new StringJoiner(", ");
+        keys.forEach(key -> columns.add(key.field().column + (key.descending() ? " DESC" : " ASC")));
+        return columns.toString();
+    }
+
+    /**
+     * Renders the condition that selects the orders after a position from
+     * {@link #positionAfter} as SQL, adding its parameters to args.
+     *
+     * @return The condition, or null if the position is the first order.
+     */
+    String toSqlAfter(ScrollPosition position, List<Object> args) {
+        if (position.isInitial()) {
+            return null;
+        }
+        Map<String, Object> values = ((KeysetScrollPosition) position).getKeys();
+        StringJoiner any = new StringJoiner(" OR ", "(", ")");
+        for (int i = 0; i < keys.size(); i++) {
+            StringJoiner all = new StringJoiner(" AND ", "(", ")");
+            for (int j = 0; j <= i; j++) {
+                Key key = keys.get(j);
+                String op = j < i ? " = ?" : key.descending() ? " < ?" : " > ?";
+                all.add(key.field().column + op);
+                Object value = values.get(key.field().property);
+                args.add(value instanceof LocalDateTime time ? Timestamp.valueOf(time) : value);
+            }
+            any.add(all.toString());
+        }
+        return any.toString();
+    }
+
+    /**
+     * @return The full sort as a spec, tie-breakers included.
+     */
+    String getSpec() {
+        return join(keys);
+    }
+
+    /**
+     * Encodes the sort keys of an order as an opaque cursor for the page
+     * following it.
+     */
+    String cursorAfter(Order order) {
+        List<String> values = new ArrayList<>();
+        values.add(getSpec());
+        for (Key key : keys) {
+            values.add(String.valueOf(key.field().getter.apply(order)));
+        }
+        try {
+            byte[] json = CURSOR_MAPPER.writeValueAsBytes(values);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Decodes a cursor from {@link #cursorAfter}, or starts at the first order
+     * when there is none.
+     *
+     * @throws BadRequestException if the cursor is malformed or was issued for
+     *                             a different sort.
+     */
+    ScrollPosition positionAfter(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return ScrollPosition.keyset();
+        }
+        List<String> values;
+        try {
+            values = CURSOR_MAPPER.readValue(Base64.getUrlDecoder().decode(cursor),
+                    new TypeReference<List<String>>() {
+                    });
+        } catch (IllegalArgumentException | IOException e) {
+            throw new BadRequestException("Malformed cursor");
+        }
+        if (values.size() != keys.size() + 1 || !getSpec().equals(values.get(0))) {
+            throw new BadRequestException("Cursor was issued for a different sort");
+        }
+        Map<String, Object> position = new LinkedHashMap<>();
+        try {
+            for (int i = 0; i < keys.size(); i++) {
+                Field field = keys.get(i).field();
+                position.put(field.property, field.parser.apply(values.get(i + 1)));
+            }
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Malformed cursor");
+        }
+        return ScrollPosition.forward(position);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.order_service.service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Coalesces concurrent identical reads so they share one database call.
+ *
+ * The first caller for a key becomes the leader and runs the load; callers
+ * that arrive while it is still running wait for its result instead of
+ * running the same query again. Nothing is kept once the load finishes, so a
+ * caller never sees a result that was complete before it arrived. A waiter
+ * gives up after the configured wait and runs the load itself, so a stuck
+ * leader cannot stall every request behind it.
+ *
+ * Shared results are handed to every waiter, so callers must treat them as
+ * read-only.
+ */
+@Component
+public class SingleFlight {
+
+    private final long maxWaitNanos;
+    private final MeterRegistry meterRegistry;
+    private final Map<List<Object>, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SingleFlight(@Value("${order-service.single-flight.max-wait:PT2S}") Duration maxWait,
+            MeterRegistry meterRegistry) {
+        this.maxWaitNanos = maxWait.toNanos();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs the load, or waits for an identical load that is already running.
+     *
+     * @param group  The kind of read, used to keep keys apart and to tag the
+     *               metrics.
+     * @param key    Identifies the read within the group.
+     * @param loader The read to run when no identical read is in flight.
+     * @return The result of the load, possibly shared with other callers.
+     */
+    public <T> T execute(String group, Object key, Supplier<T> loader) {
+        Counters groupCounters = counters.computeIfAbsent(group, this::register);
+        List<Object> flightKey = Arrays.asList(group, key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(flightKey, flight);
+        if (running == null) {
+            groupCounters.leader.increment();
+            try {
+                T result = loader.get();
+                flight.complete(result);
+                return result;
+            } catch (RuntimeException ex) {
+                flight.completeExceptionally(ex);
+                throw ex;
+            } finally {
+                inFlight.remove(flightKey, flight);
+            }
+        }
+        try {
+            T result = cast(running.get(maxWaitNanos, TimeUnit.NANOSECONDS));
+            groupCounters.coalesced.increment();
+            return result;
+        } catch (ExecutionException ex) {
+            groupCounters.coalesced.increment();
+            throw (RuntimeException) ex.getCause();
+        } catch (TimeoutException ex) {
+            groupCounters.timedOut.increment();
+            return loader.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            groupCounters.timedOut.increment();
+            return loader.get();
+        }
+    }
+
+    private Counters register(String group) {
+        return new Counters(counter(group, "leader"), counter(group, "coalesced"), counter(group, "timed_out"));
+    }
+
+    private Counter counter(String group, String outcome) {
+        return Counter.builder("single.flight.calls")
+                .description("Reads that ran a load, shared another caller's load, or stopped waiting for it")
+                .tag("group", group)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(Object value) {
+        return (T) value;
+    }
+
+    private static final class Counters {
+        final Counter leader;
+        final Counter coalesced;
+        final Counter timedOut;
+
+        Counters(Counter leader, Counter coalesced, Counter timedOut) {
+            this.leader = leader;
+            this.coalesced = coalesced;
+            this.timedOut = timedOut;
+        }
+    }
+}
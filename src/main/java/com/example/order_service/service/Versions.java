@@ -0,0 +1,31 @@
+package com.example.order_service.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.StringJoiner;
+
+/**
+ * Builds the opaque version tags the services hand out for conditional
+ * requests. Timestamps are encoded at microsecond precision so two updates in
+ * the same millisecond still produce different tags.
+ */
+final class Versions {
+
+    private Versions() {
+    }
+
+    static String of(Object... parts) {
+        StringJoiner version = new StringJoiner("-");
+        for (Object part : parts) {
+            if (part == null) {
+                version.add("0");
+            } else if (part instanceof LocalDateTime dateTime) {
+                long micros = dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + dateTime.getNano() / 1_000;
+                version.add(Long.toHexString(micros));
+            } else {
+                version.add(part.toString());
+            }
+        }
+        return version.toString();
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.order_service.web;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.example.order_service.model.ErrorResponse;
+import com.example.order_service.web.AdaptiveConcurrencyLimiter.Permit;
+import com.example.order_service.web.AdaptiveConcurrencyLimiter.Priority;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Admits requests through the {@link AdaptiveConcurrencyLimiter} and sheds the
+ * rest with 503 and Retry-After before they reach a controller or take a
+ * database connection. GET and HEAD count as reads; everything else is a
+ * write. Actuator endpoints are never shed.
+ *
+ * Endpoints are told apart by method and path, with numeric path segments
+ * collapsed, so every GET /api/orders/{id} shares one latency baseline.
+ */
+public class AdaptiveConcurrencyLimitFilter extends OncePerRequestFilter implements Ordered {
+
+    // After the observation filter, so shed requests still show up in http.server.requests.
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 2;
+
+    private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ObjectMapper objectMapper;
+    private final long retryAfterSeconds;
+    private final Map<Priority, Counter> rejected = new EnumMap<>(Priority.class);
+
+    public AdaptiveConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter, ObjectMapper objectMapper,
+            long retryAfterSeconds, MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+        this.retryAfterSeconds = retryAfterSeconds;
+        for (Priority priority : Priority.values()) {
+            rejected.put(priority, Counter.builder("concurrency.rejected")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String method = request.getMethod();
+        Priority priority = "GET".equals(method) || "HEAD".equals(method) ? Priority.READ : Priority.WRITE;
+        String endpoint = method + " " + ID_SEGMENT.matcher(request.getRequestURI()).replaceAll("/{id}");
+        Permit permit = limiter.tryAcquire(endpoint, priority);
+        if (permit == null) {
+            rejected.get(priority).increment();
+            shed(response);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // Bulkheaded handlers finish on another thread; release when they do.
+                request.getAsyncContext().addListener(new ReleaseOnComplete(permit, start));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                permit.release(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private void shed(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, "Server is overloaded, retry later"));
+    }
+
+    private static final class ReleaseOnComplete implements AsyncListener {
+        private final Permit permit;
+        private final long start;
+
+        ReleaseOnComplete(Permit permit, long start) {
+            this.permit = permit;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permit.release(System.nanoTime() - start);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
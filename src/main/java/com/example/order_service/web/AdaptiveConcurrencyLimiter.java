@@ -0,0 +1,212 @@
+package com.example.order_service.web;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Gradient-style adaptive limit on the number of requests in flight.
+ *
+ * Tomcat threads and database connections are shared by every endpoint, so
+ * there is one limit. Latency is judged per endpoint though: each endpoint
+ * learns a long-term baseline RTT, and every completed request compares its
+ * RTT with that baseline. While requests finish within the tolerance the
+ * limit grows by roughly its square root; once they take longer the limit
+ * shrinks in proportion, down to half per sample. Requests over the limit are
+ * shed instead of queueing behind a slow database.
+ *
+ * Reads may only use a share of the limit, so writes still get in when reads
+ * are being shed.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    public enum Priority {
+        WRITE, READ
+    }
+
+    // Endpoints beyond this share one baseline, so probing random URLs cannot grow the map.
+    static final int MAX_ENDPOINTS = 256;
+    static final String OTHER_ENDPOINTS = "other";
+
+    // Samples averaged before an endpoint updates its baseline and the limit;
+    // a window also lasts at least sampleWindow.
+    static final int WINDOW_SAMPLES = 20;
+    // Windows in an endpoint's baseline; long enough that a slowdown is judged
+    // against the old latency for hundreds of windows.
+    private static final double BASELINE_WINDOWS = 600;
+    private static final double SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double readShare;
+    private final long sampleWindowNanos;
+    private final LongSupplier clock;
+
+    private final Map<String, Baseline> baselines = new ConcurrentHashMap<>();
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicInteger readInflight = new AtomicInteger();
+    private volatile double limit;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double rttTolerance,
+            double readShare, Duration sampleWindow) {
+        this(initialLimit, minLimit, maxLimit, rttTolerance, readShare, sampleWindow, System::nanoTime);
+    }
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double rttTolerance,
+            double readShare, Duration sampleWindow, LongSupplier clock) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.readShare = readShare;
+        this.sampleWindowNanos = sampleWindow.toNanos();
+        this.clock = clock;
+    }
+
+    /**
+     * Admits a request if the limit allows it.
+     *
+     * @param endpoint The endpoint whose latency baseline the request is
+     *                 judged against.
+     * @param priority Whether the request may use the whole limit or only the
+     *                 read share.
+     * @return A permit to release when the request completes, or null when the
+     *         request should be shed.
+     */
+    public Permit tryAcquire(String endpoint, Priority priority) {
+        double currentLimit = limit;
+        int started;
+        do {
+            started = inflight.get();
+            if (started >= currentLimit) {
+                return null;
+            }
+        } while (!inflight.compareAndSet(started, started + 1));
+        if (priority == Priority.READ && readInflight.incrementAndGet() > Math.max(1, currentLimit * readShare)) {
+            readInflight.decrementAndGet();
+            inflight.decrementAndGet();
+            return null;
+        }
+        return new Permit(baseline(endpoint), priority, started + 1);
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    private Baseline baseline(String endpoint) {
+        Baseline baseline = baselines.get(endpoint);
+        if (baseline != null) {
+            return baseline;
+        }
+        if (baselines.size() >= MAX_ENDPOINTS) {
+            return baselines.computeIfAbsent(OTHER_ENDPOINTS, key -> new Baseline(clock.getAsLong()));
+        }
+        return baselines.computeIfAbsent(endpoint, key -> new Baseline(clock.getAsLong()));
+    }
+
+    private void onSample(Baseline baseline, long rttNanos, int inflightAtStart) {
+        Baseline.Window window = baseline.add(rttNanos, inflightAtStart, clock.getAsLong(), sampleWindowNanos);
+        if (window != null) {
+            adjust(window);
+        }
+    }
+
+    private synchronized void adjust(Baseline.Window window) {
+        if (window.maxInflight < limit / 2) {
+            // Too little traffic to say anything about the limit.
+            return;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, rttTolerance * window.baselineRtt / window.rtt));
+        double target = limit * gradient + Math.sqrt(limit);
+        double smoothed = limit * (1 - SMOOTHING) + target * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, smoothed));
+    }
+
+    /**
+     * Latency an endpoint normally has: an exponential moving average over
+     * windows of samples, so a sustained slowdown takes hundreds of windows
+     * to become the new normal.
+     */
+    private static final class Baseline {
+        private double rtt;
+        private double windowSum;
+        private int windowSamples;
+        private int windowMaxInflight;
+        private long windowStart;
+
+        Baseline(long now) {
+            this.windowStart = now;
+        }
+
+        synchronized Window add(long sample, int inflight, long now, long minWindowNanos) {
+            windowSum += sample;
+            windowMaxInflight = Math.max(windowMaxInflight, inflight);
+            if (++windowSamples < WINDOW_SAMPLES || now - windowStart < minWindowNanos) {
+                return null;
+            }
+            double average = windowSum / windowSamples;
+            Window window = new Window(rtt == 0 ? average : rtt, average, windowMaxInflight);
+            if (rtt == 0) {
+                rtt = average;
+            } else {
+                rtt += (average - rtt) / BASELINE_WINDOWS;
+                if (rtt / average > 2) {
+                    // Latency recovered; let the baseline follow it down quickly.
+                    rtt *= 0.95;
+                }
+            }
+            windowSum = 0;
+            windowSamples = 0;
+            windowMaxInflight = 0;
+            windowStart = now;
+            return window;
+        }
+
+        record Window(double baselineRtt, double rtt, int maxInflight) {
+        }
+    }
+
+    /**
+     * A request admitted by the limiter.
+     */
+    public final class Permit {
+        private final Baseline baseline;
+        private final Priority priority;
+        private final int inflightAtStart;
+        private boolean released;
+
+        private Permit(Baseline baseline, Priority priority, int inflightAtStart) {
+            this.baseline = baseline;
+            this.priority = priority;
+            this.inflightAtStart = inflightAtStart;
+        }
+
+        /**
+         * Frees the slot and feeds the request's round-trip time into the
+         * limit. Only the first call has an effect.
+         */
+        public synchronized void release(long rttNanos) {
+            if (released) {
+                return;
+            }
+            released = true;
+            inflight.decrementAndGet();
+            if (priority == Priority.READ) {
+                readInflight.decrementAndGet();
+            }
+            onSample(baseline, Math.max(1, rttNanos), inflightAtStart);
+        }
+    }
+}
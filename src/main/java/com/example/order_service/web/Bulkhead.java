@@ -0,0 +1,101 @@
+package com.example.order_service.web;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import com.example.order_service.datasource.BulkheadContext;
+import com.example.order_service.exception.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/**
+ * Worker threads with a bounded queue for one class of endpoints.
+ *
+ * Handlers return {@link #run(Callable)} so the request leaves the Tomcat
+ * thread it arrived on. A burst of slow requests can then only exhaust its own
+ * workers; once the queue is full, further requests are answered with 503
+ * straight away instead of waiting for a thread interactive traffic needs.
+ * Handlers that combine several loads start each with {@link #supply(Callable)}
+ * and return the combined future. Tasks see the MDC and request of the thread
+ * that submitted them.
+ *
+ * Metrics are published as bulkhead.executor.* tagged with the bulkhead name,
+ * plus a bulkhead.rejected counter.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final long timeoutMillis;
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+    public Bulkhead(String name, BulkheadProperties.Pool settings, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.timeoutMillis = settings.getTimeout().toMillis();
+        Counter rejected = Counter.builder("bulkhead.rejected")
+                .tag("name", name)
+                .register(meterRegistry);
+        executor.setThreadNamePrefix("bulkhead-" + name + "-");
+        executor.setCorePoolSize(settings.getMaxConcurrent());
+        executor.setMaxPoolSize(settings.getMaxConcurrent());
+        executor.setQueueCapacity(settings.getMaxQueue());
+        executor.setTaskDecorator(new RequestContextTaskDecorator());
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            throw new ServiceUnavailableException("Too many " + name + " requests in progress", 1);
+        });
+        executor.initialize();
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), name, "bulkhead", Tags.empty())
+                .bindTo(meterRegistry);
+    }
+
+    /**
+     * Wraps the handler body so that it runs on this bulkhead's threads and
+     * connection pool.
+     */
+    public <T> WebAsyncTask<T> run(Callable<T> action) {
+        return new WebAsyncTask<>(timeoutMillis, executor, () -> BulkheadContext.callIn(name, action));
+    }
+
+    /**
+     * Starts an action on this bulkhead's threads and connection pool. If it
+     * has not finished within the bulkhead's timeout, it is interrupted and
+     * the future fails with a {@link ServiceUnavailableException}.
+     *
+     * @throws ServiceUnavailableException if the queue is full.
+     */
+    public <T> CompletableFuture<T> supply(Callable<T> action) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> {
+            try {
+                result.complete(BulkheadContext.callIn(name, action));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS).exceptionally(e -> {
+            if (e instanceof TimeoutException) {
+                task.cancel(true);
+                throw new ServiceUnavailableException(name + " request timed out", 1);
+            }
+            throw e instanceof CompletionException completion ? completion : new CompletionException(e);
+        });
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    void shutdown() {
+        executor.shutdown();
+    }
+}
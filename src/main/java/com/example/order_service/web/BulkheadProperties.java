@@ -0,0 +1,147 @@
+package com.example.order_service.web;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Limits for the bulkheads that keep heavy endpoints away from the threads
+ * and connections used by interactive traffic. Interactive requests run on
+ * Tomcat's own threads, limited by server.tomcat.threads.max and accept-count,
+ * except the page reads handed to the read bulkhead.
+ */
+@ConfigurationProperties(prefix = "order-service.bulkheads")
+public class BulkheadProperties {
+
+    /**
+     * Give every bulkhead its own connection pool against spring.datasource
+     * instead of sharing one.
+     */
+    private boolean separateConnectionPools;
+    /**
+     * Size of the interactive connection pool when pools are separate.
+     */
+    private int interactiveConnections = 10;
+    private Pool read = new Pool(16, 64, Duration.ofSeconds(10), 10);
+    private Pool bulkRead = new Pool(4, 16, Duration.ofSeconds(60), 4);
+    private Pool adminDelete = new Pool(2, 4, Duration.ofSeconds(60), 2);
+    private Pool export = new Pool(2, 2, Duration.ofHours(1), 2);
+    private Pool bulkImport = new Pool(1, 1, Duration.ofHours(2), 1);
+
+    public boolean isSeparateConnectionPools() {
+        return separateConnectionPools;
+    }
+
+    public void setSeparateConnectionPools(boolean separateConnectionPools) {
+        this.separateConnectionPools = separateConnectionPools;
+    }
+
+    public int getInteractiveConnections() {
+        return interactiveConnections;
+    }
+
+    public void setInteractiveConnections(int interactiveConnections) {
+        this.interactiveConnections = interactiveConnections;
+    }
+
+    public Pool getRead() {
+        return read;
+    }
+
+    public void setRead(Pool read) {
+        this.read = read;
+    }
+
+    public Pool getBulkRead() {
+        return bulkRead;
+    }
+
+    public void setBulkRead(Pool bulkRead) {
+        this.bulkRead = bulkRead;
+    }
+
+    public Pool getAdminDelete() {
+        return adminDelete;
+    }
+
+    public void setAdminDelete(Pool adminDelete) {
+        this.adminDelete = adminDelete;
+    }
+
+    public Pool getExport() {
+        return export;
+    }
+
+    public void setExport(Pool export) {
+        this.export = export;
+    }
+
+    public Pool getImport() {
+        return bulkImport;
+    }
+
+    public void setImport(Pool bulkImport) {
+        this.bulkImport = bulkImport;
+    }
+
+    public static class Pool {
+        /**
+         * Requests running at once; also the number of worker threads.
+         */
+        private int maxConcurrent;
+        /**
+         * Requests waiting for a worker before new ones are rejected with 503.
+         */
+        private int maxQueue;
+        /**
+         * How long a request may wait and run before it is answered with 503.
+         */
+        private Duration timeout;
+        /**
+         * Size of the connection pool when pools are separate.
+         */
+        private int connections;
+
+        public Pool() {
+        }
+
+        public Pool(int maxConcurrent, int maxQueue, Duration timeout, int connections) {
+            this.maxConcurrent = maxConcurrent;
+            this.maxQueue = maxQueue;
+            this.timeout = timeout;
+            this.connections = connections;
+        }
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public int getMaxQueue() {
+            return maxQueue;
+        }
+
+        public void setMaxQueue(int maxQueue) {
+            this.maxQueue = maxQueue;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public int getConnections() {
+            return connections;
+        }
+
+        public void setConnections(int connections) {
+            this.connections = connections;
+        }
+    }
+}
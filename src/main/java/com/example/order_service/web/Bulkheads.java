@@ -0,0 +1,78 @@
+package com.example.order_service.web;
+
+import org.springframework.beans.factory.DisposableBean;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The bulkheads heavy endpoints run in, plus one for the interactive reads
+ * that wait on the database long enough to be worth freeing their Tomcat
+ * thread. Everything else stays on Tomcat's threads.
+ */
+public class Bulkheads implements DisposableBean {
+
+    public static final String READ = "read";
+    public static final String BULK_READ = "bulk-read";
+    public static final String ADMIN_DELETE = "admin-delete";
+    public static final String EXPORT = "export";
+    public static final String IMPORT = "import";
+
+    private final Bulkhead read;
+    private final Bulkhead bulkRead;
+    private final Bulkhead adminDelete;
+    private final Bulkhead export;
+    private final Bulkhead bulkImport;
+
+    public Bulkheads(BulkheadProperties properties, MeterRegistry meterRegistry) {
+        this.read = new Bulkhead(READ, properties.getRead(), meterRegistry);
+        this.bulkRead = new Bulkhead(BULK_READ, properties.getBulkRead(), meterRegistry);
+        this.adminDelete = new Bulkhead(ADMIN_DELETE, properties.getAdminDelete(), meterRegistry);
+        this.export = new Bulkhead(EXPORT, properties.getExport(), meterRegistry);
+        this.bulkImport = new Bulkhead(IMPORT, properties.getImport(), meterRegistry);
+    }
+
+    /**
+     * Page reads of one customer's data, and the parallel loads of handlers
+     * that combine several.
+     */
+    public Bulkhead getRead() {
+        return read;
+    }
+
+    /**
+     * Full-table reads and reports.
+     */
+    public Bulkhead getBulkRead() {
+        return bulkRead;
+    }
+
+    /**
+     * Deletes that cascade to many rows.
+     */
+    public Bulkhead getAdminDelete() {
+        return adminDelete;
+    }
+
+    /**
+     * Long-running streams of whole tables.
+     */
+    public Bulkhead getExport() {
+        return export;
+    }
+
+    /**
+     * Long-running loads of whole files.
+     */
+    public Bulkhead getImport() {
+        return bulkImport;
+    }
+
+    @Override
+    public void destroy() {
+        read.shutdown();
+        bulkRead.shutdown();
+        adminDelete.shutdown();
+        export.shutdown();
+        bulkImport.shutdown();
+    }
+}
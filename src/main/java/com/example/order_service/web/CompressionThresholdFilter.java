@@ -0,0 +1,224 @@
+package com.example.order_service.web;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Makes server.compression.min-response-size apply to streamed responses.
+ *
+ * Message converters flush the body as soon as it is written, so Tomcat
+ * commits the response without a Content-Length and compresses it however
+ * small it is. This filter holds back the first min-response-size bytes: a
+ * body that ends within that budget is sent with a Content-Length and skips
+ * compression, while anything larger is released and streamed as before.
+ *
+ * A handler that goes async may write from a worker thread (a streaming
+ * export) while the container thread releases the buffer, so the held-back
+ * state is only touched under the stream's lock. Resetting the response
+ * also drops whatever is still held back.
+ */
+@Component
+@ConditionalOnProperty(name = "server.compression.enabled", havingValue = "true")
+public class CompressionThresholdFilter extends OncePerRequestFilter {
+
+    private final int threshold;
+
+    public CompressionThresholdFilter(ServerProperties serverProperties) {
+        this.threshold = (int) serverProperties.getCompression().getMinResponseSize().toBytes();
+    }
+
+    /**
+     * Async handlers write their body during the async dispatch, so hold it
+     * back there too.
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ThresholdResponse wrapper = new ThresholdResponse(response, threshold);
+        chain.doFilter(request, wrapper);
+        if (request.isAsyncStarted()) {
+            // Anything written from a worker thread bypasses the async
+            // dispatch, so stop holding it back.
+            wrapper.release();
+        } else {
+            wrapper.finish();
+        }
+    }
+
+    private static final class ThresholdResponse extends HttpServletResponseWrapper {
+        private final HttpServletResponse response;
+        private final ThresholdOutputStream body;
+        private PrintWriter writer;
+
+        ThresholdResponse(HttpServletResponse response, int threshold) {
+            super(response);
+            this.response = response;
+            this.body = new ThresholdOutputStream(response, threshold);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return body;
+        }
+
+        @Override
+        public synchronized PrintWriter getWriter() {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(body, Charset.forName(getCharacterEncoding())));
+            }
+            return writer;
+        }
+
+        @Override
+        public synchronized void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            body.flush();
+        }
+
+        @Override
+        public synchronized void resetBuffer() {
+            discardHeldBack();
+            super.resetBuffer();
+        }
+
+        @Override
+        public synchronized void reset() {
+            discardHeldBack();
+            super.reset();
+        }
+
+        private void discardHeldBack() {
+            if (writer != null) {
+                // Moves characters the encoder still holds into the body first.
+                writer.flush();
+            }
+            body.discard();
+        }
+
+        synchronized void release() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            body.spill();
+        }
+
+        synchronized void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            body.finish();
+        }
+    }
+
+    private static final class ThresholdOutputStream extends ServletOutputStream {
+        private final HttpServletResponse response;
+        private final int threshold;
+        private final ByteArrayOutputStream buffer;
+        private boolean spilled;
+
+        ThresholdOutputStream(HttpServletResponse response, int threshold) {
+            this.response = response;
+            this.threshold = threshold;
+            this.buffer = new ByteArrayOutputStream(Math.min(threshold, 1024));
+        }
+
+        @Override
+        public synchronized void write(int b) throws IOException {
+            if (spilled) {
+                response.getOutputStream().write(b);
+                return;
+            }
+            buffer.write(b);
+            if (buffer.size() > threshold) {
+                spill();
+            }
+        }
+
+        @Override
+        public synchronized void write(byte[] bytes, int offset, int length) throws IOException {
+            if (spilled) {
+                response.getOutputStream().write(bytes, offset, length);
+                return;
+            }
+            buffer.write(bytes, offset, length);
+            if (buffer.size() > threshold) {
+                spill();
+            }
+        }
+
+        @Override
+        public synchronized void flush() throws IOException {
+            // Flushing while under the threshold would commit the response early.
+            if (spilled) {
+                response.getOutputStream().flush();
+            }
+        }
+
+        synchronized void spill() throws IOException {
+            if (spilled) {
+                return;
+            }
+            spilled = true;
+            if (buffer.size() > 0) {
+                buffer.writeTo(response.getOutputStream());
+                buffer.reset();
+            }
+        }
+
+        /**
+         * Sends a body that never reached the threshold with its length.
+         */
+        synchronized void finish() throws IOException {
+            if (!spilled && !response.isCommitted() && buffer.size() > 0) {
+                response.setContentLength(buffer.size());
+            }
+            spill();
+        }
+
+        synchronized void discard() {
+            buffer.reset();
+        }
+
+        @Override
+        public boolean isReady() {
+            try {
+                return response.getOutputStream().isReady();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            try {
+                response.getOutputStream().setWriteListener(listener);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.order_service.web;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the adaptive limit on requests in flight.
+ */
+@ConfigurationProperties(prefix = "order-service.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled;
+    private int initialLimit = 50;
+    private int minLimit = 10;
+    private int maxLimit = 400;
+    /**
+     * How much slower than its baseline an endpoint may get before the limit
+     * shrinks.
+     */
+    private double rttTolerance = 1.5;
+    /**
+     * Share of the limit that reads may use; the rest is kept for writes.
+     */
+    private double readShare = 0.8;
+    /**
+     * Shortest period whose latency is averaged into one adjustment of the
+     * limit.
+     */
+    private Duration sampleWindow = Duration.ofSeconds(1);
+    /**
+     * Seconds sent in Retry-After with a shed request.
+     */
+    private long retryAfterSeconds = 1;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public double getRttTolerance() {
+        return rttTolerance;
+    }
+
+    public void setRttTolerance(double rttTolerance) {
+        this.rttTolerance = rttTolerance;
+    }
+
+    public double getReadShare() {
+        return readShare;
+    }
+
+    public void setReadShare(double readShare) {
+        this.readShare = readShare;
+    }
+
+    public Duration getSampleWindow() {
+        return sampleWindow;
+    }
+
+    public void setSampleWindow(Duration sampleWindow) {
+        this.sampleWindow = sampleWindow;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public void setRetryAfterSeconds(long retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
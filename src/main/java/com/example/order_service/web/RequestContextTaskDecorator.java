@@ -0,0 +1,52 @@
+package com.example.order_service.web;
+
+import java.util.Map;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Carries the submitting thread's logging MDC and current request over to
+ * the worker that runs a task, so log lines keep their request fields and
+ * links built on the worker still point at the host the client called. Both
+ * are restored once the task ends, leaving nothing behind on pooled threads.
+ *
+ * The request is only valid until its response completes; tasks must not
+ * touch it after that, for example after a timeout has already answered.
+ */
+public class RequestContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable task) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        // The handler's own attributes are marked completed once it returns,
+        // while the request lives on until the async result is written.
+        RequestAttributes request = null;
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes current) {
+            request = new ServletRequestAttributes(current.getRequest(), current.getResponse());
+        }
+        RequestAttributes taskRequest = request;
+        return () -> {
+            Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+            RequestAttributes previousRequest = RequestContextHolder.getRequestAttributes();
+            set(mdc, taskRequest);
+            try {
+                task.run();
+            } finally {
+                set(previousMdc, previousRequest);
+            }
+        };
+    }
+
+    private static void set(Map<String, String> mdc, RequestAttributes request) {
+        if (mdc == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(mdc);
+        }
+        RequestContextHolder.setRequestAttributes(request);
+    }
+}
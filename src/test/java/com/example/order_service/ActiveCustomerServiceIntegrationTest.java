@@ -0,0 +1,173 @@
+package com.example.order_service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.order_service.analytics.HyperLogLog;
+import com.example.order_service.model.Customer;
+import com.example.order_service.model.CustomerSketch;
+import com.example.order_service.model.Order;
+import com.example.order_service.repository.CustomerRepository;
+import com.example.order_service.repository.CustomerSketchRepository;
+import com.example.order_service.repository.OrderRepository;
+import com.example.order_service.service.ActiveCustomerService;
+import com.example.order_service.service.OrderService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@EntityScan(basePackages = "com.example.order_service.model") // Specify the package for entities
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD) // Reset DB after each test
+public class ActiveCustomerServiceIntegrationTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 3, 1);
+    private static final int DAYS = 7;
+
+    @Autowired
+    private ActiveCustomerService activeCustomerService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CustomerSketchRepository customerSketchRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll(); // Clear orders before each test
+        customerRepository.deleteAll(); // Clear customers before each test
+        customerSketchRepository.deleteAll();
+        activeCustomerService.rebuild();
+    }
+
+    @Test
+    void createOrder_ShouldBeCountedInTodaysSketch() {
+        // Given
+        for (int i = 0; i < 50; i++) {
+            Customer customer = customerRepository.save(new Customer(null, "Customer " + i,
+                    "customer." + i + "." + System.currentTimeMillis() + "@example.com",
+                    "1 Test Street", LocalDateTime.now(), 0));
+            orderService.createOrder(new Order(null, customer.getId(), "Product", 1, LocalDateTime.now()));
+            orderService.createOrder(new Order(null, customer.getId(), "Product", 2, LocalDateTime.now()));
+        }
+        LocalDate today = LocalDate.now();
+
+        // When
+        long estimate = activeCustomerService.estimateActiveCustomers(today, today).getEstimatedCustomers();
+
+        // Then
+        long exact = exactCount(today, today);
+        assertEquals(exact, estimate, exact * 0.02);
+    }
+
+    @Test
+    void estimateActiveCustomers_ShouldMatchExactCountsWithinTwoPercent() {
+        // Given
+        insertOrderHistory(3_000, 20_000);
+        activeCustomerService.rebuild();
+
+        // When & Then
+        for (int from = 0; from < DAYS; from++) {
+            for (int to = from; to < DAYS; to++) {
+                LocalDate startDate = FIRST_DAY.plusDays(from);
+                LocalDate endDate = FIRST_DAY.plusDays(to);
+                long exact = exactCount(startDate, endDate);
+                long estimate = activeCustomerService.estimateActiveCustomers(startDate, endDate)
+                        .getEstimatedCustomers();
+                assertEquals(exact, estimate, exact * 0.02,
+                        "Estimate for " + startDate + " to " + endDate + " was " + estimate + ", exact " + exact);
+            }
+        }
+    }
+
+    @Test
+    void load_ShouldRestorePersistedSketches() {
+        // Given
+        insertOrderHistory(500, 2_000);
+        activeCustomerService.rebuild();
+        long before = activeCustomerService
+                .estimateActiveCustomers(FIRST_DAY, FIRST_DAY.plusDays(DAYS - 1)).getEstimatedCustomers();
+
+        // When
+        jdbcTemplate.update("DELETE FROM orders"); // Persisted sketches must not be rebuilt from orders
+        activeCustomerService.load();
+
+        // Then
+        assertEquals(DAYS, customerSketchRepository.count());
+        assertEquals(before, activeCustomerService
+                .estimateActiveCustomers(FIRST_DAY, FIRST_DAY.plusDays(DAYS - 1)).getEstimatedCustomers());
+    }
+
+    @Test
+    void flush_ShouldMergeRegistersStoredByAnotherInstance() {
+        // Given
+        HyperLogLog otherInstance = new HyperLogLog();
+        for (long customerId = 1_000; customerId < 1_100; customerId++) {
+            otherInstance.add(customerId);
+        }
+        customerSketchRepository.save(new CustomerSketch(FIRST_DAY, otherInstance.toBytes(), LocalDateTime.now()));
+        for (long customerId = 2_000; customerId < 2_100; customerId++) {
+            activeCustomerService.recordOrder(new Order(null, customerId, "Product", 1, FIRST_DAY.atTime(12, 0)));
+        }
+
+        // When
+        activeCustomerService.flush();
+
+        // Then
+        HyperLogLog stored = HyperLogLog.fromBytes(customerSketchRepository.findById(FIRST_DAY).orElseThrow()
+                .getRegisters());
+        assertEquals(200, stored.estimate(), 200 * 0.02);
+        assertEquals(200, activeCustomerService.estimateActiveCustomers(FIRST_DAY, FIRST_DAY)
+                .getEstimatedCustomers(), 200 * 0.02);
+    }
+
+    private void insertOrderHistory(int customers, int orders) {
+        List<Object[]> customerRows = new ArrayList<>();
+        for (int i = 0; i < customers; i++) {
+            customerRows.add(new Object[] { "Customer " + i, "history." + i + "@example.com" });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO customers (name, email) VALUES (?, ?)", customerRows);
+        List<Long> customerIds = jdbcTemplate.queryForList("SELECT id FROM customers", Long.class);
+
+        Random random = new Random(42);
+        List<Object[]> orderRows = new ArrayList<>();
+        for (int i = 0; i < orders; i++) {
+            // Skew activity so that the day ranges overlap unevenly
+            Long customerId = customerIds.get((int) (Math.abs(random.nextGaussian()) * customers / 2) % customers);
+            LocalDateTime createdAt = FIRST_DAY.plusDays(random.nextInt(DAYS)).atTime(random.nextInt(24), 0);
+            orderRows.add(new Object[] { customerId, "Product", 1, Timestamp.valueOf(createdAt) });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO orders (customer_id, product, quantity, created_at) VALUES (?, ?, ?, ?)",
+                orderRows);
+    }
+
+    private long exactCount(LocalDate startDate, LocalDate endDate) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT customer_id) FROM orders WHERE created_at >= ? AND created_at < ?",
+                Long.class, Timestamp.valueOf(startDate.atStartOfDay()),
+                Timestamp.valueOf(endDate.plusDays(1).atStartOfDay()));
+    }
+}
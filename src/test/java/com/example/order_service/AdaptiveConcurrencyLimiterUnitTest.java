@@ -0,0 +1,121 @@
+package com.example.order_service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.order_service.web.AdaptiveConcurrencyLimiter;
+import com.example.order_service.web.AdaptiveConcurrencyLimiter.Permit;
+import com.example.order_service.web.AdaptiveConcurrencyLimiter.Priority;
+
+public class AdaptiveConcurrencyLimiterUnitTest {
+
+    private static final String ENDPOINT = "GET /api/orders/{id}";
+    private static final long MILLIS = 1_000_000L;
+
+    private long now;
+
+    @Test
+    void limit_ShouldShrinkWhenDatabaseSlowsDown() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = limiter();
+        simulate(limiter, 2000, 40, 2 * MILLIS);
+        int healthyLimit = limiter.getLimit();
+
+        // When
+        Round slow = simulate(limiter, 500, 5, 10 * MILLIS);
+
+        // Then
+        assertTrue(healthyLimit >= 40 && healthyLimit <= 120, "healthy limit " + healthyLimit);
+        assertTrue(limiter.getLimit() < healthyLimit / 4, "slow limit " + limiter.getLimit());
+        // Without shedding all 200 clients would queue for 40 rounds of 10 ms.
+        assertTrue(slow.rtt() <= 30 * MILLIS, "slow rtt " + slow.rtt());
+        assertTrue(slow.admittedWrites() > 0);
+    }
+
+    @Test
+    void limit_ShouldGrowBackWhenDatabaseRecovers() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = limiter();
+        simulate(limiter, 2000, 40, 2 * MILLIS);
+        simulate(limiter, 500, 5, 10 * MILLIS);
+        int slowLimit = limiter.getLimit();
+
+        // When
+        simulate(limiter, 2000, 40, 2 * MILLIS);
+
+        // Then
+        assertTrue(limiter.getLimit() >= 40, "recovered limit " + limiter.getLimit() + " from " + slowLimit);
+    }
+
+    @Test
+    void tryAcquire_ShouldKeepPartOfTheLimitForWrites() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 10, 10, 1.5, 0.8,
+                Duration.ofSeconds(1), () -> now);
+        List<Permit> permits = new ArrayList<>();
+        Permit read;
+        while ((read = limiter.tryAcquire(ENDPOINT, Priority.READ)) != null) {
+            permits.add(read);
+        }
+
+        // When
+        Permit firstWrite = limiter.tryAcquire("POST /api/orders", Priority.WRITE);
+        Permit secondWrite = limiter.tryAcquire("POST /api/orders", Priority.WRITE);
+        Permit thirdWrite = limiter.tryAcquire("POST /api/orders", Priority.WRITE);
+
+        // Then
+        assertEquals(8, permits.size());
+        assertNotNull(firstWrite);
+        assertNotNull(secondWrite);
+        assertNull(thirdWrite);
+        permits.get(0).release(MILLIS);
+        permits.get(0).release(MILLIS);
+        assertEquals(9, limiter.getInflight());
+        assertNotNull(limiter.tryAcquire(ENDPOINT, Priority.READ));
+    }
+
+    private AdaptiveConcurrencyLimiter limiter() {
+        return new AdaptiveConcurrencyLimiter(20, 5, 400, 1.5, 0.8, Duration.ofMillis(20), () -> now);
+    }
+
+    /**
+     * Runs rounds of a closed loop in virtual time: 200 clients, one in four
+     * writing, try to start a request; the database serves capacity queries
+     * at once and queues the rest. Returns what happened in the last round.
+     */
+    private Round simulate(AdaptiveConcurrencyLimiter limiter, int rounds, int capacity, long baseRtt) {
+        Round last = null;
+        for (int round = 0; round < rounds; round++) {
+            List<Permit> permits = new ArrayList<>();
+            int reads = 0;
+            int writes = 0;
+            for (int client = 0; client < 200; client++) {
+                Priority priority = client % 4 == 0 ? Priority.WRITE : Priority.READ;
+                Permit permit = limiter.tryAcquire(ENDPOINT, priority);
+                if (permit != null) {
+                    permits.add(permit);
+                    if (priority == Priority.WRITE) {
+                        writes++;
+                    } else {
+                        reads++;
+                    }
+                }
+            }
+            long rtt = baseRtt * Math.max(1, (permits.size() + capacity - 1) / capacity);
+            now += rtt;
+            for (Permit permit : permits) {
+                permit.release(rtt);
+            }
+            last = new Round(rtt, reads, writes);
+        }
+        return last;
+    }
+
+    private record Round(long rtt, int admittedReads, int admittedWrites) {
+    }
+}
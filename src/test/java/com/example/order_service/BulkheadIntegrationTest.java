@@ -0,0 +1,94 @@
+package com.example.order_service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import com.example.order_service.datasource.BulkheadRoutingDataSource;
+import com.example.order_service.web.Bulkheads;
+import com.zaxxer.hikari.HikariDataSource;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "order-service.bulkheads.separate-connection-pools=true",
+        "order-service.bulkheads.bulk-read.max-concurrent=1",
+        "order-service.bulkheads.bulk-read.max-queue=0"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@EntityScan(basePackages = "com.example.order_service.model") // Specify the package for entities
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class BulkheadIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private Bulkheads bulkheads;
+
+    @Autowired
+    private BulkheadRoutingDataSource bulkheadRoutingDataSource;
+
+    @Test
+    void getOrdersSorted_ShouldUseBulkReadConnectionPool() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(get("/api/orders/sorted").param("sortDirection", "asc"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        // Then
+        assertTrue(started(Bulkheads.BULK_READ));
+        assertFalse(started(Bulkheads.ADMIN_DELETE));
+    }
+
+    @Test
+    void getOrdersSorted_WhenBulkReadIsFull_ShouldReturnServiceUnavailable() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        WebAsyncTask<Boolean> report = bulkheads.getBulkRead().run(() -> {
+            running.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+        report.getExecutor().submit(report.getCallable());
+        running.await(5, TimeUnit.SECONDS);
+
+        // When
+        HttpResponse<String> response = HttpClient.newHttpClient().send(HttpRequest
+                .newBuilder(URI.create("http://localhost:" + port + "/api/orders/sorted?sortDirection=asc"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        release.countDown();
+
+        // Then
+        assertEquals(503, response.statusCode());
+        assertEquals(Optional.of("1"), response.headers().firstValue("Retry-After"));
+    }
+
+    private boolean started(String pool) {
+        HikariDataSource dataSource = (HikariDataSource) bulkheadRoutingDataSource.getResolvedDataSources().get(pool);
+        return dataSource.getHikariPoolMXBean() != null;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.order_service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import com.example.order_service.datasource.BulkheadContext;
+import com.example.order_service.exception.ServiceUnavailableException;
+import com.example.order_service.web.Bulkhead;
+import com.example.order_service.web.BulkheadProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class BulkheadUnitTest {
+
+    @Test
+    void run_ShouldRunOnBulkheadThreadWithItsContext() throws Exception {
+        // Given
+        Bulkhead bulkhead = new Bulkhead("reports", new BulkheadProperties.Pool(1, 1, Duration.ofSeconds(5), 1),
+                new SimpleMeterRegistry());
+
+        // When
+        WebAsyncTask<String> task = bulkhead.run(() -> Thread.currentThread().getName() + "/" + BulkheadContext.current());
+        String result = submit(task).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertTrue(result.startsWith("bulkhead-reports-"));
+        assertTrue(result.endsWith("/reports"));
+        assertEquals(5000L, task.getTimeout());
+        assertNull(BulkheadContext.current());
+    }
+
+    @Test
+    void run_ShouldRejectOnceWorkersAndQueueAreFull() throws Exception {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Bulkhead bulkhead = new Bulkhead("reports", new BulkheadProperties.Pool(1, 1, Duration.ofSeconds(5), 1),
+                meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        Future<Boolean> first = submit(bulkhead.run(() -> {
+            running.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }));
+        running.await(5, TimeUnit.SECONDS);
+        Future<String> queued = submit(bulkhead.run(() -> "queued"));
+
+        // When
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class,
+                () -> submit(bulkhead.run(() -> "rejected")));
+
+        // Then
+        assertEquals(1, ex.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("bulkhead.rejected").tag("name", "reports").counter().count());
+        assertEquals(1.0, meterRegistry.get("bulkhead.executor.queued").tag("name", "reports").gauge().value());
+        release.countDown();
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        assertEquals("queued", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void supply_ShouldCarryTheCallersMdcToTheWorker() throws Exception {
+        // Given
+        Bulkhead bulkhead = new Bulkhead("reports", new BulkheadProperties.Pool(1, 1, Duration.ofSeconds(5), 1),
+                new SimpleMeterRegistry());
+        MDC.put("requestId", "abc");
+
+        // When
+        CompletableFuture<String> result;
+        try {
+            result = bulkhead.supply(() -> MDC.get("requestId") + "/" + BulkheadContext.current());
+        } finally {
+            MDC.remove("requestId");
+        }
+
+        // Then
+        assertEquals("abc/reports", result.get(5, TimeUnit.SECONDS));
+        assertNull(bulkhead.supply(() -> MDC.get("requestId")).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void supply_ShouldFailWithServiceUnavailableAndInterruptOnTimeout() throws Exception {
+        // Given
+        Bulkhead bulkhead = new Bulkhead("reports", new BulkheadProperties.Pool(1, 1, Duration.ofMillis(100), 1),
+                new SimpleMeterRegistry());
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        // When
+        CompletableFuture<String> result = bulkhead.supply(() -> {
+            try {
+                Thread.sleep(5000);
+                return "late";
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+        });
+
+        // Then
+        CompletionException ex = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(ServiceUnavailableException.class, ex.getCause());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Future<T> submit(WebAsyncTask<T> task) {
+        AsyncTaskExecutor executor = task.getExecutor();
+        return (Future<T>) executor.submit(task.getCallable());
+    }
+}
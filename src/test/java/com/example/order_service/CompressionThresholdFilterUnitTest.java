@@ -0,0 +1,97 @@
+package com.example.order_service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import com.example.order_service.web.CompressionThresholdFilter;
+
+import jakarta.servlet.ServletOutputStream;
+
+public class CompressionThresholdFilterUnitTest {
+
+    private final CompressionThresholdFilter filter = new CompressionThresholdFilter(serverProperties(16));
+
+    @Test
+    void doFilter_WithSmallBody_ShouldSendContentLength() throws Exception {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest(), response,
+                (request, wrapped) -> wrapped.getOutputStream().write(bytes("small")));
+
+        // Then
+        assertEquals("small", response.getContentAsString());
+        assertEquals(5, response.getContentLength());
+    }
+
+    @Test
+    void doFilter_WithResetBuffer_ShouldDropHeldBackBody() throws Exception {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest(), response, (request, wrapped) -> {
+            wrapped.getWriter().write("partial");
+            wrapped.resetBuffer();
+            wrapped.getWriter().write("error");
+            wrapped.reset();
+            wrapped.getWriter().write("{}");
+        });
+
+        // Then
+        assertEquals("{}", response.getContentAsString());
+        assertEquals(2, response.getContentLength());
+    }
+
+    @Test
+    void doFilter_WithAsyncWriter_ShouldKeepEveryByteInOrder() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Thread[] worker = new Thread[1];
+
+        // When
+        filter.doFilter(request, response, (req, wrapped) -> {
+            req.startAsync();
+            ServletOutputStream out = wrapped.getOutputStream();
+            worker[0] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 1000; i++) {
+                        out.write(bytes(i + "\n"));
+                    }
+                } catch (Exception ex) {
+                    throw new IllegalStateException(ex);
+                }
+            });
+            // Races the filter releasing the held-back bytes on this thread.
+            worker[0].start();
+        });
+        worker[0].join();
+
+        // Then
+        String[] lines = response.getContentAsString().split("\n");
+        assertEquals(1000, lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            assertEquals(String.valueOf(i), lines[i]);
+        }
+    }
+
+    private static ServerProperties serverProperties(long minResponseSize) {
+        ServerProperties properties = new ServerProperties();
+        properties.getCompression().setMinResponseSize(DataSize.ofBytes(minResponseSize));
+        return properties;
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.order_service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.order_service.model.Customer;
+import com.example.order_service.model.Order;
+import com.example.order_service.repository.CustomerRepository;
+import com.example.order_service.repository.OrderRepository;
+import com.example.order_service.web.AdaptiveConcurrencyLimiter;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "order-service.concurrency-limit.initial-limit=5",
+        "order-service.concurrency-limit.min-limit=5",
+        "order-service.concurrency-limit.max-limit=5"
+})
+@ActiveProfiles("test")
+@EntityScan(basePackages = "com.example.order_service.model") // Specify the package for entities
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class ConcurrencyLimitAcceptanceTest {
+
+        @TestConfiguration
+        static class SlowDatabaseConfig {
+
+                @Bean
+                static BeanPostProcessor slowDatabase() {
+                        return new BeanPostProcessor() {
+                                @Override
+                                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                                        return bean instanceof DataSource dataSource && "dataSource".equals(beanName)
+                                                        ? new SlowDataSource(dataSource)
+                                                        : bean;
+                                }
+                        };
+                }
+        }
+
+        /**
+         * Stands in for a database that has slowed down: every connection
+         * checkout waits for the configured delay.
+         */
+        static class SlowDataSource extends DelegatingDataSource {
+                static volatile long delayMillis;
+
+                SlowDataSource(DataSource target) {
+                        super(target);
+                }
+
+                @Override
+                public Connection getConnection() throws SQLException {
+                        try {
+                                Thread.sleep(delayMillis);
+                        } catch (InterruptedException ex) {
+                                Thread.currentThread().interrupt();
+                        }
+                        return super.getConnection();
+                }
+        }
+
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private OrderRepository orderRepository;
+
+        @Autowired
+        private CustomerRepository customerRepository;
+
+        @Autowired
+        private AdaptiveConcurrencyLimiter limiter;
+
+        private final HttpClient httpClient = HttpClient.newHttpClient();
+
+        @AfterEach
+        void tearDown() {
+                SlowDataSource.delayMillis = 0;
+        }
+
+        @Test
+        void slowDatabase_ShouldShedReadsWithRetryAfterAndStillAdmitWrites() throws Exception {
+                // Given
+                Customer customer = customerRepository.save(new Customer(null, "Alice",
+                                "alice." + System.currentTimeMillis() + "@example.com", "123 Test Lane",
+                                LocalDateTime.now(), 0));
+                Order order = orderRepository.save(new Order(null, customer.getId(), "Product", 1,
+                                LocalDateTime.now()));
+                SlowDataSource.delayMillis = 500;
+
+                // When
+                List<CompletableFuture<HttpResponse<String>>> reads = new ArrayList<>();
+                for (int i = 0; i < 20; i++) {
+                        reads.add(httpClient.sendAsync(request("/api/orders/" + order.getId()).build(),
+                                        HttpResponse.BodyHandlers.ofString()));
+                }
+                long deadline = System.currentTimeMillis() + 5000;
+                while (limiter.getInflight() < 4 && System.currentTimeMillis() < deadline) {
+                        Thread.sleep(10);
+                }
+                HttpResponse<String> write = httpClient.send(request("/api/orders")
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString("{\"customerId\":" + customer.getId()
+                                                + ",\"product\":\"Widget\",\"quantity\":1}"))
+                                .build(), HttpResponse.BodyHandlers.ofString());
+
+                // Then
+                assertEquals(200, write.statusCode());
+                int admitted = 0;
+                int shed = 0;
+                for (CompletableFuture<HttpResponse<String>> read : reads) {
+                        HttpResponse<String> response = read.join();
+                        if (response.statusCode() == 200) {
+                                admitted++;
+                        } else {
+                                assertEquals(503, response.statusCode());
+                                assertEquals(Optional.of("1"), response.headers().firstValue("Retry-After"));
+                                assertTrue(response.body().contains("\"status\":503"));
+                                shed++;
+                        }
+                }
+                // Reads may use 80% of the limit of five; the last slot is kept for writes.
+                assertTrue(admitted >= 4, "admitted " + admitted);
+                assertTrue(shed >= 10, "shed " + shed);
+        }
+
+        private HttpRequest.Builder request(String path) {
+                return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        }
+}
@@ -0,0 +1,64 @@
+package com.example.order_service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.order_service.datasource.ConsistentHashRing;
+
+public class ConsistentHashRingUnitTest {
+
+    private static final int KEYS = 100_000;
+
+    @Test
+    void nodeFor_ShouldSpreadKeysEvenly() {
+        // Given
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("shard-0", "shard-1", "shard-2", "shard-3"), 128);
+        Map<String, Integer> counts = new HashMap<>();
+
+        // When
+        for (long key = 1; key <= KEYS; key++) {
+            counts.merge(ring.nodeFor(key), 1, Integer::sum);
+        }
+
+        // Then
+        assertEquals(4, counts.size());
+        counts.values().forEach(count -> assertEquals(KEYS / 4, count, KEYS * 0.05));
+    }
+
+    @Test
+    void addingNode_ShouldOnlyMoveKeysToTheNewNode() {
+        // Given
+        ConsistentHashRing before = new ConsistentHashRing(List.of("shard-0", "shard-1", "shard-2", "shard-3"), 128);
+        ConsistentHashRing after = new ConsistentHashRing(
+                List.of("shard-0", "shard-1", "shard-2", "shard-3", "shard-4"), 128);
+        int moved = 0;
+
+        // When & Then
+        for (long key = 1; key <= KEYS; key++) {
+            String oldNode = before.nodeFor(key);
+            String newNode = after.nodeFor(key);
+            if (!oldNode.equals(newNode)) {
+                assertEquals("shard-4", newNode);
+                moved++;
+            }
+        }
+        assertEquals(KEYS / 5, moved, KEYS * 0.05);
+    }
+
+    @Test
+    void nodeFor_ShouldBeStableAcrossInstances() {
+        // Given
+        ConsistentHashRing first = new ConsistentHashRing(List.of("a", "b", "c"), 64);
+        ConsistentHashRing second = new ConsistentHashRing(List.of("a", "b", "c"), 64);
+
+        // When & Then
+        for (long key = 1; key <= 1_000; key++) {
+            assertEquals(first.nodeFor(key), second.nodeFor(key));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.order_service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -15,6 +16,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -48,6 +50,111 @@ public class CustomerControllerAcceptanceTest {
                                 .andExpect(jsonPath("$.name").value("John Doe"));
         }
 
+        @Test
+        void createCustomer_WithExistingId_ShouldUpdateCustomer() throws Exception {
+                // Given
+                Map<String, Object> customerRequest = new HashMap<>();
+                customerRequest.put("name", "John Doe");
+                customerRequest.put("email", "john.doe." + System.currentTimeMillis() + "@example.com");
+                String created = mockMvc.perform(post("/api/customers")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(customerRequest)))
+                                .andExpect(status().isOk())
+                                .andReturn().getResponse().getContentAsString();
+                long customerId = objectMapper.readTree(created).get("id").asLong();
+
+                // When & Then
+                customerRequest.put("id", customerId);
+                customerRequest.put("name", "Johnny Doe");
+                mockMvc.perform(post("/api/customers")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(customerRequest)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.id").value(customerId))
+                                .andExpect(jsonPath("$.name").value("Johnny Doe"));
+        }
+
+        @Test
+        void createCustomer_WithRegisteredEmail_ShouldReturnConflict() throws Exception {
+                // Given
+                Map<String, Object> customerRequest = new HashMap<>();
+                customerRequest.put("name", "John Doe");
+                customerRequest.put("email", "john.doe." + System.currentTimeMillis() + "@example.com");
+                mockMvc.perform(post("/api/customers")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(customerRequest)))
+                                .andExpect(status().isOk());
+
+                // When & Then
+                customerRequest.put("name", "Johnny Doe");
+                mockMvc.perform(post("/api/customers")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(customerRequest)))
+                                .andExpect(status().isConflict())
+                                .andExpect(jsonPath("$.message")
+                                                .value("Email " + customerRequest.get("email") + " is already registered"));
+        }
+
+        @Test
+        void getCustomerByEmail_ShouldReturnCustomerOrNotFound() throws Exception {
+                // Given
+                String email = "jane.doe." + System.currentTimeMillis() + "@example.com";
+                Map<String, Object> customerRequest = new HashMap<>();
+                customerRequest.put("name", "Jane Doe");
+                customerRequest.put("email", email);
+                mockMvc.perform(post("/api/customers")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(customerRequest)))
+                                .andExpect(status().isOk());
+
+                // When & Then
+                mockMvc.perform(get("/api/customers").param("email", email))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.name").value("Jane Doe"))
+                                .andExpect(jsonPath("$._links.self.href").exists());
+                mockMvc.perform(get("/api/customers").param("email", "nobody@example.com"))
+                                .andExpect(status().isNotFound());
+        }
+
+        @Test
+        void getCustomerWithOrders_ShouldCombineCustomerAndOrderPage() throws Exception {
+                // Given
+                Map<String, Object> customerRequest = new HashMap<>();
+                customerRequest.put("name", "Jane Doe");
+                customerRequest.put("email", "jane.doe." + System.currentTimeMillis() + "@example.com");
+                String created = mockMvc.perform(post("/api/customers")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(customerRequest)))
+                                .andExpect(status().isOk())
+                                .andReturn().getResponse().getContentAsString();
+                long customerId = objectMapper.readTree(created).get("id").asLong();
+                for (int i = 1; i <= 3; i++) {
+                        Map<String, Object> orderRequest = new HashMap<>();
+                        orderRequest.put("customerId", customerId);
+                        orderRequest.put("product", "Product " + i);
+                        orderRequest.put("quantity", i);
+                        mockMvc.perform(post("/api/orders")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(objectMapper.writeValueAsString(orderRequest)))
+                                        .andExpect(status().isOk());
+                }
+
+                // When
+                MvcResult result = mockMvc.perform(get("/api/customers/{id}/orders", customerId).param("size", "2"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                // Then
+                mockMvc.perform(asyncDispatch(result))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.customer.name").value("Jane Doe"))
+                                .andExpect(jsonPath("$.orders.content.length()").value(2))
+                                .andExpect(jsonPath("$.orders.page.totalElements").value(3));
+                mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/customers/{id}/orders", customerId + 1000))
+                                .andReturn()))
+                                .andExpect(status().isNotFound());
+        }
+
         @Test
         void getCustomerById_ShouldReturnCustomerDetails() throws Exception {
                 // Given
@@ -72,6 +179,69 @@ public class CustomerControllerAcceptanceTest {
                                 .andExpect(jsonPath("$.name").value("Jane Doe"));
         }
 
+        @Test
+        void getCustomersByIds_ShouldReturnFoundCustomersWithLinksAndReportMissingIds() throws Exception {
+                // Given
+                Map<String, Object> customerRequest = new HashMap<>();
+                customerRequest.put("name", "Jane Doe");
+                customerRequest.put("email", "jane.doe." + System.currentTimeMillis() + "@example.com"); // Unique email
+                customerRequest.put("address", "456 Test Avenue");
+
+                String response = mockMvc.perform(post("/api/customers")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(customerRequest)))
+                                .andReturn()
+                                .getResponse()
+                                .getContentAsString();
+
+                Long customerId = objectMapper.readTree(response).get("id").asLong();
+                String single = mockMvc.perform(get("/api/customers/{id}", customerId))
+                                .andReturn().getResponse().getContentAsString();
+
+                // When
+                String multi = mockMvc.perform(get("/api/customers")
+                                .param("ids", String.valueOf(customerId))
+                                .param("ids", String.valueOf(customerId + 1000)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.found.length()").value(1))
+                                .andExpect(jsonPath("$.found[0].id").value(customerId))
+                                .andExpect(jsonPath("$.found[0].name").value("Jane Doe"))
+                                .andExpect(jsonPath("$.notFound[0]").value(customerId + 1000))
+                                .andReturn().getResponse().getContentAsString();
+
+                // Then
+                assertEquals(objectMapper.readTree(single).get("_links"),
+                                objectMapper.readTree(multi).get("found").get(0).get("_links"));
+        }
+
+        @Test
+        void getCustomerById_WithMatchingETag_ShouldReturnNotModified() throws Exception {
+                // Given
+                Map<String, Object> customerRequest = new HashMap<>();
+                customerRequest.put("name", "Jane Doe");
+                customerRequest.put("email", "jane.doe." + System.currentTimeMillis() + "@example.com"); // Unique email
+                customerRequest.put("address", "456 Test Avenue");
+
+                String response = mockMvc.perform(post("/api/customers")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(customerRequest)))
+                                .andReturn()
+                                .getResponse()
+                                .getContentAsString();
+
+                Long customerId = objectMapper.readTree(response).get("id").asLong();
+                String eTag = mockMvc.perform(get("/api/customers/{id}", customerId))
+                                .andExpect(status().isOk())
+                                .andReturn().getResponse().getHeader("ETag");
+
+                // When & Then
+                mockMvc.perform(get("/api/customers/{id}", customerId).header("If-None-Match", eTag))
+                                .andExpect(status().isNotModified());
+                mockMvc.perform(get("/api/customers/{id}", customerId).header("If-None-Match", "\"stale\""))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("ETag", eTag));
+        }
+
         @Test
         void deleteCustomer_ShouldReturnSuccessMessage() throws Exception {
                 // Given
@@ -90,8 +260,13 @@ public class CustomerControllerAcceptanceTest {
 
                 Long customerId = objectMapper.readTree(response).get("id").asLong();
 
-                // When & Then
-                mockMvc.perform(delete("/api/customers/{id}", customerId))
+                // When
+                MvcResult result = mockMvc.perform(delete("/api/customers/{id}", customerId))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                // Then
+                mockMvc.perform(asyncDispatch(result))
                                 .andExpect(status().isOk())
                                 .andExpect(content().string("Cascading delete successful")); // Update expected response
         }
@@ -0,0 +1,93 @@
+package com.example.order_service;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.example.order_service.analytics.OrderColumnStore;
+import com.example.order_service.analytics.OrderSearchIndex;
+import com.example.order_service.model.Customer;
+import com.example.order_service.model.Order;
+import com.example.order_service.repository.CustomerRepository;
+import com.example.order_service.repository.OrderRepository;
+import com.example.order_service.service.OrderService;
+
+@SpringBootTest(properties = { "order-service.columnar.enabled=true", "order-service.search.enabled=true" })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@EntityScan(basePackages = "com.example.order_service.model") // Specify the package for entities
+@DirtiesContext
+public class CustomerDeletionAcceptanceTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private OrderService orderService;
+
+        @Autowired
+        private OrderColumnStore orderColumnStore;
+
+        @Autowired
+        private OrderSearchIndex orderSearchIndex;
+
+        @Autowired
+        private OrderRepository orderRepository;
+
+        @Autowired
+        private CustomerRepository customerRepository;
+
+        @BeforeEach
+        void setUp() {
+                orderRepository.deleteAll(); // Clear orders before each test
+                customerRepository.deleteAll(); // Clear customers before each test
+                orderColumnStore.load();
+                orderSearchIndex.load();
+        }
+
+        @Test
+        void deleteCustomer_ShouldRemoveTheirOrdersFromAggregatesAndSearch() throws Exception {
+                // Given
+                Customer alice = customerRepository.save(new Customer(null, "Alice",
+                                "alice." + System.currentTimeMillis() + "@example.com", "123 Test Lane",
+                                LocalDateTime.now(), 0));
+                Customer bob = customerRepository.save(new Customer(null, "Bob",
+                                "bob." + System.currentTimeMillis() + "@example.com", "456 Test Road",
+                                LocalDateTime.now(), 0));
+                orderService.createOrder(new Order(null, alice.getId(), "Laptop Stand", 2, LocalDateTime.now()));
+                orderService.createOrder(new Order(null, alice.getId(), "Laptop Sleeve", 3, LocalDateTime.now()));
+                Order kept = orderService
+                                .createOrder(new Order(null, bob.getId(), "Laptop Stand", 4, LocalDateTime.now()));
+
+                // When
+                MvcResult result = mockMvc.perform(delete("/api/customers/{id}", alice.getId()))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+                mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+                // Then
+                mockMvc.perform(get("/api/analytics/orders").param("product", "Laptop Stand"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.matchingOrders").value(1))
+                                .andExpect(jsonPath("$.totalQuantity").value(4));
+                mockMvc.perform(get("/api/analytics/orders").param("customerId", alice.getId().toString()))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.matchingOrders").value(0));
+                mockMvc.perform(get("/api/orders/search").param("q", "laptop"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.total").value(1))
+                                .andExpect(jsonPath("$.orders[0].id").value(kept.getId()));
+        }
+}
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 
@@ -16,6 +17,7 @@ import com.example.order_service.exception.ResourceNotFoundException;
 import com.example.order_service.model.Customer;
 import com.example.order_service.repository.CustomerRepository;
 import com.example.order_service.repository.OrderRepository;
+import com.example.order_service.service.CustomerEmailFilter;
 import com.example.order_service.service.CustomerService;
 
 @SpringBootTest
@@ -33,6 +35,12 @@ public class CustomerServiceIntegrationTest {
     @Autowired
     private CustomerRepository customerRepository;
 
+    @Autowired
+    private CustomerEmailFilter customerEmailFilter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @BeforeEach
     void setUp() {
         orderRepository.deleteAll(); // Clear orders before each test
@@ -84,4 +92,26 @@ public class CustomerServiceIntegrationTest {
         // Then
         assertThrows(ResourceNotFoundException.class, () -> customerService.getCustomerById(savedCustomer.getId()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getCustomerByEmail_WithLowerIdCommittedAfterRefresh_ShouldFindCustomer() {
+        // Given
+        Customer first = customerService.createCustomer(new Customer(null, "Amy Lee",
+                "amy.lee." + System.currentTimeMillis() + "@example.com", "1 Test Way", LocalDateTime.now(), 0));
+        String lateEmail = "late." + System.currentTimeMillis() + "@example.com";
+        insertCustomer(first.getId() + 10, "early." + System.currentTimeMillis() + "@example.com");
+        customerEmailFilter.refresh();
+
+        // When
+        insertCustomer(first.getId() + 5, lateEmail);
+        customerEmailFilter.refresh();
+
+        // Then
+        assertEquals(first.getId() + 5, customerService.getCustomerByEmail(lateEmail).getId());
+    }
+
+    private void insertCustomer(long id, String email) {
+        jdbcTemplate.update("INSERT INTO customers (id, name, email, address) VALUES (?, 'Imported', ?, 'Elsewhere')",
+                id, email);
+    }
+}
@@ -3,6 +3,7 @@ package com.example.order_service;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -13,14 +14,20 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.example.order_service.exception.BadRequestException;
+import com.example.order_service.exception.ConflictException;
 import com.example.order_service.exception.ResourceNotFoundException;
 import com.example.order_service.model.Customer;
 import com.example.order_service.repository.CustomerRepository;
-import com.example.order_service.repository.OrderRepository;
+import com.example.order_service.service.CustomerEmailFilter;
 import com.example.order_service.service.CustomerService;
+import com.example.order_service.service.OrderService;
+import com.example.order_service.service.SingleFlight;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 public class CustomerServiceUnitTest {
@@ -29,7 +36,13 @@ public class CustomerServiceUnitTest {
     private CustomerRepository customerRepository;
 
     @Mock
-    private OrderRepository orderRepository;
+    private OrderService orderService;
+
+    @Mock
+    private CustomerEmailFilter customerEmailFilter;
+
+    @Spy
+    private SingleFlight singleFlight = new SingleFlight(Duration.ofSeconds(1), new SimpleMeterRegistry());
 
     @InjectMocks
     private CustomerService customerService;
@@ -70,6 +83,59 @@ public class CustomerServiceUnitTest {
         assertEquals(testCustomer.getEmail(), savedCustomer.getEmail());
         assertEquals(testCustomer.getAddress(), savedCustomer.getAddress());
         verify(customerRepository, times(1)).save(any(Customer.class));
+        verify(customerRepository, never()).existsByEmail(anyString()); // The filter has never seen the email
+        verify(customerEmailFilter).add(testCustomer.getEmail());
+    }
+
+    @Test
+    void createCustomer_WithRegisteredEmail_ShouldThrowConflictException() {
+        // Given
+        testCustomer.setId(null);
+        when(customerEmailFilter.mightExist("test@example.com")).thenReturn(true);
+        when(customerRepository.existsByEmail("test@example.com")).thenReturn(true);
+
+        // When & Then
+        assertThrows(ConflictException.class, () -> customerService.createCustomer(testCustomer));
+        verify(customerRepository, never()).save(any(Customer.class));
+    }
+
+    @Test
+    void createCustomer_WithExistingIdKeepingEmail_ShouldUpdateCustomer() {
+        // Given
+        when(customerEmailFilter.mightExist("test@example.com")).thenReturn(true);
+        when(customerRepository.existsByEmailAndIdNot("test@example.com", testCustomer.getId())).thenReturn(false);
+        when(customerRepository.save(testCustomer)).thenReturn(testCustomer);
+
+        // When
+        Customer saved = customerService.createCustomer(testCustomer);
+
+        // Then
+        assertEquals(testCustomer.getId(), saved.getId());
+        verify(customerRepository, never()).existsByEmail(anyString());
+    }
+
+    @Test
+    void getCustomerByEmail_WhenFilterRulesItOut_ShouldNotQuery() {
+        // Given
+        when(customerEmailFilter.isCurrent()).thenReturn(true);
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> customerService.getCustomerByEmail("new@example.com"));
+        verify(customerRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void getCustomerByEmail_WhenFilterIsBehind_ShouldConfirmNegativeInDatabase() {
+        // Given
+        when(customerEmailFilter.isCurrent()).thenReturn(false);
+        when(customerRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testCustomer));
+
+        // When
+        Customer found = customerService.getCustomerByEmail("test@example.com");
+
+        // Then
+        assertEquals(testCustomer.getId(), found.getId());
+        verify(customerEmailFilter, never()).recordFalsePositive();
     }
 
     @Test
@@ -165,33 +231,33 @@ public class CustomerServiceUnitTest {
     @Test
     void deleteCustomer_WithExistingId_ShouldDeleteCustomerAndOrders() {
         // Given
-        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
-        doNothing().when(orderRepository).deleteByCustomerId(1L);
-        doNothing().when(customerRepository).deleteById(1L);
+        when(customerRepository.existsById(1L)).thenReturn(true);
+        when(customerRepository.deleteByIdReturningCount(1L)).thenReturn(1);
 
         // When
         customerService.deleteCustomer(1L);
 
         // Then
-        verify(customerRepository, times(1)).findById(1L);
-        verify(orderRepository, times(1)).deleteByCustomerId(1L);
-        verify(customerRepository, times(1)).deleteById(1L);
+        verify(customerRepository, times(1)).existsById(1L);
+        verify(orderService, times(1)).deleteAllOrders(1L);
+        verify(customerRepository, times(1)).deleteByIdReturningCount(1L);
+        verify(customerRepository, never()).findById(anyLong());
     }
 
     @Test
     void deleteCustomer_WithNonExistingId_ShouldThrowResourceNotFoundException() {
         // Given
         Long nonExistingId = 999L;
-        when(customerRepository.findById(nonExistingId)).thenReturn(Optional.empty());
+        when(customerRepository.existsById(nonExistingId)).thenReturn(false);
 
         // When & Then
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
                 () -> customerService.deleteCustomer(nonExistingId));
 
         assertEquals("Cannot delete. Customer with ID " + nonExistingId + " not found.", exception.getMessage());
-        verify(customerRepository, times(1)).findById(nonExistingId);
-        verify(orderRepository, never()).deleteByCustomerId(anyLong());
-        verify(customerRepository, never()).deleteById(anyLong());
+        verify(customerRepository, times(1)).existsById(nonExistingId);
+        verify(orderService, never()).deleteAllOrders(anyLong());
+        verify(customerRepository, never()).deleteByIdReturningCount(anyLong());
     }
 
     @Test
@@ -0,0 +1,108 @@
+package com.example.order_service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.example.order_service.model.CustomerDTO;
+import com.example.order_service.model.OrderDTO;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Compares the direct DTO serializers with Jackson's reflective bean
+ * serializer on a page of 50 orders and 50 customers. Not run by the test
+ * suite; start it with
+ *
+ * <pre>
+ * mvn test-compile org.codehaus.mojo:exec-maven-plugin:3.5.0:exec -Dexec.classpathScope=test \
+ *     -Dexec.executable=java -Dexec.args="-cp %classpath com.example.order_service.DtoSerializationBenchmark"
+ * </pre>
+ *
+ * The gc profiler reports allocated bytes per operation next to the timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoSerializationBenchmark {
+
+    private final ObjectMapper direct = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    private final ObjectMapper reflective = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .disable(MapperFeature.USE_ANNOTATIONS)
+            .build();
+
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    private List<OrderDTO> orders;
+    private List<CustomerDTO> customers;
+
+    @Setup
+    public void setUp() {
+        orders = new ArrayList<>();
+        customers = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.of(2025, 3, 1, 10, 0, 0, 123_456_000);
+        for (int i = 0; i < 50; i++) {
+            orders.add(new OrderDTO((long) i, now.plusMinutes(i), i + 1));
+            customers.add(new CustomerDTO((long) i, "Customer " + i, "customer" + i + "@example.com", i));
+        }
+    }
+
+    @Benchmark
+    public void ordersDirect() throws IOException {
+        direct.writeValue(sink, orders);
+    }
+
+    @Benchmark
+    public void ordersReflective() throws IOException {
+        reflective.writeValue(sink, orders);
+    }
+
+    @Benchmark
+    public void customersDirect() throws IOException {
+        direct.writeValue(sink, customers);
+    }
+
+    @Benchmark
+    public void customersReflective() throws IOException {
+        reflective.writeValue(sink, customers);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DtoSerializationBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
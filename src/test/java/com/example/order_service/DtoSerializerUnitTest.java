@@ -0,0 +1,82 @@
+package com.example.order_service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.http.HttpStatus;
+
+import com.example.order_service.model.CustomerDTO;
+import com.example.order_service.model.ErrorResponse;
+import com.example.order_service.model.OrderDTO;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+public class DtoSerializerUnitTest {
+
+    private final ObjectMapper direct = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    // Ignoring annotations falls back to Jackson's reflective bean serializer.
+    private final ObjectMapper reflective = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(MapperFeature.USE_ANNOTATIONS)
+            .build();
+
+    @Test
+    void orderDTO_ShouldSerializeLikeReflectiveSerializer() throws Exception {
+        // Given
+        List<LocalDateTime> timestamps = List.of(
+                LocalDateTime.of(2025, 3, 1, 10, 0),
+                LocalDateTime.of(2025, 3, 1, 10, 0, 5),
+                LocalDateTime.of(2025, 12, 31, 23, 59, 59, 5_000_000),
+                LocalDateTime.of(1999, 1, 2, 3, 4, 5, 123_456_000),
+                LocalDateTime.of(2025, 6, 7, 8, 9, 10, 123_456_789),
+                LocalDateTime.of(12025, 1, 1, 0, 0));
+
+        // When & Then
+        for (LocalDateTime timestamp : timestamps) {
+            OrderDTO order = new OrderDTO(42L, timestamp, 3);
+            assertEquals(reflective.writeValueAsString(order), direct.writeValueAsString(order));
+        }
+        OrderDTO empty = new OrderDTO(null, null, null);
+        assertEquals(reflective.writeValueAsString(empty), direct.writeValueAsString(empty));
+    }
+
+    @Test
+    void customerDTOAndErrorResponse_ShouldSerializeLikeReflectiveSerializer() throws Exception {
+        // Given
+        CustomerDTO customer = new CustomerDTO(7L, "Zoë \"Q\" Smith", "zoe@example.com", 12);
+        CustomerDTO empty = new CustomerDTO(null, null, null, null);
+        ErrorResponse error = new ErrorResponse(HttpStatus.NOT_FOUND, "Order not found with id: 1");
+
+        // When & Then
+        assertEquals(reflective.writeValueAsString(customer), direct.writeValueAsString(customer));
+        assertEquals(reflective.writeValueAsString(empty), direct.writeValueAsString(empty));
+        assertEquals(reflective.writeValueAsString(error), direct.writeValueAsString(error));
+    }
+
+    @Test
+    void entityModel_ShouldUnwrapDTOFields() throws Exception {
+        // Given
+        EntityModel<OrderDTO> model = EntityModel.of(new OrderDTO(1L, LocalDateTime.of(2025, 3, 1, 10, 0), 2),
+                Link.of("/api/orders/1"));
+
+        // When
+        String json = direct.writeValueAsString(model);
+
+        // Then
+        assertEquals("{\"id\":1,\"createdAt\":\"2025-03-01T10:00:00\",\"quantity\":2,"
+                + "\"links\":[{\"rel\":\"self\",\"href\":\"/api/orders/1\"}]}", json);
+    }
+}
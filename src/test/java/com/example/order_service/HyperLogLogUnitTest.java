@@ -0,0 +1,82 @@
+package com.example.order_service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.order_service.analytics.HyperLogLog;
+
+public class HyperLogLogUnitTest {
+
+    @Test
+    void estimate_WithSmallCardinality_ShouldBeNearlyExact() {
+        // Given
+        HyperLogLog sketch = new HyperLogLog();
+        for (long id = 1; id <= 500; id++) {
+            sketch.add(id);
+            sketch.add(id); // Duplicates must not be counted twice
+        }
+
+        // When
+        long estimate = sketch.estimate();
+
+        // Then
+        assertEquals(500, estimate, 5);
+    }
+
+    @Test
+    void estimate_WithLargeCardinality_ShouldBeWithinThreePercent() {
+        // Given
+        HyperLogLog sketch = new HyperLogLog();
+        for (long id = 1; id <= 1_000_000; id++) {
+            sketch.add(id);
+        }
+
+        // When
+        long estimate = sketch.estimate();
+
+        // Then
+        assertEquals(1_000_000, estimate, 30_000);
+    }
+
+    @Test
+    void merge_ShouldEstimateUnionOfOverlappingSketches() {
+        // Given
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        for (long id = 1; id <= 60_000; id++) {
+            first.add(id);
+        }
+        for (long id = 40_001; id <= 100_000; id++) {
+            second.add(id);
+        }
+
+        // When
+        first.merge(second);
+
+        // Then
+        assertEquals(100_000, first.estimate(), 2_000);
+    }
+
+    @Test
+    void fromBytes_ShouldRestoreIdenticalSketch() {
+        // Given
+        HyperLogLog sketch = new HyperLogLog();
+        for (long id = 1; id <= 10_000; id++) {
+            sketch.add(id);
+        }
+
+        // When
+        HyperLogLog restored = HyperLogLog.fromBytes(sketch.toBytes());
+
+        // Then
+        assertEquals(sketch.getPrecision(), restored.getPrecision());
+        assertEquals(sketch.estimate(), restored.estimate());
+    }
+
+    @Test
+    void merge_WithDifferentPrecision_ShouldThrowIllegalArgumentException() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(12).merge(new HyperLogLog(14)));
+    }
+}
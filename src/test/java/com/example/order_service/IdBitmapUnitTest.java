@@ -0,0 +1,68 @@
+package com.example.order_service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.order_service.analytics.IdBitmap;
+
+public class IdBitmapUnitTest {
+
+    @Test
+    void addAndRemove_AcrossDenseAndSparseContainers_ShouldMatchASortedSet() {
+        // Given
+        IdBitmap bitmap = new IdBitmap();
+        TreeSet<Long> expected = new TreeSet<>();
+        Random random = new Random(11);
+        // A dense run that outgrows the array form, plus scattered IDs far apart
+        for (long id = 1; id <= 10_000; id++) {
+            assertTrue(bitmap.add(id));
+            expected.add(id);
+        }
+        for (int i = 0; i < 2_000; i++) {
+            long id = random.nextLong(1L << 40);
+            assertEquals(expected.add(id), bitmap.add(id));
+        }
+
+        // When
+        for (long id = 1; id <= 9_000; id++) {
+            assertTrue(bitmap.remove(id)); // Shrinks the dense container back to the array form
+            expected.remove(id);
+        }
+        assertFalse(bitmap.remove(1));
+
+        // Then
+        assertEquals(expected.size(), bitmap.cardinality());
+        List<Long> descending = new ArrayList<>();
+        bitmap.forEachDescending(descending::add);
+        assertEquals(new ArrayList<>(expected.descendingSet()), descending);
+        assertTrue(bitmap.contains(9_001));
+        assertFalse(bitmap.contains(9_000));
+    }
+
+    @Test
+    void addAll_ShouldUnionBitmaps() {
+        // Given
+        IdBitmap first = new IdBitmap();
+        IdBitmap second = new IdBitmap();
+        first.add(1);
+        first.add(70_000);
+        second.add(70_000);
+        second.add(5);
+
+        // When
+        first.addAll(second);
+
+        // Then
+        assertEquals(3, first.cardinality());
+        assertTrue(first.contains(5));
+        second.remove(5);
+        second.remove(70_000);
+        assertTrue(second.isEmpty());
+    }
+}
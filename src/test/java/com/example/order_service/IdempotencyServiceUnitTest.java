@@ -0,0 +1,196 @@
+package com.example.order_service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.order_service.exception.BadRequestException;
+import com.example.order_service.exception.ConflictException;
+import com.example.order_service.service.IdempotencyService;
+
+public class IdempotencyServiceUnitTest {
+
+    @Test
+    void execute_ShouldReplayResultForRepeatedKey() {
+        // Given
+        IdempotencyService service = new IdempotencyService(Duration.ofMinutes(1), 100, Duration.ofSeconds(5));
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        IdempotencyService.Outcome<Integer> first = service.execute("key", "body", calls::incrementAndGet);
+        IdempotencyService.Outcome<Integer> second = service.execute("key", "body", calls::incrementAndGet);
+
+        // Then
+        assertEquals(1, calls.get());
+        assertFalse(first.isReplayed());
+        assertTrue(second.isReplayed());
+        assertEquals(first.getValue(), second.getValue());
+    }
+
+    @Test
+    void execute_ShouldRejectKeyReusedWithDifferentBody() {
+        // Given
+        IdempotencyService service = new IdempotencyService(Duration.ofMinutes(1), 100, Duration.ofSeconds(5));
+        service.execute("key", "body", () -> 1);
+
+        // When & Then
+        assertThrows(BadRequestException.class, () -> service.execute("key", "other body", () -> 2));
+    }
+
+    @Test
+    void execute_ShouldNotRememberFailures() {
+        // Given
+        IdempotencyService service = new IdempotencyService(Duration.ofMinutes(1), 100, Duration.ofSeconds(5));
+
+        // When
+        assertThrows(IllegalStateException.class, () -> service.execute("key", "body", () -> {
+            throw new IllegalStateException("boom");
+        }));
+        IdempotencyService.Outcome<Integer> retry = service.execute("key", "body", () -> 2);
+
+        // Then
+        assertFalse(retry.isReplayed());
+        assertEquals(2, retry.getValue());
+    }
+
+    @Test
+    void execute_ShouldEvictExpiredAndOldestEntries() throws InterruptedException {
+        // Given
+        IdempotencyService bounded = new IdempotencyService(Duration.ofMinutes(1), 3, Duration.ofSeconds(5));
+        IdempotencyService expiring = new IdempotencyService(Duration.ofMillis(20), 100, Duration.ofSeconds(5));
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            bounded.execute("key-" + i, "body", () -> 1);
+        }
+        expiring.execute("key", "body", () -> 1);
+        Thread.sleep(50);
+
+        // Then
+        assertEquals(3, bounded.size());
+        assertTrue(bounded.execute("key-9", "body", () -> 2).isReplayed());
+        assertFalse(bounded.execute("key-0", "body", () -> 2).isReplayed());
+        assertEquals(0, expiring.size());
+        assertFalse(expiring.execute("key", "body", () -> 2).isReplayed());
+    }
+
+    @Test
+    void execute_ShouldCoalesceConcurrentRequestsWithSameKey() throws Exception {
+        // Given
+        IdempotencyService service = new IdempotencyService(Duration.ofMinutes(1), 100, Duration.ofSeconds(5));
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<IdempotencyService.Outcome<Integer>>> results = new ArrayList<>();
+        results.add(executor.submit(() -> service.execute("key", "body", () -> {
+            started.countDown();
+            await(release);
+            return calls.incrementAndGet();
+        })));
+        started.await(5, TimeUnit.SECONDS);
+        for (int i = 0; i < 7; i++) {
+            results.add(executor.submit(() -> service.execute("key", "body", calls::incrementAndGet)));
+        }
+        Thread.sleep(50);
+        release.countDown();
+
+        // Then
+        for (Future<IdempotencyService.Outcome<Integer>> result : results) {
+            assertEquals(1, result.get(5, TimeUnit.SECONDS).getValue());
+        }
+        assertEquals(1, calls.get());
+        executor.shutdown();
+    }
+
+    @Test
+    void execute_WithActionThrowingError_ShouldForgetKey() {
+        // Given
+        IdempotencyService service = new IdempotencyService(Duration.ofMinutes(1), 100, Duration.ofSeconds(5));
+
+        // When
+        assertThrows(Error.class, () -> service.execute("key", "body", () -> {
+            throw new Error("boom");
+        }));
+        IdempotencyService.Outcome<Integer> retry = service.execute("key", "body", () -> 2);
+
+        // Then
+        assertFalse(retry.isReplayed());
+        assertEquals(2, retry.getValue());
+    }
+
+    @Test
+    void execute_WhileSameKeyRunsPastWaitTimeout_ShouldThrowConflictException() throws Exception {
+        // Given
+        IdempotencyService service = new IdempotencyService(Duration.ofMinutes(1), 100, Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<IdempotencyService.Outcome<Integer>> first = executor.submit(() -> service.execute("key", "body",
+                () -> {
+                    started.countDown();
+                    await(release);
+                    return 1;
+                }));
+        started.await(5, TimeUnit.SECONDS);
+
+        // When & Then
+        assertThrows(ConflictException.class, () -> service.execute("key", "body", () -> 2));
+        release.countDown();
+        assertEquals(1, first.get(5, TimeUnit.SECONDS).getValue());
+        assertTrue(service.execute("key", "body", () -> 2).isReplayed());
+        executor.shutdown();
+    }
+
+    @Test
+    void execute_WhenFull_ShouldNotEvictRunningEntries() throws Exception {
+        // Given
+        IdempotencyService service = new IdempotencyService(Duration.ofMinutes(1), 2, Duration.ofSeconds(5));
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<IdempotencyService.Outcome<Integer>> first = executor.submit(() -> service.execute("running",
+                "body", () -> {
+                    started.countDown();
+                    await(release);
+                    return calls.incrementAndGet();
+                }));
+        started.await(5, TimeUnit.SECONDS);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            service.execute("key-" + i, "body", () -> 0);
+        }
+        Future<IdempotencyService.Outcome<Integer>> repeat = executor.submit(() -> service.execute("running",
+                "body", calls::incrementAndGet));
+        Thread.sleep(50);
+        release.countDown();
+
+        // Then
+        assertEquals(1, first.get(5, TimeUnit.SECONDS).getValue());
+        assertTrue(repeat.get(5, TimeUnit.SECONDS).isReplayed());
+        assertEquals(1, calls.get());
+        executor.shutdown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
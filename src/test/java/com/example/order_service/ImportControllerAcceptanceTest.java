@@ -0,0 +1,289 @@
+package com.example.order_service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.example.order_service.analytics.OrderColumnStore;
+import com.example.order_service.analytics.OrderSearchIndex;
+import com.example.order_service.model.Customer;
+import com.example.order_service.model.Order;
+import com.example.order_service.repository.CustomerRepository;
+import com.example.order_service.repository.OrderRepository;
+import com.example.order_service.service.BulkImportService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest(properties = { "order-service.import.chunk-size=2", "order-service.import.parser-threads=1",
+                "order-service.columnar.enabled=true", "order-service.search.enabled=true" })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@EntityScan(basePackages = "com.example.order_service.model") // Specify the package for entities
+@DirtiesContext
+public class ImportControllerAcceptanceTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @Autowired
+        private BulkImportService bulkImportService;
+
+        @Autowired
+        private CustomerRepository customerRepository;
+
+        @Autowired
+        private OrderRepository orderRepository;
+
+        @Autowired
+        private OrderColumnStore orderColumnStore;
+
+        @Autowired
+        private OrderSearchIndex orderSearchIndex;
+
+        @BeforeEach
+        void setUp() {
+                orderRepository.deleteAll(); // Clear orders before each test
+                customerRepository.deleteAll(); // Clear customers before each test
+                orderColumnStore.load();
+                orderSearchIndex.load();
+        }
+
+        @Test
+        void importCustomers_FromCsv_ShouldInsertValidRowsAndReportTheRest() throws Exception {
+                // Given
+                customerRepository.save(new Customer(null, "Taken", "taken@example.com", null, LocalDateTime.now(), 0));
+                String csv = "name,email,address\r\n"
+                                + "Ann,ann@example.com,\"Main St,\nApt 1\"\r\n"
+                                + "Bob,taken@example.com,\r\n"
+                                + ",noname@example.com,\r\n"
+                                + "Cid,ann@example.com,\r\n"
+                                + "Dee,dee@example.com,\r\n";
+
+                // When
+                JsonNode report = importFile("customers", "csv", null, csv);
+
+                // Then
+                assertEquals("COMPLETED", report.get("status").asText());
+                assertEquals(2, report.get("rowsImported").asInt());
+                assertEquals(3, report.get("rowsRejected").asInt());
+                JsonNode errors = report.get("errors");
+                assertEquals(2, errors.get(0).get("record").asInt());
+                assertEquals("Email taken@example.com is already registered", errors.get(0).get("message").asText());
+                assertEquals(3, errors.get(1).get("record").asInt());
+                assertEquals("Name is required", errors.get(1).get("message").asText());
+                assertEquals(4, errors.get(2).get("record").asInt());
+                Customer ann = customerRepository.findAll().stream()
+                                .filter(customer -> customer.getEmail().equals("ann@example.com"))
+                                .findFirst().orElseThrow();
+                assertEquals("Main St,\nApt 1", ann.getAddress());
+                assertEquals(3, customerRepository.findAll().size());
+        }
+
+        @Test
+        void importOrders_FromNdjson_ShouldRejectUnknownCustomersAndBadRows() throws Exception {
+                // Given
+                Customer customer = customerRepository
+                                .save(new Customer(null, "Alice", "alice@example.com", null, LocalDateTime.now(), 0));
+                String ndjson = "{\"customerId\":" + customer.getId() + ",\"product\":\"Desk\",\"quantity\":2}\n"
+                                + "{\"customerId\":" + (customer.getId() + 1000) + ",\"product\":\"Lamp\",\"quantity\":1}\n"
+                                + "\n"
+                                + "{\"customerId\":" + customer.getId() + ",\"product\":\"Chair\",\"quantity\":0}\n"
+                                + "{\"customerId\":\n";
+
+                // When
+                JsonNode report = importFile("orders", "ndjson", null, ndjson);
+
+                // Then
+                assertEquals(1, report.get("rowsImported").asInt());
+                assertEquals(3, report.get("rowsRejected").asInt());
+                JsonNode errors = report.get("errors");
+                assertEquals("Customer " + (customer.getId() + 1000) + " not found",
+                                errors.get(0).get("message").asText());
+                assertEquals(3, errors.get(1).get("record").asInt());
+                assertEquals("Quantity must be greater than 0", errors.get(1).get("message").asText());
+                assertTrue(errors.get(2).get("message").asText().startsWith("Malformed JSON"));
+                List<Order> orders = orderRepository.findAll();
+                assertEquals(1, orders.size());
+                assertEquals("Desk", orders.get(0).getProduct());
+        }
+
+        @Test
+        void importOrders_ShouldReachAggregatesAndSearch() throws Exception {
+                // Given
+                Customer customer = customerRepository
+                                .save(new Customer(null, "Alice", "alice@example.com", null, LocalDateTime.now(), 0));
+                String ndjson = "{\"customerId\":" + customer.getId() + ",\"product\":\"Standing Desk\",\"quantity\":2}\n"
+                                + "{\"customerId\":" + customer.getId() + ",\"product\":\"Desk Lamp\",\"quantity\":3}\n"
+                                + "{\"customerId\":" + customer.getId() + ",\"product\":\"Desk Mat\",\"quantity\":4}\n";
+
+                // When
+                JsonNode report = importFile("orders", "ndjson", null, ndjson);
+
+                // Then
+                assertEquals(3, report.get("rowsImported").asInt());
+                mockMvc.perform(get("/api/analytics/orders").param("customerId", customer.getId().toString()))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.matchingOrders").value(3))
+                                .andExpect(jsonPath("$.totalQuantity").value(9));
+                mockMvc.perform(get("/api/orders/search").param("q", "desk"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.total").value(3));
+        }
+
+        @Test
+        void importOrders_FromExportedCsv_ShouldKeepTheirCreationTime() throws Exception {
+                // Given
+                Customer customer = customerRepository
+                                .save(new Customer(null, "Alice", "alice@example.com", null, LocalDateTime.now(), 0));
+                String csv = "id,customer_id,product,quantity,created_at,updated_at\n"
+                                + "7," + customer.getId() + ",Desk,2,2023-05-01T09:30:00,2023-05-02T10:00:00\n"
+                                + "8," + customer.getId() + ",Lamp,1,,\n"
+                                + "9," + customer.getId() + ",Chair,1,yesterday,\n"
+                                + "10," + customer.getId() + ",Rug,1," + LocalDateTime.now().plusDays(1) + ",\n";
+
+                // When
+                JsonNode report = importFile("orders", "csv", null, csv);
+
+                // Then
+                assertEquals(2, report.get("rowsImported").asInt());
+                JsonNode errors = report.get("errors");
+                assertEquals(3, errors.get(0).get("record").asInt());
+                assertTrue(errors.get(0).get("message").asText().contains("is not a date-time"));
+                assertEquals(4, errors.get(1).get("record").asInt());
+                assertTrue(errors.get(1).get("message").asText().endsWith("is in the future"));
+                Order desk = orderRepository.findAll().stream()
+                                .filter(order -> order.getProduct().equals("Desk"))
+                                .findFirst().orElseThrow();
+                assertEquals(LocalDateTime.of(2023, 5, 1, 9, 30), desk.getCreatedAt());
+                Order lamp = orderRepository.findAll().stream()
+                                .filter(order -> order.getProduct().equals("Lamp"))
+                                .findFirst().orElseThrow();
+                assertTrue(lamp.getCreatedAt().isAfter(LocalDateTime.now().minusMinutes(1)));
+        }
+
+        @Test
+        void importCustomers_WhenResumed_ShouldContinueAfterTheLastCommittedChunk() throws Exception {
+                // Given
+                String csv = "name,email\n"
+                                + "Ann,ann@example.com\n"
+                                + "Bob,bob@example.com\n"
+                                + "Cid,cid@example.com\n"
+                                + "Dee,dee@example.com\n"
+                                + "Eve,eve@example.com\n";
+                byte[] bytes = csv.getBytes(StandardCharsets.UTF_8);
+                InputStream cutOff = new FailingInputStream(bytes, csv.indexOf("Eve"));
+                String jobId = "customers-" + System.currentTimeMillis();
+                assertThrows(UncheckedIOException.class, () -> bulkImportService.importFile(
+                                BulkImportService.Target.CUSTOMERS, BulkImportService.Format.CSV, jobId, cutOff));
+                JsonNode job = objectMapper.readTree(mockMvc.perform(get("/api/imports/{jobId}", jobId))
+                                .andExpect(status().isOk())
+                                .andReturn().getResponse().getContentAsString());
+                assertEquals("RUNNING", job.get("status").asText());
+                assertEquals(2, job.get("recordsProcessed").asInt());
+
+                // When
+                JsonNode report = importFile("customers", "csv", jobId, csv);
+
+                // Then
+                assertEquals(2, report.get("recordsSkipped").asInt());
+                assertEquals(3, report.get("rowsImported").asInt());
+                assertEquals(0, report.get("rowsRejected").asInt());
+                assertEquals(5, customerRepository.findAll().size());
+        }
+
+        @Test
+        void importFile_WithMissingCsvColumn_ShouldReturnBadRequest() throws Exception {
+                MvcResult result = mockMvc.perform(post("/api/imports/orders")
+                                .contentType("text/csv")
+                                .content("customer_id,product\n1,Desk\n"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                mockMvc.perform(asyncDispatch(result))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.message").value(
+                                                "The CSV header is missing the column(s) quantity"));
+        }
+
+        @Test
+        void importFile_WithMalformedJobId_ShouldReturnBadRequest() throws Exception {
+                MvcResult result = mockMvc.perform(post("/api/imports/customers")
+                                .param("job", "../jobs")
+                                .contentType("text/csv")
+                                .content("name,email\nAnn,ann@example.com\n"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                mockMvc.perform(asyncDispatch(result))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void importFile_WithUnsupportedTarget_ShouldReturnBadRequest() throws Exception {
+                mockMvc.perform(post("/api/imports/products").content("name\nDesk\n"))
+                                .andExpect(status().isBadRequest());
+        }
+
+        private JsonNode importFile(String target, String format, String job, String body) throws Exception {
+                MvcResult result = mockMvc.perform(post("/api/imports/{target}", target)
+                                .param("format", format)
+                                .param("job", job)
+                                .contentType("csv".equals(format) ? "text/csv" : "application/x-ndjson")
+                                .content(body))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+                String response = mockMvc.perform(asyncDispatch(result))
+                                .andExpect(status().isOk())
+                                .andReturn().getResponse().getContentAsString();
+                return objectMapper.readTree(response);
+        }
+
+        /**
+         * Delivers the first bytes of a file and then fails, like a dropped
+         * upload.
+         */
+        private static final class FailingInputStream extends InputStream {
+                private final InputStream delivered;
+
+                FailingInputStream(byte[] bytes, int length) {
+                        this.delivered = new ByteArrayInputStream(bytes, 0, length);
+                }
+
+                @Override
+                public int read() throws IOException {
+                        byte[] one = new byte[1];
+                        return read(one, 0, 1) < 0 ? -1 : one[0];
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                        int read = delivered.read(buffer, offset, length);
+                        if (read < 0) {
+                                throw new IOException("Connection reset");
+                        }
+                        return read;
+                }
+        }
+}
@@ -0,0 +1,197 @@
+package com.example.order_service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.order_service.analytics.OrderColumnStore;
+import com.example.order_service.model.Customer;
+import com.example.order_service.model.Order;
+import com.example.order_service.model.OrderDTO;
+import com.example.order_service.model.OrderWindowDTO;
+import com.example.order_service.repository.ArchivedOrderRepository;
+import com.example.order_service.repository.CustomerRepository;
+import com.example.order_service.repository.OrderRepository;
+import com.example.order_service.service.ActiveCustomerService;
+import com.example.order_service.service.CustomerService;
+import com.example.order_service.service.OrderArchive;
+import com.example.order_service.service.OrderArchiver;
+import com.example.order_service.service.OrderExportService;
+import com.example.order_service.service.OrderService;
+
+@SpringBootTest(properties = { "order-service.archive.enabled=true", "order-service.archive.interval=PT1H",
+        "order-service.archive.chunk-size=2", "order-service.archive.pause=PT0S",
+        "order-service.columnar.enabled=true" })
+@ActiveProfiles("test")
+@EntityScan(basePackages = "com.example.order_service.model") // Specify the package for entities
+@DirtiesContext
+public class OrderArchiverIntegrationTest {
+
+    @Autowired
+    private OrderArchiver orderArchiver;
+
+    @Autowired
+    private OrderArchive orderArchive;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private OrderColumnStore orderColumnStore;
+
+    @Autowired
+    private ActiveCustomerService activeCustomerService;
+
+    private Customer customer;
+    private LocalDateTime old;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll(); // Clear orders before each test
+        customerRepository.deleteAll(); // Clear customers before each test, cascading to the archive
+        customer = customerRepository.save(new Customer(null, "Alice",
+                "alice." + System.currentTimeMillis() + "@example.com", "123 Test Lane", LocalDateTime.now(), 0));
+        old = orderArchive.getCutoff().minusMonths(2);
+    }
+
+    @Test
+    void archive_ShouldMoveOnlyOrdersOlderThanTheHotWindow() {
+        // Given
+        List<Long> oldIds = List.of(oldOrder("Desk", 0), oldOrder("Lamp", 1), oldOrder("Chair", 2));
+        Order recent = orderRepository.save(new Order(null, customer.getId(), "Monitor", 1, LocalDateTime.now()));
+
+        // When
+        long archived = orderArchiver.archive();
+
+        // Then
+        assertEquals(3, archived);
+        assertEquals(List.of(recent.getId()), orderRepository.findAll().stream().map(Order::getId).toList());
+        assertEquals(3, archivedOrderRepository.count());
+        assertEquals(0, orderArchiver.archive());
+        assertEquals("Desk", orderService.getOrder(oldIds.get(0)).getProduct());
+        assertEquals(old, orderService.getOrder(oldIds.get(0)).getCreatedAt());
+    }
+
+    @Test
+    void reads_ShouldIncludeArchivedOrdersOnlyWhenTheyReachBackFarEnough() {
+        // Given
+        Long oldId = oldOrder("Desk", 0);
+        Order recent = orderRepository.save(new Order(null, customer.getId(), "Monitor", 1, LocalDateTime.now()));
+        orderArchiver.archive();
+
+        // When
+        List<Order> recentRange = orderService.getOrdersByDateRange(orderArchive.getCutoff(),
+                LocalDateTime.now().plusDays(1));
+        List<Order> wholeRange = orderService.getOrdersByDateRange(old.minusDays(1), LocalDateTime.now().plusDays(1));
+        List<Order> sorted = orderService.getOrdersSorted("asc");
+
+        // Then
+        assertEquals(List.of(recent.getId()), recentRange.stream().map(Order::getId).toList());
+        assertEquals(2, wholeRange.size());
+        assertEquals(List.of(oldId, recent.getId()), sorted.stream().map(Order::getId).toList());
+        assertEquals(2, orderService.getOrdersByIds(List.of(oldId, recent.getId())).size());
+    }
+
+    @Test
+    void customerListings_ShouldContinueIntoArchivedOrders() {
+        // Given
+        Long deskId = oldOrder("Desk", 0);
+        Long lampId = oldOrder("Lamp", 1);
+        Order recent = orderRepository.save(new Order(null, customer.getId(), "Monitor", 1, LocalDateTime.now()));
+        orderArchiver.archive();
+
+        // When
+        Page<Order> first = orderService.getAllOrders(customer.getId(), PageRequest.of(0, 2));
+        Page<Order> second = orderService.getAllOrders(customer.getId(), PageRequest.of(1, 2));
+        OrderWindowDTO byProduct = orderService.getAllOrders(customer.getId(), "product,asc", null, 2);
+        OrderWindowDTO rest = orderService.getAllOrders(customer.getId(), "product,asc", byProduct.getNext(), 2);
+        OrderWindowDTO newest = orderService.getAllOrders(customer.getId(), "createdAt,desc", null, 2);
+
+        // Then
+        assertEquals(3, first.getTotalElements());
+        assertEquals(List.of(recent.getId(), deskId), first.getContent().stream().map(Order::getId).toList());
+        assertEquals(List.of(lampId), second.getContent().stream().map(Order::getId).toList());
+        assertEquals(List.of(deskId, lampId), byProduct.getOrders().stream().map(OrderDTO::getId).toList());
+        assertEquals(List.of(recent.getId()), rest.getOrders().stream().map(OrderDTO::getId).toList());
+        assertNull(rest.getNext());
+        assertEquals(List.of(recent.getId(), lampId), newest.getOrders().stream().map(OrderDTO::getId).toList());
+    }
+
+    @Test
+    void loadersAndExport_ShouldIncludeArchivedOrders() {
+        // Given
+        Long oldId = oldOrder("Desk", 20);
+        Order recent = orderRepository.save(new Order(null, customer.getId(), "Monitor", 1, LocalDateTime.now()));
+        orderArchiver.archive();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long exported = orderExportService.exportOrders(OrderExportService.Format.CSV, null, null, out);
+        orderColumnStore.load();
+        activeCustomerService.rebuild();
+
+        // Then
+        assertEquals(2, exported);
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.contains("\r\n" + oldId + ","));
+        assertTrue(csv.contains("\r\n" + recent.getId() + ","));
+        assertEquals(2, orderColumnStore.size());
+        LocalDate oldDay = old.plusDays(20).toLocalDate();
+        assertEquals(1, activeCustomerService.estimateActiveCustomers(oldDay, oldDay).getEstimatedCustomers());
+    }
+
+    @Test
+    void deleteCustomer_ShouldAlsoDeleteArchivedOrders() {
+        // Given
+        Long oldId = oldOrder("Desk", 0);
+        orderArchiver.archive();
+
+        // When
+        customerService.deleteCustomer(customer.getId());
+
+        // Then
+        assertFalse(archivedOrderRepository.existsById(oldId));
+    }
+
+    private Long oldOrder(String product, int days) {
+        Order order = orderRepository.save(new Order(null, customer.getId(), product, 1, LocalDateTime.now()));
+        // Creation dates are set by auditing, so backdate the row directly.
+        jdbcTemplate.update("UPDATE orders SET created_at = ?, updated_at = NULL WHERE id = ?",
+                Timestamp.valueOf(old.plusDays(days)), order.getId());
+        return order.getId();
+    }
+}
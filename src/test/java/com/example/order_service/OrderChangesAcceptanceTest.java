@@ -0,0 +1,190 @@
+package com.example.order_service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.example.order_service.event.OrderEventLog;
+import com.example.order_service.event.OrderEventRelay;
+import com.example.order_service.model.Customer;
+import com.example.order_service.repository.CustomerRepository;
+import com.example.order_service.repository.OrderOutboxRepository;
+import com.example.order_service.repository.OrderRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest(properties = { "order-service.event-log.enabled=true",
+                "order-service.event-log.relay-interval=PT1H" })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@EntityScan(basePackages = "com.example.order_service.model") // Specify the package for entities
+@DirtiesContext
+public class OrderChangesAcceptanceTest {
+
+        @TempDir
+        static Path eventLogDirectory;
+
+        @DynamicPropertySource
+        static void eventLogProperties(DynamicPropertyRegistry registry) {
+                registry.add("order-service.event-log.directory", eventLogDirectory::toString);
+        }
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @Autowired
+        private OrderEventRelay orderEventRelay;
+
+        @Autowired
+        private OrderOutboxRepository orderOutboxRepository;
+
+        @Autowired
+        private OrderRepository orderRepository;
+
+        @Autowired
+        private CustomerRepository customerRepository;
+
+        @Autowired
+        private OrderEventLog orderEventLog;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @BeforeEach
+        void setUp() {
+                orderRepository.deleteAll(); // Clear orders before each test
+                customerRepository.deleteAll(); // Clear customers before each test
+                orderEventRelay.relay(); // Start each test at the end of the log
+        }
+
+        @Test
+        void getChanges_ShouldReturnEveryChangeOnceInOrder() throws Exception {
+                // Given
+                Customer customer = customerRepository
+                                .save(new Customer(null, "Alice",
+                                                "alice." + System.currentTimeMillis() + "@example.com",
+                                                "123 Test Lane", LocalDateTime.now(), 0));
+                long start = orderEventLog.getEndOffset();
+                Map<String, Object> orderRequest = new HashMap<>();
+                orderRequest.put("customerId", customer.getId());
+                orderRequest.put("product", "Test Product");
+                orderRequest.put("quantity", 2);
+                String created = mockMvc.perform(post("/api/orders")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(orderRequest)))
+                                .andExpect(status().isOk())
+                                .andReturn().getResponse().getContentAsString();
+                long orderId = objectMapper.readTree(created).get("id").asLong();
+                orderRequest.put("id", orderId);
+                orderRequest.put("quantity", 5);
+                mockMvc.perform(put("/api/orders")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(orderRequest)))
+                                .andExpect(status().isOk());
+                mockMvc.perform(delete("/api/orders/{id}", orderId)).andExpect(status().isOk());
+
+                // When
+                int relayed = orderEventRelay.relay();
+                MvcResult changes = mockMvc.perform(get("/api/orders/changes").param("since", String.valueOf(start)))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType("application/x-ndjson"))
+                                .andReturn();
+
+                // Then
+                assertEquals(3, relayed);
+                assertEquals(0, orderOutboxRepository.count());
+                String[] lines = changes.getResponse().getContentAsString().split("\n");
+                assertEquals(3, lines.length);
+                JsonNode createdEvent = objectMapper.readTree(lines[0]);
+                assertEquals("CREATED", createdEvent.get("type").asText());
+                assertEquals(orderId, createdEvent.get("orderId").asLong());
+                assertEquals(2, createdEvent.get("order").get("quantity").asInt());
+                assertEquals(5, objectMapper.readTree(lines[1]).get("order").get("quantity").asInt());
+                assertEquals("DELETED", objectMapper.readTree(lines[2]).get("type").asText());
+                assertTrue(objectMapper.readTree(lines[2]).get("order").isNull());
+
+                long next = nextOffset(changes);
+                mockMvc.perform(get("/api/orders/changes").param("since", String.valueOf(next)))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("Next-Offset", String.valueOf(next)))
+                                .andExpect(content().string(""));
+                assertEquals(0, orderEventRelay.relay());
+        }
+
+        @Test
+        void relay_WithLowerIdCommittedLater_ShouldRelayBothEvents() throws Exception {
+                // Given
+                long start = orderEventLog.getEndOffset();
+                insertOutboxEvent(1_000_002L, 42L);
+                assertEquals(1, orderEventRelay.relay());
+
+                // When
+                insertOutboxEvent(1_000_001L, 41L);
+                int relayed = orderEventRelay.relay();
+
+                // Then
+                assertEquals(1, relayed);
+                assertEquals(0, orderOutboxRepository.count());
+                String[] lines = mockMvc.perform(get("/api/orders/changes").param("since", String.valueOf(start)))
+                                .andExpect(status().isOk())
+                                .andReturn().getResponse().getContentAsString().split("\n");
+                assertEquals(2, lines.length);
+                assertEquals(1_000_002L, objectMapper.readTree(lines[0]).get("eventId").asLong());
+                assertEquals(1_000_001L, objectMapper.readTree(lines[1]).get("eventId").asLong());
+                assertEquals(41L, objectMapper.readTree(lines[1]).get("orderId").asLong());
+        }
+
+        @Test
+        void getChanges_WithOffsetInsideEvent_ShouldReturnBadRequest() throws Exception {
+                // Given
+                Customer customer = customerRepository
+                                .save(new Customer(null, "Bob", "bob." + System.currentTimeMillis() + "@example.com",
+                                                "456 Test Road", LocalDateTime.now(), 0));
+                Map<String, Object> orderRequest = new HashMap<>();
+                orderRequest.put("customerId", customer.getId());
+                orderRequest.put("product", "Test Product");
+                orderRequest.put("quantity", 1);
+                mockMvc.perform(post("/api/orders")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(orderRequest)))
+                                .andExpect(status().isOk());
+                orderEventRelay.relay();
+
+                // When & Then
+                mockMvc.perform(get("/api/orders/changes").param("since", "1"))
+                                .andExpect(status().isBadRequest());
+        }
+
+        private void insertOutboxEvent(long id, long orderId) {
+                jdbcTemplate.update("INSERT INTO order_outbox (id, event_type, order_id, payload, created_at) "
+                                + "VALUES (?, 'DELETED', ?, NULL, ?)", id, orderId, LocalDateTime.now());
+        }
+
+        private static long nextOffset(MvcResult result) {
+                return Long.parseLong(result.getResponse().getHeader("Next-Offset"));
+        }
+}
@@ -0,0 +1,123 @@
+package com.example.order_service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.order_service.analytics.OrderColumnStore;
+import com.example.order_service.analytics.OrderScanFilter;
+import com.example.order_service.model.Order;
+import com.example.order_service.model.OrderAggregateDTO;
+
+public class OrderColumnStoreUnitTest {
+
+    private static final String[] PRODUCTS = { "Laptop Stand", "USB-C Hub", "Webcam", "Headphones" };
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private OrderColumnStore store;
+    private List<Order> orders;
+
+    @BeforeEach
+    void setUp() {
+        store = new OrderColumnStore();
+        orders = new ArrayList<>();
+        Random random = new Random(7);
+        // Large enough that scans are split across the fork/join pool
+        for (long id = 1; id <= 200_000; id++) {
+            Order order = new Order(id, (long) random.nextInt(1_000) + 1, PRODUCTS[random.nextInt(PRODUCTS.length)],
+                    random.nextInt(10) + 1, START.plusMinutes(random.nextInt(500_000)));
+            orders.add(order);
+            store.upsert(order);
+        }
+    }
+
+    @Test
+    void aggregate_WithoutFilters_ShouldCoverEveryOrder() {
+        // When
+        OrderAggregateDTO result = store.aggregate(new OrderScanFilter());
+
+        // Then
+        assertEquals(200_000, result.getMatchingOrders());
+        assertEquals(orders.stream().mapToLong(Order::getQuantity).sum(), result.getTotalQuantity());
+        assertEquals(1, result.getMinQuantity());
+        assertEquals(10, result.getMaxQuantity());
+    }
+
+    @Test
+    void aggregate_WithCombinedFilters_ShouldMatchBruteForce() {
+        // Given
+        LocalDateTime startDate = START.plusDays(30);
+        LocalDateTime endDate = START.plusDays(200);
+        OrderScanFilter filter = new OrderScanFilter(3, 7, "USB-C Hub", null, startDate, endDate);
+
+        // When
+        OrderAggregateDTO result = store.aggregate(filter);
+
+        // Then
+        assertAggregateEquals(order -> order.getQuantity() >= 3 && order.getQuantity() <= 7
+                && order.getProduct().equals("USB-C Hub")
+                && !order.getCreatedAt().isBefore(startDate) && !order.getCreatedAt().isAfter(endDate), result);
+    }
+
+    @Test
+    void aggregate_WithCustomerFilter_ShouldMatchBruteForce() {
+        // When
+        OrderAggregateDTO result = store.aggregate(new OrderScanFilter(null, null, null, 42L, null, null));
+
+        // Then
+        assertAggregateEquals(order -> order.getCustomerId() == 42L, result);
+    }
+
+    @Test
+    void aggregate_WithUnknownProduct_ShouldMatchNothing() {
+        // When
+        OrderAggregateDTO result = store.aggregate(new OrderScanFilter(null, null, "Toaster", null, null, null));
+
+        // Then
+        assertEquals(0, result.getMatchingOrders());
+        assertNull(result.getMinQuantity());
+    }
+
+    @Test
+    void upsertAndRemove_ShouldBeReflectedInScans() {
+        // Given
+        Order updated = orders.get(0);
+        updated.setProduct("Toaster");
+        updated.setQuantity(99);
+        store.upsert(updated);
+        // Enough deletes to force a compaction of the tombstoned rows
+        for (int i = 1; i <= 60_000; i++) {
+            store.remove(orders.get(i).getId());
+        }
+        List<Order> remaining = new ArrayList<>(orders.subList(60_001, orders.size()));
+        remaining.add(updated);
+        orders = remaining;
+
+        // When
+        OrderAggregateDTO toasters = store.aggregate(new OrderScanFilter(null, null, "Toaster", null, null, null));
+        OrderAggregateDTO all = store.aggregate(new OrderScanFilter());
+
+        // Then
+        assertEquals(1, toasters.getMatchingOrders());
+        assertEquals(99, toasters.getMaxQuantity());
+        assertEquals(orders.size(), store.size());
+        assertAggregateEquals(order -> true, all);
+    }
+
+    private void assertAggregateEquals(Predicate<Order> predicate, OrderAggregateDTO result) {
+        List<Order> expected = orders.stream().filter(predicate).toList();
+        assertEquals(expected.size(), result.getMatchingOrders());
+        assertEquals(expected.stream().mapToLong(Order::getQuantity).sum(), result.getTotalQuantity());
+        assertEquals(expected.stream().mapToInt(Order::getQuantity).min().orElse(0),
+                result.getMinQuantity() != null ? result.getMinQuantity() : 0);
+        assertEquals(expected.stream().mapToInt(Order::getQuantity).max().orElse(0),
+                result.getMaxQuantity() != null ? result.getMaxQuantity() : 0);
+    }
+}
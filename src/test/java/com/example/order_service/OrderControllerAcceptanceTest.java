@@ -1,11 +1,19 @@
 package com.example.order_service;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,12 +24,14 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.example.order_service.model.Customer;
 import com.example.order_service.model.Order;
 import com.example.order_service.repository.CustomerRepository;
 import com.example.order_service.repository.OrderRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -68,6 +78,46 @@ public class OrderControllerAcceptanceTest {
                                 .andExpect(jsonPath("$.quantity").value(2));
         }
 
+        @Test
+        void createOrder_WithIdempotencyKey_ShouldCreateOrderOnlyOnce() throws Exception {
+                // Given
+                Customer customer = customerRepository
+                                .save(new Customer(null, "Alice",
+                                                "alice." + System.currentTimeMillis() + "@example.com",
+                                                "123 Test Lane", LocalDateTime.now(), 0));
+                Map<String, Object> orderRequest = new HashMap<>();
+                orderRequest.put("customerId", customer.getId());
+                orderRequest.put("product", "Test Product");
+                orderRequest.put("quantity", 2);
+                String key = "order-" + System.nanoTime();
+
+                // When
+                String first = mockMvc.perform(post("/api/orders")
+                                .header("Idempotency-Key", key)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(orderRequest)))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("Idempotent-Replayed", "false"))
+                                .andReturn().getResponse().getContentAsString();
+
+                // Then
+                mockMvc.perform(post("/api/orders")
+                                .header("Idempotency-Key", key)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(orderRequest)))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("Idempotent-Replayed", "true"))
+                                .andExpect(content().json(first));
+                assertEquals(1, orderRepository.count());
+
+                orderRequest.put("quantity", 3);
+                mockMvc.perform(post("/api/orders")
+                                .header("Idempotency-Key", key)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(orderRequest)))
+                                .andExpect(status().isBadRequest());
+        }
+
         @Test
         void getAllOrders_ShouldReturnPagedOrders() throws Exception {
                 // Given
@@ -78,12 +128,141 @@ public class OrderControllerAcceptanceTest {
                 orderRepository.save(new Order(null, customer.getId(), "Product 1", 1, LocalDateTime.now()));
                 orderRepository.save(new Order(null, customer.getId(), "Product 2", 2, LocalDateTime.now()));
 
-                // When & Then
-                mockMvc.perform(get("/api/orders/customer/{customerId}", customer.getId())
+                // When
+                MvcResult result = mockMvc.perform(get("/api/orders/customer/{customerId}", customer.getId())
                                 .param("page", "0")
                                 .param("size", "10"))
-                                .andExpect(status().isOk());
-                // Removed assertions for specific product values
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                // Then
+                mockMvc.perform(asyncDispatch(result))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$._embedded.orderDTOList.length()").value(2))
+                                .andExpect(jsonPath("$._links.self.href").value(containsString("http://localhost/")));
+        }
+
+        @Test
+        void getAllOrders_WithoutLinksOrAsCbor_ShouldSendFewerBytes() throws Exception {
+                // Given
+                Customer customer = customerRepository
+                                .save(new Customer(null, "Alice",
+                                                "alice." + System.currentTimeMillis() + "@example.com",
+                                                "123 Test Lane", LocalDateTime.now(), 0));
+                for (int i = 0; i < 50; i++) {
+                        orderRepository.save(new Order(null, customer.getId(), "Product " + i, i + 1,
+                                        LocalDateTime.now()));
+                }
+
+                // When
+                MvcResult fullResult = mockMvc.perform(get("/api/orders/customer/{customerId}", customer.getId())
+                                .param("size", "50"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+                byte[] full = mockMvc.perform(asyncDispatch(fullResult))
+                                .andExpect(status().isOk())
+                                .andReturn().getResponse().getContentAsByteArray();
+                MvcResult leanResult = mockMvc.perform(get("/api/orders/customer/{customerId}", customer.getId())
+                                .param("size", "50")
+                                .param("links", "false"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+                byte[] lean = mockMvc.perform(asyncDispatch(leanResult))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$._embedded.orderDTOList.length()").value(50))
+                                .andExpect(jsonPath("$._embedded.orderDTOList[0]._links").doesNotExist())
+                                .andExpect(jsonPath("$.page.totalElements").value(50))
+                                .andReturn().getResponse().getContentAsByteArray();
+                MvcResult cborResult = mockMvc.perform(get("/api/orders/customer/{customerId}", customer.getId())
+                                .param("size", "50")
+                                .param("links", "false")
+                                .accept("application/cbor"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+                byte[] cbor = mockMvc.perform(asyncDispatch(cborResult))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType("application/cbor"))
+                                .andReturn().getResponse().getContentAsByteArray();
+
+                // Then
+                assertTrue(lean.length * 3 < full.length, "lean page should be under a third of the HAL page");
+                assertTrue(cbor.length < lean.length, "CBOR should be smaller than JSON");
+                assertEquals(50, new CBORMapper().readTree(cbor).get("content").size());
+        }
+
+        @Test
+        void getAllOrders_SortedByQuantityAndProduct_ShouldPageWithCursors() throws Exception {
+                // Given
+                Customer customer = customerRepository
+                                .save(new Customer(null, "Alice",
+                                                "alice." + System.currentTimeMillis() + "@example.com",
+                                                "123 Test Lane", LocalDateTime.now(), 0));
+                Order lamp = orderRepository.save(new Order(null, customer.getId(), "Lamp", 5, LocalDateTime.now()));
+                Order chair = orderRepository.save(new Order(null, customer.getId(), "Chair", 5, LocalDateTime.now()));
+                Order desk = orderRepository.save(new Order(null, customer.getId(), "Desk", 1, LocalDateTime.now()));
+                Order chair2 = orderRepository.save(new Order(null, customer.getId(), "Chair", 5, LocalDateTime.now()));
+
+                // When
+                MvcResult firstResult = mockMvc.perform(get("/api/orders/customer/{customerId}", customer.getId())
+                                .param("sort", "quantity,desc;product,asc")
+                                .param("size", "3"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+                String first = mockMvc.perform(asyncDispatch(firstResult))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.sort").value("quantity,desc;product,asc;id,asc"))
+                                .andExpect(jsonPath("$.orders[0].id").value(chair.getId()))
+                                .andExpect(jsonPath("$.orders[1].id").value(chair2.getId()))
+                                .andExpect(jsonPath("$.orders[2].id").value(lamp.getId()))
+                                .andExpect(jsonPath("$.orders[0].customerId").doesNotExist())
+                                .andExpect(jsonPath("$.orders[0].product").doesNotExist())
+                                .andReturn().getResponse().getContentAsString();
+                String next = objectMapper.readTree(first).get("next").asText();
+
+                // Then
+                mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/orders/customer/{customerId}", customer.getId())
+                                .param("sort", "quantity,desc;product,asc")
+                                .param("after", next)
+                                .param("size", "3"))
+                                .andReturn()))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.orders.length()").value(1))
+                                .andExpect(jsonPath("$.orders[0].id").value(desk.getId()))
+                                .andExpect(jsonPath("$.next").doesNotExist());
+                mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/orders/customer/{customerId}", customer.getId())
+                                .param("sort", "quantity,asc")
+                                .param("size", "2"))
+                                .andReturn()))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.sort").value("quantity,asc;product,desc;id,desc"))
+                                .andExpect(jsonPath("$.orders[0].id").value(desk.getId()))
+                                .andExpect(jsonPath("$.orders[1].id").value(lamp.getId()));
+                mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/orders/customer/{customerId}", customer.getId())
+                                .param("sort", "product,asc")
+                                .param("after", next))
+                                .andReturn()))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void getAllOrders_WithUnindexedSort_ShouldReturnBadRequest() throws Exception {
+                // Given
+                Customer customer = customerRepository
+                                .save(new Customer(null, "Alice",
+                                                "alice." + System.currentTimeMillis() + "@example.com",
+                                                "123 Test Lane", LocalDateTime.now(), 0));
+
+                // When & Then
+                mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/orders/customer/{customerId}", customer.getId())
+                                .param("sort", "quantity,asc;product,asc"))
+                                .andReturn()))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.message")
+                                                .value(containsString("Supported sorts: createdAt,asc | createdAt,desc")));
+                mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/orders/customer/{customerId}", customer.getId())
+                                .param("sort", "customerId,asc"))
+                                .andReturn()))
+                                .andExpect(status().isBadRequest());
         }
 
         @Test
@@ -103,6 +282,102 @@ public class OrderControllerAcceptanceTest {
                 // Removed assertion for $.product
         }
 
+        @Test
+        void getOrdersByIds_ShouldReturnFoundOrdersWithLinksAndReportMissingIds() throws Exception {
+                // Given
+                Customer customer = customerRepository
+                                .save(new Customer(null, "Bob", "bob." + System.currentTimeMillis() + "@example.com",
+                                                "456 Test Road", LocalDateTime.now(), 0));
+                Order first = orderRepository
+                                .save(new Order(null, customer.getId(), "Test Product", 1, LocalDateTime.now()));
+                Order second = orderRepository
+                                .save(new Order(null, customer.getId(), "Other Product", 2, LocalDateTime.now()));
+                long missingId = second.getId() + 1000;
+                String single = mockMvc.perform(get("/api/orders/{id}", second.getId()))
+                                .andReturn().getResponse().getContentAsString();
+
+                // When
+                String response = mockMvc.perform(get("/api/orders")
+                                .param("ids", second.getId() + "," + missingId + "," + first.getId() + ","
+                                                + second.getId()))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.found.length()").value(2))
+                                .andExpect(jsonPath("$.found[0].id").value(second.getId()))
+                                .andExpect(jsonPath("$.found[1].id").value(first.getId()))
+                                .andExpect(jsonPath("$.notFound.length()").value(1))
+                                .andExpect(jsonPath("$.notFound[0]").value(missingId))
+                                .andReturn().getResponse().getContentAsString();
+
+                // Then
+                assertEquals(objectMapper.readTree(single).get("_links"),
+                                objectMapper.readTree(response).get("found").get(0).get("_links"));
+        }
+
+        @Test
+        void getOrdersByIds_WithTooManyIds_ShouldReturnBadRequest() throws Exception {
+                // Given
+                String ids = LongStream.rangeClosed(1, 1001)
+                                .mapToObj(String::valueOf)
+                                .collect(Collectors.joining(","));
+
+                // When & Then
+                mockMvc.perform(get("/api/orders").param("ids", ids))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void getOrder_WithMatchingETag_ShouldReturnNotModifiedUntilOrderChanges() throws Exception {
+                // Given
+                Customer customer = customerRepository
+                                .save(new Customer(null, "Bob", "bob." + System.currentTimeMillis() + "@example.com",
+                                                "456 Test Road", LocalDateTime.now(), 0));
+                Order order = orderRepository
+                                .save(new Order(null, customer.getId(), "Test Product", 1, LocalDateTime.now()));
+                String eTag = mockMvc.perform(get("/api/orders/{id}", order.getId()))
+                                .andExpect(status().isOk())
+                                .andExpect(header().exists("ETag"))
+                                .andReturn().getResponse().getHeader("ETag");
+
+                // When & Then
+                mockMvc.perform(get("/api/orders/{id}", order.getId()).header("If-None-Match", eTag))
+                                .andExpect(status().isNotModified())
+                                .andExpect(content().string(""));
+
+                order.setQuantity(5);
+                orderRepository.save(order);
+                mockMvc.perform(get("/api/orders/{id}", order.getId()).header("If-None-Match", eTag))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.quantity").value(5));
+        }
+
+        @Test
+        void getAllOrders_WithMatchingETag_ShouldReturnNotModifiedUntilAnOrderIsAdded() throws Exception {
+                // Given
+                Customer customer = customerRepository
+                                .save(new Customer(null, "Alice",
+                                                "alice." + System.currentTimeMillis() + "@example.com",
+                                                "123 Test Lane", LocalDateTime.now(), 0));
+                orderRepository.save(new Order(null, customer.getId(), "Product 1", 1, LocalDateTime.now()));
+                String eTag = mockMvc.perform(get("/api/orders/customer/{customerId}", customer.getId()))
+                                .andExpect(request().asyncStarted())
+                                .andReturn().getResponse().getHeader("ETag");
+
+                // When & Then
+                mockMvc.perform(get("/api/orders/customer/{customerId}", customer.getId())
+                                .header("If-None-Match", eTag))
+                                .andExpect(request().asyncNotStarted())
+                                .andExpect(status().isNotModified());
+                mockMvc.perform(get("/api/orders/customer/{customerId}", customer.getId())
+                                .param("page", "1")
+                                .header("If-None-Match", eTag))
+                                .andExpect(request().asyncStarted());
+
+                orderRepository.save(new Order(null, customer.getId(), "Product 2", 2, LocalDateTime.now()));
+                mockMvc.perform(get("/api/orders/customer/{customerId}", customer.getId())
+                                .header("If-None-Match", eTag))
+                                .andExpect(request().asyncStarted());
+        }
+
         @Test
         void deleteOrder_ShouldReturnSuccessMessage() throws Exception {
                 // Given
@@ -125,10 +400,15 @@ public class OrderControllerAcceptanceTest {
                 String startDate = "2025-01-01T00:00:00";
                 String endDate = "2025-12-31T23:59:59";
 
-                // When & Then
-                mockMvc.perform(get("/api/orders/bydate")
+                // When
+                MvcResult result = mockMvc.perform(get("/api/orders/bydate")
                                 .param("startDate", startDate)
                                 .param("endDate", endDate))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                // Then
+                mockMvc.perform(asyncDispatch(result))
                                 .andExpect(status().isOk())
                                 .andExpect(jsonPath("$").isArray());
         }
@@ -138,10 +418,84 @@ public class OrderControllerAcceptanceTest {
                 // Given
                 String sortDirection = "asc";
 
-                // When & Then
-                mockMvc.perform(get("/api/orders/sorted")
+                // When
+                MvcResult result = mockMvc.perform(get("/api/orders/sorted")
                                 .param("sortDirection", sortDirection))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                // Then
+                mockMvc.perform(asyncDispatch(result))
                                 .andExpect(status().isOk())
                                 .andExpect(jsonPath("$").isArray());
         }
-}
\ No newline at end of file
+
+        @Test
+        void exportOrders_AsCsv_ShouldStreamEveryOrderInRangeWithQuoting() throws Exception {
+                // Given
+                Customer customer = customerRepository
+                                .save(new Customer(null, "Alice",
+                                                "alice." + System.currentTimeMillis() + "@example.com",
+                                                "123 Test Lane", LocalDateTime.now(), 0));
+                Order first = orderRepository.save(new Order(null, customer.getId(), "Desk, \"oak\"", 1,
+                                LocalDateTime.now()));
+                orderRepository.save(new Order(null, customer.getId(), "Lamp", 2, LocalDateTime.now()));
+                LocalDateTime now = LocalDateTime.now();
+
+                // When
+                MvcResult result = mockMvc.perform(get("/api/orders/export")
+                                .param("format", "csv")
+                                .param("from", now.minusDays(1).toString())
+                                .param("to", now.plusDays(1).toString()))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                // Then
+                String csv = mockMvc.perform(asyncDispatch(result))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("Content-Disposition", "attachment; filename=\"orders.csv\""))
+                                .andReturn().getResponse().getContentAsString();
+                String[] lines = csv.split("\r\n");
+                assertEquals(3, lines.length);
+                assertEquals("id,customer_id,product,quantity,created_at,updated_at", lines[0]);
+                assertTrue(lines[1].startsWith(first.getId() + "," + customer.getId() + ",\"Desk, \"\"oak\"\"\",1,"));
+                assertTrue(lines[2].contains(",Lamp,2,"));
+        }
+
+        @Test
+        void exportOrders_AsGzippedNdjson_ShouldStreamOneJsonObjectPerLine() throws Exception {
+                // Given
+                Customer customer = customerRepository
+                                .save(new Customer(null, "Bob", "bob." + System.currentTimeMillis() + "@example.com",
+                                                "456 Test Road", LocalDateTime.now(), 0));
+                for (int i = 1; i <= 3; i++) {
+                        orderRepository.save(new Order(null, customer.getId(), "Product " + i, i, LocalDateTime.now()));
+                }
+
+                // When
+                MvcResult result = mockMvc.perform(get("/api/orders/export")
+                                .param("format", "ndjson")
+                                .param("gzip", "true"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                // Then
+                byte[] body = mockMvc.perform(asyncDispatch(result))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType("application/gzip"))
+                                .andReturn().getResponse().getContentAsByteArray();
+                String ndjson = new String(new GZIPInputStream(new ByteArrayInputStream(body)).readAllBytes(),
+                                StandardCharsets.UTF_8);
+                String[] lines = ndjson.split("\n");
+                assertEquals(3, lines.length);
+                assertEquals("Product 3", objectMapper.readTree(lines[2]).get("product").asText());
+                assertEquals(3, objectMapper.readTree(lines[2]).get("quantity").asInt());
+        }
+
+        @Test
+        void exportOrders_WithUnsupportedFormat_ShouldReturnBadRequest() throws Exception {
+                // When & Then
+                mockMvc.perform(get("/api/orders/export").param("format", "parquet"))
+                                .andExpect(status().isBadRequest());
+        }
+}
@@ -0,0 +1,162 @@
+package com.example.order_service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.order_service.event.OrderEventLog;
+import com.example.order_service.exception.BadRequestException;
+
+public class OrderEventLogUnitTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void read_ShouldReturnRecordsAfterOffsetAndNextOffset() {
+        // Given
+        try (OrderEventLog log = new OrderEventLog(directory, 1024)) {
+            long first = log.append(bytes("{\"eventId\":1}"));
+            long second = log.append(bytes("{\"eventId\":2}"));
+
+            // When
+            OrderEventLog.Slice all = log.read(first, 1024);
+            OrderEventLog.Slice tail = log.read(second, 1024);
+            OrderEventLog.Slice none = log.read(all.getNextOffset(), 1024);
+
+            // Then
+            assertEquals(0, first);
+            assertEquals("{\"eventId\":1}\n{\"eventId\":2}\n", text(all.getRecords()));
+            assertEquals("{\"eventId\":2}\n", text(tail.getRecords()));
+            assertEquals(log.getEndOffset(), all.getNextOffset());
+            assertEquals(0, none.getRecords().remaining());
+            assertEquals(all.getNextOffset(), none.getNextOffset());
+        }
+    }
+
+    @Test
+    void read_ShouldStopAtRecordBoundaryWithinLimit() {
+        // Given
+        try (OrderEventLog log = new OrderEventLog(directory, 1024)) {
+            log.append(bytes("{\"eventId\":1}"));
+            long second = log.append(bytes("{\"eventId\":2}"));
+
+            // When
+            OrderEventLog.Slice limited = log.read(0, 20);
+            OrderEventLog.Slice oversized = log.read(0, 4);
+
+            // Then
+            assertEquals("{\"eventId\":1}\n", text(limited.getRecords()));
+            assertEquals(second, limited.getNextOffset());
+            assertEquals("{\"eventId\":1}\n", text(oversized.getRecords()));
+        }
+    }
+
+    @Test
+    void append_ShouldRollSegmentsWithContinuousOffsets() throws IOException {
+        // Given
+        try (OrderEventLog log = new OrderEventLog(directory, 64)) {
+            long offset = 0;
+
+            // When
+            for (int i = 0; i < 10; i++) {
+                offset = log.append(bytes("{\"eventId\":" + i + "}"));
+            }
+
+            // Then
+            try (Stream<Path> files = Files.list(directory)) {
+                assertTrue(files.count() > 1);
+            }
+            StringBuilder all = new StringBuilder();
+            long next = 0;
+            while (next < log.getEndOffset()) {
+                OrderEventLog.Slice slice = log.read(next, 1024);
+                all.append(text(slice.getRecords()));
+                next = slice.getNextOffset();
+            }
+            assertEquals(10, all.toString().split("\n").length);
+            assertEquals("{\"eventId\":9}\n", text(log.read(offset, 1024).getRecords()));
+        }
+    }
+
+    @Test
+    void lastRecords_ShouldReturnTrailingRecordsAcrossSegments() {
+        // Given
+        try (OrderEventLog log = new OrderEventLog(directory, 64)) {
+            for (int i = 0; i < 10; i++) {
+                log.append(bytes("{\"eventId\":" + i + "}"));
+            }
+
+            // When
+            List<byte[]> last = log.lastRecords(6);
+            List<byte[]> all = log.lastRecords(100);
+
+            // Then
+            assertEquals(6, last.size());
+            assertEquals("{\"eventId\":4}", new String(last.get(0), StandardCharsets.UTF_8));
+            assertEquals("{\"eventId\":9}", new String(last.get(5), StandardCharsets.UTF_8));
+            assertEquals(10, all.size());
+        }
+    }
+
+    @Test
+    void reopen_ShouldRecoverLengthAndDropPartialRecord() throws IOException {
+        // Given
+        long end;
+        try (OrderEventLog log = new OrderEventLog(directory, 1024)) {
+            log.append(bytes("{\"eventId\":1}"));
+            log.append(bytes("{\"eventId\":2}"));
+            end = log.getEndOffset();
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(bytes("{\"eventId\":3")), end);
+        }
+
+        // When
+        try (OrderEventLog log = new OrderEventLog(directory, 1024)) {
+
+            // Then
+            assertEquals(end, log.getEndOffset());
+            assertEquals("{\"eventId\":2}", new String(log.lastRecord(), StandardCharsets.UTF_8));
+            assertEquals(end, log.append(bytes("{\"eventId\":3}")));
+        }
+    }
+
+    @Test
+    void read_WithOffsetInsideRecord_ShouldThrowBadRequestException() {
+        // Given
+        try (OrderEventLog log = new OrderEventLog(directory, 1024)) {
+            log.append(bytes("{\"eventId\":1}"));
+
+            // When & Then
+            assertThrows(BadRequestException.class, () -> log.read(3, 1024));
+            assertThrows(BadRequestException.class, () -> log.read(log.getEndOffset() + 1, 1024));
+            assertThrows(BadRequestException.class, () -> log.read(-1, 1024));
+        }
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.order_service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.order_service.model.Customer;
+import com.example.order_service.model.Order;
+import com.example.order_service.repository.CustomerRepository;
+import com.example.order_service.repository.OrderRepository;
+import com.example.order_service.service.OrderRangeCache;
+import com.example.order_service.service.OrderService;
+
+@SpringBootTest(properties = "order-service.range-cache.enabled=true")
+@ActiveProfiles("test")
+@EntityScan(basePackages = "com.example.order_service.model") // Specify the package for entities
+@DirtiesContext
+public class OrderRangeCacheIntegrationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRangeCache orderRangeCache;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Customer customer;
+    private LocalDateTime threeDaysAgo;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll(); // Clear orders before each test
+        customerRepository.deleteAll(); // Clear customers before each test
+        orderRangeCache.invalidateAll(); // The deletes above publish no events
+        customer = customerRepository.save(new Customer(null, "Alice",
+                "alice." + System.currentTimeMillis() + "@example.com", "123 Test Lane", LocalDateTime.now(), 0));
+        threeDaysAgo = LocalDate.now().minusDays(3).atTime(12, 0);
+    }
+
+    @Test
+    void getOrdersByDateRange_ShouldServeClosedDaysFromCacheAndTodayLive() {
+        // Given
+        Long old = pastOrder("Desk", threeDaysAgo);
+        LocalDateTime start = threeDaysAgo.minusDays(1);
+        LocalDateTime end = LocalDateTime.now().plusDays(1);
+        assertEquals(List.of(old), ids(orderService.getOrdersByDateRange(start, end)));
+
+        // When
+        pastOrder("Lamp", threeDaysAgo.plusHours(1)); // Written behind the service's back
+        Order today = orderService.createOrder(new Order(null, customer.getId(), "Chair", 1, LocalDateTime.now()));
+
+        // Then
+        assertEquals(List.of(old, today.getId()), ids(orderService.getOrdersByDateRange(start, end)));
+        assertEquals(List.of(), ids(orderService.getOrdersByDateRange(threeDaysAgo.plusMinutes(1),
+                threeDaysAgo.plusMinutes(30)))); // Trimmed from the cached day
+    }
+
+    @Test
+    void updateAndDelete_ShouldInvalidateTheAffectedDay() {
+        // Given
+        Long desk = pastOrder("Desk", threeDaysAgo);
+        Long lamp = pastOrder("Lamp", threeDaysAgo.plusHours(1));
+        LocalDateTime start = threeDaysAgo.minusHours(1);
+        LocalDateTime end = threeDaysAgo.plusHours(2);
+        assertEquals(2, orderService.getOrdersByDateRange(start, end).size());
+
+        // When
+        Order changed = orderService.getOrder(desk);
+        changed.setQuantity(9);
+        orderService.updateOrder(changed);
+        List<Order> afterUpdate = orderService.getOrdersByDateRange(start, end);
+        orderService.deleteOrder(lamp);
+        List<Order> afterDelete = orderService.getOrdersByDateRange(start, end);
+
+        // Then
+        assertEquals(9, afterUpdate.stream().filter(order -> order.getId().equals(desk)).findFirst()
+                .orElseThrow().getQuantity());
+        assertEquals(List.of(desk), ids(afterDelete));
+    }
+
+    @Test
+    void deleteAllOrders_ShouldDropTheCustomersCachedOrdersOnceCommitted() {
+        // Given
+        pastOrder("Desk", threeDaysAgo);
+        LocalDateTime start = threeDaysAgo.minusHours(1);
+        LocalDateTime end = threeDaysAgo.plusHours(2);
+        assertEquals(1, orderService.getOrdersByDateRange(start, end).size());
+
+        // When
+        orderService.deleteAllOrders(customer.getId());
+
+        // Then
+        assertEquals(List.of(), orderService.getOrdersByDateRange(start, end));
+    }
+
+    @Test
+    void invalidateAll_InsideTransaction_ShouldDropLoadsMadeBeforeCommit() {
+        // Given
+        Long desk = pastOrder("Desk", threeDaysAgo);
+        LocalDateTime start = threeDaysAgo.minusHours(1);
+        LocalDateTime end = threeDaysAgo.plusHours(2);
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM orders WHERE id = ?", desk);
+            orderRangeCache.invalidateAll();
+            // A reader outside the transaction still sees the row and caches it.
+            orderRangeCache.getOrders(start, end,
+                    (from, to) -> List.of(new Order(desk, customer.getId(), "Desk", 1, threeDaysAgo)));
+        });
+
+        // Then
+        assertEquals(List.of(), orderService.getOrdersByDateRange(start, end));
+    }
+
+    private Long pastOrder(String product, LocalDateTime createdAt) {
+        Order order = orderRepository.save(new Order(null, customer.getId(), product, 1, LocalDateTime.now()));
+        // Creation dates are set by auditing, so backdate the row directly.
+        jdbcTemplate.update("UPDATE orders SET created_at = ? WHERE id = ?", Timestamp.valueOf(createdAt),
+                order.getId());
+        return order.getId();
+    }
+
+    private static List<Long> ids(List<Order> orders) {
+        return orders.stream().map(Order::getId).toList();
+    }
+}
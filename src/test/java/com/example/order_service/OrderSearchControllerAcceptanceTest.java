@@ -0,0 +1,93 @@
+package com.example.order_service;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.order_service.analytics.OrderSearchIndex;
+import com.example.order_service.model.Customer;
+import com.example.order_service.model.Order;
+import com.example.order_service.repository.CustomerRepository;
+import com.example.order_service.repository.OrderRepository;
+import com.example.order_service.service.OrderService;
+
+@SpringBootTest(properties = "order-service.search.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@EntityScan(basePackages = "com.example.order_service.model") // Specify the package for entities
+@DirtiesContext
+public class OrderSearchControllerAcceptanceTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private OrderService orderService;
+
+        @Autowired
+        private OrderSearchIndex orderSearchIndex;
+
+        @Autowired
+        private OrderRepository orderRepository;
+
+        @Autowired
+        private CustomerRepository customerRepository;
+
+        private Customer customer;
+
+        @BeforeEach
+        void setUp() {
+                orderRepository.deleteAll(); // Clear orders before each test
+                customerRepository.deleteAll(); // Clear customers before each test
+                customer = customerRepository.save(new Customer(null, "Alice",
+                                "alice." + System.currentTimeMillis() + "@example.com", "123 Test Lane",
+                                LocalDateTime.now(), 0));
+                orderSearchIndex.load();
+        }
+
+        @Test
+        void searchOrders_ShouldReflectOrdersWrittenThroughOrderService() throws Exception {
+                // Given
+                Order stand = orderService
+                                .createOrder(new Order(null, customer.getId(), "Laptop Stand", 1, LocalDateTime.now()));
+                Order sleeve = orderService
+                                .createOrder(new Order(null, customer.getId(), "Laptop Sleeve", 1, LocalDateTime.now()));
+                Order hub = orderService
+                                .createOrder(new Order(null, customer.getId(), "USB-C Hub", 1, LocalDateTime.now()));
+                hub.setProduct("Laptop Hub");
+                orderService.updateOrder(hub);
+                orderService.deleteOrder(sleeve.getId());
+
+                // When & Then
+                mockMvc.perform(get("/api/orders/search").param("q", "lap"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.total").value(2))
+                                .andExpect(jsonPath("$.orders[0].id").value(hub.getId()))
+                                .andExpect(jsonPath("$.orders[1].id").value(stand.getId()));
+                mockMvc.perform(get("/api/orders/search")
+                                .param("q", "laptop st")
+                                .param("customerId", customer.getId().toString()))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.total").value(1))
+                                .andExpect(jsonPath("$.orders[0].product").value("Laptop Stand"));
+        }
+
+        @Test
+        void searchOrders_WithInvalidParameters_ShouldReturnBadRequest() throws Exception {
+                mockMvc.perform(get("/api/orders/search").param("q", " "))
+                                .andExpect(status().isBadRequest());
+                mockMvc.perform(get("/api/orders/search").param("q", "desk").param("limit", "0"))
+                                .andExpect(status().isBadRequest());
+        }
+}
@@ -0,0 +1,94 @@
+package com.example.order_service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.order_service.analytics.OrderSearchIndex;
+import com.example.order_service.model.Order;
+
+public class OrderSearchIndexUnitTest {
+
+    private OrderSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new OrderSearchIndex();
+        index.upsert(order(1, 1, "Laptop Stand"));
+        index.upsert(order(2, 1, "USB-C Hub"));
+        index.upsert(order(3, 2, "Laptop Sleeve, 15\""));
+        index.upsert(order(4, 2, "Standing Desk"));
+    }
+
+    @Test
+    void search_ShouldMatchEveryTermAndTheLastAsPrefix() {
+        // When
+        OrderSearchIndex.Hits laptops = index.search("LAPTOP", null, 10);
+        OrderSearchIndex.Hits stands = index.search("stand", null, 10);
+        OrderSearchIndex.Hits laptopSt = index.search("laptop st", null, 10);
+        OrderSearchIndex.Hits usbC = index.search("usb-c", null, 10);
+
+        // Then
+        assertEquals(List.of(3L, 1L), laptops.orderIds());
+        assertEquals(List.of(4L, 1L), stands.orderIds());
+        assertEquals(List.of(1L), laptopSt.orderIds());
+        assertEquals(List.of(2L), usbC.orderIds());
+        assertEquals(0, index.search("desk laptop", null, 10).total());
+        assertEquals(0, index.search("---", null, 10).total());
+    }
+
+    @Test
+    void search_WithPunctuatedWord_ShouldMatchItAsOneTerm() {
+        // Given
+        index.upsert(order(5, 1, "USB Cable"));
+        index.upsert(order(6, 1, "USB Charger"));
+        index.upsert(order(7, 1, "USBC Adapter"));
+
+        // When
+        OrderSearchIndex.Hits usbC = index.search("USB-C", null, 10);
+        OrderSearchIndex.Hits usb = index.search("usb", null, 10);
+        OrderSearchIndex.Hits usbThenC = index.search("usb c", null, 10);
+        OrderSearchIndex.Hits wholeUsb = index.search("usb ", null, 10);
+
+        // Then
+        assertEquals(List.of(7L, 2L), usbC.orderIds());
+        assertEquals(List.of(7L, 6L, 5L, 2L), usb.orderIds());
+        assertEquals(List.of(6L, 5L, 2L), usbThenC.orderIds());
+        assertEquals(List.of(6L, 5L, 2L), wholeUsb.orderIds());
+        assertEquals(0, index.search("stan ", null, 10).total());
+    }
+
+    @Test
+    void search_WithCustomerAndLimit_ShouldNarrowResultsButCountAll() {
+        // When
+        OrderSearchIndex.Hits customerTwo = index.search("la", 2L, 10);
+        OrderSearchIndex.Hits limited = index.search("la", null, 1);
+
+        // Then
+        assertEquals(List.of(3L), customerTwo.orderIds());
+        assertEquals(2, limited.total());
+        assertEquals(List.of(3L), limited.orderIds());
+        assertEquals(0, index.search("la", 99L, 10).total());
+    }
+
+    @Test
+    void upsertAndRemove_ShouldReplaceOldTerms() {
+        // When
+        index.upsert(order(1, 1, "Monitor Arm"));
+        index.remove(2L);
+
+        // Then
+        assertEquals(List.of(3L), index.search("laptop", null, 10).orderIds());
+        assertEquals(List.of(1L), index.search("monitor", null, 10).orderIds());
+        assertEquals(0, index.search("hub", null, 10).total());
+        assertEquals(3, index.size());
+    }
+
+    private static Order order(long id, long customerId, String product) {
+        return new Order(id, customerId, product, 1, LocalDateTime.now());
+    }
+}
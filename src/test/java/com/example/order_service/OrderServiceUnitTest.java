@@ -3,16 +3,23 @@ package com.example.order_service;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -24,7 +31,12 @@ import com.example.order_service.model.Order;
 import com.example.order_service.model.Customer;
 import com.example.order_service.repository.OrderRepository;
 import com.example.order_service.repository.CustomerRepository;
+import com.example.order_service.event.OrderChangedEvent;
+import com.example.order_service.service.OrderArchive;
 import com.example.order_service.service.OrderService;
+import com.example.order_service.service.SingleFlight;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 public class OrderServiceUnitTest {
@@ -35,6 +47,15 @@ public class OrderServiceUnitTest {
     @Mock
     private CustomerRepository customerRepository; // Add this mock
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private OrderArchive orderArchive;
+
+    @Spy
+    private SingleFlight singleFlight = new SingleFlight(Duration.ofSeconds(1), new SimpleMeterRegistry());
+
     @InjectMocks
     private OrderService orderService;
 
@@ -65,7 +86,7 @@ public class OrderServiceUnitTest {
     @Test
     void createOrder_WithValidOrder_ShouldReturnSavedOrder() {
         // Given
-        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer)); // Mock customer existence
+        when(customerRepository.existsById(1L)).thenReturn(true); // Mock customer existence
         when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
 
         // When
@@ -75,7 +96,7 @@ public class OrderServiceUnitTest {
         assertNotNull(savedOrder);
         assertEquals(testOrder.getId(), savedOrder.getId());
         assertEquals(testOrder.getProduct(), savedOrder.getProduct());
-        verify(customerRepository, times(1)).findById(1L); // Verify customer lookup
+        verify(customerRepository, times(1)).existsById(1L); // Verify customer lookup
         verify(orderRepository, times(1)).save(any(Order.class));
     }
 
@@ -111,7 +132,7 @@ public class OrderServiceUnitTest {
         // Given
         Pageable pageable = PageRequest.of(0, 10);
         Page<Order> ordersPage = new PageImpl<>(Arrays.asList(testOrder));
-        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer)); // Mock customer existence
+        when(customerRepository.existsById(1L)).thenReturn(true); // Mock customer existence
         when(orderRepository.findByCustomerId(1L, pageable)).thenReturn(ordersPage);
 
         // When
@@ -120,19 +141,61 @@ public class OrderServiceUnitTest {
         // Then
         assertNotNull(result);
         assertEquals(1, result.getContent().size());
-        verify(customerRepository, times(1)).findById(1L); // Verify customer lookup
+        verify(customerRepository, times(1)).existsById(1L); // Verify customer lookup
         verify(orderRepository, times(1)).findByCustomerId(1L, pageable);
     }
 
+    @Test
+    void getOrdersByIds_ShouldQueryInChunksAndKeepRequestOrder() {
+        // Given
+        List<Long> ids = new ArrayList<>();
+        for (long id = 250; id >= 1; id--) {
+            ids.add(id);
+        }
+        ids.add(250L);
+        when(orderRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<Order> found = new ArrayList<>();
+            for (Long id : invocation.<Iterable<Long>>getArgument(0)) {
+                if (id != 100L) {
+                    found.add(new Order(id, 1L, "Test Product", 1, testDateTime));
+                }
+            }
+            return found;
+        });
+
+        // When
+        Map<Long, Order> result = orderService.getOrdersByIds(ids);
+
+        // Then
+        verify(orderRepository, times(3)).findAllById(anyIterable());
+        assertEquals(249, result.size());
+        assertFalse(result.containsKey(100L));
+        assertEquals(250L, result.keySet().iterator().next());
+    }
+
+    @Test
+    void getOrdersByIds_WithTooManyIds_ShouldThrowBadRequestException() {
+        // Given
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 1001; id++) {
+            ids.add(id);
+        }
+
+        // When & Then
+        assertThrows(BadRequestException.class, () -> orderService.getOrdersByIds(ids));
+        assertThrows(BadRequestException.class, () -> orderService.getOrdersByIds(List.of()));
+        verify(orderRepository, never()).findAllById(anyIterable());
+    }
+
     @Test
     void getAllOrders_WithNonExistingCustomer_ShouldThrowResourceNotFoundException() {
         // Given
         Pageable pageable = PageRequest.of(0, 10);
-        when(customerRepository.findById(1L)).thenReturn(Optional.empty()); // Mock non-existing customer
+        when(customerRepository.existsById(1L)).thenReturn(false); // Mock non-existing customer
 
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> orderService.getAllOrders(1L, pageable));
-        verify(customerRepository, times(1)).findById(1L); // Verify customer lookup
+        verify(customerRepository, times(1)).existsById(1L); // Verify customer lookup
         verify(orderRepository, never()).findByCustomerId(anyLong(), any(Pageable.class));
     }
 
@@ -161,6 +224,30 @@ public class OrderServiceUnitTest {
         verify(orderRepository, times(1)).findById(1L);
     }
 
+    @Test
+    void getOrder_WhenArchived_ShouldReturnOrderFromArchive() {
+        // Given
+        when(orderRepository.findById(1L)).thenReturn(Optional.empty());
+        when(orderArchive.findById(1L)).thenReturn(Optional.of(testOrder));
+
+        // When
+        Order foundOrder = orderService.getOrder(1L);
+
+        // Then
+        assertEquals(testOrder.getId(), foundOrder.getId());
+    }
+
+    @Test
+    void updateOrder_WhenArchived_ShouldThrowBadRequestException() {
+        // Given
+        when(orderRepository.findById(1L)).thenReturn(Optional.empty());
+        when(orderArchive.findById(1L)).thenReturn(Optional.of(testOrder));
+
+        // When & Then
+        assertThrows(BadRequestException.class, () -> orderService.updateOrder(testOrder));
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
     @Test
     void updateOrder_WithValidOrder_ShouldReturnUpdatedOrder() {
         // Given
@@ -177,6 +264,24 @@ public class OrderServiceUnitTest {
         verify(orderRepository, times(1)).save(any(Order.class));
     }
 
+    @Test
+    void updateOrder_ShouldCopyFieldsOntoExistingOrder() {
+        // Given
+        Order changes = new Order(1L, 2L, "New Product", 7, LocalDateTime.now().plusDays(1));
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.save(testOrder)).thenReturn(testOrder);
+
+        // When
+        Order updatedOrder = orderService.updateOrder(changes);
+
+        // Then
+        assertSame(testOrder, updatedOrder);
+        assertEquals(2L, updatedOrder.getCustomerId());
+        assertEquals("New Product", updatedOrder.getProduct());
+        assertEquals(7, updatedOrder.getQuantity());
+        assertEquals(testDateTime, updatedOrder.getCreatedAt());
+    }
+
     @Test
     void updateOrder_WithNullOrder_ShouldThrowBadRequestException() {
         // When & Then
@@ -187,25 +292,53 @@ public class OrderServiceUnitTest {
     @Test
     void deleteOrder_WithExistingId_ShouldDeleteOrder() {
         // Given
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
-        doNothing().when(orderRepository).deleteById(1L);
+        when(orderRepository.deleteByIdReturningCount(1L)).thenReturn(1);
 
         // When
         orderService.deleteOrder(1L);
 
         // Then
-        verify(orderRepository, times(1)).findById(1L);
-        verify(orderRepository, times(1)).deleteById(1L);
+        verify(orderRepository, times(1)).deleteByIdReturningCount(1L);
+        verify(orderRepository, never()).findById(anyLong());
     }
 
     @Test
     void deleteOrder_WithNonExistingId_ShouldThrowResourceNotFoundException() {
         // Given
-        when(orderRepository.findById(1L)).thenReturn(Optional.empty());
+        when(orderRepository.deleteByIdReturningCount(1L)).thenReturn(0);
 
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> orderService.deleteOrder(1L));
-        verify(orderRepository, times(1)).findById(1L);
-        verify(orderRepository, never()).deleteById(anyLong());
+        verify(orderRepository, times(1)).deleteByIdReturningCount(1L);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void deleteAllOrders_ShouldPublishDeletedEventPerOrder() {
+        // Given
+        when(orderRepository.findIdsByCustomerId(1L)).thenReturn(List.of(1L, 2L));
+        when(orderArchive.findIdsByCustomerId(1L)).thenReturn(List.of(3L));
+
+        // When
+        orderService.deleteAllOrders(1L);
+
+        // Then
+        verify(orderRepository, times(1)).deleteByCustomerIdAndIdIn(1L, List.of(1L, 2L));
+        verify(orderArchive, times(1)).deleteByCustomerIdAndIdIn(1L, List.of(3L));
+        ArgumentCaptor<OrderChangedEvent> events = ArgumentCaptor.forClass(OrderChangedEvent.class);
+        verify(eventPublisher, times(3)).publishEvent(events.capture());
+        assertEquals(List.of(1L, 2L, 3L), events.getAllValues().stream().map(OrderChangedEvent::getOrderId).toList());
+        assertTrue(events.getAllValues().stream()
+                .allMatch(event -> event.getType() == OrderChangedEvent.Type.DELETED));
+    }
+
+    @Test
+    void resourceNotFoundException_ShouldNotCaptureStackTrace() {
+        // When
+        ResourceNotFoundException exception = new ResourceNotFoundException("Order not found with id: 1");
+
+        // Then
+        assertEquals(0, exception.getStackTrace().length);
+        assertEquals(0, new BadRequestException("Bad").getStackTrace().length);
     }
 }
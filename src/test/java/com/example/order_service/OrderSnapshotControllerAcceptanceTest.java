@@ -0,0 +1,77 @@
+package com.example.order_service;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.order_service.analytics.OrderColumnStore;
+import com.example.order_service.model.Customer;
+import com.example.order_service.model.Order;
+import com.example.order_service.repository.CustomerRepository;
+import com.example.order_service.repository.OrderRepository;
+import com.example.order_service.service.OrderService;
+
+@SpringBootTest(properties = "order-service.columnar.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@EntityScan(basePackages = "com.example.order_service.model") // Specify the package for entities
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD) // Reset DB after each test
+public class OrderSnapshotControllerAcceptanceTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private OrderService orderService;
+
+        @Autowired
+        private OrderColumnStore orderColumnStore;
+
+        @Autowired
+        private OrderRepository orderRepository;
+
+        @Autowired
+        private CustomerRepository customerRepository;
+
+        @BeforeEach
+        void setUp() {
+                orderRepository.deleteAll(); // Clear orders before each test
+                customerRepository.deleteAll(); // Clear customers before each test
+                orderColumnStore.load();
+        }
+
+        @Test
+        void aggregateOrders_ShouldReflectOrdersWrittenThroughOrderService() throws Exception {
+                // Given
+                Customer customer = customerRepository
+                                .save(new Customer(null, "Alice",
+                                                "alice." + System.currentTimeMillis() + "@example.com",
+                                                "123 Test Lane", LocalDateTime.now(), 0));
+                orderService.createOrder(new Order(null, customer.getId(), "USB-C Hub", 2, LocalDateTime.now()));
+                orderService.createOrder(new Order(null, customer.getId(), "USB-C Hub", 5, LocalDateTime.now()));
+                Order webcam = orderService
+                                .createOrder(new Order(null, customer.getId(), "Webcam", 1, LocalDateTime.now()));
+                orderService.deleteOrder(webcam.getId());
+
+                // When & Then
+                mockMvc.perform(get("/api/analytics/orders")
+                                .param("product", "USB-C Hub")
+                                .param("minQuantity", "1"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.matchingOrders").value(2))
+                                .andExpect(jsonPath("$.totalQuantity").value(7))
+                                .andExpect(jsonPath("$.maxQuantity").value(5))
+                                .andExpect(jsonPath("$.scannedOrders").value(2));
+        }
+}
@@ -0,0 +1,147 @@
+package com.example.order_service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+
+import com.example.order_service.model.OrderDTO;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Measures the serialization CPU of one 50-order page in each representation
+ * the list endpoints offer: HAL or link-free, as JSON or CBOR, and JSON
+ * gzipped the way Tomcat compresses it. Not run by the test suite; start it
+ * with
+ *
+ * <pre>
+ * mvn test-compile org.codehaus.mojo:exec-maven-plugin:3.5.0:exec -Dexec.classpathScope=test \
+ *     -Dexec.executable=java -Dexec.args="-cp %classpath com.example.order_service.PageRepresentationBenchmark"
+ * </pre>
+ *
+ * The gc profiler reports allocated bytes per operation next to the timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageRepresentationBenchmark {
+
+    private static final String BASE = "http://localhost:8080/api";
+
+    private final ObjectMapper json = configure(JsonMapper.builder().build());
+    private final ObjectMapper cbor = configure(CBORMapper.builder().build());
+
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    private PagedModel<EntityModel<OrderDTO>> halPage;
+    private PagedModel<OrderDTO> leanPage;
+
+    @Setup
+    public void setUp() {
+        List<EntityModel<OrderDTO>> models = new ArrayList<>();
+        List<OrderDTO> orders = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.of(2025, 3, 1, 10, 0, 0, 123_456_000);
+        for (int i = 0; i < 50; i++) {
+            OrderDTO order = new OrderDTO((long) i, now.plusMinutes(i), i + 1);
+            orders.add(order);
+            // The links OrderModelAssembler adds to every order.
+            models.add(EntityModel.of(order,
+                    Link.of(BASE + "/orders/" + i),
+                    Link.of(BASE + "/customers/1", "customer"),
+                    Link.of(BASE + "/orders", "update-order")));
+        }
+        PagedModel.PageMetadata metadata = new PagedModel.PageMetadata(50, 0, 500, 10);
+        String page = BASE + "/orders/customer/1?page=%d&size=50";
+        halPage = PagedModel.of(models, metadata,
+                Link.of(page.formatted(0), IanaLinkRelations.FIRST),
+                Link.of(page.formatted(0), IanaLinkRelations.SELF),
+                Link.of(page.formatted(1), IanaLinkRelations.NEXT),
+                Link.of(page.formatted(9), IanaLinkRelations.LAST));
+        leanPage = PagedModel.of(orders, metadata);
+    }
+
+    @Benchmark
+    public void halJson() throws IOException {
+        json.writeValue(sink, halPage);
+    }
+
+    @Benchmark
+    public void halCbor() throws IOException {
+        cbor.writeValue(sink, halPage);
+    }
+
+    @Benchmark
+    public void halJsonGzip() throws IOException {
+        try (GZIPOutputStream gzip = new GZIPOutputStream(OutputStream.nullOutputStream())) {
+            json.writeValue(gzip, halPage);
+        }
+    }
+
+    @Benchmark
+    public void leanJson() throws IOException {
+        json.writeValue(sink, leanPage);
+    }
+
+    @Benchmark
+    public void leanCbor() throws IOException {
+        cbor.writeValue(sink, leanPage);
+    }
+
+    @Benchmark
+    public void leanJsonGzip() throws IOException {
+        try (GZIPOutputStream gzip = new GZIPOutputStream(OutputStream.nullOutputStream())) {
+            json.writeValue(gzip, leanPage);
+        }
+    }
+
+    // Mirrors the HAL setup Spring HATEOAS gives the application's mappers.
+    private static ObjectMapper configure(ObjectMapper mapper) {
+        mapper.registerModule(new JavaTimeModule());
+        mapper.registerModule(new Jackson2HalModule());
+        mapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DefaultLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper.getFactory().disable(StreamWriteFeature.AUTO_CLOSE_TARGET.mappedFeature());
+        return mapper;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PageRepresentationBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.order_service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.order_service.datasource.ReplicaLagMonitor;
+import com.example.order_service.model.Customer;
+import com.example.order_service.service.CustomerService;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "order-service.datasource.routing.enabled=true",
+        "order-service.datasource.routing.replicas[0].url=" + ReadWriteRoutingIntegrationTest.REPLICA_URL,
+        "order-service.datasource.routing.replicas[0].username=sa",
+        "order-service.datasource.routing.replicas[0].driver-class-name=org.h2.Driver",
+        "order-service.datasource.routing.lag-query=SELECT seconds_behind FROM replica_lag",
+        "order-service.datasource.routing.max-lag=PT5S"
+})
+@ActiveProfiles("test")
+@EntityScan(basePackages = "com.example.order_service.model") // Specify the package for entities
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD) // Reset DB after each test
+public class ReadWriteRoutingIntegrationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+    private static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+        replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(replica.getDataSource());
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_lag (seconds_behind BIGINT)");
+        replica.update("DELETE FROM replica_lag");
+        replica.update("INSERT INTO replica_lag VALUES (0)");
+
+        primary.update("DELETE FROM orders");
+        primary.update("DELETE FROM customers");
+        replica.update("DELETE FROM orders");
+        replica.update("DELETE FROM customers");
+        // The same row with a different name on each side shows where a read was served from
+        primary.update("INSERT INTO customers (id, name, email) VALUES (1000, 'Primary Copy', 'copy@example.com')");
+        replica.update("INSERT INTO customers (id, name, email) VALUES (1000, 'Replica Copy', 'copy@example.com')");
+        replicaLagMonitor.checkReplicas();
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldBeServedByReplica() {
+        // When
+        Customer customer = customerService.getCustomerById(1000L);
+
+        // Then
+        assertEquals("Replica Copy", customer.getName());
+    }
+
+    @Test
+    void write_ShouldGoToPrimary() {
+        // Given
+        Customer customer = new Customer(null, "New Customer", "new." + System.currentTimeMillis() + "@example.com",
+                "1 Test Street", LocalDateTime.now(), 0);
+
+        // When
+        customerService.createCustomer(customer);
+
+        // Then
+        assertEquals(1, primary.queryForObject("SELECT COUNT(*) FROM customers WHERE name = 'New Customer'",
+                Integer.class));
+        assertEquals(0, replica.queryForObject("SELECT COUNT(*) FROM customers WHERE name = 'New Customer'",
+                Integer.class));
+    }
+
+    @Test
+    void laggingReplica_ShouldFallBackToPrimary() {
+        // Given
+        replica.update("UPDATE replica_lag SET seconds_behind = 60");
+        replicaLagMonitor.checkReplicas();
+
+        // When
+        Customer customer = customerService.getCustomerById(1000L);
+
+        // Then
+        assertEquals("Primary Copy", customer.getName());
+    }
+
+    @Test
+    void recoveredReplica_ShouldServeReadsAgain() {
+        // Given
+        replica.update("UPDATE replica_lag SET seconds_behind = 60");
+        replicaLagMonitor.checkReplicas();
+        replica.update("UPDATE replica_lag SET seconds_behind = 1");
+        replicaLagMonitor.checkReplicas();
+
+        // When
+        Customer customer = customerService.getCustomerById(1000L);
+
+        // Then
+        assertEquals("Replica Copy", customer.getName());
+    }
+}
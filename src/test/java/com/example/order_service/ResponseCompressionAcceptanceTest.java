@@ -0,0 +1,91 @@
+package com.example.order_service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.order_service.model.Customer;
+import com.example.order_service.model.Order;
+import com.example.order_service.repository.CustomerRepository;
+import com.example.order_service.repository.OrderRepository;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@EntityScan(basePackages = "com.example.order_service.model") // Specify the package for entities
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class ResponseCompressionAcceptanceTest {
+
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private OrderRepository orderRepository;
+
+        @Autowired
+        private CustomerRepository customerRepository;
+
+        private final HttpClient httpClient = HttpClient.newHttpClient();
+
+        private Customer customer;
+
+        @BeforeEach
+        void setUp() {
+                orderRepository.deleteAll();
+                customerRepository.deleteAll();
+                customer = customerRepository.save(new Customer(null, "Alice",
+                                "alice." + System.currentTimeMillis() + "@example.com", "123 Test Lane",
+                                LocalDateTime.now(), 0));
+        }
+
+        @Test
+        void getAllOrders_ShouldGzipLargePages() throws Exception {
+                // Given
+                for (int i = 0; i < 50; i++) {
+                        orderRepository.save(new Order(null, customer.getId(), "Product " + i, 1,
+                                        LocalDateTime.now()));
+                }
+
+                // When
+                HttpResponse<byte[]> response = get("/api/orders/customer/" + customer.getId() + "?size=50");
+
+                // Then
+                assertEquals(200, response.statusCode());
+                assertEquals(Optional.of("gzip"), response.headers().firstValue("Content-Encoding"));
+                assertTrue(response.headers().firstValue("ETag").isPresent());
+        }
+
+        @Test
+        void getAllOrders_ShouldNotCompressSmallPages() throws Exception {
+                // Given
+                orderRepository.save(new Order(null, customer.getId(), "Product", 1, LocalDateTime.now()));
+
+                // When
+                HttpResponse<byte[]> response = get("/api/orders/customer/" + customer.getId() + "?links=false");
+
+                // Then
+                assertEquals(200, response.statusCode());
+                assertTrue(response.headers().firstValue("Content-Encoding").isEmpty());
+        }
+
+        private HttpResponse<byte[]> get(String path) throws Exception {
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                                .header("Accept-Encoding", "gzip")
+                                .GET()
+                                .build();
+                return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        }
+}
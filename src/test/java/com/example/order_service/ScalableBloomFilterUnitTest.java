@@ -0,0 +1,58 @@
+package com.example.order_service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.order_service.analytics.ScalableBloomFilter;
+
+public class ScalableBloomFilterUnitTest {
+
+    @Test
+    void mightContain_AfterGrowingPastItsCapacity_ShouldHaveNoFalseNegatives() {
+        // Given
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+
+        // When
+        for (int i = 0; i < 50_000; i++) {
+            filter.add("customer" + i + "@example.com");
+        }
+
+        // Then
+        assertTrue(filter.stageCount() > 1);
+        for (int i = 0; i < 50_000; i++) {
+            assertTrue(filter.mightContain("customer" + i + "@example.com"));
+        }
+    }
+
+    @Test
+    void mightContain_ShouldStayUnderTheConfiguredFalsePositiveRate() {
+        // Given
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+        for (int i = 0; i < 50_000; i++) {
+            filter.add("customer" + i + "@example.com");
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("someone" + i + "@example.org")) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        assertTrue(falsePositives < 1_000, "false-positive rate was " + falsePositives / 1000.0 + "%");
+    }
+
+    @Test
+    void add_ShouldReportKeysAlreadyPresent() {
+        // Given
+        ScalableBloomFilter filter = new ScalableBloomFilter(10, 0.01);
+
+        // When & Then
+        assertTrue(filter.add("ann@example.com"));
+        assertFalse(filter.add("ann@example.com"));
+        assertEquals(1, filter.size());
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.order_service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.order_service.datasource.ConsistentHashRing;
+import com.example.order_service.exception.BadRequestException;
+import com.example.order_service.exception.ResourceNotFoundException;
+import com.example.order_service.model.Customer;
+import com.example.order_service.model.Order;
+import com.example.order_service.repository.CustomerRepository;
+import com.example.order_service.service.CustomerService;
+import com.example.order_service.service.OrderExportService;
+import com.example.order_service.service.OrderService;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shard-directory;DB_CLOSE_DELAY=-1",
+        "order-service.datasource.sharding.enabled=true",
+        "order-service.datasource.sharding.shards[0].url=jdbc:h2:mem:shard-0;DB_CLOSE_DELAY=-1",
+        "order-service.datasource.sharding.shards[0].username=sa",
+        "order-service.datasource.sharding.shards[1].url=jdbc:h2:mem:shard-1;DB_CLOSE_DELAY=-1",
+        "order-service.datasource.sharding.shards[1].username=sa",
+        "order-service.datasource.sharding.shards[2].url=jdbc:h2:mem:shard-2;DB_CLOSE_DELAY=-1",
+        "order-service.datasource.sharding.shards[2].username=sa"
+})
+@ActiveProfiles("test")
+@EntityScan(basePackages = "com.example.order_service.model") // Specify the package for entities
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD) // Reset DB after each test
+public class ShardingIntegrationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ConsistentHashRing shardRing;
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    private final Map<String, JdbcTemplate> shards = new LinkedHashMap<>();
+    private final List<Customer> customers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            JdbcTemplate shard = new JdbcTemplate(
+                    new DriverManagerDataSource("jdbc:h2:mem:shard-" + i + ";DB_CLOSE_DELAY=-1", "sa", ""));
+            new ResourceDatabasePopulator(new ClassPathResource("shard-schema.sql")).execute(shard.getDataSource());
+            shard.update("DELETE FROM orders");
+            // Disjoint ID ranges keep order IDs unique across shards
+            shard.execute("ALTER TABLE orders ALTER COLUMN id RESTART WITH " + (i + 1) * 1_000_000);
+            shards.put("shard-" + i, shard);
+        }
+        customerRepository.deleteAll();
+        for (int i = 0; i < 30; i++) {
+            customers.add(customerService.createCustomer(new Customer(null, "Customer " + i,
+                    "customer." + i + "." + System.currentTimeMillis() + "@example.com", "1 Test Street",
+                    LocalDateTime.now(), 0)));
+        }
+    }
+
+    @Test
+    void createOrder_ShouldStoreOrderOnlyOnTheCustomersShard() {
+        // When
+        for (Customer customer : customers) {
+            orderService.createOrder(new Order(null, customer.getId(), "Product", 1, LocalDateTime.now()));
+        }
+
+        // Then
+        for (Customer customer : customers) {
+            String owner = shardRing.nodeFor(customer.getId());
+            shards.forEach((name, shard) -> assertEquals(name.equals(owner) ? 1 : 0, shard.queryForObject(
+                    "SELECT COUNT(*) FROM orders WHERE customer_id = ?", Integer.class, customer.getId())));
+        }
+        shards.values().forEach(shard -> assertTrue(
+                shard.queryForObject("SELECT COUNT(*) FROM orders", Integer.class) > 0,
+                "Every shard should own some customers"));
+    }
+
+    @Test
+    void getAllOrders_ShouldReadFromTheCustomersShard() {
+        // Given
+        Customer customer = customers.get(0);
+        orderService.createOrder(new Order(null, customer.getId(), "Product 1", 1, LocalDateTime.now()));
+        orderService.createOrder(new Order(null, customer.getId(), "Product 2", 2, LocalDateTime.now()));
+        orderService.createOrder(new Order(null, customers.get(1).getId(), "Product 3", 3, LocalDateTime.now()));
+
+        // When
+        List<Order> orders = orderService.getAllOrders(customer.getId(), PageRequest.of(0, 10)).getContent();
+
+        // Then
+        assertEquals(2, orders.size());
+        orders.forEach(order -> assertEquals(customer.getId(), order.getCustomerId()));
+    }
+
+    @Test
+    void getOrdersSorted_ShouldMergeEveryShardInCreationOrder() {
+        // Given
+        for (Customer customer : customers) {
+            orderService.createOrder(new Order(null, customer.getId(), "Product", 1, LocalDateTime.now()));
+        }
+
+        // When
+        List<Order> ascending = orderService.getOrdersSorted("asc");
+        List<Order> descending = orderService.getOrdersSorted("desc");
+        List<Order> inRange = orderService.getOrdersByDateRange(LocalDateTime.now().minusDays(1),
+                LocalDateTime.now().plusDays(1));
+
+        // Then
+        assertEquals(customers.size(), ascending.size());
+        assertEquals(customers.size(), inRange.size());
+        for (int i = 1; i < ascending.size(); i++) {
+            assertFalse(ascending.get(i).getCreatedAt().isBefore(ascending.get(i - 1).getCreatedAt()));
+            assertFalse(descending.get(i).getCreatedAt().isAfter(descending.get(i - 1).getCreatedAt()));
+            assertFalse(inRange.get(i).getCreatedAt().isBefore(inRange.get(i - 1).getCreatedAt()));
+        }
+    }
+
+    @Test
+    void getOrderAndDeleteOrder_ShouldFindOrdersOnAnyShard() {
+        // Given
+        List<Order> created = new ArrayList<>();
+        for (Customer customer : customers) {
+            created.add(orderService.createOrder(new Order(null, customer.getId(), "Product", 1,
+                    LocalDateTime.now())));
+        }
+        Order order = created.get(created.size() - 1);
+
+        // When
+        Order found = orderService.getOrder(order.getId());
+        orderService.deleteOrder(order.getId());
+
+        // Then
+        assertEquals(order.getCustomerId(), found.getCustomerId());
+        assertThrows(ResourceNotFoundException.class, () -> orderService.getOrder(order.getId()));
+    }
+
+    @Test
+    void updateOrder_WithAnotherCustomer_ShouldBeRejectedAndLeaveShardsUnchanged() {
+        // Given
+        Customer customer = customers.get(0);
+        String owner = shardRing.nodeFor(customer.getId());
+        Customer other = customers.stream()
+                .filter(candidate -> !shardRing.nodeFor(candidate.getId()).equals(owner))
+                .findFirst().orElseThrow();
+        Order order = orderService.createOrder(new Order(null, customer.getId(), "Product", 1, LocalDateTime.now()));
+
+        // When
+        Order moved = new Order(order.getId(), other.getId(), "Product", 2, null);
+        Order changed = new Order(order.getId(), customer.getId(), "Product", 3, null);
+
+        // Then
+        assertThrows(BadRequestException.class, () -> orderService.updateOrder(moved));
+        assertEquals(3, orderService.updateOrder(changed).getQuantity());
+        shards.forEach((name, shard) -> assertEquals(name.equals(owner) ? 1 : 0,
+                shard.queryForObject("SELECT COUNT(*) FROM orders WHERE id = ?", Integer.class, order.getId())));
+    }
+
+    @Test
+    void deleteCustomer_ShouldDeleteOrdersOnTheCustomersShard() {
+        // Given
+        Customer customer = customers.get(0);
+        orderService.createOrder(new Order(null, customer.getId(), "Product", 1, LocalDateTime.now()));
+        JdbcTemplate owner = shards.get(shardRing.nodeFor(customer.getId()));
+
+        // When
+        customerService.deleteCustomer(customer.getId());
+
+        // Then
+        assertEquals(0, owner.queryForObject("SELECT COUNT(*) FROM orders WHERE customer_id = ?", Integer.class,
+                customer.getId()));
+    }
+
+    @Test
+    void exportOrders_ShouldBeRejectedWhileSharded() {
+        // Given
+        orderService.createOrder(new Order(null, customers.get(0).getId(), "Product", 1, LocalDateTime.now()));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When & Then
+        assertThrows(BadRequestException.class,
+                () -> orderExportService.exportOrders(OrderExportService.Format.CSV, null, null, out));
+        assertEquals(0, out.size());
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.order_service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.order_service.exception.ResourceNotFoundException;
+import com.example.order_service.service.SingleFlight;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class SingleFlightUnitTest {
+
+    @Test
+    void execute_ShouldShareOneLoadBetweenConcurrentCallers() throws Exception {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SingleFlight singleFlight = new SingleFlight(Duration.ofSeconds(5), registry);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<Object>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("customer-by-id", 1L, () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return new Object();
+                })));
+            }
+            // Wait until the leader is running before letting it finish.
+            while (loads.get() == 0) {
+                Thread.sleep(5);
+            }
+            Thread.sleep(100);
+            release.countDown();
+            Object first = results.get(0).get(5, TimeUnit.SECONDS);
+
+            // Then
+            assertEquals(1, loads.get());
+            for (Future<Object> result : results) {
+                assertSame(first, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1.0, count(registry, "leader"));
+            assertEquals(7.0, count(registry, "coalesced"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_ShouldRunAgainOnceTheLoadHasFinished() {
+        // Given
+        SingleFlight singleFlight = new SingleFlight(Duration.ofSeconds(1), new SimpleMeterRegistry());
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        int first = singleFlight.execute("customer-by-id", 1L, loads::incrementAndGet);
+        int second = singleFlight.execute("customer-by-id", 1L, loads::incrementAndGet);
+        int otherKey = singleFlight.execute("customer-by-id", 2L, loads::incrementAndGet);
+
+        // Then
+        assertEquals(1, first);
+        assertEquals(2, second);
+        assertEquals(3, otherKey);
+    }
+
+    @Test
+    void execute_ShouldPassTheLeadersFailureToWaitingCallers() throws Exception {
+        // Given
+        SingleFlight singleFlight = new SingleFlight(Duration.ofSeconds(5), new SimpleMeterRegistry());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // When
+        try {
+            Future<Object> leader = executor.submit(() -> singleFlight.execute("customer-by-id", 1L, () -> {
+                started.countDown();
+                await(release);
+                throw new ResourceNotFoundException("Customer with ID 1 not found.");
+            }));
+            started.await(5, TimeUnit.SECONDS);
+            Future<Object> waiter = executor.submit(
+                    () -> singleFlight.execute("customer-by-id", 1L, () -> fail("waiter should not load")));
+            Thread.sleep(100);
+            release.countDown();
+
+            // Then
+            ExecutionException leaderFailure = assertThrows(ExecutionException.class,
+                    () -> leader.get(5, TimeUnit.SECONDS));
+            ExecutionException waiterFailure = assertThrows(ExecutionException.class,
+                    () -> waiter.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(ResourceNotFoundException.class, leaderFailure.getCause());
+            assertSame(leaderFailure.getCause(), waiterFailure.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_ShouldLoadItselfWhenTheWaitRunsOut() throws Exception {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SingleFlight singleFlight = new SingleFlight(Duration.ofMillis(50), registry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // When
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("customer-by-id", 1L, () -> {
+                started.countDown();
+                await(release);
+                return "slow";
+            }));
+            started.await(5, TimeUnit.SECONDS);
+            String waiter = singleFlight.execute("customer-by-id", 1L, () -> "fallback");
+            release.countDown();
+
+            // Then
+            assertEquals("fallback", waiter);
+            assertEquals("slow", leader.get(5, TimeUnit.SECONDS));
+            assertEquals(1.0, count(registry, "timed_out"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static double count(SimpleMeterRegistry registry, String outcome) {
+        return registry.get("single.flight.calls").tag("outcome", outcome).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.order_service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+public class StartupBudgetIntegrationTest {
+
+    // Measured after a warm-up start so JVM class loading is not counted; a
+    // warm start on H2 takes a few seconds locally.
+    private static final Duration STARTUP_BUDGET = Duration.ofSeconds(10);
+
+    private ConfigurableApplicationContext context;
+
+    @AfterEach
+    void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    void lazyStartup_ShouldStayUnderBudget() {
+        // Given
+        OrderServiceApplication.application().run(arguments()).close();
+        SpringApplication application = OrderServiceApplication.application();
+
+        // When
+        long start = System.nanoTime();
+        context = application.run(arguments());
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // Then
+        assertTrue(elapsed.compareTo(STARTUP_BUDGET) < 0, "Startup took " + elapsed);
+    }
+
+    @Test
+    void lazyStartup_ShouldCreateOnlyRequestPathBeans() {
+        // When
+        context = OrderServiceApplication.application().run(arguments());
+
+        // Then
+        assertTrue(context.getBeanFactory().containsSingleton("orderService"));
+        assertTrue(context.getBeanFactory().containsSingleton("customerController"));
+        assertFalse(context.getBeanFactory().containsSingleton("analyticsController"));
+    }
+
+    @Test
+    void startupEndpoint_ShouldListRecordedSteps() throws Exception {
+        // Given
+        context = OrderServiceApplication.application().run(arguments());
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+
+        // When
+        HttpResponse<String> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/startup")).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        // Then
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("spring.beans.instantiate"));
+        assertTrue(response.body().contains("spring.data.repository.init"));
+        assertTrue(response.body().contains("{\"key\":\"beanName\",\"value\":\"entityManagerFactory\"}"));
+    }
+
+    private static String[] arguments() {
+        return new String[] {
+                "--spring.profiles.active=test",
+                "--spring.main.lazy-initialization=true",
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:startupdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.jpa.show-sql=false" };
+    }
+}
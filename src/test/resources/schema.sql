@@ -4,7 +4,8 @@ CREATE TABLE IF NOT EXISTS customers (
     email VARCHAR(255) UNIQUE NOT NULL,
     address TEXT,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    total_orders INT DEFAULT 0
+    total_orders INT DEFAULT 0,
+    updated_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6)
 );
 
 CREATE TABLE IF NOT EXISTS orders (
@@ -13,6 +14,52 @@ CREATE TABLE IF NOT EXISTS orders (
     product VARCHAR(255) NOT NULL,
     quantity INT NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6),
     FOREIGN KEY (customer_id) REFERENCES customers(id) ON DELETE CASCADE
 );
 
+CREATE INDEX IF NOT EXISTS idx_orders_created_at ON orders (created_at);
+CREATE INDEX IF NOT EXISTS idx_orders_customer_created ON orders (customer_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_orders_customer_quantity_product ON orders (customer_id, quantity DESC, product, id);
+CREATE INDEX IF NOT EXISTS idx_orders_customer_product ON orders (customer_id, product, id);
+
+CREATE TABLE IF NOT EXISTS orders_archive (
+    id BIGINT PRIMARY KEY,
+    customer_id BIGINT NOT NULL,
+    product VARCHAR(255) NOT NULL,
+    quantity INT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP(6),
+    FOREIGN KEY (customer_id) REFERENCES customers(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_orders_archive_created_at ON orders_archive (created_at);
+CREATE INDEX IF NOT EXISTS idx_orders_archive_customer_created ON orders_archive (customer_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_orders_archive_customer_quantity_product ON orders_archive (customer_id, quantity DESC, product, id);
+CREATE INDEX IF NOT EXISTS idx_orders_archive_customer_product ON orders_archive (customer_id, product, id);
+
+CREATE TABLE IF NOT EXISTS customer_sketches (
+    bucket_date DATE PRIMARY KEY,
+    registers BLOB NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS order_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_type VARCHAR(16) NOT NULL,
+    order_id BIGINT NOT NULL,
+    payload CLOB,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS import_jobs (
+    id VARCHAR(36) PRIMARY KEY,
+    target VARCHAR(16) NOT NULL,
+    format VARCHAR(8) NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    records_processed BIGINT NOT NULL,
+    rows_imported BIGINT NOT NULL,
+    rows_rejected BIGINT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);